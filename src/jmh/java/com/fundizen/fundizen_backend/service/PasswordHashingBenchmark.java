@@ -0,0 +1,99 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.config.PasswordHashingConfig;
+import com.fundizen.fundizen_backend.config.PasswordHashingProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency of password hashing through the bounded hashing
+ * executor, against BCrypt on the calling thread. More client threads than
+ * pool threads, as in a login burst, so queueing shows in the latency
+ * percentiles (SampleTime) while throughput stays capped by the pool size.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="PasswordHashingBenchmark -p cost=10"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(8)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"10", "12"})
+    private int cost;
+
+    @Param({"1", "2", "4"})
+    private int poolThreads;
+
+    private ExecutorService executor;
+    private BCryptPasswordEncoder encoder;
+    private PasswordHashingService service;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(poolThreads);
+        properties.setQueueCapacity(64);
+        properties.setTimeout(Duration.ofSeconds(30));
+
+        executor = new PasswordHashingConfig().passwordHashingExecutor(properties, new SimpleMeterRegistry());
+        encoder = new BCryptPasswordEncoder(cost);
+
+        service = new PasswordHashingService();
+        ReflectionTestUtils.setField(service, "passwordEncoder", encoder);
+        ReflectionTestUtils.setField(service, "passwordHashingExecutor", executor);
+        ReflectionTestUtils.setField(service, "properties", properties);
+
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // Sign-in
+    @Benchmark
+    public boolean matchesOnExecutor() {
+        return service.matches(PASSWORD, hash);
+    }
+
+    // Sign-up and password change
+    @Benchmark
+    public String encodeOnExecutor() {
+        return service.encode(PASSWORD);
+    }
+
+    // Baseline: BCrypt on the request thread, as before the executor
+    @Benchmark
+    public boolean matchesOnCaller() {
+        return encoder.matches(PASSWORD, hash);
+    }
+}
@@ -0,0 +1,63 @@
+package com.fundizen.fundizen_backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Enables @Async on Spring Boot's application task executor.
+ *
+ * The executor is a bounded platform thread pool by default, or a virtual
+ * thread per task with spring.threads.virtual.enabled (see the "virtual"
+ * profile). Either way every task is decorated to publish how long it waited
+ * before starting (executor.task.wait), how long it ran (executor.task.run)
+ * and how many are running (executor.task.active), so both modes can be
+ * compared under the same load.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    private static final String EXECUTOR_NAME = "applicationTaskExecutor";
+
+    // Picked up by Boot's executor builders in both thread modes
+    @Bean
+    public TaskDecorator executorMetricsTaskDecorator(MeterRegistry meterRegistry) {
+        Timer waitTimer = Timer.builder("executor.task.wait")
+            .description("Time tasks waited before starting")
+            .tag("name", EXECUTOR_NAME)
+            .register(meterRegistry);
+        Timer runTimer = Timer.builder("executor.task.run")
+            .description("Time tasks ran")
+            .tag("name", EXECUTOR_NAME)
+            .register(meterRegistry);
+        AtomicInteger active = new AtomicInteger();
+        Gauge.builder("executor.task.active", active, AtomicInteger::get)
+            .description("Tasks currently running")
+            .tag("name", EXECUTOR_NAME)
+            .register(meterRegistry);
+
+        return runnable -> {
+            long submittedAt = System.nanoTime();
+            return () -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                active.incrementAndGet();
+                try {
+                    runnable.run();
+                } finally {
+                    active.decrementAndGet();
+                    runTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            };
+        };
+    }
+}
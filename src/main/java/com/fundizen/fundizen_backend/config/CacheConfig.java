@@ -0,0 +1,102 @@
+package com.fundizen.fundizen_backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded in-process caches (Caffeine, W-TinyLFU eviction) configured per cache
+ * under app.cache.specs. Hit/miss/eviction counts are published as cache.* metrics.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheSpecProperties.class)
+public class CacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+
+    // Not exposed as a bean so it does not replace Spring Boot's application task executor
+    private ThreadPoolExecutor refreshExecutor;
+
+    @Bean
+    public CacheManager cacheManager(CacheSpecProperties properties, MeterRegistry meterRegistry) {
+        refreshExecutor = createRefreshExecutor(properties.getRefreshThreads());
+        List<StaleWhileRevalidateCache> caches = new ArrayList<>();
+
+        for (Map.Entry<String, CacheSpecProperties.Spec> specEntry : properties.getSpecs().entrySet()) {
+            String name = specEntry.getKey();
+            CacheSpecProperties.Spec spec = specEntry.getValue();
+
+            Cache<Object, StaleWhileRevalidateCache.Entry> nativeCache = Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .expireAfterWrite(spec.getTtl())
+                .recordStats()
+                .build();
+
+            long refreshAfterNanos = spec.getRefreshAfter() != null ? spec.getRefreshAfter().toNanos() : 0L;
+            StaleWhileRevalidateCache cache =
+                new StaleWhileRevalidateCache(name, nativeCache, refreshAfterNanos, refreshExecutor);
+            caches.add(cache);
+
+            CaffeineCacheMetrics.monitor(meterRegistry, nativeCache, name);
+            FunctionCounter.builder("cache.stale.hits", cache, StaleWhileRevalidateCache::getStaleHits)
+                .description("Hits served from an entry past its refresh window")
+                .tag("cache", name)
+                .register(meterRegistry);
+            FunctionCounter.builder("cache.refresh.failures", cache, StaleWhileRevalidateCache::getRefreshFailures)
+                .description("Background refreshes that failed")
+                .tag("cache", name)
+                .register(meterRegistry);
+
+            logger.info("Configured cache '{}' (ttl: {}, refreshAfter: {}, maxSize: {})",
+                       name, spec.getTtl(), spec.getRefreshAfter(), spec.getMaxSize());
+        }
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
+        return cacheManager;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    private ThreadPoolExecutor createRefreshExecutor(int refreshThreads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, refreshThreads);
+        return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(256),
+            runnable -> {
+                Thread thread = new Thread(runnable, "cache-refresh-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            // A dropped refresh only means the stale value is served a little longer
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,73 @@
+package com.fundizen.fundizen_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-cache settings, e.g.
+ * <pre>
+ * app.cache.specs.campaigns.ttl=5m
+ * app.cache.specs.campaigns.refresh-after=30s
+ * app.cache.specs.campaigns.max-size=10000
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheSpecProperties {
+
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    // Threads available for stale-while-revalidate reloads
+    private int refreshThreads = 2;
+
+    public Map<String, Spec> getSpecs() {
+        return specs;
+    }
+
+    public void setSpecs(Map<String, Spec> specs) {
+        this.specs = specs;
+    }
+
+    public int getRefreshThreads() {
+        return refreshThreads;
+    }
+
+    public void setRefreshThreads(int refreshThreads) {
+        this.refreshThreads = refreshThreads;
+    }
+
+    public static class Spec {
+
+        private Duration ttl = Duration.ofMinutes(10); // Hard expiry after write
+
+        private Duration refreshAfter; // Serve stale and reload in the background after this age
+
+        private long maxSize = 1000;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getRefreshAfter() {
+            return refreshAfter;
+        }
+
+        public void setRefreshAfter(Duration refreshAfter) {
+            this.refreshAfter = refreshAfter;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+}
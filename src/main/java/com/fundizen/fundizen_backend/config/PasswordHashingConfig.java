@@ -0,0 +1,91 @@
+package com.fundizen.fundizen_backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt encoder and the bounded executor password hashing runs on
+ * (see PasswordHashingService).
+ *
+ * Keeping BCrypt off request threads means a login burst can only occupy
+ * password.hashing.threads cores; the rest keep serving payments. The pool
+ * publishes executor.* metrics (including executor.queued) under
+ * name=passwordHashing, and the chosen cost as password.hashing.cost.
+ */
+@Configuration
+@EnableConfigurationProperties(PasswordHashingProperties.class)
+public class PasswordHashingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingConfig.class);
+
+    public static final String EXECUTOR_NAME = "passwordHashing";
+
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService passwordHashingExecutor(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            properties.getThreads(), properties.getThreads(),
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+            new CustomizableThreadFactory("fundizen-password-"),
+            new ThreadPoolExecutor.AbortPolicy());
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, EXECUTOR_NAME, List.of());
+    }
+
+    @Bean
+    public BCryptPasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        int cost = properties.getCost() != null ? properties.getCost() : calibrate(properties);
+        Gauge.builder("password.hashing.cost", () -> cost)
+            .description("BCrypt cost used for new password hashes")
+            .register(meterRegistry);
+        logger.info("Hashing passwords with BCrypt cost {}", cost);
+        return new BCryptPasswordEncoder(cost);
+    }
+
+    /**
+     * Highest cost whose hash fits the latency budget. Each step doubles the
+     * work, so this stops at the first cost over budget.
+     */
+    private int calibrate(PasswordHashingProperties properties) {
+        long budgetNanos = properties.getTargetLatency().toNanos();
+        int minCost = properties.getMinCost();
+        int maxCost = Math.max(minCost, properties.getMaxCost());
+
+        // Warm up the JIT so the first measurement is not inflated
+        for (int i = 0; i < 3; i++) {
+            BCrypt.hashpw(CALIBRATION_PASSWORD, BCrypt.gensalt(minCost));
+        }
+
+        int chosen = minCost;
+        for (int cost = minCost; cost <= maxCost; cost++) {
+            long startedAt = System.nanoTime();
+            BCrypt.hashpw(CALIBRATION_PASSWORD, BCrypt.gensalt(cost));
+            long elapsedNanos = System.nanoTime() - startedAt;
+
+            logger.debug("BCrypt cost {} took {} ms", cost, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+
+            if (elapsedNanos > budgetNanos) {
+                break;
+            }
+            chosen = cost;
+        }
+        return chosen;
+    }
+}
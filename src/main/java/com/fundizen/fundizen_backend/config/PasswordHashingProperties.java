@@ -0,0 +1,94 @@
+package com.fundizen.fundizen_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Password hashing executor and BCrypt cost settings, e.g.
+ * <pre>
+ * password.hashing.threads=2
+ * password.hashing.queue-capacity=64
+ * password.hashing.target-latency=100ms
+ * password.hashing.cost=12
+ * </pre>
+ * Without a fixed cost, the highest cost between min-cost and max-cost whose
+ * hash fits the target latency on this machine is picked at startup.
+ */
+@ConfigurationProperties(prefix = "password.hashing")
+public class PasswordHashingProperties {
+
+    // BCrypt is CPU-bound, so leave most cores to request handling
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    private int queueCapacity = 64;
+
+    // Longest a caller waits for its hash, including time queued
+    private Duration timeout = Duration.ofSeconds(5);
+
+    private Duration targetLatency = Duration.ofMillis(100);
+
+    // Never calibrate below Spring Security's default strength
+    private int minCost = 10;
+
+    private int maxCost = 14;
+
+    // Fixed cost; skips calibration when set
+    private Integer cost;
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Duration getTargetLatency() {
+        return targetLatency;
+    }
+
+    public void setTargetLatency(Duration targetLatency) {
+        this.targetLatency = targetLatency;
+    }
+
+    public int getMinCost() {
+        return minCost;
+    }
+
+    public void setMinCost(int minCost) {
+        this.minCost = minCost;
+    }
+
+    public int getMaxCost() {
+        return maxCost;
+    }
+
+    public void setMaxCost(int maxCost) {
+        this.maxCost = maxCost;
+    }
+
+    public Integer getCost() {
+        return cost;
+    }
+
+    public void setCost(Integer cost) {
+        this.cost = cost;
+    }
+}
@@ -0,0 +1,167 @@
+package com.fundizen.fundizen_backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Spring cache backed by Caffeine that serves stale entries while refreshing them.
+ *
+ * Loads through {@link #get(Object, Callable)} (i.e. {@code @Cacheable(sync = true)})
+ * are single-flight: concurrent misses for one key wait for a single load. Once an
+ * entry is older than the refresh window the current value is still returned and
+ * one background reload replaces it; only entries past the hard TTL are reloaded
+ * on the caller's thread.
+ */
+public class StaleWhileRevalidateCache extends AbstractValueAdaptingCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaleWhileRevalidateCache.class);
+
+    private final String name;
+    private final Cache<Object, Entry> cache;
+    private final long refreshAfterNanos; // 0 disables background refresh
+    private final Executor refreshExecutor;
+
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+
+    public StaleWhileRevalidateCache(String name, Cache<Object, Entry> cache,
+                                     long refreshAfterNanos, Executor refreshExecutor) {
+        super(true);
+        this.name = name;
+        this.cache = cache;
+        this.refreshAfterNanos = refreshAfterNanos;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Cache<Object, Entry> getNativeCache() {
+        return cache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Entry entry = cache.getIfPresent(key);
+        return entry != null ? entry.value : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Entry entry = cache.get(key, k -> new Entry(toStoreValue(load(k, valueLoader))));
+        if (refreshAfterNanos > 0 && System.nanoTime() - entry.loadedAt > refreshAfterNanos) {
+            staleHits.incrementAndGet();
+            scheduleRefresh(key, entry, valueLoader);
+        }
+        return (T) fromStoreValue(entry.value);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        cache.put(key, new Entry(toStoreValue(value)));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Entry existing = cache.asMap().putIfAbsent(key, new Entry(toStoreValue(value)));
+        return existing != null ? toValueWrapper(existing.value) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        cache.invalidate(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return cache.asMap().remove(key) != null;
+    }
+
+    /**
+     * Evict every entry whose key matches, e.g. all keys of one campaign
+     */
+    public void evictIf(Predicate<Object> keyPredicate) {
+        cache.asMap().keySet().removeIf(keyPredicate);
+    }
+
+    @Override
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = !cache.asMap().isEmpty();
+        cache.invalidateAll();
+        return notEmpty;
+    }
+
+    public long getStaleHits() {
+        return staleHits.get();
+    }
+
+    public long getRefreshFailures() {
+        return refreshFailures.get();
+    }
+
+    private void scheduleRefresh(Object key, Entry staleEntry, Callable<?> valueLoader) {
+        if (!refreshing.add(key)) {
+            return; // Someone is already refreshing this key
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    Entry fresh = new Entry(toStoreValue(valueLoader.call()));
+                    // Only replace the entry we saw - an eviction in the meantime wins
+                    cache.asMap().replace(key, staleEntry, fresh);
+                } catch (Exception e) {
+                    refreshFailures.incrementAndGet();
+                    logger.warn("Background refresh failed for cache '{}' key '{}' - Error: {}",
+                               name, key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            logger.debug("Refresh executor saturated, serving stale '{}' entry for key '{}'", name, key);
+        }
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    /**
+     * Cached value and the time it was loaded
+     */
+    public static final class Entry {
+        private final Object value;
+        private final long loadedAt;
+
+        Entry(Object value) {
+            this.value = value;
+            this.loadedAt = System.nanoTime();
+        }
+    }
+}
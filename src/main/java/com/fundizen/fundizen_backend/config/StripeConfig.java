@@ -0,0 +1,91 @@
+package com.fundizen.fundizen_backend.config;
+
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.RateLimitException;
+import com.stripe.exception.StripeException;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedThreadPoolBulkheadMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Circuit breaker and thread pool bulkhead shared by all Stripe API calls
+ * (see ResilientStripeClient). Their state is published as resilience4j.* metrics.
+ */
+@Configuration
+@EnableConfigurationProperties(StripeResilienceProperties.class)
+public class StripeConfig {
+
+    public static final String STRIPE = "stripe";
+
+    @Bean
+    public CircuitBreaker stripeCircuitBreaker(StripeResilienceProperties properties, MeterRegistry meterRegistry) {
+        StripeResilienceProperties.CircuitBreaker settings = properties.getCircuitBreaker();
+
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+            .failureRateThreshold(settings.getFailureRateThreshold())
+            .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+            .slowCallDurationThreshold(settings.getSlowCallDuration())
+            .slidingWindowSize(settings.getSlidingWindowSize())
+            .minimumNumberOfCalls(settings.getMinimumCalls())
+            .waitDurationInOpenState(settings.getWaitInOpenState())
+            .permittedNumberOfCallsInHalfOpenState(settings.getHalfOpenCalls())
+            // Only outages count; declined cards and invalid requests are normal answers
+            .recordException(StripeConfig::isStripeOutage)
+            .ignoreExceptions(BulkheadFullException.class)
+            .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(STRIPE, config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return circuitBreaker;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ThreadPoolBulkhead stripeBulkhead(StripeResilienceProperties properties, MeterRegistry meterRegistry) {
+        StripeResilienceProperties.Bulkhead settings = properties.getBulkhead();
+
+        ThreadPoolBulkheadConfig config = ThreadPoolBulkheadConfig.custom()
+            .coreThreadPoolSize(Math.min(settings.getCoreThreads(), settings.getMaxThreads()))
+            .maxThreadPoolSize(settings.getMaxThreads())
+            .queueCapacity(settings.getQueueCapacity())
+            .build();
+
+        ThreadPoolBulkheadRegistry registry = ThreadPoolBulkheadRegistry.ofDefaults();
+        ThreadPoolBulkhead bulkhead = registry.bulkhead(STRIPE, config);
+        TaggedThreadPoolBulkheadMetrics.ofThreadPoolBulkheadRegistry(registry).bindTo(meterRegistry);
+        return bulkhead;
+    }
+
+    static boolean isStripeOutage(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+
+        if (cause instanceof TimeoutException || cause instanceof ApiConnectionException
+                || cause instanceof RateLimitException) {
+            return true;
+        }
+        if (cause instanceof StripeException) {
+            Integer status = ((StripeException) cause).getStatusCode();
+            return status == null || status >= 500;
+        }
+        return false;
+    }
+}
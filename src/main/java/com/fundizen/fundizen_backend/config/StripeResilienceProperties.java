@@ -0,0 +1,248 @@
+package com.fundizen.fundizen_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Timeouts, bulkhead and circuit breaker settings for Stripe calls, e.g.
+ * <pre>
+ * stripe.resilience.timeouts.create-payment-intent=8s
+ * stripe.resilience.bulkhead.max-threads=20
+ * stripe.resilience.circuit-breaker.failure-rate-threshold=50
+ * stripe.resilience.stub.enabled=true
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "stripe.resilience")
+public class StripeResilienceProperties {
+
+    // Stripe SDK socket timeouts; bound how long a timed-out call keeps its bulkhead thread
+    private Duration connectTimeout = Duration.ofSeconds(3);
+
+    private Duration readTimeout = Duration.ofSeconds(20);
+
+    // Per-operation limits on the whole call, keyed by operation name
+    private Map<String, Duration> timeouts = new LinkedHashMap<>();
+
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+
+    private Bulkhead bulkhead = new Bulkhead();
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private Stub stub = new Stub();
+
+    public Duration timeoutFor(String operation) {
+        return timeouts.getOrDefault(operation, defaultTimeout);
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public Map<String, Duration> getTimeouts() {
+        return timeouts;
+    }
+
+    public void setTimeouts(Map<String, Duration> timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    public void setDefaultTimeout(Duration defaultTimeout) {
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    public void setBulkhead(Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public Stub getStub() {
+        return stub;
+    }
+
+    public void setStub(Stub stub) {
+        this.stub = stub;
+    }
+
+    public static class Bulkhead {
+
+        private int coreThreads = 10;
+
+        private int maxThreads = 20;
+
+        private int queueCapacity = 50; // Calls beyond threads + queue are rejected immediately
+
+        public int getCoreThreads() {
+            return coreThreads;
+        }
+
+        public void setCoreThreads(int coreThreads) {
+            this.coreThreads = coreThreads;
+        }
+
+        public int getMaxThreads() {
+            return maxThreads;
+        }
+
+        public void setMaxThreads(int maxThreads) {
+            this.maxThreads = maxThreads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class CircuitBreaker {
+
+        private float failureRateThreshold = 50; // Percent of failed calls that opens the circuit
+
+        private float slowCallRateThreshold = 80; // Percent of slow calls that opens the circuit
+
+        private Duration slowCallDuration = Duration.ofSeconds(5);
+
+        private int slidingWindowSize = 20; // Calls
+
+        private int minimumCalls = 10;
+
+        private Duration waitInOpenState = Duration.ofSeconds(30);
+
+        private int halfOpenCalls = 3;
+
+        public float getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(float failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public float getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        public void setSlowCallRateThreshold(float slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+
+        public Duration getSlowCallDuration() {
+            return slowCallDuration;
+        }
+
+        public void setSlowCallDuration(Duration slowCallDuration) {
+            this.slowCallDuration = slowCallDuration;
+        }
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public Duration getWaitInOpenState() {
+            return waitInOpenState;
+        }
+
+        public void setWaitInOpenState(Duration waitInOpenState) {
+            this.waitInOpenState = waitInOpenState;
+        }
+
+        public int getHalfOpenCalls() {
+            return halfOpenCalls;
+        }
+
+        public void setHalfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+        }
+    }
+
+    /**
+     * In-process Stripe API stub for offline testing; no request leaves the JVM
+     */
+    public static class Stub {
+
+        private boolean enabled = false;
+
+        private Duration latency = Duration.ZERO; // Added to every call
+
+        private Duration latencyJitter = Duration.ZERO; // Random extra latency up to this
+
+        private double failureRate = 0.0; // Share of calls answered with a Stripe 500 error
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getLatency() {
+            return latency;
+        }
+
+        public void setLatency(Duration latency) {
+            this.latency = latency;
+        }
+
+        public Duration getLatencyJitter() {
+            return latencyJitter;
+        }
+
+        public void setLatencyJitter(Duration latencyJitter) {
+            this.latencyJitter = latencyJitter;
+        }
+
+        public double getFailureRate() {
+            return failureRate;
+        }
+
+        public void setFailureRate(double failureRate) {
+            this.failureRate = failureRate;
+        }
+    }
+}
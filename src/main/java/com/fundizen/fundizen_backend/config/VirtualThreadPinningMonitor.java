@@ -0,0 +1,90 @@
+package com.fundizen.fundizen_backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread (blocking
+ * inside synchronized code or native frames), which would cancel out the
+ * benefit of virtual threads. Streams the JFR jdk.VirtualThreadPinned event
+ * into the jvm.threads.virtual.pinned timer and logs the blocking frame.
+ * Only active when virtual threads are enabled.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.threads.virtual.pinned-threshold:20ms}")
+    private Duration pinnedThreshold;
+
+    private RecordingStream recordingStream;
+
+    @PostConstruct
+    public void start() {
+        Timer pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+            .description("Virtual threads pinned to their carrier longer than the threshold")
+            .register(meterRegistry);
+
+        try {
+            recordingStream = new RecordingStream();
+            recordingStream.enable(PINNED_EVENT).withThreshold(pinnedThreshold).withStackTrace();
+            recordingStream.onEvent(PINNED_EVENT, event -> {
+                pinnedTimer.record(event.getDuration());
+                logger.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), topFrame(event));
+            });
+            recordingStream.startAsync();
+            logger.info("Monitoring virtual thread pinning (threshold {} ms)", pinnedThreshold.toMillis());
+        } catch (Exception e) {
+            logger.warn("Virtual thread pinning monitor unavailable - Error: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private String topFrame(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        // Skip JDK frames to point at the application code holding the monitor
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return frames.isEmpty() ? "unknown" : frames.get(0).getMethod().getType().getName();
+    }
+}
@@ -1,10 +1,16 @@
 package com.fundizen.fundizen_backend.controller;
 
+import com.fundizen.fundizen_backend.models.AdminJob;
 import com.fundizen.fundizen_backend.models.Campaign;
 import com.fundizen.fundizen_backend.models.User;
+import com.fundizen.fundizen_backend.service.AdminJobService;
+import com.fundizen.fundizen_backend.service.AdminService;
 import com.fundizen.fundizen_backend.service.CampaignService;
+import com.fundizen.fundizen_backend.service.PlatformStatisticsService;
+import com.fundizen.fundizen_backend.service.UserResolver;
 import com.fundizen.fundizen_backend.service.UserService;
 import com.fundizen.fundizen_backend.dto.CampaignResponseDTO;
+import com.fundizen.fundizen_backend.dto.UserFilter;
 import com.fundizen.fundizen_backend.dto.UserResponseDTO;
 
 import org.slf4j.Logger;
@@ -14,12 +20,20 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.security.Principal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -29,12 +43,27 @@ public class AdminController {
 
     private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
 
+    // Upper bound on ids per bulk moderation request
+    private static final int MAX_BULK_IDS = 10_000;
+
     @Autowired
     private CampaignService campaignService;
 
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private AdminJobService adminJobService;
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserResolver userResolver;
+
+    @Autowired
+    private PlatformStatisticsService platformStatisticsService;
+
     // ===== DASHBOARD ENDPOINTS =====
 
     /**
@@ -46,48 +75,29 @@ public class AdminController {
         try {
             logger.info("Fetching admin dashboard statistics");
             
-            // Campaign statistics
-            List<Campaign> allCampaigns = campaignService.getAllCampaigns();
-            List<Campaign> pendingCampaigns = campaignService.getPendingCampaigns();
-            List<Campaign> activeCampaigns = campaignService.getActiveCampaigns();
-            
-            long totalCampaigns = allCampaigns.size();
-            long pendingCount = pendingCampaigns.size();
-            long activeCount = activeCampaigns.size();
-            long approvedCount = allCampaigns.stream()
-                .filter(c -> "approved".equals(c.getStatus()))
-                .count();
-            long rejectedCount = allCampaigns.stream()
-                .filter(c -> "rejected".equals(c.getStatus()))
-                .count();
-
-            // User statistics
-            long totalUsers = userService.getTotalUsers();
-            long totalAdmins = userService.getTotalAdmins();
-            long verifiedUsers = userService.getVerifiedUsersCount();
-            long unverifiedUsers = userService.getUnverifiedUsersCount();
-
-            // Recent activity
-            LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
-            List<User> recentUsers = userService.getRecentUsers(weekAgo);
+            // One $facet aggregation per collection, cached briefly
+            PlatformStatisticsService.CampaignStatistics campaignStats = platformStatisticsService.getCampaignStatistics();
+            PlatformStatisticsService.UserStatistics userStats = platformStatisticsService.getUserStatistics();
+
+            long pendingCount = campaignStats.getCountByStatus("pending");
 
             Map<String, Object> stats = Map.of(
                 "campaigns", Map.of(
-                    "total", totalCampaigns,
+                    "total", campaignStats.getTotalCampaigns(),
                     "pending", pendingCount,
-                    "active", activeCount,
-                    "approved", approvedCount,
-                    "rejected", rejectedCount
+                    "active", campaignStats.getActiveCampaigns(),
+                    "approved", campaignStats.getCountByStatus("approved"),
+                    "rejected", campaignStats.getCountByStatus("rejected")
                 ),
                 "users", Map.of(
-                    "total", totalUsers,
-                    "admins", totalAdmins,
-                    "verified", verifiedUsers,
-                    "unverified", unverifiedUsers,
-                    "recentSignups", recentUsers.size()
+                    "total", userStats.getTotalUsers(),
+                    "admins", userStats.getCountByRole("admin"),
+                    "verified", userStats.getVerifiedUsers(),
+                    "unverified", userStats.getUnverifiedUsers(),
+                    "recentSignups", userStats.getRecentSignups()
                 ),
                 "activity", Map.of(
-                    "recentUsersCount", recentUsers.size(),
+                    "recentUsersCount", userStats.getRecentSignups(),
                     "pendingApprovals", pendingCount
                 ),
                 "timestamp", LocalDateTime.now()
@@ -123,68 +133,21 @@ public class AdminController {
             logger.info("Admin fetching campaigns - page: {}, size: {}, status: {}, category: {}", 
                        page, size, status, category);
 
-            List<Campaign> campaigns = campaignService.getAllCampaigns();
-            
-            // Filter by status if provided
-            if (status != null && !status.isEmpty()) {
-                campaigns = campaigns.stream()
-                    .filter(c -> status.equals(c.getStatus()))
-                    .collect(Collectors.toList());
-            }
-            
-            // Filter by category if provided
-            if (category != null && !category.isEmpty()) {
-                campaigns = campaigns.stream()
-                    .filter(c -> category.equals(c.getCategory()))
-                    .collect(Collectors.toList());
-            }
-
-            // Sort campaigns
-            if ("desc".equals(sortDir)) {
-                campaigns.sort((a, b) -> {
-                    if ("createdAt".equals(sortBy)) {
-                        return b.getCreatedAt().compareTo(a.getCreatedAt());
-                    } else if ("name".equals(sortBy)) {
-                        return b.getName().compareTo(a.getName());
-                    } else if ("goalAmount".equals(sortBy)) {
-                        return b.getGoalAmount().compareTo(a.getGoalAmount());
-                    }
-                    return 0;
-                });
-            } else {
-                campaigns.sort((a, b) -> {
-                    if ("createdAt".equals(sortBy)) {
-                        return a.getCreatedAt().compareTo(b.getCreatedAt());
-                    } else if ("name".equals(sortBy)) {
-                        return a.getName().compareTo(b.getName());
-                    } else if ("goalAmount".equals(sortBy)) {
-                        return a.getGoalAmount().compareTo(b.getGoalAmount());
-                    }
-                    return 0;
-                });
-            }
+            // Filtering, sorting and paging run in Mongo
+            Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, 100)),
+                                               buildSort(sortBy, sortDir, CAMPAIGN_SORT_FIELDS));
+            Page<Campaign> campaignPage = campaignService.getCampaignsForAdmin(status, category, pageable);
 
-            // Manual pagination
-            int start = page * size;
-            int end = Math.min(start + size, campaigns.size());
-            List<Campaign> paginatedCampaigns = campaigns.subList(start, end);
-
-            // Convert to response DTOs
-            List<CampaignResponseDTO> campaignDTOs = paginatedCampaigns.stream()
-                .map(campaign -> {
-                    User creator = userService.getUserById(campaign.getCreatorId());
-                    String creatorUsername = creator != null ? creator.getUsername() : "Unknown";
-                    return CampaignResponseDTO.fromCampaign(campaign, creatorUsername);
-                })
-                .collect(Collectors.toList());
+            // Convert to response DTOs - creators resolved in one query per page
+            List<CampaignResponseDTO> campaignDTOs = toCampaignDTOs(campaignPage.getContent());
 
             Map<String, Object> response = Map.of(
                 "campaigns", campaignDTOs,
                 "pagination", Map.of(
-                    "currentPage", page,
-                    "totalPages", (int) Math.ceil((double) campaigns.size() / size),
-                    "totalElements", campaigns.size(),
-                    "size", size
+                    "currentPage", campaignPage.getNumber(),
+                    "totalPages", campaignPage.getTotalPages(),
+                    "totalElements", campaignPage.getTotalElements(),
+                    "size", campaignPage.getSize()
                 ),
                 "filters", Map.of(
                     "status", status != null ? status : "all",
@@ -215,13 +178,7 @@ public class AdminController {
             
             List<Campaign> pendingCampaigns = campaignService.getPendingCampaigns();
             
-            List<CampaignResponseDTO> campaignDTOs = pendingCampaigns.stream()
-                .map(campaign -> {
-                    User creator = userService.getUserById(campaign.getCreatorId());
-                    String creatorUsername = creator != null ? creator.getUsername() : "Unknown";
-                    return CampaignResponseDTO.fromCampaign(campaign, creatorUsername);
-                })
-                .collect(Collectors.toList());
+            List<CampaignResponseDTO> campaignDTOs = toCampaignDTOs(pendingCampaigns);
 
             logger.info("Retrieved {} pending campaigns", campaignDTOs.size());
             return ResponseEntity.ok(Map.of(
@@ -249,7 +206,7 @@ public class AdminController {
             
             Campaign campaign = campaignService.verifyCampaign(id);
             
-            User creator = userService.getUserById(campaign.getCreatorId());
+            User creator = userResolver.resolve(campaign.getCreatorId());
             String creatorUsername = creator != null ? creator.getUsername() : "Unknown";
             
             CampaignResponseDTO campaignDTO = CampaignResponseDTO.fromCampaign(campaign, creatorUsername);
@@ -297,7 +254,7 @@ public class AdminController {
                 // You might want to save this - depends on your CampaignService implementation
             }
             
-            User creator = userService.getUserById(campaign.getCreatorId());
+            User creator = userResolver.resolve(campaign.getCreatorId());
             String creatorUsername = creator != null ? creator.getUsername() : "Unknown";
             
             CampaignResponseDTO campaignDTO = CampaignResponseDTO.fromCampaign(campaign, creatorUsername);
@@ -328,6 +285,58 @@ public class AdminController {
         }
     }
 
+    /**
+     * Approve many pending campaigns at once
+     * POST /api/admin/campaigns/bulk-approve  {"campaignIds": [...]}
+     */
+    @PostMapping("/campaigns/bulk-approve")
+    public ResponseEntity<?> bulkApproveCampaigns(@RequestBody Map<String, Object> request) {
+        List<String> campaignIds = getBulkIds(request);
+        if (campaignIds == null) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "Invalid request",
+                "message", "campaignIds must be a non-empty list of at most " + MAX_BULK_IDS + " ids"
+            ));
+        }
+
+        try {
+            return ResponseEntity.ok(adminService.bulkApproveCampaigns(campaignIds));
+        } catch (Exception e) {
+            logger.error("Error bulk approving {} campaigns", campaignIds.size(), e);
+            return ResponseEntity.status(500).body(Map.of(
+                "error", "Failed to approve campaigns",
+                "message", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Reject many pending campaigns at once
+     * POST /api/admin/campaigns/bulk-reject  {"campaignIds": [...], "reason": "..."}
+     */
+    @PostMapping("/campaigns/bulk-reject")
+    public ResponseEntity<?> bulkRejectCampaigns(@RequestBody Map<String, Object> request) {
+        List<String> campaignIds = getBulkIds(request);
+        if (campaignIds == null) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "Invalid request",
+                "message", "campaignIds must be a non-empty list of at most " + MAX_BULK_IDS + " ids"
+            ));
+        }
+
+        try {
+            Object reason = request.get("reason");
+            return ResponseEntity.ok(adminService.bulkRejectCampaigns(campaignIds,
+                reason != null ? reason.toString() : "No reason provided"));
+        } catch (Exception e) {
+            logger.error("Error bulk rejecting {} campaigns", campaignIds.size(), e);
+            return ResponseEntity.status(500).body(Map.of(
+                "error", "Failed to reject campaigns",
+                "message", e.getMessage()
+            ));
+        }
+    }
+
     // ===== USER MANAGEMENT ENDPOINTS =====
 
     /**
@@ -347,42 +356,20 @@ public class AdminController {
             logger.info("Admin fetching users - page: {}, size: {}, role: {}, verified: {}, search: {}", 
                        page, size, role, verified, search);
 
-            Sort sort = sortDir.equalsIgnoreCase("desc") ? 
-                Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
-            
-            Pageable pageable = PageRequest.of(page, size, sort);
-            Page<User> userPage = userService.getAllUsers(pageable);
-            
-            List<User> users = userPage.getContent();
-            
-            // Apply filters
-            if (role != null && !role.isEmpty() && !"all".equals(role)) {
-                users = users.stream()
-                    .filter(u -> role.equals(u.getRole()))
-                    .collect(Collectors.toList());
-            }
-            
-            if (verified != null && !verified.isEmpty() && !"all".equals(verified)) {
-                boolean isVerified = "true".equals(verified);
-                users = users.stream()
-                    .filter(u -> u.isVerified() == isVerified)
-                    .collect(Collectors.toList());
-            }
-            
-            if (search != null && !search.trim().isEmpty()) {
-                String searchLower = search.toLowerCase().trim();
-                users = users.stream()
-                    .filter(u -> u.getUsername().toLowerCase().contains(searchLower) ||
-                               u.getEmail().toLowerCase().contains(searchLower))
-                    .collect(Collectors.toList());
-            }
-
-            // Convert to response DTOs and remove passwords
-            List<UserResponseDTO> userDTOs = users.stream()
-                .map(user -> {
-                    user.setPassword(null); // Remove password for security
-                    return UserResponseDTO.fromUser(user);
-                })
+            // Filtering, sorting and paging run in Mongo, so the totals match the filters
+            Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, 100)),
+                                               buildSort(sortBy, sortDir, USER_SORT_FIELDS));
+            UserFilter filter = UserFilter.builder()
+                .role(role)
+                .verified(verified != null && !verified.isEmpty() && !"all".equals(verified)
+                    ? Boolean.valueOf("true".equals(verified)) : null)
+                .search(search)
+                .build();
+            Page<User> userPage = userService.findUsers(filter, pageable);
+
+            // Loaded without passwords
+            List<UserResponseDTO> userDTOs = userPage.getContent().stream()
+                .map(UserResponseDTO::fromUser)
                 .collect(Collectors.toList());
 
             Map<String, Object> response = Map.of(
@@ -421,7 +408,8 @@ public class AdminController {
         try {
             logger.info("Admin fetching user details: {}", id);
             
-            User user = userService.getUserById(id);
+            // Resolved without the password; the cached user is shared and must not be modified
+            User user = userResolver.resolve(id);
             if (user == null) {
                 return ResponseEntity.status(404).body(Map.of(
                     "error", "User not found",
@@ -429,9 +417,6 @@ public class AdminController {
                 ));
             }
             
-            // Remove password for security
-            user.setPassword(null);
-            
             // Get user's campaigns
             List<Campaign> userCampaigns = campaignService.getAllCampaigns().stream()
                 .filter(c -> id.equals(c.getCreatorId()))
@@ -583,46 +568,26 @@ public class AdminController {
             logger.info("Admin fetching system statistics");
             
             // Comprehensive system stats
-            List<Campaign> allCampaigns = campaignService.getAllCampaigns();
-            List<User> allUsers = userService.getAllUsers();
-            
-            // Campaign analytics
-            Map<String, Long> campaignsByStatus = allCampaigns.stream()
-                .collect(Collectors.groupingBy(Campaign::getStatus, Collectors.counting()));
-            
-            Map<String, Long> campaignsByCategory = allCampaigns.stream()
-                .collect(Collectors.groupingBy(Campaign::getCategory, Collectors.counting()));
-            
-            // User analytics
-            Map<String, Long> usersByRole = allUsers.stream()
-                .collect(Collectors.groupingBy(User::getRole, Collectors.counting()));
-            
-            // Financial stats
-            double totalGoalAmount = allCampaigns.stream()
-                .mapToDouble(Campaign::getGoalAmount)
-                .sum();
-            
-            double totalRaisedAmount = allCampaigns.stream()
-                .mapToDouble(Campaign::getRaisedAmount)
-                .sum();
+            PlatformStatisticsService.CampaignStatistics campaignStats = platformStatisticsService.getCampaignStatistics();
+            PlatformStatisticsService.UserStatistics userStats = platformStatisticsService.getUserStatistics();
 
             Map<String, Object> stats = Map.of(
                 "overview", Map.of(
-                    "totalCampaigns", allCampaigns.size(),
-                    "totalUsers", allUsers.size(),
-                    "totalGoalAmount", totalGoalAmount,
-                    "totalRaisedAmount", totalRaisedAmount,
-                    "platformSuccessRate", totalGoalAmount > 0 ? (totalRaisedAmount / totalGoalAmount) * 100 : 0
+                    "totalCampaigns", campaignStats.getTotalCampaigns(),
+                    "totalUsers", userStats.getTotalUsers(),
+                    "totalGoalAmount", campaignStats.getTotalGoalAmount(),
+                    "totalRaisedAmount", campaignStats.getTotalRaisedAmount(),
+                    "platformSuccessRate", campaignStats.getSuccessRate()
                 ),
                 "campaigns", Map.of(
-                    "byStatus", campaignsByStatus,
-                    "byCategory", campaignsByCategory
+                    "byStatus", campaignStats.getByStatus(),
+                    "byCategory", campaignStats.getByCategory()
                 ),
                 "users", Map.of(
-                    "byRole", usersByRole,
+                    "byRole", userStats.getByRole(),
                     "verificationStats", Map.of(
-                        "verified", userService.getVerifiedUsersCount(),
-                        "unverified", userService.getUnverifiedUsersCount()
+                        "verified", userStats.getVerifiedUsers(),
+                        "unverified", userStats.getUnverifiedUsers()
                     )
                 ),
                 "timestamp", LocalDateTime.now()
@@ -639,4 +604,155 @@ public class AdminController {
             ));
         }
     }
-}
\ No newline at end of file
+
+    // ===== ADMIN JOB ENDPOINTS =====
+
+    /**
+     * Start a background admin job; returns its id straight away
+     * POST /api/admin/jobs/{type}  (user-roles, user-verification, system-cleanup, data-integrity)
+     * e.g. {"userIds": [...], "role": "admin"} or {"userIds": [...], "verified": true}
+     */
+    @PostMapping("/jobs/{type}")
+    public ResponseEntity<?> submitJob(@PathVariable String type,
+                                       @RequestBody(required = false) Map<String, Object> params,
+                                       Principal principal) {
+        try {
+            AdminJob job = adminJobService.submit(type, params, principal != null ? principal.getName() : null);
+            
+            Map<String, Object> response = new LinkedHashMap<>(adminJobService.toProgress(job));
+            response.put("statusUrl", "/api/admin/jobs/" + job.getId());
+            response.put("streamUrl", "/api/admin/jobs/" + job.getId() + "/stream");
+            return ResponseEntity.accepted().body(response);
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "Invalid job",
+                "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            logger.error("Error submitting admin job: {}", type, e);
+            return ResponseEntity.status(500).body(Map.of(
+                "error", "Failed to submit job",
+                "message", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Recent admin jobs, newest first
+     * GET /api/admin/jobs?page=0&size=20
+     */
+    @GetMapping("/jobs")
+    public ResponseEntity<?> getJobs(@RequestParam(defaultValue = "0") int page,
+                                     @RequestParam(defaultValue = "20") int size) {
+        try {
+            Page<AdminJob> jobs = adminJobService.getRecentJobs(Math.max(page, 0), Math.min(Math.max(size, 1), 100));
+            
+            return ResponseEntity.ok(Map.of(
+                "jobs", jobs.getContent().stream().map(adminJobService::toProgress).collect(Collectors.toList()),
+                "currentPage", jobs.getNumber(),
+                "totalPages", jobs.getTotalPages(),
+                "totalElements", jobs.getTotalElements()
+            ));
+            
+        } catch (Exception e) {
+            logger.error("Error fetching admin jobs", e);
+            return ResponseEntity.status(500).body(Map.of(
+                "error", "Failed to fetch jobs",
+                "message", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Progress of one admin job (processed/total, counters, throughput, ETA)
+     * GET /api/admin/jobs/{id}
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<?> getJob(@PathVariable String id) {
+        return adminJobService.getJob(id)
+            .<ResponseEntity<?>>map(job -> ResponseEntity.ok(adminJobService.toProgress(job)))
+            .orElseGet(() -> ResponseEntity.status(404).body(Map.of(
+                "error", "Job not found",
+                "jobId", id
+            )));
+    }
+
+    /**
+     * Stream progress of one admin job until it finishes (Server-Sent Events, event name "progress")
+     * GET /api/admin/jobs/{id}/stream
+     */
+    @GetMapping(value = "/jobs/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJobProgress(@PathVariable String id) {
+        try {
+            return adminJobService.subscribe(id);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            logger.warn("Rejected admin job stream subscriber: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many subscribers, please poll /api/admin/jobs/" + id + " instead");
+        }
+    }
+
+    // ===== HELPERS =====
+
+    private static final Set<String> CAMPAIGN_SORT_FIELDS = Set.of(
+        "createdAt", "updatedAt", "name", "category", "status", "goalAmount", "raisedAmount", "startDate", "endDate"
+    );
+
+    private static final Set<String> USER_SORT_FIELDS = Set.of(
+        "createdAt", "updatedAt", "username", "email", "role", "verified"
+    );
+
+    /**
+     * Build a multi-field sort from "field[:dir],field[:dir]"; fields without a direction use sortDir.
+     * _id is appended as a tie-breaker so pages are stable.
+     */
+    private Sort buildSort(String sortBy, String sortDir, Set<String> allowedFields) {
+        Sort.Direction defaultDirection = "asc".equalsIgnoreCase(sortDir) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        List<Sort.Order> orders = new ArrayList<>();
+
+        for (String part : sortBy.split(",")) {
+            String[] fieldAndDir = part.trim().split(":");
+            String field = fieldAndDir[0].trim();
+            if (!allowedFields.contains(field)) {
+                continue;
+            }
+            Sort.Direction direction = fieldAndDir.length > 1
+                ? ("asc".equalsIgnoreCase(fieldAndDir[1].trim()) ? Sort.Direction.ASC : Sort.Direction.DESC)
+                : defaultDirection;
+            orders.add(new Sort.Order(direction, field));
+        }
+
+        if (orders.isEmpty()) {
+            orders.add(new Sort.Order(defaultDirection, "createdAt"));
+        }
+        orders.add(new Sort.Order(orders.get(0).getDirection(), "id"));
+        return Sort.by(orders);
+    }
+
+    private List<CampaignResponseDTO> toCampaignDTOs(List<Campaign> campaigns) {
+        Map<String, String> creatorUsernames = userResolver.resolveUsernames(
+            campaigns.stream().map(Campaign::getCreatorId).collect(Collectors.toList()));
+
+        return campaigns.stream()
+            .map(campaign -> CampaignResponseDTO.fromCampaign(campaign,
+                creatorUsernames.getOrDefault(campaign.getCreatorId(), "Unknown")))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Extract campaignIds from a bulk request body; null if missing, empty or too large
+     */
+    private List<String> getBulkIds(Map<String, Object> request) {
+        Object ids = request != null ? request.get("campaignIds") : null;
+        if (!(ids instanceof List<?> list) || list.isEmpty() || list.size() > MAX_BULK_IDS) {
+            return null;
+        }
+        return list.stream()
+            .filter(id -> id != null)
+            .map(Object::toString)
+            .collect(Collectors.toList());
+    }
+}
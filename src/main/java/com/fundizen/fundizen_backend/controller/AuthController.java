@@ -3,12 +3,14 @@ package com.fundizen.fundizen_backend.controller;
 import com.fundizen.fundizen_backend.models.User;
 import com.fundizen.fundizen_backend.service.UserService;
 import com.fundizen.fundizen_backend.service.FirebaseService;
+import com.fundizen.fundizen_backend.service.PasswordHashingBusyException;
 import com.google.firebase.auth.FirebaseAuthException;
 import com.google.firebase.auth.FirebaseToken;
 
 import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
@@ -116,6 +118,8 @@ public class AuthController {
                 "firebaseVerified", true
             ));
             
+        } catch (PasswordHashingBusyException e) {
+            return passwordHashingBusy(e);
         } catch (RuntimeException e) {
             return ResponseEntity.status(400).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
@@ -193,6 +197,8 @@ public class AuthController {
                 "firebaseVerified", true
             ));
             
+        } catch (PasswordHashingBusyException e) {
+            return passwordHashingBusy(e);
         } catch (RuntimeException e) {
             return ResponseEntity.status(401).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
@@ -331,6 +337,8 @@ public class AuthController {
                 "firebaseVerified", false
             ));
             
+        } catch (PasswordHashingBusyException e) {
+            return passwordHashingBusy(e);
         } catch (RuntimeException e) {
             return ResponseEntity.status(400).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
@@ -364,10 +372,21 @@ public class AuthController {
                 "firebaseVerified", false
             ));
             
+        } catch (PasswordHashingBusyException e) {
+            return passwordHashingBusy(e);
         } catch (RuntimeException e) {
             return ResponseEntity.status(401).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", "Error during authentication: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<?> passwordHashingBusy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(503)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(Map.of(
+                "error", e.getMessage(),
+                "retryable", true
+            ));
+    }
+}
@@ -1,6 +1,9 @@
 package com.fundizen.fundizen_backend.controller;
 
+import com.fundizen.fundizen_backend.dto.CampaignFilter;
+import com.fundizen.fundizen_backend.dto.CampaignPage;
 import com.fundizen.fundizen_backend.models.Campaign;
+import com.fundizen.fundizen_backend.service.CampaignProgressBroadcaster;
 import com.fundizen.fundizen_backend.service.CampaignService;
 
 import jakarta.validation.Valid;
@@ -8,10 +11,15 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -26,6 +34,9 @@ public class CampaignController {
     @Autowired
     private CampaignService campaignService;
 
+    @Autowired
+    private CampaignProgressBroadcaster campaignProgressBroadcaster;
+
     // Create a new campaign with improved error handling
     @PostMapping("/create")
     public ResponseEntity<?> createCampaign(@Valid @RequestBody Campaign campaign, BindingResult result) {
@@ -136,6 +147,92 @@ public class CampaignController {
         }
     }
 
+    // Get all campaigns - keyset paginated
+    @GetMapping("/paged")
+    public ResponseEntity<?> getAllCampaignsPaged(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Double minGoal,
+            @RequestParam(required = false) Double maxGoal,
+            @RequestParam(defaultValue = "newest") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CampaignFilter filter = CampaignFilter.builder()
+                .category(category)
+                .status(status)
+                .minGoal(minGoal)
+                .maxGoal(maxGoal)
+                .build();
+        return getCampaignPage("all", filter, sort, cursor, size);
+    }
+
+    // Get active campaigns - keyset paginated
+    @GetMapping("/active/paged")
+    public ResponseEntity<?> getActiveCampaignsPaged(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Double minGoal,
+            @RequestParam(required = false) Double maxGoal,
+            @RequestParam(defaultValue = "newest") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CampaignFilter filter = CampaignFilter.builder()
+                .verified(true)
+                .status("approved")
+                .endDateAfter(LocalDate.now())
+                .category(category)
+                .minGoal(minGoal)
+                .maxGoal(maxGoal)
+                .build();
+        return getCampaignPage("active", filter, sort, cursor, size);
+    }
+
+    // Get pending campaigns - keyset paginated
+    @GetMapping("/pending/paged")
+    public ResponseEntity<?> getPendingCampaignsPaged(
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "newest") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CampaignFilter filter = CampaignFilter.builder()
+                .status("pending")
+                .category(category)
+                .build();
+        return getCampaignPage("pending", filter, sort, cursor, size);
+    }
+
+    // Get campaigns by category - keyset paginated
+    @GetMapping("/category/{category}/paged")
+    public ResponseEntity<?> getCampaignsByCategoryPaged(
+            @PathVariable String category,
+            @RequestParam(required = false) Double minGoal,
+            @RequestParam(required = false) Double maxGoal,
+            @RequestParam(defaultValue = "newest") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CampaignFilter filter = CampaignFilter.builder()
+                .category(category)
+                .verified(true)
+                .minGoal(minGoal)
+                .maxGoal(maxGoal)
+                .build();
+        return getCampaignPage("category " + category, filter, sort, cursor, size);
+    }
+
+    // Stream progress of one or more campaigns (Server-Sent Events, event name "progress")
+    // GET /api/campaigns/progress/stream?ids=a,b,c
+    @GetMapping(value = "/progress/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCampaignProgress(@RequestParam List<String> ids) {
+        try {
+            return campaignProgressBroadcaster.subscribe(ids);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            logger.warn("Rejected campaign progress subscriber: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many subscribers, please poll the campaign instead");
+        }
+    }
+
     // Get campaign by ID
     @GetMapping("/{id}")
     public ResponseEntity<?> getCampaignById(@PathVariable String id) {
@@ -293,4 +390,26 @@ public class CampaignController {
             ));
         }
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<?> getCampaignPage(String listing, CampaignFilter filter, String sort,
+                                              String cursor, int size) {
+        try {
+            logger.info("Fetching {} campaigns page (sort: {}, size: {})", listing, sort, size);
+            CampaignPage page = campaignService.getCampaignPage(filter, sort, cursor, size);
+            logger.info("Retrieved {} {} campaigns (hasMore: {})", page.getSize(), listing, page.isHasMore());
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid page request for {} campaigns: {}", listing, e.getMessage());
+            return ResponseEntity.status(400).body(Map.of(
+                "error", "Invalid page request",
+                "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            logger.error("Error fetching {} campaigns page", listing, e);
+            return ResponseEntity.status(500).body(Map.of(
+                "error", "Internal server error",
+                "message", "Error fetching campaigns: " + e.getMessage()
+            ));
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.fundizen.fundizen_backend.controller;
 
+import com.fundizen.fundizen_backend.service.CampaignLeaderboardService;
 import com.fundizen.fundizen_backend.service.DonationService;
+import com.fundizen.fundizen_backend.service.RecentDonationFeed;
 import com.fundizen.fundizen_backend.models.Donation;
 import com.fundizen.fundizen_backend.repository.DonationRepository;
 
@@ -11,8 +13,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -33,6 +39,12 @@ public class DonationController {
     @Autowired
     private DonationRepository donationRepository;
 
+    @Autowired
+    private RecentDonationFeed recentDonationFeed;
+
+    @Autowired
+    private CampaignLeaderboardService campaignLeaderboardService;
+
     /**
      * Get donations for a specific campaign
      * GET /api/donations/campaign/{campaignId}
@@ -367,27 +379,29 @@ public class DonationController {
             @RequestParam(defaultValue = "10") int limit,
             @RequestParam(defaultValue = "24") int hours) {
         try {
-            logger.info("Fetching recent donations - limit: {}, hours: {}", limit, hours);
+            logger.debug("Fetching recent donations - limit: {}, hours: {}", limit, hours);
 
+            if (limit < 1 || limit > recentDonationFeed.getCapacity()) {
+                return ResponseEntity.status(400).body(Map.of(
+                    "success", false,
+                    "error", "Limit must be between 1 and " + recentDonationFeed.getCapacity()
+                ));
+            }
+
+            // Served from the in-memory ring buffer, no query
             LocalDateTime since = LocalDateTime.now().minusHours(hours);
-            List<Donation> recentDonations = donationRepository.findByCreatedAtBetween(since, LocalDateTime.now())
-                .stream()
-                .filter(d -> "succeeded".equals(d.getPaymentStatus()))
-                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                .limit(limit)
-                .collect(Collectors.toList());
+            List<RecentDonationFeed.RecentDonation> recentDonations = recentDonationFeed.getRecent(limit, since);
 
             List<Map<String, Object>> donations = recentDonations.stream()
                 .map(donation -> {
-                    Map<String, Object> donationMap = convertDonationToPublicFormat(donation);
-                    donationMap.put("campaignId", donation.getCampaignId());
+                    Map<String, Object> donationMap = donation.toPublicMap();
                     donationMap.put("timeAgo", calculateTimeAgo(donation.getCreatedAt()));
                     return donationMap;
                 })
                 .collect(Collectors.toList());
 
             double totalAmount = recentDonations.stream()
-                .mapToDouble(Donation::getAmount)
+                .mapToDouble(RecentDonationFeed.RecentDonation::getAmount)
                 .sum();
 
             Map<String, Object> response = Map.of(
@@ -412,6 +426,21 @@ public class DonationController {
         }
     }
 
+    /**
+     * Stream new donations as they succeed (Server-Sent Events, event name "donation")
+     * GET /api/donations/recent/stream
+     */
+    @GetMapping(value = "/recent/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRecentDonations() {
+        try {
+            return recentDonationFeed.subscribe();
+        } catch (IllegalStateException e) {
+            logger.warn("Rejected recent donations stream subscriber: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many subscribers, please poll /api/donations/recent instead");
+        }
+    }
+
     /**
      * Get platform donation statistics
      * GET /api/donations/statistics
@@ -462,6 +491,13 @@ public class DonationController {
         try {
             logger.info("Fetching top donors for campaign: {} (limit: {})", campaignId, limit);
 
+            if (limit < 1 || limit > campaignLeaderboardService.getLeaderboardSize()) {
+                return ResponseEntity.status(400).body(Map.of(
+                    "success", false,
+                    "error", "Limit must be between 1 and " + campaignLeaderboardService.getLeaderboardSize()
+                ));
+            }
+
             List<DonationService.TopDonorInfo> topDonors = 
                 donationService.getTopDonors(campaignId, limit);
 
@@ -616,30 +652,23 @@ public class DonationController {
     public ResponseEntity<?> searchDonations(
             @RequestParam String query,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "relevance") String sort) {
         try {
             logger.info("Searching donations with query: {}", query);
 
-            // Simple search implementation - can be enhanced with full-text search
-            List<Donation> allDonations = donationRepository.findAll();
-            
-            List<Donation> searchResults = allDonations.stream()
-                .filter(donation -> 
-                    (donation.getDonorName() != null && donation.getDonorName().toLowerCase().contains(query.toLowerCase())) ||
-                    (donation.getDonorEmail() != null && donation.getDonorEmail().toLowerCase().contains(query.toLowerCase())) ||
-                    (donation.getMessage() != null && donation.getMessage().toLowerCase().contains(query.toLowerCase())) ||
-                    donation.getId().toLowerCase().contains(query.toLowerCase()) ||
-                    donation.getCampaignId().toLowerCase().contains(query.toLowerCase())
-                )
-                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                .collect(Collectors.toList());
+            if (query.trim().isEmpty() || page < 0 || size < 1 || size > 100) {
+                return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "error", "Query must not be empty, page must be >= 0 and size between 1 and 100"
+                ));
+            }
 
-            // Manual pagination
-            int start = page * size;
-            int end = Math.min(start + size, searchResults.size());
-            List<Donation> paginatedResults = searchResults.subList(start, end);
+            boolean byRelevance = !"recent".equalsIgnoreCase(sort);
+            Page<Donation> searchResults = donationService.searchDonations(
+                query, byRelevance, PageRequest.of(page, size));
 
-            List<Map<String, Object>> donations = paginatedResults.stream()
+            List<Map<String, Object>> donations = searchResults.getContent().stream()
                 .map(this::convertDonationToAdminFormat)
                 .collect(Collectors.toList());
 
@@ -648,17 +677,18 @@ public class DonationController {
                 "donations", donations,
                 "search", Map.of(
                     "query", query,
-                    "totalResults", searchResults.size()
+                    "sort", byRelevance ? "relevance" : "recent",
+                    "totalResults", searchResults.getTotalElements()
                 ),
                 "pagination", Map.of(
-                    "currentPage", page,
-                    "totalPages", (int) Math.ceil((double) searchResults.size() / size),
-                    "totalElements", searchResults.size(),
-                    "size", size
+                    "currentPage", searchResults.getNumber(),
+                    "totalPages", searchResults.getTotalPages(),
+                    "totalElements", searchResults.getTotalElements(),
+                    "size", searchResults.getSize()
                 )
             );
 
-            logger.info("Search returned {} results for query: {}", searchResults.size(), query);
+            logger.info("Search returned {} results for query: {}", searchResults.getTotalElements(), query);
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
@@ -1,12 +1,13 @@
 package com.fundizen.fundizen_backend.controller;
 
 import com.fundizen.fundizen_backend.service.DonationService;
+import com.fundizen.fundizen_backend.service.ResilientStripeClient;
 import com.fundizen.fundizen_backend.service.StripeService;
+import com.fundizen.fundizen_backend.service.StripeUnavailableException;
+import com.fundizen.fundizen_backend.service.StripeWebhookInboxService;
 import com.fundizen.fundizen_backend.models.Donation;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Event;
-import com.stripe.model.PaymentIntent;
-import com.stripe.model.checkout.Session;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -15,6 +16,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
@@ -22,6 +24,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @RestController
@@ -37,6 +40,12 @@ public class PaymentController {
     @Autowired
     private StripeService stripeService;
 
+    @Autowired
+    private StripeWebhookInboxService webhookInboxService;
+
+    @Autowired
+    private ResilientStripeClient resilientStripeClient;
+
     @Value("${stripe.webhook.secret:}")
     private String webhookSecret;
 
@@ -45,31 +54,30 @@ public class PaymentController {
      * POST /api/payment/donate
      */
     @PostMapping("/donate")
-    public ResponseEntity<?> createDonation(@Valid @RequestBody DonationRequest request, 
+    public CompletableFuture<ResponseEntity<?>> createDonation(@Valid @RequestBody DonationRequest request, 
                                           BindingResult result, HttpServletRequest httpRequest) {
-        try {
-            logger.info("Received donation request for campaign: {}, amount: {}", 
-                       request.getCampaignId(), request.getAmount());
-
-            // Validate request
-            if (result.hasErrors()) {
-                List<String> errors = result.getFieldErrors().stream()
-                        .map(error -> error.getField() + ": " + error.getDefaultMessage())
-                        .collect(Collectors.toList());
-                
-                logger.warn("Donation request validation failed: {}", errors);
-                return ResponseEntity.status(400).body(Map.of(
-                    "success", false,
-                    "error", "Validation failed",
-                    "errors", errors
-                ));
-            }
+        logger.info("Received donation request for campaign: {}, amount: {}", 
+                   request.getCampaignId(), request.getAmount());
+
+        // Validate request
+        if (result.hasErrors()) {
+            List<String> errors = result.getFieldErrors().stream()
+                    .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                    .collect(Collectors.toList());
+            
+            logger.warn("Donation request validation failed: {}", errors);
+            return CompletableFuture.completedFuture(ResponseEntity.status(400).body(Map.of(
+                "success", false,
+                "error", "Validation failed",
+                "errors", errors
+            )));
+        }
 
-            // Get client IP address
-            String ipAddress = getClientIpAddress(httpRequest);
+        // Get client IP address
+        String ipAddress = getClientIpAddress(httpRequest);
 
-            // Create donation
-            DonationService.DonationResult result1 = donationService.createDonation(
+        // Create donation - the request thread is released while Stripe is called
+        return donationService.createDonation(
                 request.getCampaignId(),
                 request.getDonorId(),
                 request.getAmount(),
@@ -79,52 +87,56 @@ public class PaymentController {
                 request.isAnonymous(),
                 request.isReceiveUpdates(),
                 ipAddress
-            );
-
-            if (!result1.isSuccess()) {
-                logger.error("Failed to create donation: {}", result1.getMessage());
-                return ResponseEntity.status(400).body(Map.of(
+            )
+            .<ResponseEntity<?>>thenApply(result1 -> {
+                if (!result1.isSuccess()) {
+                    logger.error("Failed to create donation: {}", result1.getMessage());
+                    return ResponseEntity.status(400).body(Map.of(
+                        "success", false,
+                        "error", result1.getMessage()
+                    ));
+                }
+
+                // Calculate fees for display
+                StripeService.StripeFeesCalculation fees = stripeService.calculateFees(request.getAmount(), "MYR");
+
+                Map<String, Object> response = Map.of(
+                    "success", true,
+                    "message", "Donation created successfully",
+                    "donation", Map.of(
+                        "id", result1.getDonation().getId(),
+                        "amount", result1.getDonation().getAmount(),
+                        "currency", result1.getDonation().getCurrency(),
+                        "status", result1.getDonation().getPaymentStatus()
+                    ),
+                    "payment", Map.of(
+                        "clientSecret", result1.getClientSecret(),
+                        "paymentIntentId", result1.getDonation().getStripePaymentIntentId()
+                    ),
+                    "fees", Map.of(
+                        "stripeFee", fees.getStripeFee(),
+                        "platformFee", fees.getPlatformFee(),
+                        "totalFees", fees.getTotalFees(),
+                        "netAmount", fees.getNetAmount()
+                    )
+                );
+
+                logger.info("Donation created successfully: {} for campaign: {}", 
+                           result1.getDonation().getId(), request.getCampaignId());
+
+                return ResponseEntity.ok(response);
+            })
+            .exceptionally(error -> {
+                Throwable cause = ResilientStripeClient.unwrap(error);
+                if (cause instanceof StripeUnavailableException) {
+                    return stripeUnavailable((StripeUnavailableException) cause);
+                }
+                logger.error("Error processing donation request", cause);
+                return ResponseEntity.status(500).body(Map.of(
                     "success", false,
-                    "error", result1.getMessage()
+                    "error", "Failed to process donation: " + cause.getMessage()
                 ));
-            }
-
-            // Calculate fees for display
-            StripeService.StripeFeesCalculation fees = stripeService.calculateFees(request.getAmount(), "MYR");
-
-            Map<String, Object> response = Map.of(
-                "success", true,
-                "message", "Donation created successfully",
-                "donation", Map.of(
-                    "id", result1.getDonation().getId(),
-                    "amount", result1.getDonation().getAmount(),
-                    "currency", result1.getDonation().getCurrency(),
-                    "status", result1.getDonation().getPaymentStatus()
-                ),
-                "payment", Map.of(
-                    "clientSecret", result1.getClientSecret(),
-                    "paymentIntentId", result1.getDonation().getStripePaymentIntentId()
-                ),
-                "fees", Map.of(
-                    "stripeFee", fees.getStripeFee(),
-                    "platformFee", fees.getPlatformFee(),
-                    "totalFees", fees.getTotalFees(),
-                    "netAmount", fees.getNetAmount()
-                )
-            );
-
-            logger.info("Donation created successfully: {} for campaign: {}", 
-                       result1.getDonation().getId(), request.getCampaignId());
-
-            return ResponseEntity.ok(response);
-
-        } catch (Exception e) {
-            logger.error("Error processing donation request", e);
-            return ResponseEntity.status(500).body(Map.of(
-                "success", false,
-                "error", "Failed to process donation: " + e.getMessage()
-            ));
-        }
+            });
     }
 
     /**
@@ -132,63 +144,68 @@ public class PaymentController {
      * POST /api/payment/checkout-session
      */
     @PostMapping("/checkout-session")
-    public ResponseEntity<?> createCheckoutSession(@RequestBody CheckoutSessionRequest request) {
-        try {
-            logger.info("Creating checkout session for campaign: {}, amount: {}", 
-                       request.getCampaignId(), request.getAmount());
+    public CompletableFuture<ResponseEntity<?>> createCheckoutSession(@RequestBody CheckoutSessionRequest request) {
+        logger.info("Creating checkout session for campaign: {}, amount: {}", 
+                   request.getCampaignId(), request.getAmount());
+
+        // Validate basic requirements
+        if (request.getCampaignId() == null || request.getAmount() == null || 
+            request.getSuccessUrl() == null || request.getCancelUrl() == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(400).body(Map.of(
+                "success", false,
+                "error", "Missing required fields: campaignId, amount, successUrl, cancelUrl"
+            )));
+        }
 
-            // Validate basic requirements
-            if (request.getCampaignId() == null || request.getAmount() == null || 
-                request.getSuccessUrl() == null || request.getCancelUrl() == null) {
-                return ResponseEntity.status(400).body(Map.of(
+        // Create metadata
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("campaign_id", request.getCampaignId());
+        if (request.getDonorId() != null) {
+            metadata.put("donor_id", request.getDonorId());
+        }
+
+        // Create Stripe Checkout Session
+        return resilientStripeClient.submit(ResilientStripeClient.CREATE_CHECKOUT_SESSION,
+                () -> stripeService.createDonationCheckoutSession(
+                    request.getAmount(),
+                    "MYR",
+                    request.getCampaignId(),
+                    request.getSuccessUrl(),
+                    request.getCancelUrl(),
+                    request.getDonorEmail(),
+                    metadata
+                ))
+            .<ResponseEntity<?>>thenApply(session -> {
+                Map<String, Object> response = Map.of(
+                    "success", true,
+                    "sessionId", session.getId(),
+                    "sessionUrl", session.getUrl(),
+                    "publicKey", getStripePublishableKey()
+                );
+
+                logger.info("Checkout session created successfully: {} for campaign: {}", 
+                           session.getId(), request.getCampaignId());
+
+                return ResponseEntity.ok(response);
+            })
+            .exceptionally(error -> {
+                Throwable cause = ResilientStripeClient.unwrap(error);
+                if (cause instanceof StripeUnavailableException) {
+                    return stripeUnavailable((StripeUnavailableException) cause);
+                }
+                if (cause instanceof StripeException) {
+                    logger.error("Stripe error creating checkout session", cause);
+                    return ResponseEntity.status(500).body(Map.of(
+                        "success", false,
+                        "error", "Payment processing error: " + cause.getMessage()
+                    ));
+                }
+                logger.error("Error creating checkout session", cause);
+                return ResponseEntity.status(500).body(Map.of(
                     "success", false,
-                    "error", "Missing required fields: campaignId, amount, successUrl, cancelUrl"
+                    "error", "Failed to create checkout session: " + cause.getMessage()
                 ));
-            }
-
-            // Create metadata
-            Map<String, String> metadata = new HashMap<>();
-            metadata.put("campaign_id", request.getCampaignId());
-            if (request.getDonorId() != null) {
-                metadata.put("donor_id", request.getDonorId());
-            }
-
-            // Create Stripe Checkout Session
-            Session session = stripeService.createDonationCheckoutSession(
-                request.getAmount(),
-                "MYR",
-                request.getCampaignId(),
-                request.getSuccessUrl(),
-                request.getCancelUrl(),
-                request.getDonorEmail(),
-                metadata
-            );
-
-            Map<String, Object> response = Map.of(
-                "success", true,
-                "sessionId", session.getId(),
-                "sessionUrl", session.getUrl(),
-                "publicKey", getStripePublishableKey()
-            );
-
-            logger.info("Checkout session created successfully: {} for campaign: {}", 
-                       session.getId(), request.getCampaignId());
-
-            return ResponseEntity.ok(response);
-
-        } catch (StripeException e) {
-            logger.error("Stripe error creating checkout session", e);
-            return ResponseEntity.status(500).body(Map.of(
-                "success", false,
-                "error", "Payment processing error: " + e.getMessage()
-            ));
-        } catch (Exception e) {
-            logger.error("Error creating checkout session", e);
-            return ResponseEntity.status(500).body(Map.of(
-                "success", false,
-                "error", "Failed to create checkout session: " + e.getMessage()
-            ));
-        }
+            });
     }
 
     /**
@@ -196,64 +213,69 @@ public class PaymentController {
      * POST /api/payment/confirm
      */
     @PostMapping("/confirm")
-    public ResponseEntity<?> confirmPayment(@RequestBody PaymentConfirmRequest request) {
-        try {
-            logger.info("Confirming payment intent: {}", request.getPaymentIntentId());
-
-            if (request.getPaymentIntentId() == null) {
-                return ResponseEntity.status(400).body(Map.of(
-                    "success", false,
-                    "error", "Payment intent ID is required"
-                ));
-            }
+    public CompletableFuture<ResponseEntity<?>> confirmPayment(@RequestBody PaymentConfirmRequest request) {
+        logger.info("Confirming payment intent: {}", request.getPaymentIntentId());
 
-            // Retrieve and check payment intent status
-            PaymentIntent paymentIntent = stripeService.retrievePaymentIntent(request.getPaymentIntentId());
+        if (request.getPaymentIntentId() == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(400).body(Map.of(
+                "success", false,
+                "error", "Payment intent ID is required"
+            )));
+        }
 
-            if (stripeService.isPaymentSuccessful(paymentIntent)) {
-                // Payment is already successful
-                return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "status", "succeeded",
-                    "message", "Payment completed successfully"
-                ));
-            } else if (stripeService.requiresAction(paymentIntent)) {
-                // Payment requires additional action (3D Secure, etc.)
-                return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "status", "requires_action",
-                    "clientSecret", paymentIntent.getClientSecret(),
-                    "message", "Payment requires additional authentication"
-                ));
-            } else if (stripeService.isPaymentFailed(paymentIntent)) {
-                // Payment failed
-                return ResponseEntity.ok(Map.of(
+        // Retrieve and check payment intent status
+        return resilientStripeClient.submit(ResilientStripeClient.RETRIEVE_PAYMENT_INTENT,
+                () -> stripeService.retrievePaymentIntent(request.getPaymentIntentId()))
+            .<ResponseEntity<?>>thenApply(paymentIntent -> {
+                if (stripeService.isPaymentSuccessful(paymentIntent)) {
+                    // Payment is already successful
+                    return ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "status", "succeeded",
+                        "message", "Payment completed successfully"
+                    ));
+                } else if (stripeService.requiresAction(paymentIntent)) {
+                    // Payment requires additional action (3D Secure, etc.)
+                    return ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "status", "requires_action",
+                        "clientSecret", paymentIntent.getClientSecret(),
+                        "message", "Payment requires additional authentication"
+                    ));
+                } else if (stripeService.isPaymentFailed(paymentIntent)) {
+                    // Payment failed
+                    return ResponseEntity.ok(Map.of(
+                        "success", false,
+                        "status", "failed",
+                        "message", "Payment failed"
+                    ));
+                } else {
+                    // Payment is still processing
+                    return ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "status", "processing",
+                        "message", "Payment is being processed"
+                    ));
+                }
+            })
+            .exceptionally(error -> {
+                Throwable cause = ResilientStripeClient.unwrap(error);
+                if (cause instanceof StripeUnavailableException) {
+                    return stripeUnavailable((StripeUnavailableException) cause);
+                }
+                if (cause instanceof StripeException) {
+                    logger.error("Stripe error confirming payment", cause);
+                    return ResponseEntity.status(500).body(Map.of(
+                        "success", false,
+                        "error", "Payment confirmation error: " + cause.getMessage()
+                    ));
+                }
+                logger.error("Error confirming payment", cause);
+                return ResponseEntity.status(500).body(Map.of(
                     "success", false,
-                    "status", "failed",
-                    "message", "Payment failed"
-                ));
-            } else {
-                // Payment is still processing
-                return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "status", "processing",
-                    "message", "Payment is being processed"
+                    "error", "Failed to confirm payment: " + cause.getMessage()
                 ));
-            }
-
-        } catch (StripeException e) {
-            logger.error("Stripe error confirming payment", e);
-            return ResponseEntity.status(500).body(Map.of(
-                "success", false,
-                "error", "Payment confirmation error: " + e.getMessage()
-            ));
-        } catch (Exception e) {
-            logger.error("Error confirming payment", e);
-            return ResponseEntity.status(500).body(Map.of(
-                "success", false,
-                "error", "Failed to confirm payment: " + e.getMessage()
-            ));
-        }
+            });
     }
 
     /**
@@ -261,53 +283,56 @@ public class PaymentController {
      * POST /api/payment/refund
      */
     @PostMapping("/refund")
-    public ResponseEntity<?> createRefund(@RequestBody RefundRequest request) {
-        try {
-            logger.info("Creating refund for donation: {}", request.getDonationId());
+    public CompletableFuture<ResponseEntity<?>> createRefund(@RequestBody RefundRequest request) {
+        logger.info("Creating refund for donation: {}", request.getDonationId());
 
-            if (request.getDonationId() == null || request.getReason() == null) {
-                return ResponseEntity.status(400).body(Map.of(
-                    "success", false,
-                    "error", "Donation ID and reason are required"
-                ));
-            }
+        if (request.getDonationId() == null || request.getReason() == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(400).body(Map.of(
+                "success", false,
+                "error", "Donation ID and reason are required"
+            )));
+        }
 
-            DonationService.RefundResult result = donationService.createRefund(
+        return donationService.createRefund(
                 request.getDonationId(),
                 request.getReason(),
                 request.getAmount()
-            );
-
-            if (!result.isSuccess()) {
-                return ResponseEntity.status(400).body(Map.of(
+            )
+            .<ResponseEntity<?>>thenApply(result -> {
+                if (!result.isSuccess()) {
+                    return ResponseEntity.status(400).body(Map.of(
+                        "success", false,
+                        "error", result.getMessage()
+                    ));
+                }
+
+                Map<String, Object> response = Map.of(
+                    "success", true,
+                    "message", "Refund processed successfully",
+                    "refund", Map.of(
+                        "donationId", result.getDonation().getId(),
+                        "refundId", result.getRefundId(),
+                        "amount", result.getDonation().getAmount(),
+                        "status", "refunded"
+                    )
+                );
+
+                logger.info("Refund created successfully: {} for donation: {}", 
+                           result.getRefundId(), request.getDonationId());
+
+                return ResponseEntity.ok(response);
+            })
+            .exceptionally(error -> {
+                Throwable cause = ResilientStripeClient.unwrap(error);
+                if (cause instanceof StripeUnavailableException) {
+                    return stripeUnavailable((StripeUnavailableException) cause);
+                }
+                logger.error("Error creating refund", cause);
+                return ResponseEntity.status(500).body(Map.of(
                     "success", false,
-                    "error", result.getMessage()
+                    "error", "Failed to create refund: " + cause.getMessage()
                 ));
-            }
-
-            Map<String, Object> response = Map.of(
-                "success", true,
-                "message", "Refund processed successfully",
-                "refund", Map.of(
-                    "donationId", result.getDonation().getId(),
-                    "refundId", result.getRefundId(),
-                    "amount", result.getDonation().getAmount(),
-                    "status", "refunded"
-                )
-            );
-
-            logger.info("Refund created successfully: {} for donation: {}", 
-                       result.getRefundId(), request.getDonationId());
-
-            return ResponseEntity.ok(response);
-
-        } catch (Exception e) {
-            logger.error("Error creating refund", e);
-            return ResponseEntity.status(500).body(Map.of(
-                "success", false,
-                "error", "Failed to create refund: " + e.getMessage()
-            ));
-        }
+            });
     }
 
     /**
@@ -401,27 +426,12 @@ public class PaymentController {
             // Verify webhook signature
             Event event = stripeService.constructWebhookEvent(payload, sigHeader, webhookSecret);
 
-            logger.info("Processing webhook event: {} - {}", event.getType(), event.getId());
-
-            // Handle different event types
-            switch (event.getType()) {
-                case "payment_intent.succeeded":
-                    handlePaymentSucceeded(event);
-                    break;
-                case "payment_intent.payment_failed":
-                    handlePaymentFailed(event);
-                    break;
-                case "payment_intent.canceled":
-                    handlePaymentCanceled(event);
-                    break;
-                case "charge.succeeded":
-                    handleChargeSucceeded(event);
-                    break;
-                default:
-                    logger.debug("Unhandled webhook event type: {}", event.getType());
+            // Persist and acknowledge - the inbox workers apply the event asynchronously
+            if (webhookInboxService.enqueue(event)) {
+                logger.info("Queued webhook event: {} - {}", event.getType(), event.getId());
             }
 
-            return ResponseEntity.ok("Webhook processed successfully");
+            return ResponseEntity.ok("Webhook received");
 
         } catch (Exception e) {
             logger.error("Error processing webhook", e);
@@ -429,54 +439,22 @@ public class PaymentController {
         }
     }
 
-    // Helper methods for webhook processing
-    private void handlePaymentSucceeded(Event event) {
-        try {
-            PaymentIntent paymentIntent = (PaymentIntent) event.getDataObjectDeserializer().getObject().orElse(null);
-            if (paymentIntent != null) {
-                donationService.processSuccessfulPayment(paymentIntent.getId(), null);
-            }
-        } catch (Exception e) {
-            logger.error("Error handling payment succeeded webhook", e);
-        }
-    }
-
-    private void handlePaymentFailed(Event event) {
-        try {
-            PaymentIntent paymentIntent = (PaymentIntent) event.getDataObjectDeserializer().getObject().orElse(null);
-            if (paymentIntent != null) {
-                String failureReason = paymentIntent.getLastPaymentError() != null ? 
-                    paymentIntent.getLastPaymentError().getMessage() : "Unknown error";
-                donationService.processFailedPayment(paymentIntent.getId(), failureReason);
-            }
-        } catch (Exception e) {
-            logger.error("Error handling payment failed webhook", e);
-        }
-    }
-
-    private void handlePaymentCanceled(Event event) {
-        try {
-            PaymentIntent paymentIntent = (PaymentIntent) event.getDataObjectDeserializer().getObject().orElse(null);
-            if (paymentIntent != null) {
-                donationService.processFailedPayment(paymentIntent.getId(), "Payment canceled");
-            }
-        } catch (Exception e) {
-            logger.error("Error handling payment canceled webhook", e);
-        }
-    }
+    // Utility methods
 
-    private void handleChargeSucceeded(Event event) {
-        try {
-            com.stripe.model.Charge charge = (com.stripe.model.Charge) event.getDataObjectDeserializer().getObject().orElse(null);
-            if (charge != null && charge.getPaymentIntent() != null) {
-                donationService.processSuccessfulPayment(charge.getPaymentIntent(), charge.getId());
-            }
-        } catch (Exception e) {
-            logger.error("Error handling charge succeeded webhook", e);
-        }
+    /**
+     * 503 with Retry-After for calls rejected or timed out by the Stripe resilience layer
+     */
+    private ResponseEntity<?> stripeUnavailable(StripeUnavailableException e) {
+        logger.warn("Stripe unavailable: {}", e.getMessage());
+        return ResponseEntity.status(503)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(Map.of(
+                "success", false,
+                "error", e.getMessage(),
+                "retryable", true
+            ));
     }
 
-    // Utility methods
     private String getClientIpAddress(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
@@ -0,0 +1,79 @@
+package com.fundizen.fundizen_backend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Filter for paginated campaign listings. Null fields are not applied.
+ */
+public class CampaignFilter {
+    private String category;
+    private String status;
+    private Boolean verified;
+    private Double minGoal;
+    private Double maxGoal;
+    private LocalDate endDateAfter; // Only campaigns still running after this date
+
+    private CampaignFilter(Builder builder) {
+        this.category = builder.category;
+        this.status = builder.status;
+        this.verified = builder.verified;
+        this.minGoal = builder.minGoal;
+        this.maxGoal = builder.maxGoal;
+        this.endDateAfter = builder.endDateAfter;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private String category;
+        private String status;
+        private Boolean verified;
+        private Double minGoal;
+        private Double maxGoal;
+        private LocalDate endDateAfter;
+
+        public Builder category(String category) {
+            this.category = category;
+            return this;
+        }
+
+        public Builder status(String status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder verified(Boolean verified) {
+            this.verified = verified;
+            return this;
+        }
+
+        public Builder minGoal(Double minGoal) {
+            this.minGoal = minGoal;
+            return this;
+        }
+
+        public Builder maxGoal(Double maxGoal) {
+            this.maxGoal = maxGoal;
+            return this;
+        }
+
+        public Builder endDateAfter(LocalDate endDateAfter) {
+            this.endDateAfter = endDateAfter;
+            return this;
+        }
+
+        public CampaignFilter build() {
+            return new CampaignFilter(this);
+        }
+    }
+
+    // Getters
+    public String getCategory() { return category; }
+    public String getStatus() { return status; }
+    public Boolean getVerified() { return verified; }
+    public Double getMinGoal() { return minGoal; }
+    public Double getMaxGoal() { return maxGoal; }
+    public LocalDate getEndDateAfter() { return endDateAfter; }
+}
@@ -0,0 +1,43 @@
+package com.fundizen.fundizen_backend.dto;
+
+import com.fundizen.fundizen_backend.models.Campaign;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated campaign listing.
+ * Pass nextCursor back as the cursor parameter to fetch the following page.
+ */
+public class CampaignPage {
+    private List<Campaign> campaigns;
+    private String nextCursor; // Null on the last page
+    private boolean hasMore;
+    private int size;
+    private String sort;
+
+    public CampaignPage() {}
+
+    public CampaignPage(List<Campaign> campaigns, String nextCursor, boolean hasMore, String sort) {
+        this.campaigns = campaigns;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.size = campaigns.size();
+        this.sort = sort;
+    }
+
+    // Getters and setters
+    public List<Campaign> getCampaigns() { return campaigns; }
+    public void setCampaigns(List<Campaign> campaigns) { this.campaigns = campaigns; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public String getSort() { return sort; }
+    public void setSort(String sort) { this.sort = sort; }
+}
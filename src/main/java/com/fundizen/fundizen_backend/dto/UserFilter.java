@@ -0,0 +1,70 @@
+package com.fundizen.fundizen_backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filter for admin user queries. Null fields are not applied.
+ */
+public class UserFilter {
+    private String search; // Username or email prefix, case-insensitive
+    private String role;
+    private Boolean verified;
+    private LocalDateTime createdAfter;
+    private LocalDateTime createdBefore;
+
+    private UserFilter(Builder builder) {
+        this.search = builder.search;
+        this.role = builder.role;
+        this.verified = builder.verified;
+        this.createdAfter = builder.createdAfter;
+        this.createdBefore = builder.createdBefore;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private String search;
+        private String role;
+        private Boolean verified;
+        private LocalDateTime createdAfter;
+        private LocalDateTime createdBefore;
+
+        public Builder search(String search) {
+            this.search = search != null && !search.trim().isEmpty() ? search.trim() : null;
+            return this;
+        }
+
+        public Builder role(String role) {
+            this.role = role != null && !role.trim().isEmpty() && !"all".equals(role) ? role : null;
+            return this;
+        }
+
+        public Builder verified(Boolean verified) {
+            this.verified = verified;
+            return this;
+        }
+
+        public Builder createdAfter(LocalDateTime createdAfter) {
+            this.createdAfter = createdAfter;
+            return this;
+        }
+
+        public Builder createdBefore(LocalDateTime createdBefore) {
+            this.createdBefore = createdBefore;
+            return this;
+        }
+
+        public UserFilter build() {
+            return new UserFilter(this);
+        }
+    }
+
+    // Getters
+    public String getSearch() { return search; }
+    public String getRole() { return role; }
+    public Boolean getVerified() { return verified; }
+    public LocalDateTime getCreatedAfter() { return createdAfter; }
+    public LocalDateTime getCreatedBefore() { return createdBefore; }
+}
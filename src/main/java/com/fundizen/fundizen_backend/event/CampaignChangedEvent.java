@@ -0,0 +1,35 @@
+package com.fundizen.fundizen_backend.event;
+
+/**
+ * Published after a campaign document was created, updated or deleted.
+ */
+public class CampaignChangedEvent {
+
+    private final String campaignId;
+    private final boolean deleted;
+
+    public CampaignChangedEvent(String campaignId) {
+        this(campaignId, false);
+    }
+
+    public CampaignChangedEvent(String campaignId, boolean deleted) {
+        this.campaignId = campaignId;
+        this.deleted = deleted;
+    }
+
+    public String getCampaignId() {
+        return campaignId;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    @Override
+    public String toString() {
+        return "CampaignChangedEvent{" +
+                "campaignId='" + campaignId + '\'' +
+                ", deleted=" + deleted +
+                '}';
+    }
+}
@@ -0,0 +1,47 @@
+package com.fundizen.fundizen_backend.event;
+
+import com.fundizen.fundizen_backend.models.Donation;
+
+/**
+ * Published after a donation's payment status changed in the database.
+ * Only the winning transition publishes, so listeners see each change once.
+ */
+public class DonationStatusChangedEvent {
+
+    private final Donation donation;
+    private final String status;
+
+    public DonationStatusChangedEvent(Donation donation, String status) {
+        this.donation = donation;
+        this.status = status;
+    }
+
+    public Donation getDonation() {
+        return donation;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getCampaignId() {
+        return donation.getCampaignId();
+    }
+
+    public boolean isSucceeded() {
+        return "succeeded".equals(status);
+    }
+
+    public boolean isRefunded() {
+        return "refunded".equals(status);
+    }
+
+    @Override
+    public String toString() {
+        return "DonationStatusChangedEvent{" +
+                "donationId='" + donation.getId() + '\'' +
+                ", campaignId='" + donation.getCampaignId() + '\'' +
+                ", status='" + status + '\'' +
+                '}';
+    }
+}
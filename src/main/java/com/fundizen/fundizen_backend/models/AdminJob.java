@@ -0,0 +1,230 @@
+package com.fundizen.fundizen_backend.models;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+
+/**
+ * Long-running admin operation (bulk user updates, system cleanup, integrity
+ * checks) submitted through /api/admin/jobs and run by AdminJobService.
+ *
+ * Work is split into units (users, maintenance steps). checkpoint is the
+ * number of units finished, written after every chunk, so a job whose node
+ * dies resumes from its last chunk on another node.
+ */
+@Document(collection = "admin_jobs")
+@CompoundIndex(name = "status_created_idx", def = "{'status': 1, 'createdAt': 1}")
+public class AdminJob {
+
+    public static final String STATUS_QUEUED = "queued";
+    public static final String STATUS_RUNNING = "running";
+    public static final String STATUS_COMPLETED = "completed";
+    public static final String STATUS_FAILED = "failed";
+
+    @Id
+    private String id;
+
+    private String type; // e.g. "user-roles", "system-cleanup" - one job per type runs cluster-wide
+
+    private String status = STATUS_QUEUED;
+
+    private Map<String, Object> params = new LinkedHashMap<>();
+
+    // Progress
+    private long checkpoint; // Units done; the next chunk starts here
+
+    private long total; // Units in the whole job
+
+    private Map<String, Long> counters = new LinkedHashMap<>(); // e.g. updated, notFound
+
+    // Node running the job and the fencing token of its lease; checkpoints are only written with a matching token
+    private String owner;
+
+    private long fencingToken;
+
+    private int runs; // Times the job was (re)started
+
+    // Where the current run started, for throughput and ETA
+    private long runStartCheckpoint;
+
+    private LocalDateTime runStartedAt;
+
+    private String error;
+
+    private String submittedBy;
+
+    // Timestamps
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime updatedAt;
+
+    @Indexed(expireAfter = "30d") // Finished jobs are kept for a month
+    private LocalDateTime finishedAt;
+
+    // Constructors
+    public AdminJob() {}
+
+    public AdminJob(String type, Map<String, Object> params, String submittedBy) {
+        this.type = type;
+        this.params = params != null ? new LinkedHashMap<>(params) : new LinkedHashMap<>();
+        this.submittedBy = submittedBy;
+        this.status = STATUS_QUEUED;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    public boolean isFinished() {
+        return STATUS_COMPLETED.equals(status) || STATUS_FAILED.equals(status);
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Map<String, Object> getParams() {
+        return params;
+    }
+
+    public void setParams(Map<String, Object> params) {
+        this.params = params;
+    }
+
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    public void setCheckpoint(long checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    public void setCounters(Map<String, Long> counters) {
+        this.counters = counters;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public long getFencingToken() {
+        return fencingToken;
+    }
+
+    public void setFencingToken(long fencingToken) {
+        this.fencingToken = fencingToken;
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    public void setRuns(int runs) {
+        this.runs = runs;
+    }
+
+    public long getRunStartCheckpoint() {
+        return runStartCheckpoint;
+    }
+
+    public void setRunStartCheckpoint(long runStartCheckpoint) {
+        this.runStartCheckpoint = runStartCheckpoint;
+    }
+
+    public LocalDateTime getRunStartedAt() {
+        return runStartedAt;
+    }
+
+    public void setRunStartedAt(LocalDateTime runStartedAt) {
+        this.runStartedAt = runStartedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getSubmittedBy() {
+        return submittedBy;
+    }
+
+    public void setSubmittedBy(String submittedBy) {
+        this.submittedBy = submittedBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
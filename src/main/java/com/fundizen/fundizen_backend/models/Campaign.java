@@ -2,6 +2,8 @@ package com.fundizen.fundizen_backend.models;
 
 import java.time.LocalDate;
 import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
@@ -15,6 +17,11 @@ import java.time.LocalDateTime;
 @Document(collection = "campaigns")
 @CompoundIndex(name = "status_verified_idx", def = "{'status': 1, 'verified': 1}")
 @CompoundIndex(name = "category_verified_idx", def = "{'category': 1, 'verified': 1}")
+// Keyset pagination indexes - sort on (createdAt|raisedAmount, _id) descending
+@CompoundIndex(name = "created_id_idx", def = "{'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "raised_id_idx", def = "{'raisedAmount': -1, '_id': -1}")
+@CompoundIndex(name = "status_created_id_idx", def = "{'status': 1, 'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "category_verified_created_id_idx", def = "{'category': 1, 'verified': 1, 'createdAt': -1, '_id': -1}")
 public class Campaign {
 
     @Id
@@ -59,6 +66,9 @@ public class Campaign {
     @Digits(integer = 7, fraction = 2, message = "Invalid raised amount format")
     private Double raisedAmount = 0.0;
 
+    // Number of succeeded donations, maintained alongside raisedAmount
+    private Long donationCount = 0L;
+
     @NotNull(message = "Start date is required")
     private LocalDate startDate;
 
@@ -85,6 +95,10 @@ public class Campaign {
     
     private String rejectionReason;
 
+    // Set by each bulk moderation, so it can read back which campaigns it changed
+    @JsonIgnore
+    private String moderationToken;
+
     // Custom validation method
     @AssertTrue(message = "End date must be after start date")
     public boolean isValidDateRange() {
@@ -114,6 +128,7 @@ public class Campaign {
         this.status = "pending";
         this.verified = false;
         this.raisedAmount = 0.0;
+        this.donationCount = 0L;
     }
 
     // Helper methods
@@ -239,6 +254,14 @@ public class Campaign {
         this.raisedAmount = raisedAmount;
     }
 
+    public Long getDonationCount() {
+        return donationCount;
+    }
+
+    public void setDonationCount(Long donationCount) {
+        this.donationCount = donationCount;
+    }
+
     public LocalDate getStartDate() {
         return startDate;
     }
@@ -311,6 +334,14 @@ public class Campaign {
         this.rejectionReason = rejectionReason;
     }
 
+    public String getModerationToken() {
+        return moderationToken;
+    }
+
+    public void setModerationToken(String moderationToken) {
+        this.moderationToken = moderationToken;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,84 @@
+package com.fundizen.fundizen_backend.models;
+
+import java.time.LocalDateTime;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Running total of one donor's succeeded donations to one campaign.
+ * The id is "<campaignId>:<donorId>".
+ */
+@Document(collection = "campaign_donor_totals")
+@CompoundIndex(name = "campaign_total_idx", def = "{'campaignId': 1, 'totalAmount': -1}")
+public class CampaignDonorTotal {
+
+    @Id
+    private String id;
+
+    private String campaignId;
+
+    private String donorId;
+
+    private double totalAmount = 0.0;
+
+    private long donationCount = 0L;
+
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public CampaignDonorTotal() {}
+
+    public static String idFor(String campaignId, String donorId) {
+        return campaignId + ":" + donorId;
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getCampaignId() {
+        return campaignId;
+    }
+
+    public void setCampaignId(String campaignId) {
+        this.campaignId = campaignId;
+    }
+
+    public String getDonorId() {
+        return donorId;
+    }
+
+    public void setDonorId(String donorId) {
+        this.donorId = donorId;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(double totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public long getDonationCount() {
+        return donationCount;
+    }
+
+    public void setDonationCount(long donationCount) {
+        this.donationCount = donationCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
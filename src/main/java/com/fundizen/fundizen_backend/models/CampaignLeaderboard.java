@@ -0,0 +1,102 @@
+package com.fundizen.fundizen_backend.models;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * The top donors of one campaign by total amount, highest first, capped at
+ * the configured leaderboard size. The id is the campaign id.
+ */
+@Document(collection = "campaign_leaderboards")
+public class CampaignLeaderboard {
+
+    @Id
+    private String id; // Campaign id
+
+    private List<Entry> entries = new ArrayList<>();
+
+    // Bumped on every write; updates are conditional on it
+    private long version = 0L;
+
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public CampaignLeaderboard() {}
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public static class Entry {
+
+        private String donorId;
+
+        private double totalAmount;
+
+        private long donationCount;
+
+        public Entry() {}
+
+        public Entry(String donorId, double totalAmount, long donationCount) {
+            this.donorId = donorId;
+            this.totalAmount = totalAmount;
+            this.donationCount = donationCount;
+        }
+
+        public String getDonorId() {
+            return donorId;
+        }
+
+        public void setDonorId(String donorId) {
+            this.donorId = donorId;
+        }
+
+        public double getTotalAmount() {
+            return totalAmount;
+        }
+
+        public void setTotalAmount(double totalAmount) {
+            this.totalAmount = totalAmount;
+        }
+
+        public long getDonationCount() {
+            return donationCount;
+        }
+
+        public void setDonationCount(long donationCount) {
+            this.donationCount = donationCount;
+        }
+    }
+}
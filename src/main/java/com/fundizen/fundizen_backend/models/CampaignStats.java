@@ -0,0 +1,161 @@
+package com.fundizen.fundizen_backend.models;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Donation statistics of one campaign, maintained incrementally as donations
+ * succeed or are refunded. The id is the campaign id.
+ */
+@Document(collection = "campaign_stats")
+public class CampaignStats {
+
+    // Donors are tracked exactly up to this many, then only via the HyperLogLog sketch
+    public static final int EXACT_DONOR_LIMIT = 1000;
+
+    @Id
+    private String id; // Campaign id
+
+    private double totalAmount = 0.0;
+
+    private long donationCount = 0L;
+
+    private double largestDonation = 0.0;
+
+    private long anonymousDonations = 0L;
+
+    private long donationsWithMessages = 0L;
+
+    // Exact set of donor ids while the campaign is small, and its size
+    private List<String> donorIds = new ArrayList<>();
+
+    private long exactDonorCount = 0L;
+
+    // Sparse HyperLogLog registers of donor ids (register index -> rank)
+    private Map<String, Integer> donorSketch = new HashMap<>();
+
+    // Bumped by every incremental update; rebuilds replace the document only if it is unchanged
+    private long revision = 0L;
+
+    private LocalDateTime rebuiltAt;
+
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public CampaignStats() {}
+
+    public CampaignStats(String campaignId) {
+        this.id = campaignId;
+    }
+
+    // Business logic methods
+    public boolean isDonorSetExact() {
+        return exactDonorCount < EXACT_DONOR_LIMIT;
+    }
+
+    public double getAverageAmount() {
+        return donationCount > 0 ? totalAmount / donationCount : 0.0;
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(double totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public long getDonationCount() {
+        return donationCount;
+    }
+
+    public void setDonationCount(long donationCount) {
+        this.donationCount = donationCount;
+    }
+
+    public double getLargestDonation() {
+        return largestDonation;
+    }
+
+    public void setLargestDonation(double largestDonation) {
+        this.largestDonation = largestDonation;
+    }
+
+    public long getAnonymousDonations() {
+        return anonymousDonations;
+    }
+
+    public void setAnonymousDonations(long anonymousDonations) {
+        this.anonymousDonations = anonymousDonations;
+    }
+
+    public long getDonationsWithMessages() {
+        return donationsWithMessages;
+    }
+
+    public void setDonationsWithMessages(long donationsWithMessages) {
+        this.donationsWithMessages = donationsWithMessages;
+    }
+
+    public List<String> getDonorIds() {
+        return donorIds;
+    }
+
+    public void setDonorIds(List<String> donorIds) {
+        this.donorIds = donorIds;
+    }
+
+    public long getExactDonorCount() {
+        return exactDonorCount;
+    }
+
+    public void setExactDonorCount(long exactDonorCount) {
+        this.exactDonorCount = exactDonorCount;
+    }
+
+    public Map<String, Integer> getDonorSketch() {
+        return donorSketch;
+    }
+
+    public void setDonorSketch(Map<String, Integer> donorSketch) {
+        this.donorSketch = donorSketch;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    public LocalDateTime getRebuiltAt() {
+        return rebuiltAt;
+    }
+
+    public void setRebuiltAt(LocalDateTime rebuiltAt) {
+        this.rebuiltAt = rebuiltAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -4,13 +4,19 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
 import jakarta.validation.constraints.*;
 
 @Document(collection = "donations")
+@CompoundIndex(name = "campaign_status_idx", def = "{'campaignId': 1, 'paymentStatus': 1}")
+@CompoundIndex(name = "status_created_idx", def = "{'paymentStatus': 1, 'createdAt': 1}")
+@CompoundIndex(name = "status_completed_idx", def = "{'paymentStatus': 1, 'completedAt': 1}")
+@CompoundIndex(name = "status_partition_created_idx", def = "{'paymentStatus': 1, 'partitionKey': 1, 'createdAt': 1}")
 public class Donation {
     @Id
     private String id;
@@ -22,10 +28,19 @@ public class Donation {
     @Indexed // For user donation history
     private String donorId; // Can be null for anonymous donations
 
+    @TextIndexed(weight = 3)
     private String donorName; // Display name for the donation
 
+    @TextIndexed(weight = 2)
     private String donorEmail; // Contact email (can be different from user email)
 
+    // Lowercased copies for anchored prefix search, kept in sync by the setters
+    @Indexed
+    private String donorNameLower;
+
+    @Indexed
+    private String donorEmailLower;
+
     @NotNull(message = "Amount is required")
     @DecimalMin(value = "1.0", message = "Donation amount must be at least RM 1.00")
     @DecimalMax(value = "100000.0", message = "Donation amount cannot exceed RM 100,000")
@@ -51,6 +66,7 @@ public class Donation {
     private String paymentStatus = "pending";
 
     // Donation metadata
+    @TextIndexed
     private String message; // Optional message from donor
 
     private boolean isAnonymous = false;
@@ -84,6 +100,9 @@ public class Donation {
 
     private String refundId;
 
+    // Hashing.partitionKey(id), set on save (DonationPartitionKeyCallback); lets partitioned jobs query their share
+    private Integer partitionKey;
+
     // IP tracking for fraud prevention
     private String donorIpAddress;
 
@@ -182,6 +201,11 @@ public class Donation {
 
     public void setDonorName(String donorName) {
         this.donorName = donorName;
+        this.donorNameLower = donorName != null ? donorName.toLowerCase() : null;
+    }
+
+    public String getDonorNameLower() {
+        return donorNameLower;
     }
 
     public String getDonorEmail() {
@@ -190,6 +214,11 @@ public class Donation {
 
     public void setDonorEmail(String donorEmail) {
         this.donorEmail = donorEmail;
+        this.donorEmailLower = donorEmail != null ? donorEmail.toLowerCase() : null;
+    }
+
+    public String getDonorEmailLower() {
+        return donorEmailLower;
     }
 
     public Double getAmount() {
@@ -339,6 +368,14 @@ public class Donation {
         this.refundReason = refundReason;
     }
 
+    public Integer getPartitionKey() {
+        return partitionKey;
+    }
+
+    public void setPartitionKey(Integer partitionKey) {
+        this.partitionKey = partitionKey;
+    }
+
     public LocalDateTime getRefundedAt() {
         return refundedAt;
     }
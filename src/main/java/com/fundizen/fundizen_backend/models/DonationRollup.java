@@ -0,0 +1,140 @@
+package com.fundizen.fundizen_backend.models;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Platform-wide totals of succeeded donations created within one hour or one day.
+ * The id is "<granularity>:<bucketStart>", so a donation's buckets can be
+ * upserted without a lookup.
+ */
+@Document(collection = "donation_rollups")
+@CompoundIndex(name = "granularity_start_idx", def = "{'granularity': 1, 'bucketStart': 1}")
+public class DonationRollup {
+
+    public static final String HOUR = "hour";
+    public static final String DAY = "day";
+
+    @Id
+    private String id;
+
+    private String granularity; // hour, day
+
+    private LocalDateTime bucketStart;
+
+    private double totalAmount = 0.0;
+
+    private long donationCount = 0L;
+
+    private double totalFees = 0.0; // Stripe + platform fees
+
+    // Sparse HyperLogLog registers of campaign and donor ids
+    private Map<String, Integer> campaignSketch = new HashMap<>();
+
+    private Map<String, Integer> donorSketch = new HashMap<>();
+
+    // Hourly buckets expire, daily buckets are kept
+    @Indexed(expireAfterSeconds = 0)
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public DonationRollup() {}
+
+    public DonationRollup(String granularity, LocalDateTime bucketStart) {
+        this.id = idFor(granularity, bucketStart);
+        this.granularity = granularity;
+        this.bucketStart = bucketStart;
+    }
+
+    public static String idFor(String granularity, LocalDateTime bucketStart) {
+        return granularity + ":" + bucketStart;
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(String granularity) {
+        this.granularity = granularity;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(double totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public long getDonationCount() {
+        return donationCount;
+    }
+
+    public void setDonationCount(long donationCount) {
+        this.donationCount = donationCount;
+    }
+
+    public double getTotalFees() {
+        return totalFees;
+    }
+
+    public void setTotalFees(double totalFees) {
+        this.totalFees = totalFees;
+    }
+
+    public Map<String, Integer> getCampaignSketch() {
+        return campaignSketch;
+    }
+
+    public void setCampaignSketch(Map<String, Integer> campaignSketch) {
+        this.campaignSketch = campaignSketch;
+    }
+
+    public Map<String, Integer> getDonorSketch() {
+        return donorSketch;
+    }
+
+    public void setDonorSketch(Map<String, Integer> donorSketch) {
+        this.donorSketch = donorSketch;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
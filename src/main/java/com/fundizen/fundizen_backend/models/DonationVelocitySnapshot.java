@@ -0,0 +1,83 @@
+package com.fundizen.fundizen_backend.models;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.Indexed;
+
+/**
+ * One node's donation velocity counters for one time slot, shared so every node
+ * can add the other nodes' attempts to its own in-memory estimates.
+ * The id is "<nodeId>:<epoch>".
+ */
+@Document(collection = "donation_velocity")
+public class DonationVelocitySnapshot {
+
+    @Id
+    private String id;
+
+    private String nodeId;
+
+    @Indexed
+    private long epoch; // Slot number (epoch millis / slot length)
+
+    // Non-zero sketch cells (cell index -> count)
+    private Map<String, Integer> cells = new HashMap<>();
+
+    @Indexed(expireAfterSeconds = 0)
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public DonationVelocitySnapshot() {}
+
+    public DonationVelocitySnapshot(String nodeId, long epoch, Map<String, Integer> cells, LocalDateTime expiresAt) {
+        this.id = nodeId + ":" + epoch;
+        this.nodeId = nodeId;
+        this.epoch = epoch;
+        this.cells = cells;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(long epoch) {
+        this.epoch = epoch;
+    }
+
+    public Map<String, Integer> getCells() {
+        return cells;
+    }
+
+    public void setCells(Map<String, Integer> cells) {
+        this.cells = cells;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
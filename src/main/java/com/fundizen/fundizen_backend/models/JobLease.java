@@ -0,0 +1,81 @@
+package com.fundizen.fundizen_backend.models;
+
+import java.time.LocalDateTime;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Cluster-wide lease on a scheduled job (or one partition of it).
+ * The id is the lease name, e.g. "donation-cleanup:3".
+ *
+ * fencingToken grows by one every time the lease changes hands, so a node
+ * that lost its lease (paused past lockedUntil) can tell its token is stale.
+ */
+@Document(collection = "job_leases")
+public class JobLease {
+
+    @Id
+    private String id;
+
+    private String owner; // Node id of the current holder
+
+    private long fencingToken;
+
+    private LocalDateTime lockedUntil;
+
+    private LocalDateTime acquiredAt;
+
+    // Constructors
+    public JobLease() {}
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public long getFencingToken() {
+        return fencingToken;
+    }
+
+    public void setFencingToken(long fencingToken) {
+        this.fencingToken = fencingToken;
+    }
+
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public void setLockedUntil(LocalDateTime lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+
+    public LocalDateTime getAcquiredAt() {
+        return acquiredAt;
+    }
+
+    public void setAcquiredAt(LocalDateTime acquiredAt) {
+        this.acquiredAt = acquiredAt;
+    }
+
+    @Override
+    public String toString() {
+        return "JobLease{" +
+                "id='" + id + '\'' +
+                ", owner='" + owner + '\'' +
+                ", fencingToken=" + fencingToken +
+                ", lockedUntil=" + lockedUntil +
+                '}';
+    }
+}
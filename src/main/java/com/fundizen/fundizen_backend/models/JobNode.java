@@ -0,0 +1,51 @@
+package com.fundizen.fundizen_backend.models;
+
+import java.time.LocalDateTime;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.Indexed;
+
+/**
+ * Heartbeat of one running node, used to split partitioned jobs across the
+ * live nodes. Expired heartbeats are removed by a TTL index.
+ */
+@Document(collection = "job_nodes")
+public class JobNode {
+
+    @Id
+    private String id; // Node id
+
+    @Indexed
+    private LocalDateTime heartbeatAt;
+
+    @Indexed(expireAfterSeconds = 0)
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public JobNode() {}
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,56 @@
+package com.fundizen.fundizen_backend.models;
+
+import java.time.LocalDateTime;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.Indexed;
+
+/**
+ * Marker that a Stripe event, or a payment intent transition, has already been applied.
+ * Keys look like "event:evt_123" or "transition:pi_123:succeeded".
+ */
+@Document(collection = "processed_stripe_events")
+public class ProcessedStripeEvent {
+
+    @Id
+    private String id;
+
+    private String eventId; // Stripe event that produced the marker
+
+    @Indexed(expireAfter = "30d") // Stripe stops redelivering long before this
+    private LocalDateTime processedAt;
+
+    // Constructors
+    public ProcessedStripeEvent() {}
+
+    public ProcessedStripeEvent(String id, String eventId) {
+        this.id = id;
+        this.eventId = eventId;
+        this.processedAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(LocalDateTime processedAt) {
+        this.processedAt = processedAt;
+    }
+}
@@ -0,0 +1,201 @@
+package com.fundizen.fundizen_backend.models;
+
+import java.time.LocalDateTime;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+
+/**
+ * Verified Stripe webhook event waiting in (or drained from) the webhook inbox.
+ * The id is the Stripe event id, so a redelivered event cannot be queued twice.
+ */
+@Document(collection = "stripe_webhook_events")
+@CompoundIndex(name = "status_next_attempt_idx", def = "{'status': 1, 'nextAttemptAt': 1, 'receivedAt': 1}")
+@CompoundIndex(name = "payment_intent_status_idx", def = "{'paymentIntentId': 1, 'status': 1, 'receivedAt': 1}")
+public class StripeWebhookEvent {
+
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_PROCESSING = "processing";
+    public static final String STATUS_PROCESSED = "processed";
+    public static final String STATUS_FAILED = "failed";
+
+    @Id
+    private String id; // Stripe event id (evt_...)
+
+    private String type;
+
+    private String paymentIntentId; // Ordering key - events of one intent are applied in order
+
+    private String chargeId;
+
+    private String failureReason;
+
+    private Long stripeCreated; // Event creation time reported by Stripe (epoch seconds)
+
+    private String status = STATUS_PENDING;
+
+    private int attempts = 0;
+
+    private String lastError;
+
+    // Lease held by the node currently processing the event
+    private String lockedBy;
+
+    private LocalDateTime lockedUntil;
+
+    private String claimToken; // New for every claim, so a stale copy of a released claim cannot act on the event
+
+    // Timestamps
+    private LocalDateTime receivedAt;
+
+    private LocalDateTime nextAttemptAt;
+
+    @Indexed(expireAfter = "7d") // Processed events are only kept for troubleshooting
+    private LocalDateTime processedAt;
+
+    // Constructors
+    public StripeWebhookEvent() {}
+
+    public StripeWebhookEvent(String id, String type, String paymentIntentId) {
+        this.id = id;
+        this.type = type;
+        this.paymentIntentId = paymentIntentId;
+        this.status = STATUS_PENDING;
+        this.attempts = 0;
+        this.receivedAt = LocalDateTime.now();
+        this.nextAttemptAt = this.receivedAt;
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getPaymentIntentId() {
+        return paymentIntentId;
+    }
+
+    public void setPaymentIntentId(String paymentIntentId) {
+        this.paymentIntentId = paymentIntentId;
+    }
+
+    public String getChargeId() {
+        return chargeId;
+    }
+
+    public void setChargeId(String chargeId) {
+        this.chargeId = chargeId;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+
+    public Long getStripeCreated() {
+        return stripeCreated;
+    }
+
+    public void setStripeCreated(Long stripeCreated) {
+        this.stripeCreated = stripeCreated;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public String getLockedBy() {
+        return lockedBy;
+    }
+
+    public void setLockedBy(String lockedBy) {
+        this.lockedBy = lockedBy;
+    }
+
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public void setLockedUntil(LocalDateTime lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+
+    public String getClaimToken() {
+        return claimToken;
+    }
+
+    public void setClaimToken(String claimToken) {
+        this.claimToken = claimToken;
+    }
+
+    public LocalDateTime getReceivedAt() {
+        return receivedAt;
+    }
+
+    public void setReceivedAt(LocalDateTime receivedAt) {
+        this.receivedAt = receivedAt;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(LocalDateTime processedAt) {
+        this.processedAt = processedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "StripeWebhookEvent{" +
+                "id='" + id + '\'' +
+                ", type='" + type + '\'' +
+                ", paymentIntentId='" + paymentIntentId + '\'' +
+                ", status='" + status + '\'' +
+                ", attempts=" + attempts +
+                '}';
+    }
+}
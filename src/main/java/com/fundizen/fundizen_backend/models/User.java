@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -11,6 +12,9 @@ import org.springframework.data.annotation.LastModifiedDate;
 import jakarta.validation.constraints.*;
 
 @Document(collection = "users")
+@CompoundIndex(name = "created_id_idx", def = "{'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "role_verified_created_id_idx", def = "{'role': 1, 'verified': 1, 'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "verified_created_id_idx", def = "{'verified': 1, 'createdAt': -1, '_id': -1}")
 public class User {
     @Id
     private String id;
@@ -31,6 +35,13 @@ public class User {
     @Indexed(unique = true) // Ensure unique emails
     private String email;
 
+    // Lowercased copies for anchored prefix search, kept in sync by the setters
+    @Indexed
+    private String usernameLower;
+
+    @Indexed
+    private String emailLower;
+
     // Keep password for backward compatibility or local fallback
     @Size(min = 6, max = 100, message = "Password must be between 6 and 100 characters")
     private String password;
@@ -52,8 +63,8 @@ public class User {
     public User() {}
 
     public User(String username, String email, String password) {
-        this.username = username;
-        this.email = email;
+        setUsername(username);
+        setEmail(email);
         this.password = password;
         this.role = "user";
     }
@@ -61,8 +72,8 @@ public class User {
     // Firebase constructor
     public User(String uid, String email, String username, boolean fromFirebase) {
         this.uid = uid;
-        this.email = email;
-        this.username = username;
+        setEmail(email);
+        setUsername(username);
         this.role = "user";
         this.verified = false;
     }
@@ -74,8 +85,8 @@ public class User {
         this.uid = uid;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
-        this.email = email;
-        this.username = username;
+        setEmail(email);
+        setUsername(username);
         this.role = role;
         this.verified = verified;
     }
@@ -121,6 +132,11 @@ public class User {
 
     public void setUsername(String username) {
         this.username = username;
+        this.usernameLower = username != null ? username.toLowerCase() : null;
+    }
+
+    public String getUsernameLower() {
+        return usernameLower;
     }
 
     public String getEmail() {
@@ -129,6 +145,11 @@ public class User {
 
     public void setEmail(String email) {
         this.email = email;
+        this.emailLower = email != null ? email.toLowerCase() : null;
+    }
+
+    public String getEmailLower() {
+        return emailLower;
     }
 
     public String getPassword() {
@@ -0,0 +1,11 @@
+package com.fundizen.fundizen_backend.repository;
+
+import com.fundizen.fundizen_backend.models.AdminJob;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+// Listing and dispatch queries go through MongoTemplate so they can leave out job parameters
+@Repository
+public interface AdminJobRepository extends MongoRepository<AdminJob, String> {
+}
@@ -5,7 +5,9 @@ import com.fundizen.fundizen_backend.models.Campaign;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,7 +15,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
 @Repository
-public interface CampaignRepository extends MongoRepository<Campaign, String> {
+public interface CampaignRepository extends MongoRepository<Campaign, String>, CampaignRepositoryCustom {
     
     // Existing methods
     List<Campaign> findByVerifiedTrue();
@@ -25,6 +27,15 @@ public interface CampaignRepository extends MongoRepository<Campaign, String> {
     List<Campaign> findByCategoryAndVerifiedTrue(String category);
     List<Campaign> findByEndDateBefore(LocalDate date);
     List<Campaign> findByCreatorId(String creatorId);
+
+    // Fresh read of what the donation eligibility check needs, bypassing the campaigns cache
+    @Query(value = "{ '_id': ?0 }",
+           fields = "{ 'creatorId': 1, 'name': 1, 'status': 1, 'verified': 1, 'startDate': 1, 'endDate': 1, 'goalAmount': 1, 'raisedAmount': 1 }")
+    Optional<Campaign> findDonationEligibilityById(String id);
+    
+    // Count methods
+    long countByStatus(String status);
+    long countByCreatedAtAfter(LocalDateTime date);
     
     // Pagination support
     Page<Campaign> findByVerifiedTrueAndStatus(String status, Pageable pageable);
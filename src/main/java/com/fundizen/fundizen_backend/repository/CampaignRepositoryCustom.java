@@ -0,0 +1,53 @@
+package com.fundizen.fundizen_backend.repository;
+
+import com.fundizen.fundizen_backend.dto.CampaignFilter;
+import com.fundizen.fundizen_backend.models.Campaign;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Custom campaign operations that need MongoTemplate (atomic updates, aggregations)
+ */
+public interface CampaignRepositoryCustom {
+
+    /**
+     * Atomically adjust raisedAmount and donationCount with a server-side $inc.
+     * Returns true if a campaign was updated.
+     */
+    boolean incrementDonationTotals(String campaignId, double amountDelta, long countDelta);
+
+    /**
+     * $set only the fields in the update (plus updatedAt) and return the updated
+     * campaign, or null if it does not exist. Unlike a full save this never
+     * writes back raisedAmount/donationCount read before a concurrent $inc.
+     */
+    Campaign updateFields(String campaignId, Update update);
+
+    /**
+     * Keyset page of campaigns sorted by (sortField desc, _id desc), without descriptions.
+     * Pass the sort value and id of the last campaign of the previous page, or nulls for the first page.
+     */
+    List<Campaign> findCampaignsAfter(CampaignFilter filter, String sortField,
+                                      Object lastSortValue, String lastId, int limit);
+
+    /**
+     * Admin listing - filtering, sorting and skip/limit all run in Mongo.
+     * Null status/category means no filter.
+     */
+    Page<Campaign> findForAdmin(String status, String category, Pageable pageable);
+
+    /**
+     * Move the given campaigns from "pending" to newStatus with one updateMany, then
+     * read back which of them this call changed by the unique moderation token it
+     * set. Campaigns that are no longer pending are left untouched. Returns
+     * campaign id -> outcome: newStatus, "not_pending" or "not_found".
+     */
+    Map<String, String> moderatePending(Collection<String> campaignIds, String newStatus,
+                                        boolean verified, String rejectionReason);
+}
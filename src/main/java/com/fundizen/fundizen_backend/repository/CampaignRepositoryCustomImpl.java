@@ -0,0 +1,154 @@
+package com.fundizen.fundizen_backend.repository;
+
+import com.fundizen.fundizen_backend.dto.CampaignFilter;
+import com.fundizen.fundizen_backend.models.Campaign;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class CampaignRepositoryCustomImpl implements CampaignRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean incrementDonationTotals(String campaignId, double amountDelta, long countDelta) {
+        Query query = new Query(Criteria.where("id").is(campaignId));
+        Update update = new Update()
+                .inc("raisedAmount", amountDelta)
+                .inc("donationCount", countDelta)
+                .set("updatedAt", LocalDateTime.now());
+
+        return mongoTemplate.updateFirst(query, update, Campaign.class).getMatchedCount() > 0;
+    }
+
+    @Override
+    public Campaign updateFields(String campaignId, Update update) {
+        update.set("updatedAt", LocalDateTime.now());
+        return mongoTemplate.findAndModify(new Query(Criteria.where("id").is(campaignId)), update,
+                FindAndModifyOptions.options().returnNew(true), Campaign.class);
+    }
+
+    @Override
+    public List<Campaign> findCampaignsAfter(CampaignFilter filter, String sortField,
+                                             Object lastSortValue, String lastId, int limit) {
+        List<Criteria> criteria = new ArrayList<>();
+
+        if (filter.getCategory() != null) {
+            criteria.add(Criteria.where("category").is(filter.getCategory()));
+        }
+        if (filter.getStatus() != null) {
+            criteria.add(Criteria.where("status").is(filter.getStatus()));
+        }
+        if (filter.getVerified() != null) {
+            criteria.add(Criteria.where("verified").is(filter.getVerified()));
+        }
+        if (filter.getEndDateAfter() != null) {
+            criteria.add(Criteria.where("endDate").gt(filter.getEndDateAfter()));
+        }
+        if (filter.getMinGoal() != null || filter.getMaxGoal() != null) {
+            Criteria goal = Criteria.where("goalAmount");
+            if (filter.getMinGoal() != null) {
+                goal = goal.gte(filter.getMinGoal());
+            }
+            if (filter.getMaxGoal() != null) {
+                goal = goal.lte(filter.getMaxGoal());
+            }
+            criteria.add(goal);
+        }
+
+        // Seek past the last row instead of skipping - cost does not grow with the page number
+        if (lastSortValue != null && lastId != null) {
+            criteria.add(new Criteria().orOperator(
+                Criteria.where(sortField).lt(lastSortValue),
+                new Criteria().andOperator(
+                    Criteria.where(sortField).is(lastSortValue),
+                    Criteria.where("id").lt(lastId)
+                )
+            ));
+        }
+
+        Query query = criteria.isEmpty()
+                ? new Query()
+                : new Query(new Criteria().andOperator(criteria.toArray(new Criteria[0])));
+        query.with(Sort.by(Sort.Direction.DESC, sortField).and(Sort.by(Sort.Direction.DESC, "id")))
+             .limit(limit);
+        query.fields().exclude("description");
+
+        return mongoTemplate.find(query, Campaign.class);
+    }
+
+    @Override
+    public Page<Campaign> findForAdmin(String status, String category, Pageable pageable) {
+        Criteria criteria = new Criteria();
+        if (status != null) {
+            criteria = criteria.and("status").is(status);
+        }
+        if (category != null) {
+            criteria = criteria.and("category").is(category);
+        }
+
+        Query query = new Query(criteria).with(pageable);
+        List<Campaign> campaigns = mongoTemplate.find(query, Campaign.class);
+
+        // Count only when the page alone cannot tell the total
+        return PageableExecutionUtils.getPage(campaigns, pageable,
+            () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), Campaign.class));
+    }
+
+    @Override
+    public Map<String, String> moderatePending(Collection<String> campaignIds, String newStatus,
+                                               boolean verified, String rejectionReason) {
+        // Unique to this call, unlike a timestamp that other writes move on or another call shares
+        String moderationToken = UUID.randomUUID().toString();
+
+        Update update = new Update()
+                .set("status", newStatus)
+                .set("verified", verified)
+                .set("moderationToken", moderationToken)
+                .set("updatedAt", LocalDateTime.now());
+        if (rejectionReason != null) {
+            update.set("rejectionReason", rejectionReason);
+        }
+        mongoTemplate.updateMulti(
+            new Query(Criteria.where("id").in(campaignIds).and("status").is("pending")), update, Campaign.class);
+
+        // A campaign is ours if it carries our token; a later moderation replaces it
+        Query readBack = new Query(Criteria.where("id").in(campaignIds));
+        readBack.fields().include("moderationToken");
+        Map<String, Campaign> current = new HashMap<>();
+        for (Campaign campaign : mongoTemplate.find(readBack, Campaign.class)) {
+            current.put(campaign.getId(), campaign);
+        }
+
+        Map<String, String> outcomes = new LinkedHashMap<>();
+        for (String campaignId : campaignIds) {
+            Campaign campaign = current.get(campaignId);
+            if (campaign == null) {
+                outcomes.put(campaignId, "not_found");
+            } else if (moderationToken.equals(campaign.getModerationToken())) {
+                outcomes.put(campaignId, newStatus);
+            } else {
+                outcomes.put(campaignId, "not_pending");
+            }
+        }
+        return outcomes;
+    }
+}
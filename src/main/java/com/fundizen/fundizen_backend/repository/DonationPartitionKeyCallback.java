@@ -0,0 +1,38 @@
+package com.fundizen.fundizen_backend.repository;
+
+import com.fundizen.fundizen_backend.models.Donation;
+import com.fundizen.fundizen_backend.util.Hashing;
+
+import org.bson.types.ObjectId;
+import org.springframework.core.Ordered;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stamps every donation with its partition key before it is written, so
+ * partitioned jobs can query their share through an index instead of
+ * filtering the whole collection.
+ *
+ * The key is derived from the id, so new donations get their ObjectId here
+ * rather than from the driver. Runs after auditing, which still sees the
+ * entity as new.
+ */
+@Component
+public class DonationPartitionKeyCallback implements BeforeConvertCallback<Donation>, Ordered {
+
+    @Override
+    public Donation onBeforeConvert(Donation donation, String collection) {
+        if (donation.getId() == null) {
+            donation.setId(new ObjectId().toHexString());
+        }
+        if (donation.getPartitionKey() == null) {
+            donation.setPartitionKey(Hashing.partitionKey(donation.getId()));
+        }
+        return donation;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -15,7 +15,7 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.Aggregation;
 
 @Repository
-public interface DonationRepository extends MongoRepository<Donation, String> {
+public interface DonationRepository extends MongoRepository<Donation, String>, DonationRepositoryCustom {
     // Basic queries
     List<Donation> findByCampaignId(String campaignId);
     List<Donation> findByDonorId(String donorId);
@@ -33,6 +33,9 @@ public interface DonationRepository extends MongoRepository<Donation, String> {
     // Successful donations only
     List<Donation> findByCampaignIdAndPaymentStatusOrderByCreatedAtDesc(String campaignId, String status);
     List<Donation> findByDonorIdAndPaymentStatusOrderByCreatedAtDesc(String donorId, String status);
+    List<Donation> findByPaymentStatusOrderByCreatedAtDesc(String status, Pageable pageable);
+    List<Donation> findByPaymentStatusAndCompletedAtGreaterThanEqualOrderByCompletedAtAsc(String status, LocalDateTime since, Pageable pageable);
+    List<Donation> findByPaymentStatusAndRefundedAtGreaterThanEqual(String status, LocalDateTime since);
     
     // Public donations (for display on campaign page)
     @Query("{ 'campaignId': ?0, 'paymentStatus': 'succeeded', 'showInPublicList': true }")
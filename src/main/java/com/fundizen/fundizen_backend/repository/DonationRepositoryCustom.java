@@ -0,0 +1,52 @@
+package com.fundizen.fundizen_backend.repository;
+
+import com.fundizen.fundizen_backend.models.Donation;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Custom donation operations that need MongoTemplate.
+ *
+ * The status transition methods are conditional updates: they only change the
+ * donation when it is in a state the transition is allowed from, and return the
+ * updated document, or null when nothing changed. Callers use the return value to
+ * decide whether campaign totals must be adjusted, so a redelivered webhook can
+ * never count the same donation twice.
+ */
+public interface DonationRepositoryCustom {
+
+    /**
+     * Transition to succeeded from any state except succeeded/refunded
+     */
+    Donation markSucceededIfNotAlready(String paymentIntentId, String chargeId);
+
+    /**
+     * Transition to failed, only while the payment is still pending/processing
+     */
+    Donation markFailedIfPending(String paymentIntentId);
+
+    /**
+     * Transition a succeeded donation to refunded
+     */
+    Donation markRefundedIfSucceeded(String donationId, String reason, String refundId);
+
+    /**
+     * Record the charge id on a donation that does not have one yet
+     */
+    boolean attachChargeId(String paymentIntentId, String chargeId);
+
+    /**
+     * Index-backed donation search. Ids match exactly (donation, campaign or payment
+     * intent id), email-like queries match donorEmailLower by prefix, anything else
+     * goes through the text index on donor name, email and message, falling back to
+     * a donorNameLower prefix match for partial words. Results are ordered by text
+     * score or by recency, and the total is counted with the same filter.
+     */
+    Page<Donation> searchDonations(String query, boolean byRelevance, Pageable pageable);
+
+    /**
+     * Populate the lowercased search fields on donations saved before they existed
+     */
+    long backfillSearchFields();
+}
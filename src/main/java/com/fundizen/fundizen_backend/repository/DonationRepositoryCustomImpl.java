@@ -0,0 +1,149 @@
+package com.fundizen.fundizen_backend.repository;
+
+import com.fundizen.fundizen_backend.models.Donation;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class DonationRepositoryCustomImpl implements DonationRepositoryCustom {
+
+    private static final Pattern OBJECT_ID = Pattern.compile("^[0-9a-fA-F]{24}$");
+    private static final Pattern REGEX_SPECIAL = Pattern.compile("[\\\\^$.|?*+()\\[\\]{}]");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public Donation markSucceededIfNotAlready(String paymentIntentId, String chargeId) {
+        Query query = new Query(Criteria.where("stripePaymentIntentId").is(paymentIntentId)
+                .and("paymentStatus").nin(List.of("succeeded", "refunded")));
+
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("paymentStatus", "succeeded")
+                .set("completedAt", now)
+                .set("updatedAt", now);
+        if (chargeId != null) {
+            update.set("stripeChargeId", chargeId);
+        }
+
+        return transition(query, update);
+    }
+
+    @Override
+    public Donation markFailedIfPending(String paymentIntentId) {
+        Query query = new Query(Criteria.where("stripePaymentIntentId").is(paymentIntentId)
+                .and("paymentStatus").in(List.of("pending", "processing")));
+
+        Update update = new Update()
+                .set("paymentStatus", "failed")
+                .set("updatedAt", LocalDateTime.now());
+
+        return transition(query, update);
+    }
+
+    @Override
+    public Donation markRefundedIfSucceeded(String donationId, String reason, String refundId) {
+        Query query = new Query(Criteria.where("id").is(donationId)
+                .and("paymentStatus").is("succeeded"));
+
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("paymentStatus", "refunded")
+                .set("isRefunded", true)
+                .set("refundReason", reason)
+                .set("refundId", refundId)
+                .set("refundedAt", now)
+                .set("updatedAt", now);
+
+        return transition(query, update);
+    }
+
+    @Override
+    public boolean attachChargeId(String paymentIntentId, String chargeId) {
+        Query query = new Query(Criteria.where("stripePaymentIntentId").is(paymentIntentId)
+                .and("stripeChargeId").is(null));
+
+        Update update = new Update()
+                .set("stripeChargeId", chargeId)
+                .set("updatedAt", LocalDateTime.now());
+
+        return mongoTemplate.updateFirst(query, update, Donation.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public Page<Donation> searchDonations(String query, boolean byRelevance, Pageable pageable) {
+        String term = query.trim();
+        Sort recency = Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id"));
+
+        if (OBJECT_ID.matcher(term).matches() || term.startsWith("pi_")) {
+            Criteria ids = new Criteria().orOperator(
+                    Criteria.where("id").is(term),
+                    Criteria.where("campaignId").is(term),
+                    Criteria.where("stripePaymentIntentId").is(term));
+            return page(new Query(ids), recency, pageable);
+        }
+
+        if (term.contains("@")) {
+            return page(new Query(prefix("donorEmailLower", term)), recency, pageable);
+        }
+
+        TextQuery textQuery = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(term));
+        if (byRelevance) {
+            textQuery.sortByScore();
+        }
+        Page<Donation> textResults = page(textQuery, recency, pageable);
+        if (textResults.getTotalElements() > 0) {
+            return textResults;
+        }
+
+        // The text index only matches whole words - try the name as a prefix
+        return page(new Query(prefix("donorNameLower", term)), recency, pageable);
+    }
+
+    @Override
+    public long backfillSearchFields() {
+        long modified = mongoTemplate.updateMulti(
+                new Query(Criteria.where("donorName").ne(null).and("donorNameLower").exists(false)),
+                AggregationUpdate.update().set("donorNameLower").toValue(StringOperators.valueOf("donorName").toLower()),
+                Donation.class).getModifiedCount();
+        modified += mongoTemplate.updateMulti(
+                new Query(Criteria.where("donorEmail").ne(null).and("donorEmailLower").exists(false)),
+                AggregationUpdate.update().set("donorEmailLower").toValue(StringOperators.valueOf("donorEmail").toLower()),
+                Donation.class).getModifiedCount();
+        return modified;
+    }
+
+    private Page<Donation> page(Query query, Sort sort, Pageable pageable) {
+        query.with(sort).with(pageable);
+        List<Donation> donations = mongoTemplate.find(query, Donation.class);
+        return PageableExecutionUtils.getPage(donations, pageable,
+                () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), Donation.class));
+    }
+
+    // Anchored, case-sensitive regex on a lowercased field can use its index
+    private Criteria prefix(String field, String term) {
+        return Criteria.where(field).regex("^" + REGEX_SPECIAL.matcher(term.toLowerCase()).replaceAll("\\\\$0"));
+    }
+
+    private Donation transition(Query query, Update update) {
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Donation.class);
+    }
+}
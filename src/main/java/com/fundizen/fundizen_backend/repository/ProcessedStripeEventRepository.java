@@ -0,0 +1,11 @@
+package com.fundizen.fundizen_backend.repository;
+
+import com.fundizen.fundizen_backend.models.ProcessedStripeEvent;
+
+import org.springframework.stereotype.Repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+@Repository
+public interface ProcessedStripeEventRepository extends MongoRepository<ProcessedStripeEvent, String> {
+}
@@ -0,0 +1,19 @@
+package com.fundizen.fundizen_backend.repository;
+
+import com.fundizen.fundizen_backend.models.StripeWebhookEvent;
+
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+@Repository
+public interface StripeWebhookEventRepository extends MongoRepository<StripeWebhookEvent, String> {
+
+    // Inbox depth per status
+    long countByStatus(String status);
+
+    // Oldest event still waiting to be processed (drives the lag metric)
+    Optional<StripeWebhookEvent> findFirstByStatusOrderByReceivedAtAsc(String status);
+}
@@ -5,6 +5,7 @@ import com.fundizen.fundizen_backend.models.User;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +13,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 
 @Repository
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
 
     // Find by unique identifiers
     Optional<User> findByUsername(String username);
@@ -30,6 +32,20 @@ public interface UserRepository extends MongoRepository<User, String> {
     @Query("{ $or: [ { 'username': ?0 }, { 'email': ?0 } ] }")
     Optional<User> findByUsernameOrEmail(String usernameOrEmail);
     
+    // Replace a password hash only if it has not changed since it was read
+    @Query("{ '_id': ?0, 'password': ?1 }")
+    @Update("{ '$set': { 'password': ?2 } }")
+    long updatePasswordIfUnchanged(String id, String currentHash, String newHash);
+
+    // Batched lookup returning only the fields shown in DTOs (no password or Firebase uid)
+    @Query(value = "{ '_id': { $in: ?0 } }",
+           fields = "{ 'username': 1, 'email': 1, 'role': 1, 'verified': 1, 'createdAt': 1, 'updatedAt': 1 }")
+    List<User> findSummariesByIdIn(Collection<String> ids);
+
+    // Fresh read of what authorization checks need, bypassing any cache
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'username': 1, 'email': 1, 'role': 1, 'verified': 1 }")
+    Optional<User> findAuthorizationById(String id);
+    
     // Role-based queries
     List<User> findByRole(String role);
     
@@ -43,17 +59,12 @@ public interface UserRepository extends MongoRepository<User, String> {
     Page<User> findByRole(String role, Pageable pageable);
     Page<User> findByVerified(boolean verified, Pageable pageable);
     
-    // Search users by username or email containing text (case-insensitive)
-    @Query("{ $or: [ " +
-           "{ 'username': { $regex: ?0, $options: 'i' } }, " +
-           "{ 'email': { $regex: ?0, $options: 'i' } } ] }")
-    List<User> searchUsers(String searchTerm);
-    
     // Find users created within a date range
     List<User> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
     
     // Count methods
     long countByRole(String role);
+    long countByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
     
     // Firebase-specific queries
     @Query("{ 'uid': { $exists: true, $ne: null } }")
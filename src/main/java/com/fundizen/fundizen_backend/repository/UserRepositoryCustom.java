@@ -0,0 +1,26 @@
+package com.fundizen.fundizen_backend.repository;
+
+import com.fundizen.fundizen_backend.dto.UserFilter;
+import com.fundizen.fundizen_backend.models.User;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Custom user queries that need MongoTemplate
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Admin user query - every filter, the sort and skip/limit run in Mongo, and
+     * the total counts the same filter. Search is an anchored prefix on the
+     * lowercased username or email. Passwords and Firebase uids are not loaded.
+     */
+    Page<User> findByFilter(UserFilter filter, Pageable pageable);
+
+    /**
+     * Fill usernameLower/emailLower on users saved before those fields existed.
+     * Returns the number of users updated.
+     */
+    long backfillSearchFields();
+}
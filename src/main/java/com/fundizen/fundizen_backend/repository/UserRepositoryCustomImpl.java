@@ -0,0 +1,85 @@
+package com.fundizen.fundizen_backend.repository;
+
+import com.fundizen.fundizen_backend.dto.UserFilter;
+import com.fundizen.fundizen_backend.models.User;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final Pattern REGEX_SPECIAL = Pattern.compile("[\\\\^$.|?*+()\\[\\]{}]");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public Page<User> findByFilter(UserFilter filter, Pageable pageable) {
+        List<Criteria> criteria = new ArrayList<>();
+
+        if (filter.getRole() != null) {
+            criteria.add(Criteria.where("role").is(filter.getRole()));
+        }
+        if (filter.getVerified() != null) {
+            criteria.add(Criteria.where("verified").is(filter.getVerified()));
+        }
+        if (filter.getCreatedAfter() != null || filter.getCreatedBefore() != null) {
+            Criteria created = Criteria.where("createdAt");
+            if (filter.getCreatedAfter() != null) {
+                created = created.gt(filter.getCreatedAfter());
+            }
+            if (filter.getCreatedBefore() != null) {
+                created = created.lt(filter.getCreatedBefore());
+            }
+            criteria.add(created);
+        }
+        if (filter.getSearch() != null) {
+            String term = filter.getSearch();
+            if (term.contains("@")) {
+                criteria.add(prefix("emailLower", term));
+            } else {
+                // Each branch uses its own index
+                criteria.add(new Criteria().orOperator(prefix("usernameLower", term), prefix("emailLower", term)));
+            }
+        }
+
+        Query query = criteria.isEmpty()
+                ? new Query()
+                : new Query(new Criteria().andOperator(criteria.toArray(new Criteria[0])));
+        query.with(pageable);
+        query.fields().exclude("password").exclude("uid");
+
+        List<User> users = mongoTemplate.find(query, User.class);
+        return PageableExecutionUtils.getPage(users, pageable,
+                () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), User.class));
+    }
+
+    @Override
+    public long backfillSearchFields() {
+        long modified = mongoTemplate.updateMulti(
+                new Query(Criteria.where("username").ne(null).and("usernameLower").exists(false)),
+                AggregationUpdate.update().set("usernameLower").toValue(StringOperators.valueOf("username").toLower()),
+                User.class).getModifiedCount();
+        modified += mongoTemplate.updateMulti(
+                new Query(Criteria.where("email").ne(null).and("emailLower").exists(false)),
+                AggregationUpdate.update().set("emailLower").toValue(StringOperators.valueOf("email").toLower()),
+                User.class).getModifiedCount();
+        return modified;
+    }
+
+    // Anchored, case-sensitive regex on a lowercased field can use its index
+    private Criteria prefix(String field, String term) {
+        return Criteria.where(field).regex("^" + REGEX_SPECIAL.matcher(term.toLowerCase()).replaceAll("\\\\$0"));
+    }
+}
@@ -0,0 +1,38 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.AdminJob;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * One or more kinds of admin job run by AdminJobService.
+ *
+ * A job's work is a sequence of units numbered from 0. The service calls
+ * processChunk until the checkpoint reaches countUnits, saving the checkpoint
+ * and counters after every chunk. After a node failure the last chunk may run
+ * again, so a chunk must be safe to repeat.
+ */
+public interface AdminJobHandler {
+
+    Set<String> getTypes();
+
+    /**
+     * Reject invalid parameters at submit time (IllegalArgumentException)
+     */
+    void validate(String type, Map<String, Object> params);
+
+    long countUnits(AdminJob job);
+
+    /**
+     * Process units starting at from (at most maxUnits of them), adding to the
+     * job's counters. Returns the new checkpoint.
+     *
+     * A chunk that runs long checks stillLeased between its batches; it renews
+     * the job's lease and returns false once the lease is lost or the node is
+     * shutting down. The chunk then stops and returns from, without adding
+     * its partial work to the counters.
+     */
+    long processChunk(AdminJob job, long from, int maxUnits, Map<String, Long> counters, BooleanSupplier stillLeased);
+}
@@ -0,0 +1,449 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.AdminJob;
+import com.fundizen.fundizen_backend.repository.AdminJobRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs long admin operations as background jobs so they never hold an HTTP
+ * request open.
+ *
+ * submit() validates and stores the job, then returns its id. A scheduled
+ * dispatcher (also kicked on submit) picks the oldest unfinished job of each
+ * type and takes the type's lease from JobLeaseService, so only one job of a
+ * type runs cluster-wide. Jobs run on a small bounded executor in chunks of
+ * admin.jobs.chunk-size units. After every chunk the checkpoint and counters
+ * are written to admin_jobs, guarded by the lease's fencing token, and the
+ * lease is renewed; chunks that take long also renew it between their
+ * batches (every admin.jobs.lease-check-seconds) and stop once it is lost.
+ * If the node dies, the lease expires and another node's
+ * dispatcher resumes the job from its last checkpoint.
+ *
+ * Progress (processed/total, throughput of the current run, ETA) is read
+ * from the job document, so polling and SSE work on any node.
+ */
+@Service
+public class AdminJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminJobService.class);
+
+    private static final String EXECUTOR_NAME = "adminJobs";
+
+    private static final List<String> UNFINISHED_STATUSES = List.of(AdminJob.STATUS_QUEUED, AdminJob.STATUS_RUNNING);
+
+    @Autowired
+    private AdminJobRepository adminJobRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Autowired
+    private List<AdminJobHandler> handlers;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${admin.jobs.threads:2}")
+    private int threads;
+
+    @Value("${admin.jobs.queue-capacity:8}")
+    private int queueCapacity;
+
+    @Value("${admin.jobs.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${admin.jobs.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${admin.jobs.lease-check-seconds:30}")
+    private long leaseCheckSeconds;
+
+    @Value("${admin.jobs.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    @Value("${admin.jobs.max-subscribers:100}")
+    private int maxSubscribers;
+
+    @Value("${admin.jobs.max-pending-events:16}")
+    private int maxPendingEvents;
+
+    private final Map<String, AdminJobHandler> handlersByType = new HashMap<>();
+
+    // Types with a job running on this node
+    private final Set<String> localTypes = ConcurrentHashMap.newKeySet();
+
+    // Topics are the watched job ids
+    private SseBroadcaster broadcaster;
+
+    private ThreadPoolExecutor workers;
+    private ExecutorService executor;
+    private volatile boolean stopping;
+
+    @PostConstruct
+    public void init() {
+        for (AdminJobHandler handler : handlers) {
+            handler.getTypes().forEach(type -> handlersByType.put(type, handler));
+        }
+
+        workers = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads),
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            new CustomizableThreadFactory("admin-job-"),
+            new ThreadPoolExecutor.AbortPolicy());
+        executor = ExecutorServiceMetrics.monitor(meterRegistry, workers, EXECUTOR_NAME, List.of());
+        broadcaster = new SseBroadcaster("admin.jobs.progress", 1, maxPendingEvents, streamTimeoutMs, meterRegistry);
+
+        logger.info("Admin jobs enabled for types {} with {} worker(s)", handlersByType.keySet(), workers.getMaximumPoolSize());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Running jobs stop after their current chunk and give their lease back for another node to resume
+        stopping = true;
+        workers.shutdown();
+        try {
+            workers.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        broadcaster.shutdown();
+    }
+
+    /**
+     * Store a new job and start it if no job of its type is running. Returns the stored job.
+     */
+    public AdminJob submit(String type, Map<String, Object> params, String submittedBy) {
+        AdminJobHandler handler = handlersByType.get(type);
+        if (handler == null) {
+            throw new IllegalArgumentException("Unknown job type: " + type + " (supported: " + handlersByType.keySet() + ")");
+        }
+        Map<String, Object> jobParams = params != null ? params : Map.of();
+        handler.validate(type, jobParams);
+
+        AdminJob job = new AdminJob(type, jobParams, submittedBy);
+        job.setTotal(handler.countUnits(job));
+        AdminJob saved = adminJobRepository.save(job);
+        logger.info("Admin job {} submitted: type={}, units={}, by={}", saved.getId(), type, saved.getTotal(), submittedBy);
+
+        dispatch();
+        return getJob(saved.getId()).orElse(saved);
+    }
+
+    /**
+     * The job without its parameters, for progress polling
+     */
+    public Optional<AdminJob> getJob(String jobId) {
+        return Optional.ofNullable(mongoTemplate.findOne(
+            withoutParams(new Query(Criteria.where("id").is(jobId))), AdminJob.class));
+    }
+
+    /**
+     * Newest jobs first, without their parameters
+     */
+    public Page<AdminJob> getRecentJobs(int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Query query = withoutParams(new Query()).with(pageable);
+        List<AdminJob> jobs = mongoTemplate.find(query, AdminJob.class);
+        return PageableExecutionUtils.getPage(jobs, pageable,
+            () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), AdminJob.class));
+    }
+
+    /**
+     * Start the oldest unfinished job of every type whose lease is free
+     */
+    @Scheduled(fixedDelayString = "${admin.jobs.dispatch-ms:5000}")
+    public synchronized void dispatch() {
+        if (stopping) {
+            return;
+        }
+        try {
+            Set<String> seenTypes = new HashSet<>();
+            Query unfinished = withoutParams(new Query(Criteria.where("status").in(UNFINISHED_STATUSES)))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"));
+            for (AdminJob job : mongoTemplate.find(unfinished, AdminJob.class)) {
+                // Later jobs of a type wait for the oldest one
+                if (!seenTypes.add(job.getType()) || localTypes.contains(job.getType())) {
+                    continue;
+                }
+                Optional<JobLeaseService.Lease> lease = jobLeaseService.tryAcquire(leaseName(job.getType()), leaseTtl());
+                if (lease.isEmpty()) {
+                    continue;
+                }
+
+                AdminJob claimed = claim(job, lease.get());
+                if (claimed == null) {
+                    jobLeaseService.release(lease.get());
+                    continue;
+                }
+
+                localTypes.add(claimed.getType());
+                try {
+                    executor.execute(() -> run(claimed, lease.get()));
+                } catch (RejectedExecutionException e) {
+                    // Workers busy - the job stays unfinished and is picked up again later
+                    localTypes.remove(claimed.getType());
+                    jobLeaseService.release(lease.get());
+                    logger.debug("Admin job workers busy, job {} left for a later dispatch", claimed.getId());
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error dispatching admin jobs - Error: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Register an SSE client for a job; it receives "progress" events until the job finishes
+     */
+    public SseEmitter subscribe(String jobId) {
+        AdminJob job = getJob(jobId)
+            .orElseThrow(() -> new IllegalArgumentException("Job not found: " + jobId));
+        if (broadcaster.getSubscriberCount() >= maxSubscribers) {
+            throw new IllegalStateException("Too many admin job subscribers");
+        }
+
+        // Current state straight away; a finished job needs nothing more
+        SseBroadcaster.Client client = broadcaster.subscribe(Set.of(jobId));
+        client.send(progressEvent(job));
+        if (job.isFinished()) {
+            client.complete();
+        }
+        return client.getEmitter();
+    }
+
+    /**
+     * Push the progress of every watched job, read with one query
+     */
+    @Scheduled(fixedDelayString = "${admin.jobs.progress-ms:1000}")
+    public void pushProgress() {
+        Set<String> watchedIds = new HashSet<>(broadcaster.getTopics());
+        if (watchedIds.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, AdminJob> jobs = new HashMap<>();
+            Query watched = withoutParams(new Query(Criteria.where("id").in(watchedIds)));
+            for (AdminJob job : mongoTemplate.find(watched, AdminJob.class)) {
+                jobs.put(job.getId(), job);
+            }
+
+            for (String jobId : watchedIds) {
+                AdminJob job = jobs.get(jobId);
+                if (job != null) {
+                    broadcaster.publish(jobId, progressEvent(job));
+                }
+                if (job == null || job.isFinished()) {
+                    broadcaster.complete(jobId);
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Error pushing admin job progress - Error: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Progress view of a job: processed/total, counters, throughput of the current run and ETA
+     */
+    public Map<String, Object> toProgress(AdminJob job) {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("jobId", job.getId());
+        progress.put("type", job.getType());
+        progress.put("status", job.getStatus());
+        progress.put("processed", job.getCheckpoint());
+        progress.put("total", job.getTotal());
+        progress.put("percentComplete", job.getTotal() > 0 ? job.getCheckpoint() * 100.0 / job.getTotal() : 0.0);
+        progress.put("counters", job.getCounters());
+
+        // Rate of the current run up to its last checkpoint, so earlier runs and queueing do not skew it
+        Double unitsPerSecond = null;
+        Long etaSeconds = null;
+        if (job.getRunStartedAt() != null) {
+            LocalDateTime until = job.getFinishedAt() != null ? job.getFinishedAt() : job.getUpdatedAt();
+            double seconds = Duration.between(job.getRunStartedAt(), until).toMillis() / 1000.0;
+            long done = job.getCheckpoint() - job.getRunStartCheckpoint();
+            if (seconds > 0 && done > 0) {
+                unitsPerSecond = done / seconds;
+                if (AdminJob.STATUS_RUNNING.equals(job.getStatus())) {
+                    etaSeconds = (long) Math.ceil((job.getTotal() - job.getCheckpoint()) / unitsPerSecond);
+                }
+            }
+        }
+        progress.put("unitsPerSecond", unitsPerSecond);
+        progress.put("etaSeconds", etaSeconds);
+
+        progress.put("runs", job.getRuns());
+        progress.put("node", job.getOwner());
+        progress.put("error", job.getError());
+        progress.put("submittedBy", job.getSubmittedBy());
+        progress.put("createdAt", job.getCreatedAt());
+        progress.put("startedAt", job.getStartedAt());
+        progress.put("updatedAt", job.getUpdatedAt());
+        progress.put("finishedAt", job.getFinishedAt());
+        return progress;
+    }
+
+    private void run(AdminJob job, JobLeaseService.Lease lease) {
+        AdminJobHandler handler = handlersByType.get(job.getType());
+        Counter units = Counter.builder("admin.jobs.units")
+            .description("Admin job units processed")
+            .tag("type", job.getType())
+            .register(meterRegistry);
+
+        long checkpoint = job.getCheckpoint();
+        Map<String, Long> counters = new LinkedHashMap<>(job.getCounters());
+        // Lets long chunks renew the lease between their batches and stop once it is lost
+        LeaseGuard guard = new LeaseGuard(() -> jobLeaseService.renew(lease), Duration.ofSeconds(leaseCheckSeconds));
+        BooleanSupplier stillLeased = () -> !stopping && guard.held();
+        logger.info("Admin job {} ({}) running from unit {} of {}", job.getId(), job.getType(), checkpoint, job.getTotal());
+
+        try {
+            while (checkpoint < job.getTotal()) {
+                if (stopping) {
+                    logger.info("Admin job {} paused at unit {} for shutdown", job.getId(), checkpoint);
+                    return;
+                }
+
+                long next = handler.processChunk(job, checkpoint, chunkSize, counters, stillLeased);
+                units.increment(next - checkpoint);
+                checkpoint = next;
+
+                if (!guard.held() || !saveCheckpoint(job, lease, checkpoint, counters) || !jobLeaseService.renew(lease)) {
+                    // Another node took over - it resumes from the last checkpoint it can see
+                    logger.warn("Admin job {} lost its lease at unit {}", job.getId(), checkpoint);
+                    return;
+                }
+            }
+
+            finish(job, lease, AdminJob.STATUS_COMPLETED, checkpoint, counters, null);
+            logger.info("Admin job {} ({}) completed: {}", job.getId(), job.getType(), counters);
+
+        } catch (RuntimeException e) {
+            logger.error("Admin job {} ({}) failed at unit {} - Error: {}",
+                        job.getId(), job.getType(), checkpoint, e.getMessage(), e);
+            finish(job, lease, AdminJob.STATUS_FAILED, checkpoint, counters, e.getMessage());
+        } finally {
+            localTypes.remove(job.getType());
+            jobLeaseService.release(lease);
+        }
+
+        // The next queued job of this type can start right away
+        dispatch();
+    }
+
+    /**
+     * Mark the job as running on this node under the lease's fencing token
+     */
+    private AdminJob claim(AdminJob job, JobLeaseService.Lease lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+            .set("status", AdminJob.STATUS_RUNNING)
+            .set("owner", jobLeaseService.getNodeId())
+            .set("fencingToken", lease.getFencingToken())
+            .set("runStartCheckpoint", job.getCheckpoint())
+            .set("runStartedAt", now)
+            .set("updatedAt", now)
+            .inc("runs", 1);
+        if (job.getStartedAt() == null) {
+            update.set("startedAt", now);
+        }
+
+        Query query = new Query(Criteria.where("id").is(job.getId()).and("status").in(UNFINISHED_STATUSES));
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), AdminJob.class);
+    }
+
+    private boolean saveCheckpoint(AdminJob job, JobLeaseService.Lease lease, long checkpoint, Map<String, Long> counters) {
+        Update update = new Update()
+            .set("checkpoint", checkpoint)
+            .set("counters", counters)
+            .set("updatedAt", LocalDateTime.now());
+        return mongoTemplate.updateFirst(ownedBy(job, lease), update, AdminJob.class).getModifiedCount() > 0;
+    }
+
+    private void finish(AdminJob job, JobLeaseService.Lease lease, String status, long checkpoint,
+                        Map<String, Long> counters, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+            .set("status", status)
+            .set("checkpoint", checkpoint)
+            .set("counters", counters)
+            .set("error", error)
+            .set("updatedAt", now)
+            .set("finishedAt", now);
+        try {
+            mongoTemplate.updateFirst(ownedBy(job, lease), update, AdminJob.class);
+        } catch (Exception e) {
+            logger.error("Could not record {} for admin job {} - Error: {}", status, job.getId(), e.getMessage());
+        }
+    }
+
+    private Query ownedBy(AdminJob job, JobLeaseService.Lease lease) {
+        return new Query(Criteria.where("id").is(job.getId())
+            .and("fencingToken").is(lease.getFencingToken())
+            .and("status").is(AdminJob.STATUS_RUNNING));
+    }
+
+    private SseEmitter.SseEventBuilder progressEvent(AdminJob job) {
+        return SseEmitter.event()
+            .name("progress")
+            .id(job.getId() + ":" + job.getCheckpoint())
+            .data(toProgress(job), MediaType.APPLICATION_JSON);
+    }
+
+    // Parameters can hold up to 100k user ids; only the job runner needs them
+    private static Query withoutParams(Query query) {
+        query.fields().exclude("params");
+        return query;
+    }
+
+    private Duration leaseTtl() {
+        return Duration.ofSeconds(leaseSeconds);
+    }
+
+    private static String leaseName(String type) {
+        return "admin-job:" + type;
+    }
+}
@@ -1,5 +1,8 @@
 package com.fundizen.fundizen_backend.service;
 
+import com.fundizen.fundizen_backend.dto.UserFilter;
+import com.fundizen.fundizen_backend.event.CampaignChangedEvent;
+import com.fundizen.fundizen_backend.models.AdminJob;
 import com.fundizen.fundizen_backend.models.Campaign;
 import com.fundizen.fundizen_backend.models.User;
 import com.fundizen.fundizen_backend.repository.CampaignRepository;
@@ -8,14 +11,17 @@ import com.fundizen.fundizen_backend.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 public class AdminService {
@@ -29,10 +35,13 @@ public class AdminService {
     private UserRepository userRepository;
     
     @Autowired
-    private CampaignService campaignService;
-    
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformStatisticsService platformStatisticsService;
+
     @Autowired
-    private UserService userService;
+    private AdminJobService adminJobService;
 
     // ===== CAMPAIGN MANAGEMENT =====
 
@@ -45,193 +54,106 @@ public class AdminService {
     }
 
     /**
-     * Bulk approve multiple campaigns
+     * Bulk approve pending campaigns - one updateMany plus one read-back for the whole list
      */
     public Map<String, Object> bulkApproveCampaigns(List<String> campaignIds) {
         logger.info("Bulk approving {} campaigns", campaignIds.size());
         
-        int successCount = 0;
-        int failureCount = 0;
-        
-        for (String campaignId : campaignIds) {
-            try {
-                campaignService.verifyCampaign(campaignId);
-                successCount++;
-                logger.debug("Campaign approved: {}", campaignId);
-            } catch (Exception e) {
-                failureCount++;
-                logger.error("Failed to approve campaign: {}", campaignId, e);
-            }
-        }
+        Map<String, Object> result = moderateCampaigns(campaignIds, "approved", true, null);
         
-        logger.info("Bulk approval completed: {} success, {} failures", successCount, failureCount);
-        
-        return Map.of(
-            "totalProcessed", campaignIds.size(),
-            "successCount", successCount,
-            "failureCount", failureCount,
-            "timestamp", LocalDateTime.now()
-        );
+        logger.info("Bulk approval completed: {} success, {} failures", 
+                   result.get("successCount"), result.get("failureCount"));
+        return result;
     }
 
     /**
-     * Bulk reject multiple campaigns
+     * Bulk reject pending campaigns - one updateMany plus one read-back for the whole list
      */
     public Map<String, Object> bulkRejectCampaigns(List<String> campaignIds, String reason) {
         logger.info("Bulk rejecting {} campaigns with reason: {}", campaignIds.size(), reason);
         
-        int successCount = 0;
-        int failureCount = 0;
+        String rejectionReason = reason != null && !reason.trim().isEmpty() ? reason : null;
+        Map<String, Object> result = moderateCampaigns(campaignIds, "rejected", false, rejectionReason);
+        result.put("reason", reason);
+        
+        logger.info("Bulk rejection completed: {} success, {} failures", 
+                   result.get("successCount"), result.get("failureCount"));
+        return result;
+    }
+
+    /**
+     * Only campaigns that are still pending change; every id gets an outcome
+     * (new status, "not_pending" or "not_found")
+     */
+    private Map<String, Object> moderateCampaigns(List<String> campaignIds, String newStatus,
+                                                  boolean verified, String rejectionReason) {
+        Set<String> uniqueIds = new LinkedHashSet<>(campaignIds);
+        Map<String, String> outcomes = uniqueIds.isEmpty()
+            ? Map.of()
+            : campaignRepository.moderatePending(uniqueIds, newStatus, verified, rejectionReason);
         
-        for (String campaignId : campaignIds) {
-            try {
-                Campaign campaign = campaignService.rejectCampaign(campaignId);
-                if (reason != null && !reason.trim().isEmpty()) {
-                    campaign.setRejectionReason(reason);
-                    campaignRepository.save(campaign);
-                }
+        int successCount = 0;
+        for (Map.Entry<String, String> outcome : outcomes.entrySet()) {
+            if (newStatus.equals(outcome.getValue())) {
                 successCount++;
-                logger.debug("Campaign rejected: {}", campaignId);
-            } catch (Exception e) {
-                failureCount++;
-                logger.error("Failed to reject campaign: {}", campaignId, e);
+                eventPublisher.publishEvent(new CampaignChangedEvent(outcome.getKey()));
+            } else {
+                logger.debug("Campaign {} not moderated: {}", outcome.getKey(), outcome.getValue());
             }
         }
         
-        logger.info("Bulk rejection completed: {} success, {} failures", successCount, failureCount);
-        
-        return Map.of(
-            "totalProcessed", campaignIds.size(),
-            "successCount", successCount,
-            "failureCount", failureCount,
-            "reason", reason,
-            "timestamp", LocalDateTime.now()
-        );
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("totalProcessed", uniqueIds.size());
+        result.put("successCount", successCount);
+        result.put("failureCount", uniqueIds.size() - successCount);
+        result.put("results", outcomes);
+        result.put("timestamp", LocalDateTime.now());
+        return result;
     }
 
     // ===== USER MANAGEMENT =====
 
     /**
-     * Search users with advanced filters
+     * Search users with advanced filters - filtering, sorting and paging run in Mongo
      */
-    public List<User> searchUsersAdvanced(String searchTerm, String role, Boolean verified, 
-                                        LocalDateTime startDate, LocalDateTime endDate) {
+    public Page<User> searchUsersAdvanced(String searchTerm, String role, Boolean verified,
+                                          LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
         logger.info("Advanced user search: term='{}', role='{}', verified={}, dateRange=[{} to {}]", 
                    searchTerm, role, verified, startDate, endDate);
-        
-        List<User> users = userRepository.findAll();
-        
-        // Apply search term filter
-        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            String searchLower = searchTerm.toLowerCase().trim();
-            users = users.stream()
-                .filter(u -> u.getUsername().toLowerCase().contains(searchLower) ||
-                           u.getEmail().toLowerCase().contains(searchLower))
-                .collect(Collectors.toList());
-        }
-        
-        // Apply role filter
-        if (role != null && !role.trim().isEmpty() && !"all".equals(role)) {
-            users = users.stream()
-                .filter(u -> role.equals(u.getRole()))
-                .collect(Collectors.toList());
-        }
-        
-        // Apply verification filter
-        if (verified != null) {
-            users = users.stream()
-                .filter(u -> u.isVerified() == verified)
-                .collect(Collectors.toList());
-        }
-        
-        // Apply date range filter
-        if (startDate != null && endDate != null) {
-            users = users.stream()
-                .filter(u -> u.getCreatedAt().isAfter(startDate) && u.getCreatedAt().isBefore(endDate))
-                .collect(Collectors.toList());
-        }
-        
-        logger.info("Advanced search returned {} users", users.size());
+
+        UserFilter filter = UserFilter.builder()
+            .search(searchTerm)
+            .role(role)
+            .verified(verified)
+            .createdAfter(startDate)
+            .createdBefore(endDate)
+            .build();
+        Page<User> users = userRepository.findByFilter(filter, pageable);
+
+        logger.info("Advanced search returned {} of {} users", users.getNumberOfElements(), users.getTotalElements());
         return users;
     }
 
     /**
-     * Bulk update user roles
+     * Bulk update user roles - runs as a background admin job; returns the job's progress
      */
     public Map<String, Object> bulkUpdateUserRoles(List<String> userIds, String newRole) {
-        logger.info("Bulk updating {} users to role: {}", userIds.size(), newRole);
-        
-        if (!"user".equals(newRole) && !"admin".equals(newRole)) {
-            throw new IllegalArgumentException("Invalid role: " + newRole);
-        }
-        
-        int successCount = 0;
-        int failureCount = 0;
-        
-        for (String userId : userIds) {
-            try {
-                Optional<User> userOpt = userRepository.findById(userId);
-                if (userOpt.isPresent()) {
-                    User user = userOpt.get();
-                    user.setRole(newRole);
-                    userRepository.save(user);
-                    successCount++;
-                    logger.debug("User role updated: {} -> {}", userId, newRole);
-                } else {
-                    failureCount++;
-                    logger.warn("User not found for role update: {}", userId);
-                }
-            } catch (Exception e) {
-                failureCount++;
-                logger.error("Failed to update user role: {}", userId, e);
-            }
-        }
-        
-        logger.info("Bulk role update completed: {} success, {} failures", successCount, failureCount);
+        logger.info("Submitting bulk role update of {} users to role: {}", userIds.size(), newRole);
         
-        return Map.of(
-            "totalProcessed", userIds.size(),
-            "successCount", successCount,
-            "failureCount", failureCount,
-            "newRole", newRole,
-            "timestamp", LocalDateTime.now()
-        );
+        AdminJob job = adminJobService.submit(BulkUserUpdateJobHandler.TYPE_ROLES,
+            Map.of("userIds", userIds, "role", newRole), null);
+        return adminJobService.toProgress(job);
     }
 
     /**
-     * Bulk update user verification status
+     * Bulk update user verification status - runs as a background admin job; returns the job's progress
      */
     public Map<String, Object> bulkUpdateUserVerification(List<String> userIds, boolean verified) {
-        logger.info("Bulk updating {} users verification status to: {}", userIds.size(), verified);
-        
-        int successCount = 0;
-        int failureCount = 0;
-        
-        for (String userId : userIds) {
-            try {
-                User user = userService.updateEmailVerificationStatus(userId, verified);
-                if (user != null) {
-                    successCount++;
-                    logger.debug("User verification updated: {} -> {}", userId, verified);
-                } else {
-                    failureCount++;
-                    logger.warn("User not found for verification update: {}", userId);
-                }
-            } catch (Exception e) {
-                failureCount++;
-                logger.error("Failed to update user verification: {}", userId, e);
-            }
-        }
-        
-        logger.info("Bulk verification update completed: {} success, {} failures", successCount, failureCount);
+        logger.info("Submitting bulk verification update of {} users to: {}", userIds.size(), verified);
         
-        return Map.of(
-            "totalProcessed", userIds.size(),
-            "successCount", successCount,
-            "failureCount", failureCount,
-            "verificationStatus", verified,
-            "timestamp", LocalDateTime.now()
-        );
+        AdminJob job = adminJobService.submit(BulkUserUpdateJobHandler.TYPE_VERIFICATION,
+            Map.of("userIds", userIds, "verified", verified), null);
+        return adminJobService.toProgress(job);
     }
 
     // ===== SYSTEM MONITORING =====
@@ -252,18 +174,16 @@ public class AdminService {
             LocalDateTime oneHourAgo = now.minusHours(1);
             
             // Recent activity indicators
-            long recentUserActivity = userRepository.findByCreatedAtBetween(oneHourAgo, now).size();
-            long recentCampaignActivity = campaignRepository.findAll().stream()
-                .filter(c -> c.getCreatedAt().isAfter(oneHourAgo))
-                .count();
+            long recentUserActivity = userRepository.countByCreatedAtBetween(oneHourAgo, now);
+            long recentCampaignActivity = campaignRepository.countByCreatedAtAfter(oneHourAgo);
             
             // System load indicators
             boolean databaseHealthy = totalUsers >= 0 && totalCampaigns >= 0;
             boolean systemResponsive = true;
             
             // Pending work queue
-            long pendingApprovals = campaignRepository.findByStatusOrderByCreatedAtDesc("pending").size();
-            long unverifiedUsers = userRepository.findByVerifiedFalse().size();
+            long pendingApprovals = campaignRepository.countByStatus("pending");
+            long unverifiedUsers = userRepository.countByVerified(false);
             
             // Memory and performance (basic indicators)
             Runtime runtime = Runtime.getRuntime();
@@ -312,98 +232,20 @@ public class AdminService {
     }
 
     /**
-     * Perform system cleanup and maintenance
+     * Perform system cleanup and maintenance - runs as a background admin job
+     * (see MaintenanceJobHandler); returns the job's progress
      */
     public Map<String, Object> performSystemCleanup() {
-        logger.info("Performing system cleanup and maintenance");
-        
-        int cleanedCampaigns = 0;
-        int cleanedUsers = 0;
-        int dataIntegrityFixes = 0;
-        
-        try {
-            // 1. Auto-reject very old pending campaigns (6 months+)
-            LocalDate sixMonthsAgo = LocalDate.now().minusMonths(6);
-            List<Campaign> oldPendingCampaigns = campaignRepository.findAll().stream()
-                .filter(c -> "pending".equals(c.getStatus()) && 
-                           c.getCreatedAt().toLocalDate().isBefore(sixMonthsAgo))
-                .collect(Collectors.toList());
-            
-            for (Campaign campaign : oldPendingCampaigns) {
-                campaign.setStatus("rejected");
-                campaign.setRejectionReason("Automatically rejected due to prolonged pending status (6+ months)");
-                campaignRepository.save(campaign);
-                cleanedCampaigns++;
-                logger.debug("Auto-rejected old pending campaign: {}", campaign.getId());
-            }
-            
-            // 2. Clean up orphaned data
-            List<Campaign> allCampaigns = campaignRepository.findAll();
-            for (Campaign campaign : allCampaigns) {
-                // Check if creator still exists
-                User creator = userService.getUserById(campaign.getCreatorId());
-                if (creator == null) {
-                    // Mark campaign as orphaned or assign to system user
-                    campaign.setCreatorId("system");
-                    campaignRepository.save(campaign);
-                    dataIntegrityFixes++;
-                    logger.debug("Fixed orphaned campaign: {}", campaign.getId());
-                }
-            }
-            
-            // 3. Remove expired unverified users (optional - 30 days)
-            LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-            List<User> expiredUnverifiedUsers = userRepository.findAll().stream()
-                .filter(u -> !u.isVerified() && 
-                           u.getCreatedAt().isBefore(thirtyDaysAgo) &&
-                           !u.isFirebaseUser())
-                .collect(Collectors.toList());
-            
-            for (User user : expiredUnverifiedUsers) {
-                // Only delete if they have no campaigns
-                List<Campaign> userCampaigns = allCampaigns.stream()
-                    .filter(c -> user.getId().equals(c.getCreatorId()))
-                    .collect(Collectors.toList());
-                
-                if (userCampaigns.isEmpty()) {
-                    userRepository.delete(user);
-                    cleanedUsers++;
-                    logger.debug("Removed expired unverified user: {}", user.getId());
-                }
-            }
-            
-            // 4. Validate and fix data consistency
-            validateAndFixDataConsistency();
-            
-            logger.info("System cleanup completed: {} campaigns cleaned, {} users cleaned, {} data fixes", 
-                       cleanedCampaigns, cleanedUsers, dataIntegrityFixes);
-            
-            return Map.of(
-                "success", true,
-                "cleanedCampaigns", cleanedCampaigns,
-                "cleanedUsers", cleanedUsers,
-                "dataIntegrityFixes", dataIntegrityFixes,
-                "totalItemsCleaned", cleanedCampaigns + cleanedUsers + dataIntegrityFixes,
-                "message", "System cleanup completed successfully",
-                "details", Map.of(
-                    "oldPendingCampaignsRejected", cleanedCampaigns,
-                    "expiredUsersRemoved", cleanedUsers,
-                    "orphanedDataFixed", dataIntegrityFixes
-                ),
-                "timestamp", LocalDateTime.now()
-            );
-            
-        } catch (Exception e) {
-            logger.error("Error during system cleanup", e);
-            return Map.of(
-                "success", false,
-                "error", e.getMessage(),
-                "cleanedCampaigns", cleanedCampaigns,
-                "cleanedUsers", cleanedUsers,
-                "dataIntegrityFixes", dataIntegrityFixes,
-                "timestamp", LocalDateTime.now()
-            );
-        }
+        logger.info("Submitting system cleanup and maintenance job");
+        return adminJobService.toProgress(adminJobService.submit(MaintenanceJobHandler.TYPE_SYSTEM_CLEANUP, null, null));
+    }
+
+    /**
+     * Validate and fix data consistency issues - runs as a background admin job; returns the job's progress
+     */
+    public Map<String, Object> validateAndFixDataConsistency() {
+        logger.info("Submitting data consistency job");
+        return adminJobService.toProgress(adminJobService.submit(MaintenanceJobHandler.TYPE_DATA_INTEGRITY, null, null));
     }
 
     /**
@@ -413,48 +255,25 @@ public class AdminService {
         logger.info("Fetching basic system statistics");
         
         try {
-            List<Campaign> allCampaigns = campaignRepository.findAll();
-            List<User> allUsers = userRepository.findAll();
-            
-            // Campaign statistics
-            Map<String, Long> campaignsByStatus = allCampaigns.stream()
-                .collect(Collectors.groupingBy(Campaign::getStatus, Collectors.counting()));
-            
-            Map<String, Long> campaignsByCategory = allCampaigns.stream()
-                .collect(Collectors.groupingBy(Campaign::getCategory, Collectors.counting()));
-            
-            // User statistics
-            Map<String, Long> usersByRole = allUsers.stream()
-                .collect(Collectors.groupingBy(User::getRole, Collectors.counting()));
-            
-            long verifiedUsers = allUsers.stream().filter(User::isVerified).count();
-            long unverifiedUsers = allUsers.size() - verifiedUsers;
-            
-            // Financial stats
-            double totalGoalAmount = allCampaigns.stream()
-                .mapToDouble(Campaign::getGoalAmount)
-                .sum();
-            
-            double totalRaisedAmount = allCampaigns.stream()
-                .mapToDouble(Campaign::getRaisedAmount)
-                .sum();
+            PlatformStatisticsService.CampaignStatistics campaignStats = platformStatisticsService.getCampaignStatistics();
+            PlatformStatisticsService.UserStatistics userStats = platformStatisticsService.getUserStatistics();
 
             return Map.of(
                 "overview", Map.of(
-                    "totalCampaigns", allCampaigns.size(),
-                    "totalUsers", allUsers.size(),
-                    "totalGoalAmount", totalGoalAmount,
-                    "totalRaisedAmount", totalRaisedAmount,
-                    "platformEfficiency", totalGoalAmount > 0 ? (totalRaisedAmount / totalGoalAmount) * 100 : 0
+                    "totalCampaigns", campaignStats.getTotalCampaigns(),
+                    "totalUsers", userStats.getTotalUsers(),
+                    "totalGoalAmount", campaignStats.getTotalGoalAmount(),
+                    "totalRaisedAmount", campaignStats.getTotalRaisedAmount(),
+                    "platformEfficiency", campaignStats.getSuccessRate()
                 ),
                 "campaigns", Map.of(
-                    "byStatus", campaignsByStatus,
-                    "byCategory", campaignsByCategory
+                    "byStatus", campaignStats.getByStatus(),
+                    "byCategory", campaignStats.getByCategory()
                 ),
                 "users", Map.of(
-                    "byRole", usersByRole,
-                    "verified", verifiedUsers,
-                    "unverified", unverifiedUsers
+                    "byRole", userStats.getByRole(),
+                    "verified", userStats.getVerifiedUsers(),
+                    "unverified", userStats.getUnverifiedUsers()
                 ),
                 "timestamp", LocalDateTime.now()
             );
@@ -477,51 +296,4 @@ public class AdminService {
     private String getSystemUptime() {
         return "System uptime tracking not implemented";
     }
-
-    /**
-     * Validate and fix data consistency issues
-     */
-    private void validateAndFixDataConsistency() {
-        logger.info("Validating and fixing data consistency");
-        
-        try {
-            // Check for campaigns with invalid goal amounts
-            List<Campaign> invalidCampaigns = campaignRepository.findAll().stream()
-                .filter(c -> c.getGoalAmount() == null || c.getGoalAmount() <= 0)
-                .collect(Collectors.toList());
-            
-            for (Campaign campaign : invalidCampaigns) {
-                campaign.setGoalAmount(1.0);
-                campaignRepository.save(campaign);
-                logger.debug("Fixed invalid goal amount for campaign: {}", campaign.getId());
-            }
-            
-            // Check for campaigns with null raised amounts
-            List<Campaign> nullRaisedAmountCampaigns = campaignRepository.findAll().stream()
-                .filter(c -> c.getRaisedAmount() == null)
-                .collect(Collectors.toList());
-            
-            for (Campaign campaign : nullRaisedAmountCampaigns) {
-                campaign.setRaisedAmount(0.0);
-                campaignRepository.save(campaign);
-                logger.debug("Fixed null raised amount for campaign: {}", campaign.getId());
-            }
-            
-            // Validate user data
-            List<User> invalidUsers = userRepository.findAll().stream()
-                .filter(u -> u.getUsername() == null || u.getUsername().trim().isEmpty())
-                .collect(Collectors.toList());
-            
-            for (User user : invalidUsers) {
-                if (user.getEmail() != null) {
-                    user.setUsername("user_" + user.getEmail().split("@")[0]);
-                    userRepository.save(user);
-                    logger.debug("Fixed invalid username for user: {}", user.getId());
-                }
-            }
-            
-        } catch (Exception e) {
-            logger.error("Error during data consistency validation", e);
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.AdminJob;
+import com.fundizen.fundizen_backend.models.User;
+import com.mongodb.client.result.UpdateResult;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk role and verification changes for a list of users.
+ *
+ * Each chunk is one updateMany over the chunk's ids instead of a findById and
+ * a full save per user. Setting a value is idempotent, so a repeated chunk
+ * only counts its users as unchanged.
+ */
+@Component
+public class BulkUserUpdateJobHandler implements AdminJobHandler {
+
+    public static final String TYPE_ROLES = "user-roles";
+    public static final String TYPE_VERIFICATION = "user-verification";
+
+    private static final int MAX_USER_IDS = 100_000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserResolver userResolver;
+
+    @Override
+    public Set<String> getTypes() {
+        return Set.of(TYPE_ROLES, TYPE_VERIFICATION);
+    }
+
+    @Override
+    public void validate(String type, Map<String, Object> params) {
+        Object userIds = params.get("userIds");
+        if (!(userIds instanceof List<?> ids) || ids.isEmpty()) {
+            throw new IllegalArgumentException("userIds must be a non-empty list");
+        }
+        if (ids.size() > MAX_USER_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_USER_IDS + " userIds per job");
+        }
+
+        if (TYPE_ROLES.equals(type)) {
+            Object role = params.get("role");
+            if (!"user".equals(role) && !"admin".equals(role)) {
+                throw new IllegalArgumentException("Invalid role: " + role);
+            }
+        } else if (!(params.get("verified") instanceof Boolean)) {
+            throw new IllegalArgumentException("verified must be true or false");
+        }
+    }
+
+    @Override
+    public long countUnits(AdminJob job) {
+        return userIds(job).size();
+    }
+
+    @Override
+    public long processChunk(AdminJob job, long from, int maxUnits, Map<String, Long> counters,
+                             BooleanSupplier stillLeased) {
+        // One updateMany per chunk, short enough to need no lease check of its own
+        List<String> userIds = userIds(job);
+        int start = (int) from;
+        int end = Math.min(userIds.size(), start + maxUnits);
+        List<String> chunk = userIds.subList(start, end);
+
+        String field = TYPE_ROLES.equals(job.getType()) ? "role" : "verified";
+        Object value = job.getParams().get(field);
+
+        // Users that already have the value are skipped and counted as unchanged
+        long found = mongoTemplate.count(new Query(Criteria.where("id").in(chunk)), User.class);
+        UpdateResult result = mongoTemplate.updateMulti(
+            new Query(Criteria.where("id").in(chunk).and(field).ne(value)),
+            new Update().set(field, value).set("updatedAt", LocalDateTime.now()),
+            User.class);
+        chunk.forEach(userResolver::invalidate);
+
+        counters.merge("updated", result.getModifiedCount(), Long::sum);
+        counters.merge("unchanged", found - result.getModifiedCount(), Long::sum);
+        counters.merge("notFound", chunk.size() - found, Long::sum);
+        return end;
+    }
+
+    private static List<String> userIds(AdminJob job) {
+        Object ids = job.getParams().get("userIds");
+        return ids instanceof List<?> list
+            ? list.stream().map(String::valueOf).collect(Collectors.toList())
+            : List.of();
+    }
+}
@@ -0,0 +1,72 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.config.StaleWhileRevalidateCache;
+import com.fundizen.fundizen_backend.event.CampaignChangedEvent;
+import com.fundizen.fundizen_backend.event.DonationStatusChangedEvent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached campaign reads when donations or campaigns change.
+ * Platform-wide aggregates (e.g. monthly trends) rely on their TTL instead,
+ * otherwise every donation during a burst would empty them.
+ */
+@Component
+public class CacheEvictionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheEvictionListener.class);
+
+    public static final String CAMPAIGNS = "campaigns";
+    public static final String CAMPAIGN_DONATION_STATS = "campaignDonationStats";
+    public static final String TOP_DONORS = "topDonors";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Runs after read models (e.g. campaign_stats) have applied the change
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onDonationStatusChanged(DonationStatusChangedEvent event) {
+        evictCampaign(event.getCampaignId());
+    }
+
+    @EventListener
+    public void onCampaignChanged(CampaignChangedEvent event) {
+        evictCampaign(event.getCampaignId());
+    }
+
+    private void evictCampaign(String campaignId) {
+        if (campaignId == null) {
+            return;
+        }
+
+        evict(CAMPAIGNS, campaignId);
+        evict(CAMPAIGN_DONATION_STATS, campaignId);
+
+        // Top donor keys are "<campaignId>:<limit>"
+        Cache topDonors = cacheManager.getCache(TOP_DONORS);
+        if (topDonors instanceof StaleWhileRevalidateCache) {
+            String prefix = campaignId + ":";
+            ((StaleWhileRevalidateCache) topDonors).evictIf(key -> key.toString().startsWith(prefix));
+        } else if (topDonors != null) {
+            topDonors.clear();
+        }
+
+        logger.debug("Evicted cached reads for campaign: {}", campaignId);
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.event.CampaignChangedEvent;
+import com.fundizen.fundizen_backend.event.DonationStatusChangedEvent;
+import com.fundizen.fundizen_backend.models.CampaignDonorTotal;
+import com.fundizen.fundizen_backend.models.CampaignLeaderboard;
+import com.fundizen.fundizen_backend.models.Donation;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maintains a top-K donor leaderboard per campaign (campaign_leaderboards).
+ *
+ * A succeeded donation bumps the donor's running total in campaign_donor_totals
+ * with one findAndModify, then merges that total into the campaign's small
+ * leaderboard document with a version-conditional update. Reading a
+ * leaderboard is one document fetch; display names are resolved by the caller
+ * through UserResolver. Refunds lower a total, which can let a donor outside the
+ * top K move up, so they recompute the leaderboard from the indexed totals.
+ *
+ * A campaign without a leaderboard yet is queued for a rebuild from its
+ * donations, done by a scheduled job under a job lease; reads get an empty
+ * list until then. The rebuild writes totals in place and skips any that a
+ * live donation updated after it started, so it never loses an increment.
+ */
+@Service
+public class CampaignLeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampaignLeaderboardService.class);
+
+    private static final int MAX_UPDATE_ATTEMPTS = 5;
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final int DUPLICATE_KEY = 11000;
+
+    private static final String REBUILD_LEASE = "campaign-leaderboard-rebuild";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${donation.leaderboard.size:100}")
+    private int leaderboardSize;
+
+    // Campaigns waiting for a rebuild on this node
+    private final Set<String> pendingRebuilds = ConcurrentHashMap.newKeySet();
+
+    public int getLeaderboardSize() {
+        return leaderboardSize;
+    }
+
+    /**
+     * Top donors of a campaign, highest total first. Empty while the
+     * campaign's first leaderboard is still being built.
+     */
+    public List<CampaignLeaderboard.Entry> getTopDonors(String campaignId, int limit) {
+        CampaignLeaderboard leaderboard = mongoTemplate.findById(campaignId, CampaignLeaderboard.class);
+        if (leaderboard == null) {
+            requestRebuild(campaignId);
+            return List.of();
+        }
+        List<CampaignLeaderboard.Entry> entries = leaderboard.getEntries();
+        return entries.subList(0, Math.min(Math.max(limit, 0), entries.size()));
+    }
+
+    // Runs before cache eviction so evicted reads reload the updated leaderboard
+    @EventListener
+    @Order(0)
+    public void onDonationStatusChanged(DonationStatusChangedEvent event) {
+        Donation donation = event.getDonation();
+        if (donation.getDonorId() == null || !(event.isSucceeded() || event.isRefunded())) {
+            return;
+        }
+        try {
+            if (!mongoTemplate.exists(new Query(Criteria.where("id").is(event.getCampaignId())), CampaignLeaderboard.class)) {
+                // The rebuild reads all donations, which already include this one
+                requestRebuild(event.getCampaignId());
+                return;
+            }
+
+            double amount = donation.getAmount() != null ? donation.getAmount() : 0.0;
+            if (event.isSucceeded()) {
+                CampaignDonorTotal total = incrementTotal(donation, amount, 1);
+                mergeIntoLeaderboard(event.getCampaignId(), total);
+            } else {
+                incrementTotal(donation, -amount, -1);
+                rebuildFromTotals(event.getCampaignId());
+            }
+        } catch (Exception e) {
+            logger.error("Error updating leaderboard for campaign: {} - Error: {}",
+                        event.getCampaignId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Queue a campaign for the next scheduled rebuild
+     */
+    public void requestRebuild(String campaignId) {
+        if (campaignId != null) {
+            pendingRebuilds.add(campaignId);
+        }
+    }
+
+    /**
+     * Rebuild the queued campaigns. One node rebuilds at a time; whatever is
+     * left when the lease is lost stays queued for the next run.
+     */
+    @Scheduled(fixedDelayString = "${donation.leaderboard.rebuild-delay-ms:5000}")
+    public void rebuildPending() {
+        if (pendingRebuilds.isEmpty()) {
+            return;
+        }
+        Optional<JobLeaseService.Lease> lease = jobLeaseService.tryAcquire(REBUILD_LEASE, Duration.ofMinutes(5));
+        if (lease.isEmpty()) {
+            return;
+        }
+        try {
+            for (String campaignId : new ArrayList<>(pendingRebuilds)) {
+                if (!jobLeaseService.renew(lease.get())) {
+                    return;
+                }
+                // Removed first, so a donation arriving during the rebuild queues another one
+                pendingRebuilds.remove(campaignId);
+                try {
+                    rebuild(campaignId);
+                    eventPublisher.publishEvent(new CampaignChangedEvent(campaignId));
+                } catch (Exception e) {
+                    logger.error("Error rebuilding leaderboard for campaign: {} - Error: {}", campaignId, e.getMessage(), e);
+                    pendingRebuilds.add(campaignId);
+                }
+            }
+        } finally {
+            jobLeaseService.release(lease.get());
+        }
+    }
+
+    private CampaignDonorTotal incrementTotal(Donation donation, double amountDelta, long countDelta) {
+        String campaignId = donation.getCampaignId();
+        String donorId = donation.getDonorId();
+
+        Query query = new Query(Criteria.where("id").is(CampaignDonorTotal.idFor(campaignId, donorId)));
+        Update update = new Update()
+            .setOnInsert("campaignId", campaignId)
+            .setOnInsert("donorId", donorId)
+            .inc("totalAmount", amountDelta)
+            .inc("donationCount", countDelta)
+            .set("updatedAt", LocalDateTime.now());
+
+        return mongoTemplate.findAndModify(query, update,
+            FindAndModifyOptions.options().upsert(true).returnNew(true), CampaignDonorTotal.class);
+    }
+
+    /**
+     * Put a donor's new total into the top K, retrying when another update raced in
+     */
+    private void mergeIntoLeaderboard(String campaignId, CampaignDonorTotal total) {
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            CampaignLeaderboard leaderboard = mongoTemplate.findById(campaignId, CampaignLeaderboard.class);
+            if (leaderboard == null) {
+                requestRebuild(campaignId);
+                return;
+            }
+
+            List<CampaignLeaderboard.Entry> entries = new ArrayList<>(leaderboard.getEntries());
+            boolean present = entries.removeIf(entry -> entry.getDonorId().equals(total.getDonorId()));
+            boolean qualifies = present || entries.size() < leaderboardSize
+                || total.getTotalAmount() > entries.get(entries.size() - 1).getTotalAmount();
+            if (!qualifies) {
+                return;
+            }
+
+            entries.add(new CampaignLeaderboard.Entry(total.getDonorId(), total.getTotalAmount(), total.getDonationCount()));
+            entries.sort(Comparator.comparingDouble(CampaignLeaderboard.Entry::getTotalAmount).reversed());
+            if (entries.size() > leaderboardSize) {
+                entries = new ArrayList<>(entries.subList(0, leaderboardSize));
+            }
+
+            Query query = new Query(Criteria.where("id").is(campaignId).and("version").is(leaderboard.getVersion()));
+            Update update = new Update()
+                .set("entries", entries)
+                .inc("version", 1)
+                .set("updatedAt", LocalDateTime.now());
+            if (mongoTemplate.updateFirst(query, update, CampaignLeaderboard.class).getModifiedCount() > 0) {
+                return;
+            }
+        }
+
+        // Heavily contended - fall back to the indexed totals
+        logger.debug("Leaderboard update for campaign: {} kept conflicting, recomputing from totals", campaignId);
+        rebuildFromTotals(campaignId);
+    }
+
+    /**
+     * Recompute a campaign's leaderboard from its donor totals (indexed, reads K
+     * documents). Conditional on the version read first, so a merge that lands
+     * in between is not overwritten with the older totals.
+     */
+    private void rebuildFromTotals(String campaignId) {
+        Query totalsQuery = new Query(Criteria.where("campaignId").is(campaignId).and("donationCount").gt(0))
+            .with(Sort.by(Sort.Direction.DESC, "totalAmount"))
+            .limit(leaderboardSize);
+
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            CampaignLeaderboard current = mongoTemplate.findById(campaignId, CampaignLeaderboard.class);
+
+            List<CampaignLeaderboard.Entry> entries = mongoTemplate.find(totalsQuery, CampaignDonorTotal.class).stream()
+                .map(total -> new CampaignLeaderboard.Entry(total.getDonorId(), total.getTotalAmount(), total.getDonationCount()))
+                .collect(Collectors.toList());
+
+            if (current == null) {
+                CampaignLeaderboard leaderboard = new CampaignLeaderboard();
+                leaderboard.setId(campaignId);
+                leaderboard.setEntries(entries);
+                leaderboard.setVersion(1L);
+                leaderboard.setUpdatedAt(LocalDateTime.now());
+                try {
+                    mongoTemplate.insert(leaderboard);
+                    return;
+                } catch (DuplicateKeyException e) {
+                    continue;
+                }
+            }
+
+            Query query = new Query(Criteria.where("id").is(campaignId).and("version").is(current.getVersion()));
+            Update update = new Update()
+                .set("entries", entries)
+                .inc("version", 1)
+                .set("updatedAt", LocalDateTime.now());
+            if (mongoTemplate.updateFirst(query, update, CampaignLeaderboard.class).getModifiedCount() > 0) {
+                return;
+            }
+        }
+
+        logger.warn("Leaderboard of campaign: {} kept changing during recompute - queued for a rebuild", campaignId);
+        requestRebuild(campaignId);
+    }
+
+    /**
+     * Recompute a campaign's donor totals and leaderboard from its succeeded
+     * donations. Totals are replaced in place; one that a live donation
+     * updated after the rebuild started is left alone, as it already counts
+     * that donation on top of an up-to-date total.
+     */
+    public void rebuild(String campaignId) {
+        logger.debug("Rebuilding donor leaderboard for campaign: {}", campaignId);
+
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("campaignId").is(campaignId)
+                .and("paymentStatus").is("succeeded")
+                .and("donorId").ne(null)),
+            Aggregation.group("donorId")
+                .sum("amount").as("totalAmount")
+                .count().as("donationCount")
+        );
+
+        LocalDateTime readAt = LocalDateTime.now();
+        try (Stream<Document> stream = mongoTemplate.aggregateStream(aggregation, Donation.class, Document.class)) {
+            Iterator<Document> donors = stream.iterator();
+            List<CampaignDonorTotal> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+            while (donors.hasNext()) {
+                Document donor = donors.next();
+                CampaignDonorTotal total = new CampaignDonorTotal();
+                String donorId = String.valueOf(donor.get("_id"));
+                total.setId(CampaignDonorTotal.idFor(campaignId, donorId));
+                total.setCampaignId(campaignId);
+                total.setDonorId(donorId);
+                total.setTotalAmount(number(donor, "totalAmount"));
+                total.setDonationCount((long) number(donor, "donationCount"));
+                total.setUpdatedAt(readAt);
+                batch.add(total);
+
+                if (batch.size() == REBUILD_BATCH_SIZE) {
+                    writeTotals(batch, readAt);
+                    batch.clear();
+                }
+            }
+            writeTotals(batch, readAt);
+        }
+
+        // Donors whose donations were all refunded, unless a live update wrote them meanwhile
+        mongoTemplate.remove(new Query(new Criteria().andOperator(
+            Criteria.where("campaignId").is(campaignId), notUpdatedSince(readAt))), CampaignDonorTotal.class);
+
+        rebuildFromTotals(campaignId);
+    }
+
+    private void writeTotals(List<CampaignDonorTotal> totals, LocalDateTime readAt) {
+        if (totals.isEmpty()) {
+            return;
+        }
+        // Unordered conditional upserts: a total a live donation wrote after readAt no longer
+        // matches, so its upsert fails with a duplicate key and the rest still apply
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CampaignDonorTotal.class);
+        for (CampaignDonorTotal total : totals) {
+            Query untouched = new Query(new Criteria().andOperator(
+                Criteria.where("id").is(total.getId()), notUpdatedSince(readAt)));
+            bulk.upsert(untouched, new Update()
+                .set("campaignId", total.getCampaignId())
+                .set("donorId", total.getDonorId())
+                .set("totalAmount", total.getTotalAmount())
+                .set("donationCount", total.getDonationCount())
+                .set("updatedAt", total.getUpdatedAt()));
+        }
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            boolean onlyTouched = e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY);
+            if (!onlyTouched) {
+                throw e;
+            }
+            logger.debug("Kept {} donor totals updated during the rebuild", e.getErrors().size());
+        }
+    }
+
+    private static Criteria notUpdatedSince(LocalDateTime readAt) {
+        return new Criteria().orOperator(
+            Criteria.where("updatedAt").lt(readAt),
+            Criteria.where("updatedAt").exists(false));
+    }
+
+    private double number(Document document, String field) {
+        Object value = document.get(field);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0.0;
+    }
+}
@@ -0,0 +1,261 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.event.CampaignChangedEvent;
+import com.fundizen.fundizen_backend.event.DonationStatusChangedEvent;
+import com.fundizen.fundizen_backend.models.Campaign;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes campaign progress (raised amount, donation count, completion) to SSE
+ * clients watching one or more campaigns, instead of having campaign pages poll.
+ *
+ * Donation and campaign events only mark a campaign dirty. A scheduled flush
+ * then reads all dirty campaigns with one projected query and publishes one
+ * event per changed campaign, so a campaign is pushed at most
+ * campaign.progress.max-updates-per-second times however many donations it
+ * receives. Every few flushes the watched campaigns updated since the last
+ * check are read as well, which picks up donations processed on other nodes.
+ *
+ * Idle SSE connections hold no thread (servlet async), only a socket and a
+ * small subscriber entry; delivery goes through SseBroadcaster, so a slow
+ * client falls behind on its own queue instead of holding up the flush.
+ */
+@Service
+public class CampaignProgressBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampaignProgressBroadcaster.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${campaign.progress.max-subscribers:50000}")
+    private int maxSubscribers;
+
+    @Value("${campaign.progress.max-campaigns-per-subscriber:20}")
+    private int maxCampaignsPerSubscriber;
+
+    @Value("${campaign.progress.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    @Value("${campaign.progress.push-threads:4}")
+    private int pushThreads;
+
+    @Value("${campaign.progress.max-pending-events:32}")
+    private int maxPendingEvents;
+
+    @Value("${campaign.progress.cluster-poll-ms:2000}")
+    private long clusterPollMs;
+
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    // Last progress sent per watched campaign, so unchanged campaigns are not pushed
+    private final Map<String, CampaignProgress> lastSent = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime lastClusterPoll = LocalDateTime.now();
+
+    // Topics are the watched campaign ids
+    private SseBroadcaster broadcaster;
+
+    @PostConstruct
+    public void init() {
+        broadcaster = new SseBroadcaster("campaign.progress", pushThreads, maxPendingEvents, streamTimeoutMs, meterRegistry);
+        broadcaster.onTopicClosed(lastSent::remove);
+
+        Gauge.builder("campaign.progress.watched", broadcaster, b -> b.getTopics().size())
+            .description("Campaigns watched by at least one client")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.shutdown();
+    }
+
+    /**
+     * Register an SSE client for the given campaigns. It immediately receives a
+     * "progress" event per existing campaign, then one whenever the progress changes.
+     */
+    public SseEmitter subscribe(Collection<String> campaignIds) {
+        Set<String> ids = new HashSet<>(campaignIds);
+        if (ids.isEmpty() || ids.size() > maxCampaignsPerSubscriber) {
+            throw new IllegalArgumentException("Watch between 1 and " + maxCampaignsPerSubscriber + " campaigns");
+        }
+        if (broadcaster.getSubscriberCount() >= maxSubscribers) {
+            throw new IllegalStateException("Too many campaign progress subscribers");
+        }
+
+        SseBroadcaster.Client client = broadcaster.subscribe(ids);
+
+        // Current state first; sends before the response starts are buffered by the emitter
+        for (CampaignProgress progress : loadProgress(new Criteria("id").in(ids))) {
+            lastSent.putIfAbsent(progress.getCampaignId(), progress);
+            client.send(progress.toEvent());
+        }
+        return client.getEmitter();
+    }
+
+    @EventListener
+    public void onDonationStatusChanged(DonationStatusChangedEvent event) {
+        if ((event.isSucceeded() || event.isRefunded()) && broadcaster.isWatched(event.getCampaignId())) {
+            dirty.add(event.getCampaignId());
+        }
+    }
+
+    @EventListener
+    public void onCampaignChanged(CampaignChangedEvent event) {
+        if (!event.isDeleted() && broadcaster.isWatched(event.getCampaignId())) {
+            dirty.add(event.getCampaignId());
+        }
+    }
+
+    /**
+     * Push the coalesced changes - the interval caps updates per campaign per second
+     */
+    @Scheduled(fixedDelayString = "#{1000 / ${campaign.progress.max-updates-per-second:2}}")
+    public void flush() {
+        Set<String> watched = broadcaster.getTopics();
+        if (watched.isEmpty()) {
+            dirty.clear();
+            return;
+        }
+
+        List<String> changed = new ArrayList<>(dirty);
+        dirty.removeAll(changed);
+
+        Criteria criteria = null;
+        if (!changed.isEmpty()) {
+            criteria = Criteria.where("id").in(changed);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (now.isAfter(lastClusterPoll.plusNanos(clusterPollMs * 1_000_000))) {
+            // Updates applied by other nodes; the overlap covers clock skew and in-flight writes
+            Criteria remote = Criteria.where("id").in(new ArrayList<>(watched))
+                .and("updatedAt").gte(lastClusterPoll.minusSeconds(5));
+            criteria = criteria == null ? remote : new Criteria().orOperator(criteria, remote);
+            lastClusterPoll = now;
+        }
+
+        if (criteria == null) {
+            return;
+        }
+
+        try {
+            for (CampaignProgress progress : loadProgress(criteria)) {
+                if (!broadcaster.isWatched(progress.getCampaignId())
+                        || progress.equals(lastSent.get(progress.getCampaignId()))) {
+                    continue;
+                }
+                broadcaster.publish(progress.getCampaignId(), progress.toEvent());
+                lastSent.put(progress.getCampaignId(), progress);
+            }
+        } catch (Exception e) {
+            logger.error("Error flushing campaign progress - Error: {}", e.getMessage(), e);
+            dirty.addAll(changed);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${campaign.progress.heartbeat-ms:30000}")
+    public void heartbeat() {
+        broadcaster.heartbeat();
+    }
+
+    private List<CampaignProgress> loadProgress(Criteria criteria) {
+        Query query = new Query(criteria);
+        query.fields().include("raisedAmount", "goalAmount", "donationCount");
+
+        List<CampaignProgress> progress = new ArrayList<>();
+        for (Campaign campaign : mongoTemplate.find(query, Campaign.class)) {
+            progress.add(CampaignProgress.from(campaign));
+        }
+        return progress;
+    }
+
+    public static class CampaignProgress {
+        private final String campaignId;
+        private final Double raisedAmount;
+        private final Double goalAmount;
+        private final Long donationCount;
+        private final double completionPercentage;
+
+        public CampaignProgress(String campaignId, Double raisedAmount, Double goalAmount,
+                                Long donationCount, double completionPercentage) {
+            this.campaignId = campaignId;
+            this.raisedAmount = raisedAmount;
+            this.goalAmount = goalAmount;
+            this.donationCount = donationCount;
+            this.completionPercentage = completionPercentage;
+        }
+
+        static CampaignProgress from(Campaign campaign) {
+            double completion = campaign.getRaisedAmount() != null ? campaign.getCompletionPercentage() : 0.0;
+            return new CampaignProgress(campaign.getId(), campaign.getRaisedAmount(), campaign.getGoalAmount(),
+                campaign.getDonationCount(), completion);
+        }
+
+        SseEmitter.SseEventBuilder toEvent() {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("campaignId", campaignId);
+            data.put("raisedAmount", raisedAmount);
+            data.put("goalAmount", goalAmount);
+            data.put("donationCount", donationCount);
+            data.put("completionPercentage", completionPercentage);
+            return SseEmitter.event().name("progress").data(data, MediaType.APPLICATION_JSON);
+        }
+
+        // Getters
+        public String getCampaignId() { return campaignId; }
+        public Double getRaisedAmount() { return raisedAmount; }
+        public Double getGoalAmount() { return goalAmount; }
+        public Long getDonationCount() { return donationCount; }
+        public double getCompletionPercentage() { return completionPercentage; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CampaignProgress)) return false;
+            CampaignProgress that = (CampaignProgress) o;
+            return Objects.equals(campaignId, that.campaignId)
+                && Objects.equals(raisedAmount, that.raisedAmount)
+                && Objects.equals(goalAmount, that.goalAmount)
+                && Objects.equals(donationCount, that.donationCount);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(campaignId, raisedAmount, goalAmount, donationCount);
+        }
+    }
+}
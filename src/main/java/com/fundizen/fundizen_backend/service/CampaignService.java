@@ -1,32 +1,60 @@
 package com.fundizen.fundizen_backend.service;
 
+import com.fundizen.fundizen_backend.dto.CampaignFilter;
+import com.fundizen.fundizen_backend.dto.CampaignPage;
+import com.fundizen.fundizen_backend.event.CampaignChangedEvent;
 import com.fundizen.fundizen_backend.models.Campaign;
 import com.fundizen.fundizen_backend.repository.CampaignRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class CampaignService {
 
+    public static final String SORT_NEWEST = "newest";
+    public static final String SORT_MOST_RAISED = "raised";
+    public static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private CampaignRepository campaignRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public Campaign createCampaign(Campaign campaign) {
         campaign.setStatus("pending");
         campaign.setVerified(false);
         campaign.setRaisedAmount(0.0);
-        return campaignRepository.save(campaign);
+        campaign.setDonationCount(0L);
+        Campaign savedCampaign = campaignRepository.save(campaign);
+        eventPublisher.publishEvent(new CampaignChangedEvent(savedCampaign.getId()));
+        return savedCampaign;
     }
 
     public List<Campaign> getAllCampaigns() {
         return campaignRepository.findAll();
     }
 
+    public Page<Campaign> getCampaignsForAdmin(String status, String category, Pageable pageable) {
+        return campaignRepository.findForAdmin(
+            status != null && !status.isEmpty() ? status : null,
+            category != null && !category.isEmpty() ? category : null,
+            pageable);
+    }
+
     public List<Campaign> getPublicCampaigns() {
         return campaignRepository.findByVerifiedTrue();
     }
@@ -40,25 +68,89 @@ public class CampaignService {
         return campaignRepository.findByStatusOrderByCreatedAtDesc("pending");
     }
 
+    /**
+     * Keyset-paginated listing. sort is "newest" (createdAt) or "raised" (raisedAmount);
+     * cursor is the nextCursor of the previous page, or null for the first page.
+     */
+    public CampaignPage getCampaignPage(CampaignFilter filter, String sort, String cursor, int size) {
+        String sortKey = SORT_MOST_RAISED.equals(sort) ? SORT_MOST_RAISED : SORT_NEWEST;
+        String sortField = SORT_MOST_RAISED.equals(sortKey) ? "raisedAmount" : "createdAt";
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Object lastSortValue = null;
+        String lastId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            if (!sortKey.equals(parts[0])) {
+                throw new IllegalArgumentException("Cursor was issued for a different sort order");
+            }
+            try {
+                // Older cursors spelled a missing raisedAmount "null"; it pages as 0 like the backfilled value
+                lastSortValue = SORT_MOST_RAISED.equals(sortKey)
+                        ? (Object) ("null".equals(parts[1]) ? 0.0 : Double.valueOf(parts[1]))
+                        : LocalDateTime.parse(parts[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+            lastId = parts[2];
+        }
+
+        // Fetch one extra row to learn whether another page exists
+        List<Campaign> campaigns = campaignRepository.findCampaignsAfter(
+            filter, sortField, lastSortValue, lastId, pageSize + 1);
+
+        boolean hasMore = campaigns.size() > pageSize;
+        if (hasMore) {
+            campaigns = campaigns.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Campaign last = campaigns.get(campaigns.size() - 1);
+            // raisedAmount is backfilled to 0 on startup (CampaignTotalsService), so null sorts as 0
+            Object value = SORT_MOST_RAISED.equals(sortKey)
+                    ? (last.getRaisedAmount() != null ? last.getRaisedAmount() : 0.0)
+                    : last.getCreatedAt();
+            nextCursor = encodeCursor(sortKey, String.valueOf(value), last.getId());
+        }
+
+        return new CampaignPage(campaigns, nextCursor, hasMore, sortKey);
+    }
+
+    @Cacheable(cacheNames = "campaigns", key = "#id", sync = true)
     public Campaign getCampaignById(String id) {
         Optional<Campaign> campaign = campaignRepository.findById(id);
         return campaign.orElse(null);
     }
 
-    public Campaign verifyCampaign(String campaignId) {
-        Campaign campaign = campaignRepository.findById(campaignId)
-                .orElseThrow(() -> new RuntimeException("Campaign not found"));
+    /**
+     * Status, dates and totals read from the database (never the cached copy,
+     * which another node may have changed) for deciding whether to take a payment
+     */
+    public Campaign getCampaignForDonation(String id) {
+        return campaignRepository.findDonationEligibilityById(id).orElse(null);
+    }
 
-        campaign.approve();
-        return campaignRepository.save(campaign);
+    // Status and field changes are $set on just those fields, so they never overwrite totals $inc'd meanwhile
+
+    public Campaign verifyCampaign(String campaignId) {
+        Campaign savedCampaign = campaignRepository.updateFields(campaignId,
+                new Update().set("status", "approved").set("verified", true));
+        if (savedCampaign == null) {
+            throw new RuntimeException("Campaign not found");
+        }
+        eventPublisher.publishEvent(new CampaignChangedEvent(campaignId));
+        return savedCampaign;
     }
 
     public Campaign rejectCampaign(String campaignId) {
-        Campaign campaign = campaignRepository.findById(campaignId)
-                .orElseThrow(() -> new RuntimeException("Campaign not found"));
-
-        campaign.reject();
-        return campaignRepository.save(campaign);
+        Campaign savedCampaign = campaignRepository.updateFields(campaignId,
+                new Update().set("status", "rejected").set("verified", false));
+        if (savedCampaign == null) {
+            throw new RuntimeException("Campaign not found");
+        }
+        eventPublisher.publishEvent(new CampaignChangedEvent(campaignId));
+        return savedCampaign;
     }
 
     public List<Campaign> getCampaignsByCategory(String category) {
@@ -70,31 +162,50 @@ public class CampaignService {
     }
 
     public Campaign updateCampaign(String id, Campaign updatedCampaign) {
-        Optional<Campaign> existingCampaign = campaignRepository.findById(id);
-        if (existingCampaign.isPresent()) {
-            Campaign campaign = existingCampaign.get();
-            
-            // Update fields
-            campaign.setName(updatedCampaign.getName());
-            campaign.setCategory(updatedCampaign.getCategory());
-            campaign.setDescription(updatedCampaign.getDescription());
-            campaign.setImageUrl(updatedCampaign.getImageUrl());
-            campaign.setGoalAmount(updatedCampaign.getGoalAmount());
-            campaign.setStartDate(updatedCampaign.getStartDate());
-            campaign.setEndDate(updatedCampaign.getEndDate());
-            campaign.setDocumentUrl(updatedCampaign.getDocumentUrl());
-            
-            return campaignRepository.save(campaign);
+        // Update the editable fields only
+        Update update = new Update()
+                .set("name", updatedCampaign.getName())
+                .set("category", updatedCampaign.getCategory())
+                .set("description", updatedCampaign.getDescription())
+                .set("imageUrl", updatedCampaign.getImageUrl())
+                .set("goalAmount", updatedCampaign.getGoalAmount())
+                .set("startDate", updatedCampaign.getStartDate())
+                .set("endDate", updatedCampaign.getEndDate())
+                .set("documentUrl", updatedCampaign.getDocumentUrl());
+
+        Campaign savedCampaign = campaignRepository.updateFields(id, update);
+        if (savedCampaign != null) {
+            eventPublisher.publishEvent(new CampaignChangedEvent(id));
         }
-        return null;
+        return savedCampaign;
     }
 
     public boolean deleteCampaign(String id) {
         Optional<Campaign> campaign = campaignRepository.findById(id);
         if (campaign.isPresent()) {
             campaignRepository.deleteById(id);
+            eventPublisher.publishEvent(new CampaignChangedEvent(id, true));
             return true;
         }
         return false;
     }
-}
\ No newline at end of file
+
+    private String encodeCursor(String sortKey, String value, String id) {
+        String raw = sortKey + "|" + value + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        String[] parts = raw.split("\\|", 3);
+        if (parts.length != 3 || parts[1].isEmpty() || parts[2].isEmpty()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,344 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.event.DonationStatusChangedEvent;
+import com.fundizen.fundizen_backend.models.CampaignStats;
+import com.fundizen.fundizen_backend.models.Donation;
+import com.fundizen.fundizen_backend.util.HyperLogLog;
+import com.mongodb.client.result.UpdateResult;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the campaign_stats read model.
+ *
+ * A succeeded donation is folded into the campaign's stats document with one
+ * $inc/$max update plus, while the campaign has fewer than
+ * {@link CampaignStats#EXACT_DONOR_LIMIT} donors, one conditional $push into the
+ * exact donor set. Larger campaigns report unique donors from a HyperLogLog
+ * sketch. Refunds are rare and cannot be subtracted from max/sketch values, so
+ * they rebuild the document from the donations collection.
+ *
+ * Every incremental update bumps the document's revision, and a rebuild only
+ * replaces the revision it read before aggregating, so it never overwrites an
+ * increment that lands meanwhile. A leased reconciliation (at startup and
+ * nightly) builds missing documents and rebuilds drifted ones.
+ */
+@Service
+public class CampaignStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampaignStatsService.class);
+
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+    private static final int RECONCILE_BATCH_SIZE = 500;
+    private static final double AMOUNT_TOLERANCE = 0.005;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    /**
+     * Stats of a campaign - a single document fetch. Campaigns without a stats
+     * document yet read as empty; reads never write.
+     */
+    public CampaignStats getStats(String campaignId) {
+        Query query = new Query(Criteria.where("id").is(campaignId));
+        query.fields().exclude("donorIds");
+
+        CampaignStats stats = mongoTemplate.findOne(query, CampaignStats.class);
+        if (stats == null) {
+            logger.debug("No stats document yet for campaign: {}", campaignId);
+            return new CampaignStats(campaignId);
+        }
+        return stats;
+    }
+
+    public long getUniqueDonors(CampaignStats stats) {
+        return stats.isDonorSetExact() ? stats.getExactDonorCount() : HyperLogLog.estimate(stats.getDonorSketch());
+    }
+
+    // Runs before cache eviction so evicted reads reload the updated document
+    @EventListener
+    @Order(0)
+    public void onDonationStatusChanged(DonationStatusChangedEvent event) {
+        try {
+            if (event.isSucceeded()) {
+                applySucceededDonation(event.getDonation());
+            } else if (event.isRefunded()) {
+                rebuild(event.getCampaignId());
+            }
+        } catch (Exception e) {
+            // The nightly reconciliation rebuilds the stats document
+            logger.error("Error updating stats for campaign: {} - Error: {}", event.getCampaignId(), e.getMessage(), e);
+        }
+    }
+
+    private void applySucceededDonation(Donation donation) {
+        String campaignId = donation.getCampaignId();
+        double amount = donation.getAmount() != null ? donation.getAmount() : 0.0;
+
+        Update update = new Update()
+            .inc("totalAmount", amount)
+            .inc("donationCount", 1)
+            .max("largestDonation", amount)
+            .inc("revision", 1)
+            .set("updatedAt", LocalDateTime.now());
+        if (donation.isAnonymous()) {
+            update.inc("anonymousDonations", 1);
+        }
+        if (donation.getMessage() != null && !donation.getMessage().trim().isEmpty()) {
+            update.inc("donationsWithMessages", 1);
+        }
+
+        String donorId = donation.getDonorId();
+        if (donorId != null) {
+            HyperLogLog.Register register = HyperLogLog.registerFor(donorId);
+            update.max("donorSketch." + register.getKey(), register.getRank());
+        }
+
+        UpdateResult result = mongoTemplate.updateFirst(
+            new Query(Criteria.where("id").is(campaignId)), update, CampaignStats.class);
+        if (result.getMatchedCount() == 0) {
+            // No stats yet - build from all donations, which already include this one
+            rebuild(campaignId);
+            return;
+        }
+
+        if (donorId != null) {
+            // Only matches while the donor is new and the exact set still has room
+            Query newDonor = new Query(Criteria.where("id").is(campaignId)
+                .and("donorIds").ne(donorId)
+                .and("donorIds." + (CampaignStats.EXACT_DONOR_LIMIT - 1)).exists(false));
+            mongoTemplate.updateFirst(newDonor,
+                new Update().push("donorIds", donorId).inc("exactDonorCount", 1).inc("revision", 1),
+                CampaignStats.class);
+        }
+    }
+
+    // Runs on whichever node takes the lease first; also builds documents missing after a deploy
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${campaign.stats.reconcile-cron:0 0 4 * * *}")
+    public void scheduledReconcile() {
+        jobLeaseService.runExclusively("campaign-stats-reconcile", Duration.ofMinutes(30), this::reconcileAll);
+    }
+
+    /**
+     * Compare every campaign's stats document with its succeeded donations and
+     * rebuild the ones that are missing or have drifted
+     */
+    public void reconcileAll() {
+        long startTime = System.currentTimeMillis();
+        int checked = 0;
+        int rebuilt = 0;
+        Set<String> campaignsWithDonations = new HashSet<>();
+
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("paymentStatus").is("succeeded").and("campaignId").ne(null)),
+            Aggregation.group("campaignId")
+                .sum("amount").as("totalAmount")
+                .count().as("donationCount")
+        );
+
+        try (Stream<Document> stream = mongoTemplate.aggregateStream(aggregation, Donation.class, Document.class)) {
+            Iterator<Document> totals = stream.iterator();
+            List<Document> batch = new ArrayList<>(RECONCILE_BATCH_SIZE);
+            while (totals.hasNext()) {
+                Document total = totals.next();
+                campaignsWithDonations.add(total.getString("_id"));
+                batch.add(total);
+                if (batch.size() == RECONCILE_BATCH_SIZE || !totals.hasNext()) {
+                    checked += batch.size();
+                    rebuilt += reconcileBatch(batch);
+                    batch = new ArrayList<>(RECONCILE_BATCH_SIZE);
+                }
+            }
+
+            // Stats that still count donations which have all been refunded since
+            Query reportsDonations = new Query(Criteria.where("donationCount").gt(0)).cursorBatchSize(RECONCILE_BATCH_SIZE);
+            reportsDonations.fields().include("_id");
+            List<String> orphaned = mongoTemplate.find(reportsDonations, Document.class,
+                    mongoTemplate.getCollectionName(CampaignStats.class)).stream()
+                .map(stats -> stats.get("_id").toString())
+                .filter(campaignId -> !campaignsWithDonations.contains(campaignId))
+                .collect(Collectors.toList());
+            for (String campaignId : orphaned) {
+                if (rebuild(campaignId) != null) {
+                    rebuilt++;
+                }
+            }
+
+            logger.info("Campaign stats reconciliation completed: {} campaigns checked, {} rebuilt in {} ms",
+                       checked, rebuilt, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            logger.error("Error during campaign stats reconciliation - Error: {}", e.getMessage(), e);
+        }
+    }
+
+    private int reconcileBatch(List<Document> batch) {
+        List<String> campaignIds = batch.stream().map(total -> total.getString("_id")).collect(Collectors.toList());
+        Query query = new Query(Criteria.where("id").in(campaignIds));
+        query.fields().include("totalAmount", "donationCount", "donationsWithMessages");
+        Map<String, CampaignStats> storedById = mongoTemplate.find(query, CampaignStats.class).stream()
+            .collect(Collectors.toMap(CampaignStats::getId, stats -> stats));
+
+        Aggregation messagesAggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("campaignId").in(campaignIds).and("paymentStatus").is("succeeded")
+                .andOperator(hasMessage())),
+            Aggregation.group("campaignId").count().as("donationsWithMessages")
+        );
+        Map<String, Long> messagesById = new HashMap<>();
+        for (Document messages : mongoTemplate.aggregate(messagesAggregation, Donation.class, Document.class)) {
+            messagesById.put(messages.getString("_id"), (long) number(messages, "donationsWithMessages"));
+        }
+
+        int rebuilt = 0;
+        for (Document total : batch) {
+            String campaignId = total.getString("_id");
+            CampaignStats stored = storedById.get(campaignId);
+            if (stored == null
+                    || Math.abs(stored.getTotalAmount() - number(total, "totalAmount")) > AMOUNT_TOLERANCE
+                    || stored.getDonationCount() != (long) number(total, "donationCount")
+                    || stored.getDonationsWithMessages() != messagesById.getOrDefault(campaignId, 0L)) {
+                if (rebuild(campaignId) != null) {
+                    rebuilt++;
+                }
+            }
+        }
+        return rebuilt;
+    }
+
+    /**
+     * Recompute a campaign's stats document from its succeeded donations.
+     *
+     * The stored revision is read before aggregating and the replace is
+     * conditional on it, so an increment that lands meanwhile makes the
+     * replace miss; the rebuild then retries with fresh data. Returns the
+     * written stats, or null if the document kept changing (the next
+     * reconciliation picks it up).
+     */
+    public CampaignStats rebuild(String campaignId) {
+        for (int attempt = 1; attempt <= MAX_REBUILD_ATTEMPTS; attempt++) {
+            Query revisionQuery = new Query(Criteria.where("_id").is(campaignId));
+            revisionQuery.fields().include("revision");
+            Document current = mongoTemplate.findOne(revisionQuery, Document.class,
+                mongoTemplate.getCollectionName(CampaignStats.class));
+
+            CampaignStats stats = computeStats(campaignId);
+            if (current == null) {
+                try {
+                    return mongoTemplate.insert(stats);
+                } catch (DuplicateKeyException e) {
+                    continue; // Another node or an increment created it first
+                }
+            }
+
+            // Raw value so documents written before revisions existed (missing field) still match
+            Object storedRevision = current.get("revision");
+            stats.setRevision(storedRevision instanceof Number ? ((Number) storedRevision).longValue() + 1 : 1);
+            Query unchanged = new Query(Criteria.where("_id").is(campaignId).and("revision").is(storedRevision));
+            if (mongoTemplate.findAndReplace(unchanged, stats) != null) {
+                return stats;
+            }
+            logger.debug("Stats of campaign: {} changed during rebuild attempt {}", campaignId, attempt);
+        }
+
+        logger.warn("Stats of campaign: {} kept changing during rebuild - left for reconciliation", campaignId);
+        return null;
+    }
+
+    private CampaignStats computeStats(String campaignId) {
+        logger.debug("Rebuilding donation stats for campaign: {}", campaignId);
+        Criteria succeeded = Criteria.where("campaignId").is(campaignId).and("paymentStatus").is("succeeded");
+
+        Aggregation totalsAggregation = Aggregation.newAggregation(
+            Aggregation.match(succeeded),
+            Aggregation.group()
+                .sum("amount").as("totalAmount")
+                .count().as("donationCount")
+                .max("amount").as("largestDonation")
+                .sum(ConditionalOperators.when(Criteria.where("isAnonymous").is(true)).then(1).otherwise(0))
+                    .as("anonymousDonations")
+        );
+        Document totals = mongoTemplate.aggregate(totalsAggregation, Donation.class, Document.class)
+            .getUniqueMappedResult();
+
+        CampaignStats stats = new CampaignStats(campaignId);
+        if (totals != null) {
+            stats.setTotalAmount(number(totals, "totalAmount"));
+            stats.setDonationCount((long) number(totals, "donationCount"));
+            stats.setLargestDonation(number(totals, "largestDonation"));
+            stats.setAnonymousDonations((long) number(totals, "anonymousDonations"));
+        }
+        stats.setDonationsWithMessages(mongoTemplate.count(
+            new Query(Criteria.where("campaignId").is(campaignId).and("paymentStatus").is("succeeded").andOperator(hasMessage())),
+            Donation.class));
+
+        // Stream distinct donors into the exact set and the sketch
+        Aggregation donorsAggregation = Aggregation.newAggregation(
+            Aggregation.match(succeeded.and("donorId").ne(null)),
+            Aggregation.group("donorId")
+        );
+        List<String> donorIds = new ArrayList<>();
+        Map<String, Integer> sketch = new HashMap<>();
+        long distinctDonors = 0;
+        try (Stream<Document> stream = mongoTemplate.aggregateStream(donorsAggregation, Donation.class, Document.class)) {
+            Iterator<Document> donors = stream.iterator();
+            while (donors.hasNext()) {
+                String donorId = String.valueOf(donors.next().get("_id"));
+                HyperLogLog.offer(sketch, donorId);
+                if (donorIds.size() < CampaignStats.EXACT_DONOR_LIMIT) {
+                    donorIds.add(donorId);
+                }
+                distinctDonors++;
+            }
+        }
+        stats.setDonorIds(donorIds);
+        stats.setExactDonorCount(Math.min(distinctDonors, CampaignStats.EXACT_DONOR_LIMIT));
+        stats.setDonorSketch(sketch);
+
+        LocalDateTime now = LocalDateTime.now();
+        stats.setRebuiltAt(now);
+        stats.setUpdatedAt(now);
+        return stats;
+    }
+
+    /**
+     * A message with at least one non-whitespace character, as counted by the incremental path
+     */
+    private static Criteria hasMessage() {
+        return Criteria.where("message").regex("\\S");
+    }
+
+    private double number(Document document, String field) {
+        Object value = document.get(field);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0.0;
+    }
+}
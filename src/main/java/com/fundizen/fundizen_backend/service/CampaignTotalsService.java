@@ -0,0 +1,335 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.Campaign;
+import com.fundizen.fundizen_backend.models.Donation;
+import com.fundizen.fundizen_backend.repository.CampaignRepository;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maintains Campaign.raisedAmount and Campaign.donationCount.
+ *
+ * Donation state transitions adjust the totals with server-side $inc operations,
+ * so each webhook costs one small update regardless of how many donations the
+ * campaign has. A scheduled reconciliation recomputes the totals with an
+ * aggregation and repairs any drift (e.g. a node that died between a donation's
+ * status change and its $inc). Other campaign writes $set only their own
+ * fields, so they never overwrite the totals.
+ * Repairs are compare-and-set on the totals read just before the recount, so
+ * they never overwrite an increment that lands while the job runs.
+ */
+@Service
+public class CampaignTotalsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampaignTotalsService.class);
+
+    private static final int RECONCILE_BATCH_SIZE = 500;
+    private static final double AMOUNT_TOLERANCE = 0.005;
+
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    /**
+     * Apply a donation that just transitioned to succeeded
+     */
+    public void recordSucceededDonation(Donation donation) {
+        applyDelta(donation.getCampaignId(), donation.getAmount(), 1);
+    }
+
+    /**
+     * Remove a donation that just transitioned from succeeded to refunded
+     */
+    public void recordRefundedDonation(Donation donation) {
+        applyDelta(donation.getCampaignId(), -donation.getAmount(), -1);
+    }
+
+    private void applyDelta(String campaignId, double amountDelta, long countDelta) {
+        try {
+            boolean updated = campaignRepository.incrementDonationTotals(campaignId, amountDelta, countDelta);
+            if (!updated) {
+                logger.warn("Campaign not found while updating totals: {}", campaignId);
+                return;
+            }
+            logger.debug("Adjusted totals for campaign: {} by {} ({} donations)", campaignId, amountDelta, countDelta);
+        } catch (Exception e) {
+            // $inc fails on documents with a non-numeric raisedAmount; fall back to a full recompute
+            logger.warn("Incremental total update failed for campaign: {} - Error: {}. Reconciling.",
+                       campaignId, e.getMessage());
+            reconcileCampaign(campaignId);
+        }
+    }
+
+    /**
+     * Recompute the totals of a single campaign from its succeeded donations
+     */
+    public void reconcileCampaign(String campaignId) {
+        try {
+            List<Document> snapshot = readStoredTotals(Criteria.where("_id").is(toObjectId(campaignId)));
+            if (repair(snapshot) > 0) {
+                logger.debug("Reconciled totals for campaign: {}", campaignId);
+            }
+        } catch (Exception e) {
+            logger.error("Error reconciling totals for campaign: {} - Error: {}", campaignId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recount campaigns saved without raisedAmount/donationCount, so keyset
+     * pages sorted by raisedAmount never meet a null sort value
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissingTotals() {
+        try {
+            Criteria missingTotals = new Criteria().orOperator(
+                Criteria.where("raisedAmount").is(null),
+                Criteria.where("donationCount").is(null)
+            );
+            long updated = 0;
+            int repaired;
+            do {
+                // Compare-and-set repairs, so nodes starting together cannot clobber each other
+                repaired = repair(readStoredTotals(missingTotals, RECONCILE_BATCH_SIZE));
+                updated += repaired;
+            } while (repaired > 0);
+            if (updated > 0) {
+                logger.info("Backfilled totals on {} campaigns", updated);
+            }
+        } catch (Exception e) {
+            logger.error("Error backfilling campaign totals - Error: {}", e.getMessage(), e);
+        }
+    }
+
+    // Runs nightly by default, on whichever node takes the lease first
+    @Scheduled(cron = "${campaign.totals.reconcile-cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        jobLeaseService.runExclusively("campaign-totals-reconcile", Duration.ofMinutes(30), this::reconcileAllCampaigns);
+    }
+
+    /**
+     * Recompute every campaign's totals and repair drift
+     */
+    public void reconcileAllCampaigns() {
+        long startTime = System.currentTimeMillis();
+        logger.info("Starting campaign totals reconciliation");
+
+        int checked = 0;
+        int repaired = 0;
+        Set<String> campaignsWithDonations = new HashSet<>();
+
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("paymentStatus").is("succeeded")),
+            Aggregation.group("campaignId")
+                .sum("amount").as("totalAmount")
+                .count().as("donationCount")
+        );
+
+        try (Stream<Document> stream = mongoTemplate.aggregateStream(aggregation, Donation.class, Document.class)) {
+            Iterator<Document> totals = stream.iterator();
+
+            List<Document> batch = new ArrayList<>(RECONCILE_BATCH_SIZE);
+            while (totals.hasNext()) {
+                Document total = totals.next();
+                if (total.getString("_id") == null) {
+                    continue;
+                }
+                campaignsWithDonations.add(total.getString("_id"));
+                batch.add(total);
+
+                if (batch.size() == RECONCILE_BATCH_SIZE) {
+                    checked += batch.size();
+                    repaired += reconcileBatch(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                checked += batch.size();
+                repaired += reconcileBatch(batch);
+            }
+
+            // Campaigns that report totals but have no succeeded donations left
+            repaired += resetCampaignsWithoutDonations(campaignsWithDonations);
+
+            logger.info("Campaign totals reconciliation completed: {} campaigns checked, {} repaired in {} ms",
+                       checked, repaired, System.currentTimeMillis() - startTime);
+
+        } catch (Exception e) {
+            logger.error("Error during campaign totals reconciliation - Error: {}", e.getMessage(), e);
+        }
+    }
+
+    private int reconcileBatch(List<Document> batch) {
+        Map<String, Document> totalsById = batch.stream()
+            .collect(Collectors.toMap(d -> d.getString("_id"), d -> d, (a, b) -> a));
+
+        // Cheap first pass against the streamed totals; repair() re-checks every candidate
+        List<Document> candidates = new ArrayList<>();
+        for (Document stored : readStoredTotals(Criteria.where("_id").in(toObjectIds(totalsById.keySet())))) {
+            Document total = totalsById.get(stored.get("_id").toString());
+            double expectedAmount = ((Number) total.get("totalAmount")).doubleValue();
+            long expectedCount = ((Number) total.get("donationCount")).longValue();
+            if (hasDrifted(stored, expectedAmount, expectedCount)) {
+                candidates.add(stored);
+            }
+        }
+        return repair(candidates);
+    }
+
+    private int resetCampaignsWithoutDonations(Set<String> campaignsWithDonations) {
+        Criteria reportsTotals = new Criteria().orOperator(
+            Criteria.where("raisedAmount").ne(0.0),
+            Criteria.where("donationCount").ne(0L)
+        );
+
+        int repaired = 0;
+        List<Document> candidates = new ArrayList<>(RECONCILE_BATCH_SIZE);
+        Query query = new Query(reportsTotals).cursorBatchSize(RECONCILE_BATCH_SIZE);
+        query.fields().include("raisedAmount", "donationCount");
+        try (Stream<Document> stream = mongoTemplate.stream(query, Document.class, mongoTemplate.getCollectionName(Campaign.class))) {
+            Iterator<Document> campaigns = stream.iterator();
+            while (campaigns.hasNext()) {
+                Document stored = campaigns.next();
+                if (!campaignsWithDonations.contains(stored.get("_id").toString())) {
+                    candidates.add(stored);
+                }
+                if (candidates.size() == RECONCILE_BATCH_SIZE || (!campaigns.hasNext() && !candidates.isEmpty())) {
+                    repaired += repair(candidates);
+                    candidates = new ArrayList<>(RECONCILE_BATCH_SIZE);
+                }
+            }
+        }
+
+        if (repaired > 0) {
+            logger.warn("Reset totals for {} campaigns without succeeded donations", repaired);
+        }
+        return repaired;
+    }
+
+    /**
+     * Repair the given campaigns from their stored totals as read before this call.
+     *
+     * The donations are recounted after that read, and each write is a
+     * compare-and-set on the stored raisedAmount/donationCount. A $inc that
+     * lands after the read makes the filter miss, so the campaign is skipped
+     * and the next run retries it instead of overwriting the increment.
+     */
+    private int repair(List<Document> storedTotals) {
+        if (storedTotals.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Document> recounted = recountSucceeded(storedTotals.stream()
+            .map(stored -> stored.get("_id").toString())
+            .collect(Collectors.toList()));
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Campaign.class);
+        int repairs = 0;
+
+        for (Document stored : storedTotals) {
+            Document total = recounted.get(stored.get("_id").toString());
+            double expectedAmount = total != null ? ((Number) total.get("totalAmount")).doubleValue() : 0.0;
+            long expectedCount = total != null ? ((Number) total.get("donationCount")).longValue() : 0L;
+
+            if (hasDrifted(stored, expectedAmount, expectedCount)) {
+                logger.warn("Repairing drifted totals for campaign: {} (stored: {} / {}, actual: {} / {})",
+                           stored.get("_id"), stored.get("raisedAmount"), stored.get("donationCount"),
+                           expectedAmount, expectedCount);
+                bulkOps.updateOne(unchangedSince(stored), totalsUpdate(expectedAmount, expectedCount));
+                repairs++;
+            }
+        }
+
+        if (repairs == 0) {
+            return 0;
+        }
+        int modified = bulkOps.execute().getModifiedCount();
+        if (modified < repairs) {
+            logger.info("{} campaigns changed during reconciliation and were left for the next run", repairs - modified);
+        }
+        return modified;
+    }
+
+    private Map<String, Document> recountSucceeded(List<String> campaignIds) {
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("campaignId").in(campaignIds).and("paymentStatus").is("succeeded")),
+            Aggregation.group("campaignId")
+                .sum("amount").as("totalAmount")
+                .count().as("donationCount")
+        );
+        return mongoTemplate.aggregate(aggregation, Donation.class, Document.class).getMappedResults().stream()
+            .collect(Collectors.toMap(d -> d.getString("_id"), d -> d, (a, b) -> a));
+    }
+
+    // Raw documents, so the compare-and-set matches exactly what is stored (including missing or non-numeric values)
+    private List<Document> readStoredTotals(Criteria criteria) {
+        return readStoredTotals(criteria, 0);
+    }
+
+    private List<Document> readStoredTotals(Criteria criteria, int limit) {
+        Query query = new Query(criteria).limit(limit);
+        query.fields().include("raisedAmount", "donationCount");
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Campaign.class));
+    }
+
+    private static Query unchangedSince(Document stored) {
+        return new Query(Criteria.where("_id").is(stored.get("_id"))
+            .and("raisedAmount").is(stored.get("raisedAmount"))
+            .and("donationCount").is(stored.get("donationCount")));
+    }
+
+    private static Object toObjectId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    private static List<Object> toObjectIds(Collection<String> ids) {
+        return ids.stream().map(CampaignTotalsService::toObjectId).collect(Collectors.toList());
+    }
+
+    private static boolean hasDrifted(Document stored, double expectedAmount, long expectedCount) {
+        Object storedAmount = stored.get("raisedAmount");
+        Object storedCount = stored.get("donationCount");
+        if (!(storedAmount instanceof Number) || !(storedCount instanceof Number)) {
+            return true;
+        }
+        return Math.abs(((Number) storedAmount).doubleValue() - expectedAmount) > AMOUNT_TOLERANCE ||
+               ((Number) storedCount).longValue() != expectedCount;
+    }
+
+    private Update totalsUpdate(double raisedAmount, long donationCount) {
+        return new Update()
+                .set("raisedAmount", raisedAmount)
+                .set("donationCount", donationCount)
+                .set("updatedAt", LocalDateTime.now());
+    }
+}
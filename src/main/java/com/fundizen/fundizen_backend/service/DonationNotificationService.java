@@ -0,0 +1,85 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.Campaign;
+import com.fundizen.fundizen_backend.models.Donation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Donor and campaign creator notifications, run on the application task
+ * executor. They live in their own bean so DonationService calls them through
+ * the @Async proxy; a call on this from inside DonationService would run inline.
+ */
+@Service
+public class DonationNotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DonationNotificationService.class);
+
+    @Async
+    public CompletableFuture<Void> notifyCampaignCreatorAsync(Campaign campaign, Donation donation) {
+        try {
+            logger.info("Sending notification to campaign creator for new donation");
+            // Implementation for sending notification
+            // This could be email, SMS, or push notification
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            logger.error("Error sending campaign creator notification", e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Async
+    public CompletableFuture<Void> sendDonationConfirmationAsync(Donation donation) {
+        try {
+            logger.info("Sending donation confirmation to donor: {}", donation.getDonorEmail());
+            // Implementation for sending confirmation email
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            logger.error("Error sending donation confirmation", e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Async
+    public CompletableFuture<Void> sendCampaignUpdateAsync(Donation donation) {
+        try {
+            if (donation.isReceiveUpdates()) {
+                logger.info("Sending campaign updates to donor: {}", donation.getDonorEmail());
+                // Implementation for adding donor to campaign updates list
+            }
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            logger.error("Error setting up campaign updates", e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Async
+    public CompletableFuture<Void> sendPaymentFailureNotificationAsync(Donation donation, String reason) {
+        try {
+            logger.info("Sending payment failure notification to donor: {}", donation.getDonorEmail());
+            // Implementation for sending failure notification
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            logger.error("Error sending payment failure notification", e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Async
+    public CompletableFuture<Void> sendRefundNotificationAsync(Donation donation, String refundId) {
+        try {
+            logger.info("Sending refund notification to donor: {}", donation.getDonorEmail());
+            // Implementation for sending refund notification
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            logger.error("Error sending refund notification", e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.event.DonationStatusChangedEvent;
+import com.fundizen.fundizen_backend.models.Donation;
+import com.fundizen.fundizen_backend.models.DonationRollup;
+import com.fundizen.fundizen_backend.util.HyperLogLog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Maintains platform-wide donation rollups in the donation_rollups collection:
+ * hourly and daily buckets keyed by the donation's creation time, plus one
+ * all-time bucket. Each succeeded donation is applied to its three buckets in
+ * one unordered bulk upsert, so platform statistics read one document and
+ * recent windows merge at most a few dozen.
+ *
+ * Distinct campaigns and donors are HyperLogLog sketches, which cannot be
+ * decremented. A refund therefore rebuilds the donation's day (daily and
+ * hourly buckets) and only subtracts its amounts from the all-time bucket; the
+ * all-time sketches are recomputed from the daily buckets every night.
+ *
+ * Rebuilds never clear the collection. Each recomputed bucket replaces the
+ * stored one only if no live update touched it since the rebuild started
+ * reading donations; touched buckets are recomputed again.
+ */
+@Service
+public class DonationRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DonationRollupService.class);
+
+    public static final String ALL_TIME_ID = "all";
+
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+
+    @Value("${donation.rollups.hourly-retention-days:35}")
+    private int hourlyRetentionDays;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    // Reads
+
+    /**
+     * All-time totals; empty if nothing was rolled up yet
+     */
+    public DonationRollup getAllTime() {
+        DonationRollup allTime = mongoTemplate.findById(ALL_TIME_ID, DonationRollup.class);
+        return allTime != null ? allTime : new DonationRollup();
+    }
+
+    /**
+     * Succeeded donations created since the given time, merged from hourly
+     * buckets up to the next midnight and daily buckets after that
+     */
+    public long countDonationsSince(LocalDateTime since) {
+        LocalDateTime hourStart = since.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime nextDay = since.toLocalDate().plusDays(1).atStartOfDay();
+
+        long count = 0;
+        for (DonationRollup rollup : findBuckets(DonationRollup.HOUR, hourStart, nextDay)) {
+            count += rollup.getDonationCount();
+        }
+        for (DonationRollup rollup : findBuckets(DonationRollup.DAY, nextDay, null)) {
+            count += rollup.getDonationCount();
+        }
+        return count;
+    }
+
+    /**
+     * Daily buckets from the given day on, without sketches, oldest first
+     */
+    public List<DonationRollup> getDailyRollups(LocalDate from) {
+        return findBuckets(DonationRollup.DAY, from.atStartOfDay(), null);
+    }
+
+    private List<DonationRollup> findBuckets(String granularity, LocalDateTime from, LocalDateTime to) {
+        Criteria criteria = Criteria.where("granularity").is(granularity);
+        if (to != null) {
+            criteria = criteria.and("bucketStart").gte(from).lt(to);
+        } else {
+            criteria = criteria.and("bucketStart").gte(from);
+        }
+
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "bucketStart"));
+        query.fields().exclude("campaignSketch", "donorSketch");
+        return mongoTemplate.find(query, DonationRollup.class);
+    }
+
+    // Incremental maintenance
+
+    @EventListener
+    @Order(0)
+    public void onDonationStatusChanged(DonationStatusChangedEvent event) {
+        try {
+            if (event.isSucceeded()) {
+                applySucceededDonation(event.getDonation());
+            } else if (event.isRefunded()) {
+                applyRefundedDonation(event.getDonation());
+            }
+        } catch (Exception e) {
+            // Drift is corrected by the nightly all-time recompute or a full rebuild
+            logger.error("Error updating donation rollups for donation: {} - Error: {}",
+                event.getDonation().getId(), e.getMessage(), e);
+        }
+    }
+
+    private void applySucceededDonation(Donation donation) {
+        LocalDateTime createdAt = createdAtOf(donation);
+        LocalDateTime hourStart = createdAt.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime dayStart = createdAt.toLocalDate().atStartOfDay();
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DonationRollup.class);
+        if (!isHourlyExpired(hourStart)) {
+            bulk.upsert(bucketQuery(DonationRollup.HOUR, hourStart),
+                succeededUpdate(donation)
+                    .setOnInsert("granularity", DonationRollup.HOUR)
+                    .setOnInsert("bucketStart", hourStart)
+                    .setOnInsert("expiresAt", hourlyExpiry(hourStart)));
+        }
+        bulk.upsert(bucketQuery(DonationRollup.DAY, dayStart),
+            succeededUpdate(donation)
+                .setOnInsert("granularity", DonationRollup.DAY)
+                .setOnInsert("bucketStart", dayStart));
+        bulk.upsert(new Query(Criteria.where("id").is(ALL_TIME_ID)), succeededUpdate(donation));
+        bulk.execute();
+    }
+
+    private Update succeededUpdate(Donation donation) {
+        Update update = new Update()
+            .inc("totalAmount", donation.getAmount() != null ? donation.getAmount() : 0.0)
+            .inc("donationCount", 1)
+            .inc("totalFees", feesOf(donation))
+            .set("updatedAt", LocalDateTime.now());
+        if (donation.getCampaignId() != null) {
+            HyperLogLog.Register register = HyperLogLog.registerFor(donation.getCampaignId());
+            update.max("campaignSketch." + register.getKey(), register.getRank());
+        }
+        if (donation.getDonorId() != null) {
+            HyperLogLog.Register register = HyperLogLog.registerFor(donation.getDonorId());
+            update.max("donorSketch." + register.getKey(), register.getRank());
+        }
+        return update;
+    }
+
+    private void applyRefundedDonation(Donation donation) {
+        rebuildDay(createdAtOf(donation).toLocalDate());
+
+        double amount = donation.getAmount() != null ? donation.getAmount() : 0.0;
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(ALL_TIME_ID)),
+            new Update()
+                .inc("totalAmount", -amount)
+                .inc("donationCount", -1)
+                .inc("totalFees", -feesOf(donation))
+                .set("updatedAt", LocalDateTime.now()),
+            DonationRollup.class);
+    }
+
+    private Query bucketQuery(String granularity, LocalDateTime bucketStart) {
+        return new Query(Criteria.where("id").is(DonationRollup.idFor(granularity, bucketStart)));
+    }
+
+    // Rebuilds
+
+    /**
+     * Recompute one day's bucket and its hourly buckets from the donations collection
+     */
+    public void rebuildDay(LocalDate day) {
+        LocalDateTime dayStart = day.atStartOfDay();
+        for (int attempt = 1; attempt <= MAX_REBUILD_ATTEMPTS; attempt++) {
+            LocalDateTime readAt = LocalDateTime.now();
+            Map<String, Accumulator> buckets = new LinkedHashMap<>();
+            buckets.put(DonationRollup.idFor(DonationRollup.DAY, dayStart), new Accumulator(DonationRollup.DAY, dayStart));
+
+            try (Stream<Donation> donations = streamSucceeded(dayStart, dayStart.plusDays(1))) {
+                Iterator<Donation> iterator = donations.iterator();
+                while (iterator.hasNext()) {
+                    addToBuckets(buckets, iterator.next());
+                }
+            }
+            // Hours that lost all their donations still need their stored bucket zeroed
+            for (int hour = 0; hour < 24; hour++) {
+                LocalDateTime hourStart = dayStart.plusHours(hour);
+                if (!isHourlyExpired(hourStart)) {
+                    buckets.computeIfAbsent(DonationRollup.idFor(DonationRollup.HOUR, hourStart),
+                        id -> new Accumulator(DonationRollup.HOUR, hourStart));
+                }
+            }
+
+            if (writeBuckets(buckets, readAt).isEmpty()) {
+                return;
+            }
+            logger.debug("Donation rollups of {} changed during rebuild attempt {}", day, attempt);
+        }
+        logger.warn("Donation rollups of {} kept changing during rebuild - left for the next rebuild", day);
+    }
+
+    /**
+     * Recompute all rollups from the donations collection, one day at a time.
+     * Buckets are replaced in place, so readers never see an empty collection.
+     */
+    public void rebuildAll() {
+        long startTime = System.currentTimeMillis();
+        logger.info("Rebuilding donation rollups from donations");
+
+        LocalDateTime readAt = LocalDateTime.now();
+        Set<LocalDate> touchedDays = new LinkedHashSet<>();
+        Map<String, Accumulator> currentDay = new LinkedHashMap<>();
+        LocalDate day = null;
+        long donationCount = 0;
+
+        try (Stream<Donation> donations = streamSucceeded(null, null)) {
+            Iterator<Donation> iterator = donations.iterator();
+            while (iterator.hasNext()) {
+                Donation donation = iterator.next();
+                LocalDate donationDay = createdAtOf(donation).toLocalDate();
+
+                if (!donationDay.equals(day)) {
+                    touchedDays.addAll(writeBuckets(currentDay, readAt));
+                    currentDay.clear();
+                    day = donationDay;
+                }
+                addToBuckets(currentDay, donation);
+                donationCount++;
+            }
+        }
+        touchedDays.addAll(writeBuckets(currentDay, readAt));
+
+        // Buckets of days whose donations were all refunded, unless a live update wrote them meanwhile
+        mongoTemplate.remove(new Query(new Criteria().andOperator(
+            Criteria.where("granularity").in(DonationRollup.HOUR, DonationRollup.DAY),
+            notUpdatedSince(readAt))), DonationRollup.class);
+
+        // Days that live updates touched while the pass was running
+        touchedDays.forEach(this::rebuildDay);
+        recomputeAllTime();
+
+        logger.info("Rebuilt donation rollups from {} donations in {} ms ({} days recomputed after live updates)",
+            donationCount, System.currentTimeMillis() - startTime, touchedDays.size());
+    }
+
+    // Runs nightly by default, on whichever node takes the lease first
+    @Scheduled(cron = "${donation.rollups.compact-cron:0 45 3 * * *}")
+    public void scheduledRecomputeAllTime() {
+        jobLeaseService.runExclusively("donation-rollups-compact", Duration.ofMinutes(30), this::recomputeAllTime);
+    }
+
+    /**
+     * Recompute the all-time bucket by merging the daily buckets, which drops
+     * sketch registers of refunded donations
+     */
+    public void recomputeAllTime() {
+        try {
+            for (int attempt = 1; attempt <= MAX_REBUILD_ATTEMPTS; attempt++) {
+                LocalDateTime readAt = LocalDateTime.now();
+                Accumulator allTime = new Accumulator(null, null);
+                Query query = new Query(Criteria.where("granularity").is(DonationRollup.DAY));
+                try (Stream<DonationRollup> days = mongoTemplate.stream(query, DonationRollup.class)) {
+                    Iterator<DonationRollup> iterator = days.iterator();
+                    while (iterator.hasNext()) {
+                        allTime.merge(iterator.next());
+                    }
+                }
+                if (writeBucket(allTime, readAt)) {
+                    logger.info("Recomputed all-time donation rollup: {} donations", allTime.donationCount);
+                    return;
+                }
+            }
+            logger.warn("All-time donation rollup kept changing during recompute - left for the next run");
+        } catch (Exception e) {
+            logger.error("Error recomputing all-time donation rollup - Error: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Backfill rollups once, when the collection has never been populated.
+     * Only the node holding the lease rebuilds; the others skip.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            jobLeaseService.runExclusively("donation-rollups-rebuild", Duration.ofHours(2), () -> {
+                if (!mongoTemplate.exists(new Query(Criteria.where("id").is(ALL_TIME_ID)), DonationRollup.class)) {
+                    rebuildAll();
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error backfilling donation rollups - Error: {}", e.getMessage(), e);
+        }
+    }
+
+    private void addToBuckets(Map<String, Accumulator> buckets, Donation donation) {
+        LocalDateTime createdAt = createdAtOf(donation);
+        LocalDateTime dayStart = createdAt.toLocalDate().atStartOfDay();
+        buckets.computeIfAbsent(DonationRollup.idFor(DonationRollup.DAY, dayStart),
+            id -> new Accumulator(DonationRollup.DAY, dayStart)).add(donation);
+
+        LocalDateTime hourStart = createdAt.truncatedTo(ChronoUnit.HOURS);
+        if (!isHourlyExpired(hourStart)) {
+            buckets.computeIfAbsent(DonationRollup.idFor(DonationRollup.HOUR, hourStart),
+                id -> new Accumulator(DonationRollup.HOUR, hourStart)).add(donation);
+        }
+    }
+
+    /**
+     * Write recomputed buckets; returns the days of buckets that live updates touched since readAt
+     */
+    private Set<LocalDate> writeBuckets(Map<String, Accumulator> buckets, LocalDateTime readAt) {
+        Set<LocalDate> touchedDays = new LinkedHashSet<>();
+        for (Accumulator bucket : buckets.values()) {
+            if (!writeBucket(bucket, readAt)) {
+                touchedDays.add(bucket.bucketStart.toLocalDate());
+            }
+        }
+        return touchedDays;
+    }
+
+    /**
+     * Replace the stored bucket unless a live update wrote it after readAt, or
+     * create it. Returns false if the bucket was touched and must be recomputed.
+     */
+    private boolean writeBucket(Accumulator bucket, LocalDateTime readAt) {
+        DonationRollup rollup = bucket.toRollup();
+        Query untouched = new Query(new Criteria().andOperator(
+            Criteria.where("id").is(rollup.getId()), notUpdatedSince(readAt)));
+        if (mongoTemplate.findAndReplace(untouched, rollup) != null) {
+            return true;
+        }
+        if (bucket.donationCount == 0) {
+            // Nothing to create; only a bucket written meanwhile needs another pass
+            return !mongoTemplate.exists(new Query(Criteria.where("id").is(rollup.getId())), DonationRollup.class);
+        }
+        try {
+            mongoTemplate.insert(rollup);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private static Criteria notUpdatedSince(LocalDateTime readAt) {
+        return new Criteria().orOperator(
+            Criteria.where("updatedAt").lt(readAt),
+            Criteria.where("updatedAt").exists(false));
+    }
+
+    private Stream<Donation> streamSucceeded(LocalDateTime from, LocalDateTime to) {
+        Criteria criteria = Criteria.where("paymentStatus").is("succeeded");
+        if (from != null) {
+            criteria = criteria.and("createdAt").gte(from).lt(to);
+        }
+
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "createdAt"));
+        query.fields().include("campaignId", "donorId", "amount", "stripeFee", "platformFee", "createdAt", "completedAt");
+        return mongoTemplate.stream(query, Donation.class);
+    }
+
+    private boolean isHourlyExpired(LocalDateTime hourStart) {
+        return !hourlyExpiry(hourStart).isAfter(LocalDateTime.now());
+    }
+
+    private LocalDateTime hourlyExpiry(LocalDateTime hourStart) {
+        return hourStart.plusDays(hourlyRetentionDays);
+    }
+
+    // Buckets use the creation time so a refund hits the same buckets as the success
+    private static LocalDateTime createdAtOf(Donation donation) {
+        if (donation.getCreatedAt() != null) {
+            return donation.getCreatedAt();
+        }
+        return donation.getCompletedAt() != null ? donation.getCompletedAt() : LocalDateTime.now();
+    }
+
+    private static double feesOf(Donation donation) {
+        return (donation.getStripeFee() != null ? donation.getStripeFee() : 0.0) +
+               (donation.getPlatformFee() != null ? donation.getPlatformFee() : 0.0);
+    }
+
+    private class Accumulator {
+        private final String granularity;
+        private final LocalDateTime bucketStart;
+        private final Map<String, Integer> campaignSketch = new HashMap<>();
+        private final Map<String, Integer> donorSketch = new HashMap<>();
+        private double totalAmount;
+        private long donationCount;
+        private double totalFees;
+
+        Accumulator(String granularity, LocalDateTime bucketStart) {
+            this.granularity = granularity;
+            this.bucketStart = bucketStart;
+        }
+
+        void add(Donation donation) {
+            totalAmount += donation.getAmount() != null ? donation.getAmount() : 0.0;
+            donationCount++;
+            totalFees += feesOf(donation);
+            if (donation.getCampaignId() != null) {
+                HyperLogLog.offer(campaignSketch, donation.getCampaignId());
+            }
+            if (donation.getDonorId() != null) {
+                HyperLogLog.offer(donorSketch, donation.getDonorId());
+            }
+        }
+
+        void merge(DonationRollup rollup) {
+            totalAmount += rollup.getTotalAmount();
+            donationCount += rollup.getDonationCount();
+            totalFees += rollup.getTotalFees();
+            HyperLogLog.merge(campaignSketch, rollup.getCampaignSketch());
+            HyperLogLog.merge(donorSketch, rollup.getDonorSketch());
+        }
+
+        DonationRollup toRollup() {
+            DonationRollup rollup;
+            if (granularity == null) {
+                rollup = new DonationRollup();
+                rollup.setId(ALL_TIME_ID);
+            } else {
+                rollup = new DonationRollup(granularity, bucketStart);
+                if (DonationRollup.HOUR.equals(granularity)) {
+                    rollup.setExpiresAt(hourlyExpiry(bucketStart));
+                }
+            }
+            rollup.setTotalAmount(totalAmount);
+            rollup.setDonationCount(donationCount);
+            rollup.setTotalFees(totalFees);
+            rollup.setCampaignSketch(campaignSketch);
+            rollup.setDonorSketch(donorSketch);
+            rollup.setUpdatedAt(LocalDateTime.now());
+            return rollup;
+        }
+    }
+}
@@ -1,25 +1,35 @@
 package com.fundizen.fundizen_backend.service;
 
+import com.fundizen.fundizen_backend.event.DonationStatusChangedEvent;
 import com.fundizen.fundizen_backend.models.Campaign;
+import com.fundizen.fundizen_backend.models.CampaignLeaderboard;
+import com.fundizen.fundizen_backend.models.CampaignStats;
 import com.fundizen.fundizen_backend.models.Donation;
-import com.fundizen.fundizen_backend.models.User;
+import com.fundizen.fundizen_backend.models.DonationRollup;
 import com.fundizen.fundizen_backend.repository.DonationRepository;
-import com.fundizen.fundizen_backend.repository.CampaignRepository;
+import com.fundizen.fundizen_backend.util.HyperLogLog;
 import com.stripe.exception.StripeException;
-import com.stripe.model.PaymentIntent;
-import com.stripe.model.Refund;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -32,59 +42,97 @@ public class DonationService {
 
     private static final Logger logger = LoggerFactory.getLogger(DonationService.class);
 
+    private static final String CLEANUP_JOB = "donation-cleanup";
+
     @Autowired
     private DonationRepository donationRepository;
     
-    @Autowired
-    private CampaignRepository campaignRepository;
-    
     @Autowired
     private StripeService stripeService;
-    
+
     @Autowired
-    private UserService userService;
+    private ResilientStripeClient resilientStripeClient;
     
     @Autowired
     private CampaignService campaignService;
 
+    @Autowired
+    private CampaignTotalsService campaignTotalsService;
+
+    @Autowired
+    private CampaignStatsService campaignStatsService;
+
+    @Autowired
+    private DonationRollupService donationRollupService;
+
+    @Autowired
+    private CampaignLeaderboardService campaignLeaderboardService;
+
+    @Autowired
+    private DonationVelocityLimiter donationVelocityLimiter;
+
+    @Autowired
+    private UserResolver userResolver;
+
+    @Autowired
+    private PendingDonationCleanupService pendingDonationCleanupService;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Autowired
+    private DonationNotificationService donationNotificationService;
+
+    @Value("${donation.cleanup.partitions:8}")
+    private int cleanupPartitions;
+
+    @Value("${donation.cleanup.lease-seconds:600}")
+    private long cleanupLeaseSeconds;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
-     * Create a new donation and initiate payment
+     * Create a new donation and initiate payment. The Stripe call runs on the
+     * Stripe bulkhead; the future fails with StripeUnavailableException when
+     * Stripe cannot be reached in time.
      */
-    @Transactional
-    public DonationResult createDonation(String campaignId, String donorId, Double amount, 
+    public CompletableFuture<DonationResult> createDonation(String campaignId, String donorId, Double amount, 
                                        String donorName, String donorEmail, String donorMessage,
                                        boolean isAnonymous, boolean receiveUpdates, String ipAddress) {
+        Campaign campaign;
+        Map<String, String> metadata = new HashMap<>();
         try {
             logger.info("Creating donation for campaign: {}, amount: {}, donor: {}", 
                        campaignId, amount, donorEmail);
 
-            // Validate campaign
-            Campaign campaign = campaignService.getCampaignById(campaignId);
+            // Validate campaign against its current state; the cache is only evicted on the node that changed it
+            campaign = campaignService.getCampaignForDonation(campaignId);
             if (campaign == null) {
-                return DonationResult.failure("Campaign not found");
+                return CompletableFuture.completedFuture(DonationResult.failure("Campaign not found"));
             }
 
             if (!campaign.canReceiveDonations()) {
-                return DonationResult.failure("Campaign is not accepting donations");
+                return CompletableFuture.completedFuture(DonationResult.failure("Campaign is not accepting donations"));
             }
 
             // Validate amount
             if (amount == null || amount < 1.0) {
-                return DonationResult.failure("Minimum donation amount is RM 1.00");
+                return CompletableFuture.completedFuture(DonationResult.failure("Minimum donation amount is RM 1.00"));
             }
 
             if (amount > 100000.0) {
-                return DonationResult.failure("Maximum donation amount is RM 100,000");
+                return CompletableFuture.completedFuture(DonationResult.failure("Maximum donation amount is RM 100,000"));
             }
 
             // Fraud detection - check for suspicious activity
             if (isDonationSuspicious(ipAddress, amount, donorEmail)) {
                 logger.warn("Suspicious donation detected from IP: {} for amount: {}", ipAddress, amount);
-                return DonationResult.failure("Unable to process donation at this time. Please contact support.");
+                return CompletableFuture.completedFuture(
+                    DonationResult.failure("Unable to process donation at this time. Please contact support."));
             }
 
             // Create metadata for Stripe
-            Map<String, String> metadata = new HashMap<>();
             metadata.put("campaign_id", campaignId);
             metadata.put("campaign_name", campaign.getName());
             if (donorId != null) {
@@ -95,53 +143,64 @@ public class DonationService {
             }
             metadata.put("is_anonymous", String.valueOf(isAnonymous));
 
-            // Create Stripe Payment Intent
-            PaymentIntent paymentIntent = stripeService.createDonationPaymentIntent(
-                amount, "MYR", campaignId, donorEmail, metadata
-            );
-
-            // Calculate fees
-            StripeService.StripeFeesCalculation fees = stripeService.calculateFees(amount, "MYR");
-
-            // Create donation record
-            Donation donation = new Donation();
-            donation.setCampaignId(campaignId);
-            donation.setDonorId(donorId);
-            donation.setDonorName(donorName);
-            donation.setDonorEmail(donorEmail);
-            donation.setAmount(amount);
-            donation.setCurrency("MYR");
-            donation.setStripePaymentIntentId(paymentIntent.getId());
-            donation.setPaymentStatus("pending");
-            donation.setMessage(donorMessage);
-            donation.setAnonymous(isAnonymous);
-            donation.setReceiveUpdates(receiveUpdates);
-            donation.setDonorIpAddress(ipAddress);
-            donation.setStripeFee(fees.getStripeFee());
-            donation.setPlatformFee(fees.getPlatformFee());
-            donation.setNetAmount(fees.getNetAmount());
-
-            // Detect country from IP (simplified)
-            donation.setDonorCountry(detectCountryFromIP(ipAddress));
-
-            // Save donation
-            donation = donationRepository.save(donation);
-
-            logger.info("Donation created successfully: {} for campaign: {}", 
-                       donation.getId(), campaignId);
-
-            // Async: Send notification to campaign creator
-            notifyCampaignCreatorAsync(campaign, donation);
-
-            return DonationResult.success(donation, paymentIntent.getClientSecret());
-
-        } catch (StripeException e) {
-            logger.error("Stripe error creating donation for campaign: {} - Error: {}", campaignId, e.getMessage(), e);
-            return DonationResult.failure("Payment processing error: " + e.getLocalizedMessage());
         } catch (Exception e) {
             logger.error("Error creating donation for campaign: {} - Error: {}", campaignId, e.getMessage(), e);
-            return DonationResult.failure("Failed to create donation: " + e.getMessage());
+            return CompletableFuture.completedFuture(DonationResult.failure("Failed to create donation: " + e.getMessage()));
         }
+
+        // Create Stripe Payment Intent
+        return resilientStripeClient.submit(ResilientStripeClient.CREATE_PAYMENT_INTENT,
+                () -> stripeService.createDonationPaymentIntent(amount, "MYR", campaignId, donorEmail, metadata))
+            .thenApply(paymentIntent -> {
+                // Calculate fees
+                StripeService.StripeFeesCalculation fees = stripeService.calculateFees(amount, "MYR");
+
+                // Create donation record
+                Donation donation = new Donation();
+                donation.setCampaignId(campaignId);
+                donation.setDonorId(donorId);
+                donation.setDonorName(donorName);
+                donation.setDonorEmail(donorEmail);
+                donation.setAmount(amount);
+                donation.setCurrency("MYR");
+                donation.setStripePaymentIntentId(paymentIntent.getId());
+                donation.setPaymentStatus("pending");
+                donation.setMessage(donorMessage);
+                donation.setAnonymous(isAnonymous);
+                donation.setReceiveUpdates(receiveUpdates);
+                donation.setDonorIpAddress(ipAddress);
+                donation.setStripeFee(fees.getStripeFee());
+                donation.setPlatformFee(fees.getPlatformFee());
+                donation.setNetAmount(fees.getNetAmount());
+
+                // Detect country from IP (simplified)
+                donation.setDonorCountry(detectCountryFromIP(ipAddress));
+
+                // Save donation
+                donation = donationRepository.save(donation);
+                donationVelocityLimiter.recordDonation(ipAddress, donorEmail, campaignId);
+
+                logger.info("Donation created successfully: {} for campaign: {}", 
+                           donation.getId(), campaignId);
+
+                // Async: Send notification to campaign creator
+                donationNotificationService.notifyCampaignCreatorAsync(campaign, donation);
+
+                return DonationResult.success(donation, paymentIntent.getClientSecret());
+            })
+            .exceptionally(error -> {
+                Throwable cause = ResilientStripeClient.unwrap(error);
+                if (cause instanceof StripeUnavailableException) {
+                    // Surfaced to the caller as a retryable 503
+                    throw (StripeUnavailableException) cause;
+                }
+                if (cause instanceof StripeException) {
+                    logger.error("Stripe error creating donation for campaign: {} - Error: {}", campaignId, cause.getMessage(), cause);
+                    return DonationResult.failure("Payment processing error: " + cause.getLocalizedMessage());
+                }
+                logger.error("Error creating donation for campaign: {} - Error: {}", campaignId, cause.getMessage(), cause);
+                return DonationResult.failure("Failed to create donation: " + cause.getMessage());
+            });
     }
 
     /**
@@ -152,32 +211,29 @@ public class DonationService {
         try {
             logger.info("Processing successful payment for payment intent: {}", paymentIntentId);
 
-            Optional<Donation> donationOpt = donationRepository.findByStripePaymentIntentId(paymentIntentId);
-            if (!donationOpt.isPresent()) {
-                logger.error("Donation not found for payment intent: {}", paymentIntentId);
+            // Atomic transition - only the first delivery for this payment intent gets a donation back
+            Donation donation = donationRepository.markSucceededIfNotAlready(paymentIntentId, chargeId);
+            if (donation == null) {
+                handleAlreadyProcessedPayment(paymentIntentId, chargeId);
                 return;
             }
 
-            Donation donation = donationOpt.get();
-            
-            // Update donation status
-            donation.markAsSucceeded();
-            donation.setStripeChargeId(chargeId);
-            donationRepository.save(donation);
-
             // Update campaign raised amount
-            updateCampaignRaisedAmount(donation.getCampaignId());
+            campaignTotalsService.recordSucceededDonation(donation);
+            eventPublisher.publishEvent(new DonationStatusChangedEvent(donation, "succeeded"));
 
             logger.info("Payment processed successfully for donation: {} ({})", 
                        donation.getId(), paymentIntentId);
 
             // Async notifications
-            sendDonationConfirmationAsync(donation);
-            sendCampaignUpdateAsync(donation);
+            donationNotificationService.sendDonationConfirmationAsync(donation);
+            donationNotificationService.sendCampaignUpdateAsync(donation);
 
         } catch (Exception e) {
             logger.error("Error processing successful payment for intent: {} - Error: {}", 
                         paymentIntentId, e.getMessage(), e);
+            // Rethrow so the webhook inbox retries the event
+            throw new RuntimeException("Failed to process successful payment: " + paymentIntentId, e);
         }
     }
 
@@ -190,82 +246,100 @@ public class DonationService {
             logger.info("Processing failed payment for payment intent: {} - Reason: {}", 
                        paymentIntentId, failureReason);
 
-            Optional<Donation> donationOpt = donationRepository.findByStripePaymentIntentId(paymentIntentId);
-            if (!donationOpt.isPresent()) {
-                logger.error("Donation not found for payment intent: {}", paymentIntentId);
+            // Only pending/processing donations can fail; a late failure event must not undo a success
+            Donation donation = donationRepository.markFailedIfPending(paymentIntentId);
+            if (donation == null) {
+                if (!donationRepository.findByStripePaymentIntentId(paymentIntentId).isPresent()) {
+                    logger.error("Donation not found for payment intent: {}", paymentIntentId);
+                } else {
+                    logger.info("Ignoring failure for payment intent: {} - donation is no longer pending", paymentIntentId);
+                }
                 return;
             }
 
-            Donation donation = donationOpt.get();
-            donation.markAsFailed();
-            donationRepository.save(donation);
+            eventPublisher.publishEvent(new DonationStatusChangedEvent(donation, "failed"));
 
             logger.info("Payment marked as failed for donation: {} ({})", 
                        donation.getId(), paymentIntentId);
 
             // Async: Send failure notification
-            sendPaymentFailureNotificationAsync(donation, failureReason);
+            donationNotificationService.sendPaymentFailureNotificationAsync(donation, failureReason);
 
         } catch (Exception e) {
             logger.error("Error processing failed payment for intent: {} - Error: {}", 
                         paymentIntentId, e.getMessage(), e);
+            // Rethrow so the webhook inbox retries the event
+            throw new RuntimeException("Failed to process failed payment: " + paymentIntentId, e);
         }
     }
 
     /**
-     * Create refund for a donation
+     * Create refund for a donation. Like createDonation, the future fails with
+     * StripeUnavailableException when Stripe cannot be reached in time.
      */
-    @Transactional
-    public RefundResult createRefund(String donationId, String reason, Double refundAmount) {
+    public CompletableFuture<RefundResult> createRefund(String donationId, String reason, Double refundAmount) {
+        Donation donation;
         try {
             logger.info("Creating refund for donation: {} - Reason: {}", donationId, reason);
 
             Optional<Donation> donationOpt = donationRepository.findById(donationId);
             if (!donationOpt.isPresent()) {
-                return RefundResult.failure("Donation not found");
+                return CompletableFuture.completedFuture(RefundResult.failure("Donation not found"));
             }
 
-            Donation donation = donationOpt.get();
+            donation = donationOpt.get();
 
             if (!donation.canBeRefunded()) {
-                return RefundResult.failure("Donation cannot be refunded");
+                return CompletableFuture.completedFuture(RefundResult.failure("Donation cannot be refunded"));
             }
 
             // Validate refund amount
             if (refundAmount != null && refundAmount > donation.getAmount()) {
-                return RefundResult.failure("Refund amount cannot exceed donation amount");
+                return CompletableFuture.completedFuture(RefundResult.failure("Refund amount cannot exceed donation amount"));
             }
 
-            // Create Stripe refund
-            String refundReason = mapRefundReason(reason);
-            Refund refund = stripeService.createRefund(
-                donation.getStripePaymentIntentId(), 
-                refundAmount, 
-                refundReason
-            );
-
-            // Update donation
-            donation.markAsRefunded(reason);
-            donation.setRefundId(refund.getId());
-            donationRepository.save(donation);
-
-            // Update campaign raised amount
-            updateCampaignRaisedAmount(donation.getCampaignId());
+        } catch (Exception e) {
+            logger.error("Error creating refund for donation: {} - Error: {}", donationId, e.getMessage(), e);
+            return CompletableFuture.completedFuture(RefundResult.failure("Failed to create refund: " + e.getMessage()));
+        }
 
-            logger.info("Refund created successfully: {} for donation: {}", refund.getId(), donationId);
+        // Create Stripe refund
+        String refundReason = mapRefundReason(reason);
+        return resilientStripeClient.submit(ResilientStripeClient.CREATE_REFUND,
+                () -> stripeService.createRefund(donation.getStripePaymentIntentId(), refundAmount, refundReason))
+            .thenApply(refund -> {
+                // Update donation
+                Donation refundedDonation = donationRepository.markRefundedIfSucceeded(donationId, reason, refund.getId());
+                Donation result = donation;
+                if (refundedDonation != null) {
+                    result = refundedDonation;
+
+                    // Update campaign raised amount
+                    campaignTotalsService.recordRefundedDonation(result);
+                    eventPublisher.publishEvent(new DonationStatusChangedEvent(result, "refunded"));
+                } else {
+                    logger.warn("Donation {} was no longer in succeeded state when recording refund {}", donationId, refund.getId());
+                }
 
-            // Async: Send refund notification
-            sendRefundNotificationAsync(donation, refund.getId());
+                logger.info("Refund created successfully: {} for donation: {}", refund.getId(), donationId);
 
-            return RefundResult.success(donation, refund.getId());
+                // Async: Send refund notification
+                donationNotificationService.sendRefundNotificationAsync(result, refund.getId());
 
-        } catch (StripeException e) {
-            logger.error("Stripe error creating refund for donation: {} - Error: {}", donationId, e.getMessage(), e);
-            return RefundResult.failure("Refund processing error: " + e.getLocalizedMessage());
-        } catch (Exception e) {
-            logger.error("Error creating refund for donation: {} - Error: {}", donationId, e.getMessage(), e);
-            return RefundResult.failure("Failed to create refund: " + e.getMessage());
-        }
+                return RefundResult.success(result, refund.getId());
+            })
+            .exceptionally(error -> {
+                Throwable cause = ResilientStripeClient.unwrap(error);
+                if (cause instanceof StripeUnavailableException) {
+                    throw (StripeUnavailableException) cause;
+                }
+                if (cause instanceof StripeException) {
+                    logger.error("Stripe error creating refund for donation: {} - Error: {}", donationId, cause.getMessage(), cause);
+                    return RefundResult.failure("Refund processing error: " + cause.getLocalizedMessage());
+                }
+                logger.error("Error creating refund for donation: {} - Error: {}", donationId, cause.getMessage(), cause);
+                return RefundResult.failure("Failed to create refund: " + cause.getMessage());
+            });
     }
 
     /**
@@ -313,92 +387,65 @@ public class DonationService {
     }
 
     /**
-     * Get donation statistics for a campaign
+     * Search donations by donor name, email, message or id, newest first or by relevance
      */
-    public CampaignDonationStatistics getCampaignDonationStatistics(String campaignId) {
+    public Page<Donation> searchDonations(String query, boolean byRelevance, Pageable pageable) {
         try {
-            logger.debug("Calculating donation statistics for campaign: {}", campaignId);
-
-            List<Donation> successfulDonations = donationRepository.findSuccessfulDonationsByCampaignId(campaignId);
-
-            double totalAmount = successfulDonations.stream()
-                .mapToDouble(Donation::getAmount)
-                .sum();
-
-            long donationCount = successfulDonations.size();
-
-            double averageAmount = donationCount > 0 ? totalAmount / donationCount : 0.0;
-
-            double largestDonation = successfulDonations.stream()
-                .mapToDouble(Donation::getAmount)
-                .max()
-                .orElse(0.0);
-
-            long uniqueDonors = successfulDonations.stream()
-                .map(Donation::getDonorId)
-                .filter(donorId -> donorId != null)
-                .distinct()
-                .count();
-
-            // Additional statistics
-            long anonymousDonations = successfulDonations.stream()
-                .filter(Donation::isAnonymous)
-                .count();
-
-            long donationsWithMessages = successfulDonations.stream()
-                .filter(d -> d.getMessage() != null && !d.getMessage().trim().isEmpty())
-                .count();
-
-            return new CampaignDonationStatistics(
-                totalAmount, donationCount, averageAmount, largestDonation, uniqueDonors,
-                anonymousDonations, donationsWithMessages
-            );
-
+            return donationRepository.searchDonations(query, byRelevance, pageable);
         } catch (Exception e) {
-            logger.error("Error calculating statistics for campaign: {} - Error: {}", campaignId, e.getMessage(), e);
-            return new CampaignDonationStatistics(0.0, 0L, 0.0, 0.0, 0L, 0L, 0L);
+            logger.error("Error searching donations with query: {} - Error: {}", query, e.getMessage(), e);
+            throw e;
         }
     }
 
     /**
-     * Get platform donation statistics
+     * Fill the lowercased search fields of donations saved before they existed
      */
-    public PlatformDonationStatistics getPlatformDonationStatistics() {
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSearchFields() {
         try {
-            logger.debug("Calculating platform donation statistics");
-
-            List<Donation> allSuccessfulDonations = donationRepository.findByPaymentStatus("succeeded");
-
-            double totalAmount = allSuccessfulDonations.stream()
-                .mapToDouble(Donation::getAmount)
-                .sum();
+            long updated = donationRepository.backfillSearchFields();
+            if (updated > 0) {
+                logger.info("Backfilled search fields on {} donations", updated);
+            }
+        } catch (Exception e) {
+            logger.error("Error backfilling donation search fields - Error: {}", e.getMessage(), e);
+        }
+    }
 
-            long totalDonations = allSuccessfulDonations.size();
+    /**
+     * Get donation statistics for a campaign
+     */
+    @Cacheable(cacheNames = "campaignDonationStats", key = "#campaignId", sync = true)
+    public CampaignDonationStatistics getCampaignDonationStatistics(String campaignId) {
+        // No fallback here: sync caches cannot use 'unless', so a zeroed result would be cached
+        logger.debug("Loading donation statistics for campaign: {}", campaignId);
 
-            long uniqueCampaigns = allSuccessfulDonations.stream()
-                .map(Donation::getCampaignId)
-                .distinct()
-                .count();
+        // Read from the incrementally maintained campaign_stats document
+        CampaignStats stats = campaignStatsService.getStats(campaignId);
 
-            long uniqueDonors = allSuccessfulDonations.stream()
-                .map(Donation::getDonorId)
-                .filter(donorId -> donorId != null)
-                .distinct()
-                .count();
+        return new CampaignDonationStatistics(
+            stats.getTotalAmount(), stats.getDonationCount(), stats.getAverageAmount(),
+            stats.getLargestDonation(), campaignStatsService.getUniqueDonors(stats),
+            stats.getAnonymousDonations(), stats.getDonationsWithMessages()
+        );
+    }
 
-            double totalFees = allSuccessfulDonations.stream()
-                .mapToDouble(d -> (d.getStripeFee() != null ? d.getStripeFee() : 0.0) + 
-                                 (d.getPlatformFee() != null ? d.getPlatformFee() : 0.0))
-                .sum();
+    /**
+     * Get platform donation statistics
+     */
+    public PlatformDonationStatistics getPlatformDonationStatistics() {
+        try {
+            logger.debug("Loading platform donation statistics");
 
-            // Recent donations (last 30 days)
-            LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-            long recentDonations = allSuccessfulDonations.stream()
-                .filter(d -> d.getCreatedAt().isAfter(thirtyDaysAgo))
-                .count();
+            // Merged from the donation_rollups buckets instead of loading every donation
+            DonationRollup allTime = donationRollupService.getAllTime();
+            long recentDonations = donationRollupService.countDonationsSince(LocalDateTime.now().minusDays(30));
 
             return new PlatformDonationStatistics(
-                totalAmount, totalDonations, uniqueCampaigns, uniqueDonors, totalFees, recentDonations
+                allTime.getTotalAmount(), allTime.getDonationCount(),
+                HyperLogLog.estimate(allTime.getCampaignSketch()), HyperLogLog.estimate(allTime.getDonorSketch()),
+                allTime.getTotalFees(), recentDonations
             );
 
         } catch (Exception e) {
@@ -410,79 +457,65 @@ public class DonationService {
     /**
      * Get top donors for a campaign
      */
+    @Cacheable(cacheNames = "topDonors", key = "#campaignId + ':' + #limit", sync = true)
     public List<TopDonorInfo> getTopDonors(String campaignId, int limit) {
-        try {
-            logger.debug("Fetching top donors for campaign: {} (limit: {})", campaignId, limit);
-
-            List<DonationRepository.TopDonorProjection> topDonors = 
-                donationRepository.findTopDonorsByCampaignId(campaignId, limit);
-
-            return topDonors.stream()
-                .map(donor -> {
-                    User user = userService.getUserById(donor.getDonorId());
-                    String displayName = user != null ? user.getUsername() : "Anonymous";
-                    return new TopDonorInfo(
-                        donor.getDonorId(),
-                        displayName,
-                        donor.getTotalAmount(),
-                        donor.getDonationCount()
-                    );
-                })
-                .collect(Collectors.toList());
-
-        } catch (Exception e) {
-            logger.error("Error fetching top donors for campaign: {} - Error: {}", campaignId, e.getMessage(), e);
-            return List.of();
-        }
+        // Failures propagate so an empty list is never cached for a healthy campaign
+        logger.debug("Fetching top donors for campaign: {} (limit: {})", campaignId, limit);
+
+        // One leaderboard document plus one batched lookup of uncached display names
+        List<CampaignLeaderboard.Entry> topDonors = campaignLeaderboardService.getTopDonors(campaignId, limit);
+        Map<String, String> displayNames = userResolver.resolveUsernames(
+            topDonors.stream().map(CampaignLeaderboard.Entry::getDonorId).collect(Collectors.toSet()));
+
+        return topDonors.stream()
+            .map(donor -> new TopDonorInfo(
+                donor.getDonorId(),
+                displayNames.getOrDefault(donor.getDonorId(), "Anonymous"),
+                donor.getTotalAmount(),
+                donor.getDonationCount()
+            ))
+            .collect(Collectors.toList());
     }
 
     /**
      * Get monthly donation trends
      */
+    @Cacheable(cacheNames = "donationTrends", key = "#months", sync = true)
     public List<MonthlyDonationTrend> getMonthlyDonationTrends(int months) {
-        try {
-            LocalDateTime startDate = LocalDateTime.now().minusMonths(months);
-            LocalDateTime endDate = LocalDateTime.now();
-
-            List<DonationRepository.MonthlyDonationStats> monthlyStats = 
-                donationRepository.getMonthlyDonationStats(startDate, endDate);
-
-            return monthlyStats.stream()
-                .map(stat -> new MonthlyDonationTrend(
-                    stat.getId().getYear(),
-                    stat.getId().getMonth(),
-                    stat.getTotalAmount(),
-                    stat.getCount()
-                ))
-                .collect(Collectors.toList());
-
-        } catch (Exception e) {
-            logger.error("Error fetching monthly donation trends - Error: {}", e.getMessage(), e);
-            return List.of();
+        // Failures propagate so an empty trend list is never cached
+        LocalDate startDate = LocalDate.now().minusMonths(months);
+
+        // Group the daily rollups by month
+        Map<YearMonth, MonthlyDonationTrend> trends = new LinkedHashMap<>();
+        for (DonationRollup day : donationRollupService.getDailyRollups(startDate)) {
+            YearMonth month = YearMonth.from(day.getBucketStart());
+            MonthlyDonationTrend trend = trends.get(month);
+            trends.put(month, new MonthlyDonationTrend(
+                month.getYear(),
+                month.getMonthValue(),
+                (trend != null ? trend.getTotalAmount() : 0.0) + day.getTotalAmount(),
+                (trend != null ? trend.getDonationCount() : 0L) + day.getDonationCount()
+            ));
         }
+        return new ArrayList<>(trends.values());
     }
 
     /**
-     * Update campaign raised amount based on successful donations
+     * Handle a success notification for a payment that was already recorded
      */
-    private void updateCampaignRaisedAmount(String campaignId) {
-        try {
-            List<Donation> successfulDonations = donationRepository.findSuccessfulDonationsByCampaignId(campaignId);
-            
-            double totalRaised = successfulDonations.stream()
-                .mapToDouble(Donation::getAmount)
-                .sum();
-
-            Campaign campaign = campaignService.getCampaignById(campaignId);
-            if (campaign != null) {
-                campaign.setRaisedAmount(totalRaised);
-                campaignRepository.save(campaign);
-                
-                logger.debug("Updated raised amount for campaign: {} to {}", campaignId, totalRaised);
-            }
+    private void handleAlreadyProcessedPayment(String paymentIntentId, String chargeId) {
+        Optional<Donation> donationOpt = donationRepository.findByStripePaymentIntentId(paymentIntentId);
+        if (!donationOpt.isPresent()) {
+            logger.error("Donation not found for payment intent: {}", paymentIntentId);
+            return;
+        }
 
-        } catch (Exception e) {
-            logger.error("Error updating raised amount for campaign: {} - Error: {}", campaignId, e.getMessage(), e);
+        // charge.succeeded may arrive after payment_intent.succeeded - keep the charge id
+        if (chargeId != null && donationRepository.attachChargeId(paymentIntentId, chargeId)) {
+            logger.debug("Attached charge {} to already succeeded payment intent: {}", chargeId, paymentIntentId);
+        } else {
+            logger.debug("Payment intent already processed: {} (status: {})",
+                        paymentIntentId, donationOpt.get().getPaymentStatus());
         }
     }
 
@@ -509,12 +542,9 @@ public class DonationService {
      */
     private boolean isDonationSuspicious(String ipAddress, Double amount, String email) {
         try {
-            // Check for too many donations from same IP in short time
-            LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
-            List<Donation> recentFromIP = donationRepository.findDonationsByIpAddressSince(ipAddress, oneHourAgo);
-            
-            if (recentFromIP.size() > 5) {
-                return true; // More than 5 donations from same IP in 1 hour
+            // Check for too many donations from the same IP/email in a short time
+            if (donationVelocityLimiter.isOverLimit(ipAddress, email)) {
+                return true;
             }
 
             // Check for unusually large donation
@@ -543,107 +573,20 @@ public class DonationService {
     }
 
     /**
-     * Clean up old pending donations - runs every hour
+     * Clean up old pending donations - runs every hour, split across the live nodes
      */
     @Scheduled(fixedRate = 3600000) // 1 hour
-    @Transactional
     public void cleanupOldPendingDonations() {
         try {
             logger.info("Starting cleanup of old pending donations");
-            
-            LocalDateTime cutoff = LocalDateTime.now().minusHours(24); // 24 hours old
-            List<Donation> oldPendingDonations = donationRepository.findOldPendingPayments(cutoff);
-
-            int cleanedCount = 0;
-            for (Donation donation : oldPendingDonations) {
-                try {
-                    // Cancel the Stripe payment intent
-                    stripeService.cancelPaymentIntent(donation.getStripePaymentIntentId(), "abandoned");
-                    
-                    // Mark donation as failed
-                    donation.markAsFailed();
-                    donationRepository.save(donation);
-                    
-                    cleanedCount++;
-                    logger.debug("Cleaned up old pending donation: {}", donation.getId());
-                } catch (Exception e) {
-                    logger.warn("Failed to cleanup donation: {} - Error: {}", donation.getId(), e.getMessage());
-                }
-            }
-
-            if (cleanedCount > 0) {
-                logger.info("Cleaned up {} old pending donations", cleanedCount);
-            }
-
+            jobLeaseService.runPartitioned(CLEANUP_JOB, cleanupPartitions, Duration.ofSeconds(cleanupLeaseSeconds),
+                (partition, lease) -> pendingDonationCleanupService.cleanup(
+                    partition, () -> jobLeaseService.renew(lease)));
         } catch (Exception e) {
             logger.error("Error during cleanup of old pending donations - Error: {}", e.getMessage(), e);
         }
     }
 
-    // Async notification methods
-    @Async
-    public CompletableFuture<Void> notifyCampaignCreatorAsync(Campaign campaign, Donation donation) {
-        try {
-            logger.info("Sending notification to campaign creator for new donation");
-            // Implementation for sending notification
-            // This could be email, SMS, or push notification
-            return CompletableFuture.completedFuture(null);
-        } catch (Exception e) {
-            logger.error("Error sending campaign creator notification", e);
-            return CompletableFuture.failedFuture(e);
-        }
-    }
-
-    @Async
-    public CompletableFuture<Void> sendDonationConfirmationAsync(Donation donation) {
-        try {
-            logger.info("Sending donation confirmation to donor: {}", donation.getDonorEmail());
-            // Implementation for sending confirmation email
-            return CompletableFuture.completedFuture(null);
-        } catch (Exception e) {
-            logger.error("Error sending donation confirmation", e);
-            return CompletableFuture.failedFuture(e);
-        }
-    }
-
-    @Async
-    public CompletableFuture<Void> sendCampaignUpdateAsync(Donation donation) {
-        try {
-            if (donation.isReceiveUpdates()) {
-                logger.info("Sending campaign updates to donor: {}", donation.getDonorEmail());
-                // Implementation for adding donor to campaign updates list
-            }
-            return CompletableFuture.completedFuture(null);
-        } catch (Exception e) {
-            logger.error("Error setting up campaign updates", e);
-            return CompletableFuture.failedFuture(e);
-        }
-    }
-
-    @Async
-    public CompletableFuture<Void> sendPaymentFailureNotificationAsync(Donation donation, String reason) {
-        try {
-            logger.info("Sending payment failure notification to donor: {}", donation.getDonorEmail());
-            // Implementation for sending failure notification
-            return CompletableFuture.completedFuture(null);
-        } catch (Exception e) {
-            logger.error("Error sending payment failure notification", e);
-            return CompletableFuture.failedFuture(e);
-        }
-    }
-
-    @Async
-    public CompletableFuture<Void> sendRefundNotificationAsync(Donation donation, String refundId) {
-        try {
-            logger.info("Sending refund notification to donor: {}", donation.getDonorEmail());
-            // Implementation for sending refund notification
-            return CompletableFuture.completedFuture(null);
-        } catch (Exception e) {
-            logger.error("Error sending refund notification", e);
-            return CompletableFuture.failedFuture(e);
-        }
-    }
-
     // Result classes
     public static class DonationResult {
         private final boolean success;
@@ -0,0 +1,189 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.DonationVelocitySnapshot;
+import com.fundizen.fundizen_backend.util.SlidingCountMinSketch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory donation velocity limits per IP address and donor email.
+ *
+ * Created donations (not attempts) are counted in a lock-free sliding-window
+ * count-min sketch, and an attempt is rejected when its IP or email already has
+ * more than the limit in the window - the "more than 5 donations from one IP in
+ * an hour" rule, without a database round trip. Estimates can only overcount,
+ * never undercount. Donations per campaign are counted too, but only raise an
+ * alert metric: a campaign going viral is not fraud. Every node periodically writes its counters
+ * to the donation_velocity collection and reads the other nodes' counters back,
+ * so the limits hold approximately across the cluster (within one sync interval).
+ */
+@Service
+public class DonationVelocityLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DonationVelocityLimiter.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Donations allowed per window before further attempts are rejected; 0 disables the check
+    @Value("${donation.velocity.ip-limit:5}")
+    private int ipLimit;
+
+    @Value("${donation.velocity.email-limit:10}")
+    private int emailLimit;
+
+    // Donations per campaign per window that raise an alert (never a rejection); 0 disables
+    @Value("${donation.velocity.campaign-alert-threshold:0}")
+    private int campaignAlertThreshold;
+
+    @Value("${donation.velocity.window-minutes:60}")
+    private int windowMinutes;
+
+    @Value("${donation.velocity.slots:12}")
+    private int slotCount;
+
+    @Value("${donation.velocity.sketch-width:16384}")
+    private int sketchWidth;
+
+    @Value("${donation.velocity.sketch-depth:4}")
+    private int sketchDepth;
+
+    private final String nodeId = nodeName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    private SlidingCountMinSketch sketch;
+    private long slotMillis;
+
+    private Counter blockedByIp;
+    private Counter blockedByEmail;
+    private Counter campaignAlerts;
+
+    @PostConstruct
+    public void init() {
+        slotMillis = Math.max(1, windowMinutes * 60_000L / Math.max(1, slotCount));
+        sketch = new SlidingCountMinSketch(sketchDepth, sketchWidth, Math.max(1, slotCount), slotMillis);
+
+        blockedByIp = blockedCounter("ip");
+        blockedByEmail = blockedCounter("email");
+        campaignAlerts = Counter.builder("donation.velocity.alerts")
+            .description("Campaigns whose donation rate crossed the alert threshold")
+            .tag("dimension", "campaign")
+            .register(meterRegistry);
+
+        logger.info("Donation velocity limiter started on node {} (ip: {}, email: {} per {} min, campaign alert: {})",
+            nodeId, ipLimit, emailLimit, windowMinutes, campaignAlertThreshold);
+    }
+
+    /**
+     * Check a donation attempt without counting it. Returns true when its IP or
+     * email already created more donations in the window than its limit.
+     */
+    public boolean isOverLimit(String ipAddress, String email) {
+        boolean exceeded = false;
+
+        if (ipLimit > 0 && ipAddress != null && sketch.estimate("ip:" + ipAddress) > ipLimit) {
+            logger.warn("Donation velocity limit exceeded for IP: {}", ipAddress);
+            blockedByIp.increment();
+            exceeded = true;
+        }
+        if (emailLimit > 0 && email != null && sketch.estimate("email:" + email.toLowerCase()) > emailLimit) {
+            logger.warn("Donation velocity limit exceeded for email: {}", email);
+            blockedByEmail.increment();
+            exceeded = true;
+        }
+
+        return exceeded;
+    }
+
+    /**
+     * Count a donation that was created. Rejected or failed attempts are never counted.
+     */
+    public void recordDonation(String ipAddress, String email, String campaignId) {
+        if (ipAddress != null) {
+            sketch.add("ip:" + ipAddress);
+        }
+        if (email != null) {
+            sketch.add("email:" + email.toLowerCase());
+        }
+        if (campaignId != null) {
+            int campaignDonations = sketch.add("campaign:" + campaignId);
+            // Alert once per crossing instead of on every later donation
+            if (campaignAlertThreshold > 0 && campaignDonations == campaignAlertThreshold + 1) {
+                logger.warn("Campaign {} received more than {} donations in {} min", campaignId,
+                    campaignAlertThreshold, windowMinutes);
+                campaignAlerts.increment();
+            }
+        }
+    }
+
+    /**
+     * Publish this node's changed slots and load the other nodes' counters
+     */
+    @Scheduled(fixedDelayString = "${donation.velocity.sync-interval-ms:30000}")
+    public void syncWithCluster() {
+        try {
+            LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(windowMinutes * 2L);
+            for (Map.Entry<Long, Map<Integer, Integer>> slot : sketch.drainChangedSlots().entrySet()) {
+                Map<String, Integer> cells = new HashMap<>();
+                slot.getValue().forEach((cell, count) -> cells.put(cell.toString(), count));
+                mongoTemplate.save(new DonationVelocitySnapshot(nodeId, slot.getKey(), cells, expiresAt));
+            }
+
+            long oldestEpoch = sketch.currentEpoch() - sketch.getSlotCount() + 1;
+            Query query = new Query(Criteria.where("epoch").gte(oldestEpoch).and("nodeId").ne(nodeId));
+            List<DonationVelocitySnapshot> snapshots = mongoTemplate.find(query, DonationVelocitySnapshot.class);
+
+            Map<Long, int[]> remote = new HashMap<>();
+            for (DonationVelocitySnapshot snapshot : snapshots) {
+                int[] counts = remote.computeIfAbsent(snapshot.getEpoch(), epoch -> new int[sketch.getCellCount()]);
+                snapshot.getCells().forEach((cell, count) -> {
+                    int index = Integer.parseInt(cell);
+                    if (index >= 0 && index < counts.length) {
+                        counts[index] += count;
+                    }
+                });
+            }
+            sketch.setRemoteCounts(remote);
+
+        } catch (Exception e) {
+            // Keep limiting with local counts until the next sync
+            logger.error("Error syncing donation velocity counters - Error: {}", e.getMessage(), e);
+        }
+    }
+
+    private Counter blockedCounter(String dimension) {
+        return Counter.builder("donation.velocity.blocked")
+            .description("Donation attempts over a velocity limit")
+            .tag("dimension", dimension)
+            .register(meterRegistry);
+    }
+
+    private static String nodeName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
@@ -1,35 +1,101 @@
 package com.fundizen.fundizen_backend.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseAuthException;
 import com.google.firebase.auth.FirebaseToken;
 import com.google.firebase.auth.UserRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Firebase Admin operations.
+ *
+ * ID tokens are verified locally by the Admin SDK against Google's public
+ * signing certificates, which it caches for as long as their Cache-Control
+ * max-age allows. Decoded tokens are then cached by the SHA-256 of the token
+ * until the token's own exp, so repeated calls with the same token skip
+ * signature verification entirely. Failed verifications are never cached.
+ */
 @Service
 public class FirebaseService {
 
     private static final Logger logger = LoggerFactory.getLogger(FirebaseService.class);
     private final FirebaseAuth firebaseAuth;
 
-    public FirebaseService(FirebaseAuth firebaseAuth) {
+    private final Cache<String, FirebaseToken> decodedTokens;
+
+    public FirebaseService(FirebaseAuth firebaseAuth,
+                           @Value("${firebase.token-cache.max-size:20000}") long tokenCacheSize) {
         this.firebaseAuth = firebaseAuth;
+        this.decodedTokens = Caffeine.newBuilder()
+            .maximumSize(tokenCacheSize)
+            .expireAfter(new Expiry<String, FirebaseToken>() {
+                @Override
+                public long expireAfterCreate(String key, FirebaseToken token, long currentTime) {
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(getExpiresAtMillis(token) - System.currentTimeMillis(), 0));
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, FirebaseToken token, long currentTime, long currentDuration) {
+                    return expireAfterCreate(key, token, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String key, FirebaseToken token, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
     }
 
     /**
-     * Verify Firebase ID token - simplified version
+     * Verify Firebase ID token - decoded tokens are reused until they expire
      */
     public FirebaseToken verifyIdToken(String idToken) throws FirebaseAuthException {
+        String key = tokenKey(idToken);
+        FirebaseToken cached = decodedTokens.getIfPresent(key);
+        if (cached != null && getExpiresAtMillis(cached) > System.currentTimeMillis()) {
+            return cached;
+        }
+
         try {
-            return firebaseAuth.verifyIdToken(idToken);
+            FirebaseToken decodedToken = firebaseAuth.verifyIdToken(idToken);
+            decodedTokens.put(key, decodedToken);
+            return decodedToken;
         } catch (FirebaseAuthException e) {
             logger.error("Error verifying Firebase token: {}", e.getMessage());
             throw e;
         }
     }
 
+    /**
+     * Expiry (exp claim) of a verified token in epoch millis, 0 if absent
+     */
+    public static long getExpiresAtMillis(FirebaseToken token) {
+        Object exp = token.getClaims().get("exp");
+        return exp instanceof Number ? ((Number) exp).longValue() * 1000L : 0L;
+    }
+
+    private static String tokenKey(String idToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(idToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     /**
      * Check if Firebase token is valid
      */
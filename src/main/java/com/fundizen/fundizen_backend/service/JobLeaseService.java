@@ -0,0 +1,295 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.JobLease;
+import com.fundizen.fundizen_backend.models.JobNode;
+import com.fundizen.fundizen_backend.util.Hashing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Mongo-backed leases so a scheduled job runs on one node at a time, and
+ * partitioning so a large job is split across the live nodes.
+ *
+ * A lease is taken with one findAndModify that only matches when the previous
+ * holder's lockedUntil has passed, and it bumps the lease's fencing token. Long
+ * jobs call renew() between units of work. Renewal is conditional on the
+ * token, so a node that was paused past its lease stops before writing
+ * instead of racing the new holder. A finished job keeps its lease until it
+ * expires, so nodes whose schedule fires a little later skip the run instead
+ * of repeating it. Only a failed job gives its lease back early.
+ *
+ * Every node heartbeats into job_nodes. A partitioned job is split into a
+ * fixed number of partitions by the partition key stored on each document
+ * (a hash of its id), so a partition is an indexed query. Each node first
+ * takes the partitions that map to its position among the live nodes, then
+ * any partition nobody claimed, e.g. one left by a node that just died.
+ */
+@Service
+public class JobLeaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobLeaseService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${job.lease.node-timeout-seconds:30}")
+    private long nodeTimeoutSeconds;
+
+    private final String nodeId = nodeName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    /**
+     * A held lease; valid for as long as renew() succeeds
+     */
+    public static final class Lease {
+        private final String name;
+        private final long fencingToken;
+        private final Duration ttl;
+
+        private Lease(String name, long fencingToken, Duration ttl) {
+            this.name = name;
+            this.fencingToken = fencingToken;
+            this.ttl = ttl;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getFencingToken() {
+            return fencingToken;
+        }
+    }
+
+    /**
+     * One slice of a partitioned job: the documents whose stored partition key
+     * (Hashing.partitionKey of the id) is congruent to the index
+     */
+    public static final class Partition {
+        private final int index;
+        private final int count;
+
+        Partition(int index, int count) {
+            this.index = index;
+            this.count = count;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public boolean contains(String id) {
+            return id != null && Hashing.partitionKey(id) % count == index;
+        }
+
+        /**
+         * The partition keys in this partition, for an indexed $in query
+         */
+        public List<Integer> keys() {
+            List<Integer> keys = new ArrayList<>();
+            for (int key = index; key < Hashing.PARTITION_KEYS; key += count) {
+                keys.add(key);
+            }
+            return keys;
+        }
+
+        /**
+         * Documents saved before partition keys existed are all handled by the first partition
+         */
+        public boolean includesUnkeyed() {
+            return index == 0;
+        }
+    }
+
+    @FunctionalInterface
+    public interface PartitionTask {
+        void run(Partition partition, Lease lease);
+    }
+
+    @PostConstruct
+    public void init() {
+        heartbeat();
+        logger.info("Job leasing started on node {}", nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Scheduled(fixedDelayString = "${job.lease.heartbeat-ms:10000}")
+    public void heartbeat() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            mongoTemplate.upsert(new Query(Criteria.where("id").is(nodeId)),
+                new Update()
+                    .set("heartbeatAt", now)
+                    .set("expiresAt", now.plusSeconds(nodeTimeoutSeconds)),
+                JobNode.class);
+        } catch (Exception e) {
+            logger.warn("Job node heartbeat failed - Error: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void leave() {
+        try {
+            mongoTemplate.remove(new Query(Criteria.where("id").is(nodeId)), JobNode.class);
+        } catch (Exception e) {
+            logger.debug("Could not remove job node {} - Error: {}", nodeId, e.getMessage());
+        }
+    }
+
+    /**
+     * Ids of nodes with a recent heartbeat, in a stable order
+     */
+    public List<String> getLiveNodes() {
+        Query query = new Query(Criteria.where("heartbeatAt").gt(LocalDateTime.now().minusSeconds(nodeTimeoutSeconds)))
+            .with(Sort.by(Sort.Direction.ASC, "id"));
+        query.fields().include("id");
+        List<String> nodes = mongoTemplate.find(query, JobNode.class).stream()
+            .map(JobNode::getId)
+            .collect(Collectors.toList());
+        if (!nodes.contains(nodeId)) {
+            nodes.add(nodeId);
+            nodes.sort(null);
+        }
+        return nodes;
+    }
+
+    /**
+     * Take the lease if nobody holds it; empty if another node does
+     */
+    public Optional<Lease> tryAcquire(String name, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(Criteria.where("id").is(name)
+            .orOperator(Criteria.where("lockedUntil").lt(now), Criteria.where("lockedUntil").exists(false)));
+        Update update = new Update()
+            .set("owner", nodeId)
+            .set("lockedUntil", now.plus(ttl))
+            .set("acquiredAt", now)
+            .inc("fencingToken", 1);
+
+        try {
+            JobLease lease = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true), JobLease.class);
+            if (lease == null || !nodeId.equals(lease.getOwner())) {
+                return Optional.empty();
+            }
+            logger.debug("Acquired job lease {} with fencing token {}", name, lease.getFencingToken());
+            return Optional.of(new Lease(name, lease.getFencingToken(), ttl));
+        } catch (DuplicateKeyException e) {
+            // The lease exists and is held - the upsert tried to insert a second one
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Extend the lease; false means it expired and may belong to another node now
+     */
+    public boolean renew(Lease lease) {
+        Update update = new Update().set("lockedUntil", LocalDateTime.now().plus(lease.ttl));
+        return mongoTemplate.updateFirst(heldBy(lease), update, JobLease.class).getModifiedCount() > 0;
+    }
+
+    /**
+     * Give the lease back so another node can take it straight away
+     */
+    public void release(Lease lease) {
+        try {
+            mongoTemplate.updateFirst(heldBy(lease), new Update().set("lockedUntil", LocalDateTime.now()), JobLease.class);
+        } catch (Exception e) {
+            logger.warn("Could not release job lease {} - Error: {}", lease.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Run the job here unless another node holds its lease. Returns whether it ran.
+     */
+    public boolean runExclusively(String name, Duration ttl, Runnable job) {
+        Optional<Lease> lease = tryAcquire(name, ttl);
+        if (lease.isEmpty()) {
+            logger.debug("Skipping job {} - leased by another node", name);
+            return false;
+        }
+        try {
+            job.run();
+            return true;
+        } catch (RuntimeException e) {
+            release(lease.get());
+            throw e;
+        }
+    }
+
+    /**
+     * Run every partition of the job that no other node holds, this node's own share first
+     */
+    public int runPartitioned(String name, int partitionCount, Duration ttl, PartitionTask task) {
+        List<String> nodes = getLiveNodes();
+        int position = nodes.indexOf(nodeId);
+
+        List<Integer> order = new ArrayList<>(partitionCount);
+        List<Integer> others = new ArrayList<>();
+        for (int index = 0; index < partitionCount; index++) {
+            (index % nodes.size() == position ? order : others).add(index);
+        }
+        order.addAll(others);
+
+        int ran = 0;
+        for (int index : order) {
+            Optional<Lease> lease = tryAcquire(name + ":" + index, ttl);
+            if (lease.isEmpty()) {
+                continue;
+            }
+            try {
+                task.run(new Partition(index, partitionCount), lease.get());
+                ran++;
+            } catch (RuntimeException e) {
+                release(lease.get());
+                logger.error("Job {} partition {} failed - Error: {}", name, index, e.getMessage(), e);
+            }
+        }
+        logger.info("Job {}: ran {} of {} partitions on node {} ({} live nodes)",
+                   name, ran, partitionCount, nodeId, nodes.size());
+        return ran;
+    }
+
+    private Query heldBy(Lease lease) {
+        return new Query(Criteria.where("id").is(lease.getName())
+            .and("owner").is(nodeId)
+            .and("fencingToken").is(lease.getFencingToken()));
+    }
+
+    private static String nodeName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.fundizen.fundizen_backend.service;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Renews a job lease at most once per interval and remembers a loss, so a
+ * long run can check it per item or batch without a Mongo round trip each
+ * time.
+ */
+final class LeaseGuard {
+
+    private final BooleanSupplier renew;
+    private final long intervalNanos;
+    private long lastRenewed;
+    private boolean checked;
+    private boolean lost;
+
+    LeaseGuard(BooleanSupplier renew, Duration interval) {
+        this.renew = renew;
+        this.intervalNanos = interval.toNanos();
+    }
+
+    synchronized boolean held() {
+        if (lost) {
+            return false;
+        }
+        long now = System.nanoTime();
+        if (!checked || now - lastRenewed >= intervalNanos) {
+            checked = true;
+            lastRenewed = now;
+            lost = !renew.getAsBoolean();
+        }
+        return !lost;
+    }
+}
@@ -0,0 +1,113 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.AdminJob;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * System cleanup and data-integrity runs as admin jobs.
+ *
+ * One unit is one SystemMaintenanceService step. A step works through its
+ * documents in batches of admin.jobs.chunk-size ids and renews the job's
+ * lease before each batch, so a long step keeps its lease. Once the lease is
+ * lost the step stops writing and the job stays at that step. Every batch
+ * re-checks its condition, so a step interrupted this way or by a node
+ * failure is simply run again.
+ */
+@Component
+public class MaintenanceJobHandler implements AdminJobHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(MaintenanceJobHandler.class);
+
+    public static final String TYPE_SYSTEM_CLEANUP = "system-cleanup";
+    public static final String TYPE_DATA_INTEGRITY = "data-integrity";
+
+    @Autowired
+    private SystemMaintenanceService systemMaintenanceService;
+
+    /**
+     * One SystemMaintenanceService call, given the batch size and lease check
+     */
+    private interface StepAction {
+        long run(int batchSize, BooleanSupplier stillLeased);
+    }
+
+    /**
+     * A named step; its result is stored under the name in the job's counters
+     */
+    private static final class Step {
+        private final String name;
+        private final StepAction action;
+
+        private Step(String name, StepAction action) {
+            this.name = name;
+            this.action = action;
+        }
+    }
+
+    @Override
+    public Set<String> getTypes() {
+        return Set.of(TYPE_SYSTEM_CLEANUP, TYPE_DATA_INTEGRITY);
+    }
+
+    @Override
+    public void validate(String type, Map<String, Object> params) {
+        // No parameters
+    }
+
+    @Override
+    public long countUnits(AdminJob job) {
+        return steps(job.getType()).size();
+    }
+
+    @Override
+    public long processChunk(AdminJob job, long from, int maxUnits, Map<String, Long> counters,
+                             BooleanSupplier stillLeased) {
+        Step step = steps(job.getType()).get((int) from);
+        long affected = step.action.run(maxUnits, stillLeased);
+        if (!stillLeased.getAsBoolean()) {
+            logger.warn("Admin job {} stopped during step {} after {} documents", job.getId(), step.name, affected);
+            return from;
+        }
+        counters.put(step.name, affected);
+        logger.info("Admin job {} step {}: {} documents", job.getId(), step.name, affected);
+        return from + 1;
+    }
+
+    private List<Step> steps(String type) {
+        List<Step> integrity = List.of(
+            new Step("invalidGoalsFixed", systemMaintenanceService::fixInvalidGoalAmounts),
+            new Step("missingRaisedAmountsFixed", systemMaintenanceService::fixMissingRaisedAmounts),
+            new Step("invalidUsernamesFixed", systemMaintenanceService::fixMissingUsernames)
+        );
+        if (TYPE_DATA_INTEGRITY.equals(type)) {
+            return integrity;
+        }
+
+        return List.of(
+            // Auto-reject very old pending campaigns (6 months+)
+            new Step("oldPendingCampaignsRejected",
+                (batchSize, stillLeased) -> systemMaintenanceService.rejectStalePendingCampaigns(
+                    LocalDate.now().minusMonths(6), batchSize, stillLeased)),
+            // Campaigns whose creator no longer exists
+            new Step("orphanedDataFixed", systemMaintenanceService::reassignOrphanedCampaigns),
+            // Unverified users without campaigns (30 days)
+            new Step("expiredUsersRemoved",
+                (batchSize, stillLeased) -> systemMaintenanceService.removeExpiredUnverifiedUsers(
+                    LocalDateTime.now().minusDays(30), batchSize, stillLeased)),
+            integrity.get(0),
+            integrity.get(1),
+            integrity.get(2)
+        );
+    }
+}
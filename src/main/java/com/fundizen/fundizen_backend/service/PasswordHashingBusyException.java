@@ -0,0 +1,20 @@
+package com.fundizen.fundizen_backend.service;
+
+/**
+ * The password hashing executor is saturated (queue full) or the hash did not
+ * finish in time. Nothing was decided about the credentials; the request can
+ * be retried after getRetryAfterSeconds().
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(String message, long retryAfterSeconds, Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
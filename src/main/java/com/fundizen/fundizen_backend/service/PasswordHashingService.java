@@ -0,0 +1,81 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.config.PasswordHashingProperties;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs BCrypt on the bounded password hashing executor instead of the
+ * calling thread.
+ *
+ * When the executor's queue is full, or a hash does not finish within
+ * password.hashing.timeout, callers get PasswordHashingBusyException rather
+ * than queueing without limit.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final long BUSY_RETRY_AFTER_SECONDS = 2;
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Autowired
+    @Qualifier("passwordHashingExecutor")
+    private ExecutorService passwordHashingExecutor;
+
+    @Autowired
+    private PasswordHashingProperties properties;
+
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Whether a stored hash was made with a lower cost than the current one
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = passwordHashingExecutor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException("Too many sign-in requests, please retry shortly", BUSY_RETRY_AFTER_SECONDS, e);
+        }
+
+        try {
+            return future.get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new PasswordHashingBusyException("Too many sign-in requests, please retry shortly", BUSY_RETRY_AFTER_SECONDS, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new PasswordHashingBusyException("Password hashing was interrupted", BUSY_RETRY_AFTER_SECONDS, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.Donation;
+
+import io.github.resilience4j.micrometer.tagged.TaggedRateLimiterMetrics;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Fails donations that stayed pending past the cutoff and cancels their
+ * PaymentIntents.
+ *
+ * Candidates are streamed from a cursor in fixed-size chunks, so memory does
+ * not grow with the backlog. Within a chunk, cancellations run concurrently
+ * through ResilientStripeClient, at most donation.cleanup.parallelism at a
+ * time and no faster than donation.cleanup.stripe-rate-per-second, leaving
+ * the Stripe bulkhead and rate limit to live payments. Each chunk's status
+ * changes are one unordered bulk write, conditional on the donation still
+ * being pending so a late success webhook is never overwritten.
+ *
+ * A partitioned run queries only its partition keys. While it runs, the lease
+ * is renewed every donation.cleanup.lease-check-seconds; once it is lost no
+ * further cancels are submitted and the run stops after recording the ones
+ * already in flight.
+ */
+@Service
+public class PendingDonationCleanupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PendingDonationCleanupService.class);
+
+    private static final List<String> PENDING_STATUSES = List.of("pending", "processing");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private StripeService stripeService;
+
+    @Autowired
+    private ResilientStripeClient resilientStripeClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${donation.cleanup.pending-age-hours:24}")
+    private long pendingAgeHours;
+
+    @Value("${donation.cleanup.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${donation.cleanup.parallelism:4}")
+    private int parallelism;
+
+    @Value("${donation.cleanup.stripe-rate-per-second:20}")
+    private int stripeRatePerSecond;
+
+    @Value("${donation.cleanup.lease-check-seconds:30}")
+    private long leaseCheckSeconds;
+
+    private RateLimiter stripeRateLimiter;
+    private Timer runTimer;
+    private Counter cancelledCounter;
+    private Counter cancelFailedCounter;
+    private Counter noIntentCounter;
+
+    @PostConstruct
+    public void init() {
+        RateLimiterRegistry registry = RateLimiterRegistry.of(RateLimiterConfig.custom()
+            .limitForPeriod(Math.max(1, stripeRatePerSecond))
+            .limitRefreshPeriod(Duration.ofSeconds(1))
+            .timeoutDuration(Duration.ofSeconds(30))
+            .build());
+        stripeRateLimiter = registry.rateLimiter("stripe-cleanup");
+        TaggedRateLimiterMetrics.ofRateLimiterRegistry(registry).bindTo(meterRegistry);
+
+        runTimer = Timer.builder("donation.cleanup.run")
+            .description("Duration of pending donation cleanup runs")
+            .register(meterRegistry);
+        cancelledCounter = outcomeCounter("cancelled");
+        cancelFailedCounter = outcomeCounter("cancel_failed");
+        noIntentCounter = outcomeCounter("no_intent");
+    }
+
+    private Counter outcomeCounter(String outcome) {
+        return Counter.builder("donation.cleanup.donations")
+            .description("Stale pending donations processed by the cleanup job")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Clean up every stale pending donation. Returns the number marked failed.
+     */
+    public int cleanup() {
+        return cleanup(null, () -> true);
+    }
+
+    /**
+     * Clean up the stale pending donations of one partition (all of them when
+     * partition is null). stillLeased renews the lease; the run stops as soon
+     * as it returns false.
+     */
+    public int cleanup(JobLeaseService.Partition partition, BooleanSupplier stillLeased) {
+        long startTime = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(pendingAgeHours);
+        LeaseGuard lease = new LeaseGuard(stillLeased, Duration.ofSeconds(leaseCheckSeconds));
+
+        Criteria criteria = Criteria.where("paymentStatus").in(PENDING_STATUSES).and("createdAt").lt(cutoff);
+        if (partition != null) {
+            Criteria keyed = Criteria.where("partitionKey").in(partition.keys());
+            criteria = criteria.andOperator(partition.includesUnkeyed()
+                ? new Criteria().orOperator(keyed, Criteria.where("partitionKey").exists(false))
+                : keyed);
+        }
+        Query query = new Query(criteria).cursorBatchSize(chunkSize);
+        query.fields().include("stripePaymentIntentId");
+
+        int scanned = 0;
+        int failed = 0;
+        try (Stream<Donation> stream = mongoTemplate.stream(query, Donation.class)) {
+            Iterator<Donation> candidates = stream.iterator();
+            List<Donation> chunk = new ArrayList<>(chunkSize);
+
+            while (candidates.hasNext()) {
+                if (!lease.held()) {
+                    break;
+                }
+                chunk.add(candidates.next());
+                if (chunk.size() == chunkSize || !candidates.hasNext()) {
+                    ChunkResult result = processChunk(chunk, lease);
+                    scanned += chunk.size();
+                    failed += result.markedFailed;
+                    chunk.clear();
+
+                    double seconds = Math.max((System.nanoTime() - startTime) / 1e9, 0.001);
+                    logger.info("Pending donation cleanup progress: {} scanned, {} failed ({} donations/s)",
+                               scanned, failed, String.format("%.1f", scanned / seconds));
+
+                    if (result.stripeUnavailable) {
+                        logger.warn("Stripe is unavailable - stopping pending donation cleanup until the next run");
+                        break;
+                    }
+                }
+            }
+            if (!lease.held()) {
+                logger.warn("Lost the cleanup lease - stopped pending donation cleanup");
+            }
+        } finally {
+            runTimer.record(Duration.ofNanos(System.nanoTime() - startTime));
+        }
+
+        if (scanned > 0) {
+            logger.info("Pending donation cleanup completed: {} scanned, {} marked failed in {} ms",
+                       scanned, failed, (System.nanoTime() - startTime) / 1_000_000);
+        }
+        return failed;
+    }
+
+    private ChunkResult processChunk(List<Donation> chunk, LeaseGuard lease) {
+        ConcurrentLinkedQueue<String> toFail = new ConcurrentLinkedQueue<>();
+        AtomicInteger unavailable = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(Math.max(1, parallelism));
+        List<CompletableFuture<?>> cancellations = new ArrayList<>(chunk.size());
+
+        for (Donation donation : chunk) {
+            String paymentIntentId = donation.getStripePaymentIntentId();
+            if (paymentIntentId == null) {
+                // Never reached Stripe, nothing to cancel
+                toFail.add(donation.getId());
+                noIntentCounter.increment();
+                continue;
+            }
+
+            inFlight.acquireUninterruptibly();
+            if (!lease.held()) {
+                // Another node owns this partition now; record what is already in flight and stop
+                inFlight.release();
+                break;
+            }
+            if (!stripeRateLimiter.acquirePermission()) {
+                inFlight.release();
+                unavailable.incrementAndGet();
+                continue;
+            }
+
+            cancellations.add(resilientStripeClient.submit(ResilientStripeClient.CANCEL_PAYMENT_INTENT,
+                    () -> stripeService.cancelPaymentIntent(paymentIntentId, "abandoned"))
+                .whenComplete((intent, error) -> {
+                    inFlight.release();
+                    if (error == null) {
+                        toFail.add(donation.getId());
+                        cancelledCounter.increment();
+                        logger.debug("Cancelled abandoned payment intent: {}", paymentIntentId);
+                    } else {
+                        Throwable cause = ResilientStripeClient.unwrap(error);
+                        if (cause instanceof StripeUnavailableException) {
+                            unavailable.incrementAndGet();
+                        }
+                        cancelFailedCounter.increment();
+                        logger.warn("Failed to cleanup donation: {} - Error: {}", donation.getId(), cause.getMessage());
+                    }
+                }));
+        }
+
+        CompletableFuture.allOf(cancellations.toArray(new CompletableFuture[0]))
+            .exceptionally(error -> null)
+            .join();
+
+        int markedFailed = markFailed(new ArrayList<>(toFail));
+        return new ChunkResult(markedFailed, unavailable.get() > 0 && toFail.isEmpty());
+    }
+
+    private int markFailed(List<String> donationIds) {
+        if (donationIds.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Donation.class);
+        for (String donationId : donationIds) {
+            bulkOps.updateOne(
+                new Query(Criteria.where("id").is(donationId).and("paymentStatus").in(PENDING_STATUSES)),
+                new Update().set("paymentStatus", "failed").set("updatedAt", now));
+        }
+        return bulkOps.execute().getModifiedCount();
+    }
+
+    private static final class ChunkResult {
+        private final int markedFailed;
+        private final boolean stripeUnavailable;
+
+        private ChunkResult(int markedFailed, boolean stripeUnavailable) {
+            this.markedFailed = markedFailed;
+            this.stripeUnavailable = stripeUnavailable;
+        }
+    }
+}
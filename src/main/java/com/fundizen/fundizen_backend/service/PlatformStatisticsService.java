@@ -0,0 +1,188 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.Campaign;
+import com.fundizen.fundizen_backend.models.User;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admin dashboard counters computed with one $facet aggregation per collection.
+ * Only the grouped counts travel over the wire, and the results are cached
+ * briefly (adminStats cache) so dashboard refreshes do not re-run them.
+ */
+@Service
+public class PlatformStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlatformStatisticsService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Campaign counts by status and category, goal/raised sums and the active campaign count
+     */
+    @Cacheable(cacheNames = "adminStats", key = "'campaigns'", sync = true)
+    public CampaignStatistics getCampaignStatistics() {
+        logger.debug("Aggregating campaign statistics");
+
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.facet(Aggregation.count().as("count")).as("total")
+                .and(Aggregation.group("status").count().as("count")).as("byStatus")
+                .and(Aggregation.group("category").count().as("count")).as("byCategory")
+                .and(Aggregation.group()
+                        .sum("goalAmount").as("goalAmount")
+                        .sum("raisedAmount").as("raisedAmount")).as("amounts")
+                .and(Aggregation.match(Criteria.where("verified").is(true)
+                        .and("status").is("approved")
+                        .and("endDate").gt(LocalDate.now())),
+                     Aggregation.count().as("count")).as("active")
+        );
+
+        Document result = mongoTemplate.aggregate(aggregation, Campaign.class, Document.class).getUniqueMappedResult();
+        if (result == null) {
+            result = new Document();
+        }
+
+        Document amounts = first(result, "amounts");
+        return new CampaignStatistics(
+            firstCount(result, "total"),
+            firstCount(result, "active"),
+            countsById(result, "byStatus"),
+            countsById(result, "byCategory"),
+            number(amounts, "goalAmount"),
+            number(amounts, "raisedAmount")
+        );
+    }
+
+    /**
+     * User counts by role and verification, plus signups in the last week
+     */
+    @Cacheable(cacheNames = "adminStats", key = "'users'", sync = true)
+    public UserStatistics getUserStatistics() {
+        logger.debug("Aggregating user statistics");
+
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.facet(Aggregation.count().as("count")).as("total")
+                .and(Aggregation.group("role").count().as("count")).as("byRole")
+                .and(Aggregation.match(Criteria.where("verified").is(true)),
+                     Aggregation.count().as("count")).as("verified")
+                .and(Aggregation.match(Criteria.where("createdAt").gte(LocalDateTime.now().minusDays(7))),
+                     Aggregation.count().as("count")).as("recentSignups")
+        );
+
+        Document result = mongoTemplate.aggregate(aggregation, User.class, Document.class).getUniqueMappedResult();
+        if (result == null) {
+            result = new Document();
+        }
+
+        long total = firstCount(result, "total");
+        long verified = firstCount(result, "verified");
+        return new UserStatistics(
+            total,
+            countsById(result, "byRole"),
+            verified,
+            total - verified,
+            firstCount(result, "recentSignups")
+        );
+    }
+
+    private Document first(Document result, String facet) {
+        List<Document> rows = result.getList(facet, Document.class, Collections.emptyList());
+        return rows.isEmpty() ? new Document() : rows.get(0);
+    }
+
+    private long firstCount(Document result, String facet) {
+        return (long) number(first(result, facet), "count");
+    }
+
+    private Map<String, Long> countsById(Document result, String facet) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Document row : result.getList(facet, Document.class, Collections.emptyList())) {
+            Object id = row.get("_id");
+            counts.put(id != null ? id.toString() : "unknown", (long) number(row, "count"));
+        }
+        return counts;
+    }
+
+    private double number(Document document, String field) {
+        Object value = document.get(field);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0.0;
+    }
+
+    // Result classes
+    public static class CampaignStatistics {
+        private final long totalCampaigns;
+        private final long activeCampaigns;
+        private final Map<String, Long> byStatus;
+        private final Map<String, Long> byCategory;
+        private final double totalGoalAmount;
+        private final double totalRaisedAmount;
+
+        public CampaignStatistics(long totalCampaigns, long activeCampaigns, Map<String, Long> byStatus,
+                                  Map<String, Long> byCategory, double totalGoalAmount, double totalRaisedAmount) {
+            this.totalCampaigns = totalCampaigns;
+            this.activeCampaigns = activeCampaigns;
+            this.byStatus = Collections.unmodifiableMap(byStatus);
+            this.byCategory = Collections.unmodifiableMap(byCategory);
+            this.totalGoalAmount = totalGoalAmount;
+            this.totalRaisedAmount = totalRaisedAmount;
+        }
+
+        public long getTotalCampaigns() { return totalCampaigns; }
+        public long getActiveCampaigns() { return activeCampaigns; }
+        public Map<String, Long> getByStatus() { return byStatus; }
+        public Map<String, Long> getByCategory() { return byCategory; }
+        public double getTotalGoalAmount() { return totalGoalAmount; }
+        public double getTotalRaisedAmount() { return totalRaisedAmount; }
+
+        public long getCountByStatus(String status) {
+            return byStatus.getOrDefault(status, 0L);
+        }
+
+        public double getSuccessRate() {
+            return totalGoalAmount > 0 ? (totalRaisedAmount / totalGoalAmount) * 100 : 0;
+        }
+    }
+
+    public static class UserStatistics {
+        private final long totalUsers;
+        private final Map<String, Long> byRole;
+        private final long verifiedUsers;
+        private final long unverifiedUsers;
+        private final long recentSignups;
+
+        public UserStatistics(long totalUsers, Map<String, Long> byRole, long verifiedUsers,
+                              long unverifiedUsers, long recentSignups) {
+            this.totalUsers = totalUsers;
+            this.byRole = Collections.unmodifiableMap(byRole);
+            this.verifiedUsers = verifiedUsers;
+            this.unverifiedUsers = unverifiedUsers;
+            this.recentSignups = recentSignups;
+        }
+
+        public long getTotalUsers() { return totalUsers; }
+        public Map<String, Long> getByRole() { return byRole; }
+        public long getVerifiedUsers() { return verifiedUsers; }
+        public long getUnverifiedUsers() { return unverifiedUsers; }
+        public long getRecentSignups() { return recentSignups; }
+
+        public long getCountByRole(String role) {
+            return byRole.getOrDefault(role, 0L);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.ProcessedStripeEvent;
+import com.fundizen.fundizen_backend.repository.ProcessedStripeEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of Stripe events that were already applied.
+ *
+ * Two kinds of keys are recorded: the Stripe event id (catches redeliveries of the
+ * same event) and the payment intent transition (catches different events that
+ * mean the same thing, e.g. payment_intent.succeeded followed by charge.succeeded).
+ * Lookups go to a bounded in-memory LRU first and fall back to a TTL-indexed
+ * Mongo collection, so duplicates are dropped before any donation query runs.
+ */
+@Service
+public class ProcessedStripeEventRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessedStripeEventRegistry.class);
+
+    @Autowired
+    private ProcessedStripeEventRepository processedEventRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${stripe.webhook.registry.lru-size:10000}")
+    private int lruSize;
+
+    private Map<String, Boolean> recentKeys;
+
+    private Counter memoryHits;
+    private Counter mongoHits;
+    private Counter misses;
+
+    @PostConstruct
+    public void init() {
+        final int maxEntries = Math.max(1, lruSize);
+        recentKeys = Collections.synchronizedMap(new LinkedHashMap<String, Boolean>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxEntries;
+            }
+        });
+
+        memoryHits = lookupCounter("memory");
+        mongoHits = lookupCounter("mongo");
+        misses = lookupCounter("miss");
+    }
+
+    public static String eventKey(String eventId) {
+        return "event:" + eventId;
+    }
+
+    public static String transitionKey(String paymentIntentId, String transition) {
+        return "transition:" + paymentIntentId + ":" + transition;
+    }
+
+    /**
+     * Cheap in-memory check used on the webhook request thread
+     */
+    public boolean isRecentlyProcessed(String eventId) {
+        if (recentKeys.containsKey(eventKey(eventId))) {
+            memoryHits.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Whether the event, or the transition it represents, was already applied
+     *
+     * @param transition transition key of the event, or null if the event should only be de-duplicated by id
+     */
+    public boolean isDuplicate(String eventId, String paymentIntentId, String transition) {
+        List<String> keys = keysFor(eventId, paymentIntentId, transition);
+
+        for (String key : keys) {
+            if (recentKeys.containsKey(key)) {
+                memoryHits.increment();
+                return true;
+            }
+        }
+
+        try {
+            List<ProcessedStripeEvent> found = processedEventRepository.findAllById(keys);
+            if (!found.isEmpty()) {
+                found.forEach(marker -> recentKeys.put(marker.getId(), Boolean.TRUE));
+                mongoHits.increment();
+                return true;
+            }
+        } catch (Exception e) {
+            // Fall through - the donation transitions are idempotent on their own
+            logger.warn("Processed event lookup failed for event: {} - Error: {}", eventId, e.getMessage());
+        }
+
+        misses.increment();
+        return false;
+    }
+
+    /**
+     * Record an applied event and its transition
+     */
+    public void recordProcessed(String eventId, String paymentIntentId, String transition) {
+        List<String> keys = keysFor(eventId, paymentIntentId, transition);
+
+        try {
+            BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProcessedStripeEvent.class);
+            for (String key : keys) {
+                // Upsert keeps the first marker when two events race for the same transition
+                bulkOps.upsert(new Query(Criteria.where("id").is(key)),
+                    new Update().setOnInsert("eventId", eventId).setOnInsert("processedAt", LocalDateTime.now()));
+            }
+            bulkOps.execute();
+        } catch (Exception e) {
+            logger.warn("Failed to record processed event: {} - Error: {}", eventId, e.getMessage());
+        }
+
+        keys.forEach(key -> recentKeys.put(key, Boolean.TRUE));
+    }
+
+    private List<String> keysFor(String eventId, String paymentIntentId, String transition) {
+        List<String> keys = new ArrayList<>(2);
+        keys.add(eventKey(eventId));
+        if (paymentIntentId != null && transition != null) {
+            keys.add(transitionKey(paymentIntentId, transition));
+        }
+        return keys;
+    }
+
+    private Counter lookupCounter(String result) {
+        return Counter.builder("stripe.webhook.registry.lookups")
+            .description("Processed Stripe event registry lookups by result")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,318 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.event.DonationStatusChangedEvent;
+import com.fundizen.fundizen_backend.models.Donation;
+import com.fundizen.fundizen_backend.repository.DonationRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The most recent succeeded donations across the platform, kept in a fixed
+ * size in-memory ring buffer so the homepage ticker is served without a query.
+ *
+ * The buffer is seeded from Mongo at startup and then fed by the donation
+ * status events: a success is appended (and pushed to SSE subscribers), a
+ * refund removes the donation again. Each node keeps its own buffer, and
+ * events are only published on the node that processed the webhook, so every
+ * few seconds the donations completed or refunded since the last one seen are
+ * read as well, which picks up (and pushes) donations from other nodes.
+ */
+@Service
+public class RecentDonationFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecentDonationFeed.class);
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${donation.recent.capacity:200}")
+    private int capacity;
+
+    @Value("${donation.recent.max-subscribers:5000}")
+    private int maxSubscribers;
+
+    @Value("${donation.recent.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    @Value("${donation.recent.push-threads:2}")
+    private int pushThreads;
+
+    @Value("${donation.recent.max-pending-events:32}")
+    private int maxPendingEvents;
+
+    // Ring buffer; head is the slot the next donation is written to
+    private RecentDonation[] ring;
+    private int head;
+    private int size;
+
+    // Overlap of each cluster poll, covering clock skew and in-flight writes
+    private static final long CLUSTER_POLL_OVERLAP_SECONDS = 5;
+
+    // Latest completedAt seen from any node, the next cluster poll starts there; older ones come from the seed
+    private volatile LocalDateTime lastCompletedAt = LocalDateTime.now();
+    private volatile LocalDateTime lastRefundPoll = LocalDateTime.now();
+    private volatile boolean catchingUp;
+
+    // Publishing only queues per client, so slow clients cannot stall payment processing
+    private SseBroadcaster broadcaster;
+
+    @PostConstruct
+    public void init() {
+        ring = new RecentDonation[Math.max(1, capacity)];
+        broadcaster = new SseBroadcaster("donation.recent", pushThreads, maxPendingEvents, streamTimeoutMs, meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.shutdown();
+    }
+
+    /**
+     * Fill the buffer with the latest succeeded donations
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        try {
+            List<Donation> latest = donationRepository.findByPaymentStatusOrderByCreatedAtDesc(
+                "succeeded", PageRequest.of(0, ring.length));
+
+            synchronized (this) {
+                // Oldest first, so the newest end up nearest the head; live events may already be in
+                List<RecentDonation> live = snapshot(ring.length, null);
+                clear();
+                for (int i = latest.size() - 1; i >= 0; i--) {
+                    append(RecentDonation.from(latest.get(i)));
+                }
+                for (int i = live.size() - 1; i >= 0; i--) {
+                    if (!contains(live.get(i).getId())) {
+                        append(live.get(i));
+                    }
+                }
+            }
+            logger.info("Seeded recent donations feed with {} donations", latest.size());
+        } catch (Exception e) {
+            logger.error("Error seeding recent donations feed - Error: {}", e.getMessage(), e);
+        }
+    }
+
+    @EventListener
+    @Order(0)
+    public void onDonationStatusChanged(DonationStatusChangedEvent event) {
+        if (event.isSucceeded()) {
+            advanceLastCompleted(event.getDonation().getCompletedAt());
+            RecentDonation recent = RecentDonation.from(event.getDonation());
+            if (add(recent)) {
+                broadcast(recent);
+            }
+        } else if (event.isRefunded()) {
+            remove(event.getDonation().getId());
+        }
+    }
+
+    /**
+     * Pull in donations completed or refunded on other nodes since the last poll
+     */
+    @Scheduled(fixedDelayString = "${donation.recent.cluster-poll-ms:2000}")
+    public void pollCluster() {
+        try {
+            LocalDateTime refundsFrom = lastRefundPoll.minusSeconds(CLUSTER_POLL_OVERLAP_SECONDS);
+            lastRefundPoll = LocalDateTime.now();
+
+            // Oldest first and at most a buffer's worth; a larger backlog is finished by the next polls,
+            // without the overlap so a full page cannot be read again
+            LocalDateTime completedFrom = catchingUp
+                ? lastCompletedAt : lastCompletedAt.minusSeconds(CLUSTER_POLL_OVERLAP_SECONDS);
+            List<Donation> completed = donationRepository.findByPaymentStatusAndCompletedAtGreaterThanEqualOrderByCompletedAtAsc(
+                "succeeded", completedFrom, PageRequest.of(0, ring.length));
+            catchingUp = completed.size() == ring.length;
+            for (Donation donation : completed) {
+                RecentDonation recent = RecentDonation.from(donation);
+                if (add(recent)) {
+                    broadcast(recent);
+                }
+                advanceLastCompleted(donation.getCompletedAt());
+            }
+
+            for (Donation donation : donationRepository.findByPaymentStatusAndRefundedAtGreaterThanEqual("refunded", refundsFrom)) {
+                remove(donation.getId());
+            }
+        } catch (Exception e) {
+            logger.error("Error polling recent donations from the cluster - Error: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Newest first, at most limit donations created after since (null for no cut-off)
+     */
+    public synchronized List<RecentDonation> getRecent(int limit, LocalDateTime since) {
+        return snapshot(Math.min(Math.max(limit, 0), ring.length), since);
+    }
+
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /**
+     * Register an SSE client; it receives a "donation" event for every new succeeded donation
+     */
+    public SseEmitter subscribe() {
+        if (broadcaster.getSubscriberCount() >= maxSubscribers) {
+            throw new IllegalStateException("Too many recent donation subscribers");
+        }
+        return broadcaster.subscribe(List.of()).getEmitter();
+    }
+
+    @Scheduled(fixedRateString = "${donation.recent.heartbeat-ms:30000}")
+    public void heartbeat() {
+        broadcaster.heartbeat();
+    }
+
+    private void broadcast(RecentDonation recent) {
+        broadcaster.publishToAll(SseEmitter.event()
+            .name("donation")
+            .id(recent.getId())
+            .data(recent.toPublicMap(), MediaType.APPLICATION_JSON));
+    }
+
+    private synchronized boolean add(RecentDonation recent) {
+        if (contains(recent.getId())) {
+            return false;
+        }
+        append(recent);
+        return true;
+    }
+
+    private synchronized void advanceLastCompleted(LocalDateTime completedAt) {
+        if (completedAt != null && completedAt.isAfter(lastCompletedAt)) {
+            lastCompletedAt = completedAt;
+        }
+    }
+
+    private synchronized void remove(String donationId) {
+        if (!contains(donationId)) {
+            return;
+        }
+        List<RecentDonation> kept = snapshot(ring.length, null);
+        kept.removeIf(recent -> recent.getId().equals(donationId));
+        clear();
+        for (int i = kept.size() - 1; i >= 0; i--) {
+            append(kept.get(i));
+        }
+    }
+
+    // Callers hold the monitor
+
+    private void append(RecentDonation recent) {
+        ring[head] = recent;
+        head = (head + 1) % ring.length;
+        size = Math.min(size + 1, ring.length);
+    }
+
+    private boolean contains(String donationId) {
+        for (int i = 0; i < size; i++) {
+            RecentDonation recent = ring[Math.floorMod(head - 1 - i, ring.length)];
+            if (recent.getId().equals(donationId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<RecentDonation> snapshot(int limit, LocalDateTime since) {
+        List<RecentDonation> result = new ArrayList<>(Math.min(limit, size));
+        for (int i = 0; i < size && result.size() < limit; i++) {
+            RecentDonation recent = ring[Math.floorMod(head - 1 - i, ring.length)];
+            if (since == null || recent.getCreatedAt() == null || !recent.getCreatedAt().isBefore(since)) {
+                result.add(recent);
+            }
+        }
+        return result;
+    }
+
+    private void clear() {
+        Arrays.fill(ring, null);
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Immutable public view of a donation, safe to share between requests
+     */
+    public static class RecentDonation {
+        private final String id;
+        private final String campaignId;
+        private final String donorName;
+        private final Double amount;
+        private final String currency;
+        private final String message;
+        private final boolean anonymous;
+        private final LocalDateTime createdAt;
+
+        private RecentDonation(String id, String campaignId, String donorName, Double amount, String currency,
+                               String message, boolean anonymous, LocalDateTime createdAt) {
+            this.id = id;
+            this.campaignId = campaignId;
+            this.donorName = donorName;
+            this.amount = amount;
+            this.currency = currency;
+            this.message = message;
+            this.anonymous = anonymous;
+            this.createdAt = createdAt;
+        }
+
+        static RecentDonation from(Donation donation) {
+            return new RecentDonation(donation.getId(), donation.getCampaignId(), donation.getDisplayName(),
+                donation.getAmount(), donation.getCurrency(), donation.getMessage(), donation.isAnonymous(),
+                donation.getCreatedAt());
+        }
+
+        public Map<String, Object> toPublicMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("id", id);
+            map.put("campaignId", campaignId);
+            map.put("donorName", donorName);
+            map.put("amount", amount);
+            map.put("currency", currency);
+            map.put("message", message != null ? message : "");
+            map.put("createdAt", createdAt);
+            map.put("isAnonymous", anonymous);
+            return map;
+        }
+
+        // Getters
+        public String getId() { return id; }
+        public String getCampaignId() { return campaignId; }
+        public String getDonorName() { return donorName; }
+        public Double getAmount() { return amount; }
+        public String getCurrency() { return currency; }
+        public String getMessage() { return message; }
+        public boolean isAnonymous() { return anonymous; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+    }
+}
@@ -0,0 +1,156 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.config.StripeResilienceProperties;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.StripeException;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs Stripe API calls off the request thread, on a dedicated bounded
+ * bulkhead, with a per-operation time limit and behind a circuit breaker.
+ *
+ * A Stripe slowdown therefore only occupies the bulkhead threads: once they
+ * and their queue are busy, or the breaker has opened, callers fail fast with
+ * StripeUnavailableException instead of piling up request threads.
+ */
+@Service
+public class ResilientStripeClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResilientStripeClient.class);
+
+    public static final String CREATE_PAYMENT_INTENT = "create-payment-intent";
+    public static final String CREATE_CHECKOUT_SESSION = "create-checkout-session";
+    public static final String RETRIEVE_PAYMENT_INTENT = "retrieve-payment-intent";
+    public static final String CANCEL_PAYMENT_INTENT = "cancel-payment-intent";
+    public static final String CREATE_REFUND = "create-refund";
+
+    private static final long BUSY_RETRY_AFTER_SECONDS = 2;
+
+    @FunctionalInterface
+    public interface StripeCall<T> {
+        T execute() throws StripeException;
+    }
+
+    @Autowired
+    private CircuitBreaker stripeCircuitBreaker;
+
+    @Autowired
+    private ThreadPoolBulkhead stripeBulkhead;
+
+    @Autowired
+    private StripeResilienceProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Start a Stripe call. The future fails with StripeUnavailableException when
+     * Stripe is unreachable, or with the call's own StripeException otherwise.
+     */
+    public <T> CompletableFuture<T> submit(String operation, StripeCall<T> call) {
+        long startedAt = System.nanoTime();
+        long timeoutMillis = properties.timeoutFor(operation).toMillis();
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            stripeCircuitBreaker.executeCompletionStage(() -> stripeBulkhead.executeSupplier(() -> {
+                    try {
+                        return call.execute();
+                    } catch (StripeException e) {
+                        throw new CompletionException(e);
+                    }
+                })
+                .toCompletableFuture()
+                // Does not interrupt the SDK call; the read timeout bounds how long it keeps its thread
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS))
+                .whenComplete((value, error) -> {
+                    if (error == null) {
+                        record(operation, "success", startedAt);
+                        result.complete(value);
+                    } else {
+                        result.completeExceptionally(translate(operation, unwrap(error), startedAt));
+                    }
+                });
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            result.completeExceptionally(translate(operation, e, startedAt));
+        }
+        return result;
+    }
+
+    /**
+     * Run a Stripe call and wait for it, for callers that are not on a request thread
+     */
+    public <T> T execute(String operation, StripeCall<T> call) throws StripeException {
+        try {
+            return submit(operation, call).join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof StripeException) {
+                throw (StripeException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+
+    public static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private Throwable translate(String operation, Throwable error, long startedAt) {
+        if (error instanceof CallNotPermittedException) {
+            record(operation, "circuit_open", startedAt);
+            long retryAfter = Math.max(1, properties.getCircuitBreaker().getWaitInOpenState().getSeconds());
+            logger.warn("Stripe circuit breaker is open - rejecting {}", operation);
+            return new StripeUnavailableException("Payment provider is temporarily unavailable", retryAfter, error);
+        }
+        if (error instanceof BulkheadFullException) {
+            record(operation, "rejected", startedAt);
+            logger.warn("Stripe bulkhead is full - rejecting {}", operation);
+            return new StripeUnavailableException("Payment provider is busy", BUSY_RETRY_AFTER_SECONDS, error);
+        }
+        if (error instanceof TimeoutException) {
+            record(operation, "timeout", startedAt);
+            logger.warn("Stripe {} timed out after {}", operation, properties.timeoutFor(operation));
+            return new StripeUnavailableException("Payment provider did not respond in time", BUSY_RETRY_AFTER_SECONDS, error);
+        }
+        if (error instanceof ApiConnectionException) {
+            record(operation, "connection_error", startedAt);
+            return new StripeUnavailableException("Payment provider could not be reached", BUSY_RETRY_AFTER_SECONDS, error);
+        }
+        record(operation, "error", startedAt);
+        return error;
+    }
+
+    private void record(String operation, String outcome, long startedAt) {
+        Timer.builder("stripe.call")
+            .description("Stripe API calls through the resilient client")
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+}
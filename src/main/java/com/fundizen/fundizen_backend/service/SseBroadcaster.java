@@ -0,0 +1,310 @@
+package com.fundizen.fundizen_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Server-sent event fan-out shared by the streaming services: keeps the
+ * connected clients and the topics each one watches, and delivers events,
+ * keep-alive comments and completion to them.
+ *
+ * Publishing never writes to a socket. Every client has its own bounded
+ * queue of pending events, drained by at most one task at a time on a small
+ * pool of push threads, so a client's events stay in order and a slow client
+ * ties up one push thread at most. A client whose queue is full has fallen
+ * too far behind and is disconnected instead of delaying the others.
+ *
+ * Metrics are registered under the given name: name.subscribers,
+ * name.pushed (events delivered) and name.dropped (clients disconnected for
+ * falling behind).
+ */
+public class SseBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(SseBroadcaster.class);
+
+    // Queued in place of an event to end the stream once everything before it was sent
+    private static final Pending COMPLETE = new Pending(null, false);
+
+    private final String name;
+    private final long streamTimeoutMs;
+    private final int maxPendingEvents;
+
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<Client>> topics = new ConcurrentHashMap<>();
+
+    // At most one drain task per client is queued, so the queue is bounded by the subscriber limits
+    private final ThreadPoolExecutor pushExecutor;
+    private final Counter pushedCounter;
+    private final Counter droppedCounter;
+
+    private volatile Consumer<String> topicClosedListener = topic -> { };
+
+    public SseBroadcaster(String name, int pushThreads, int maxPendingEvents, long streamTimeoutMs,
+                          MeterRegistry meterRegistry) {
+        this.name = name;
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.maxPendingEvents = Math.max(1, maxPendingEvents);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        String threadPrefix = name.replace('.', '-') + "-push-";
+        this.pushExecutor = new ThreadPoolExecutor(Math.max(1, pushThreads), Math.max(1, pushThreads),
+            0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, threadPrefix + threadCount.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        Gauge.builder(name + ".subscribers", clients, Set::size)
+            .description("Clients connected to the " + name + " stream")
+            .register(meterRegistry);
+        this.pushedCounter = Counter.builder(name + ".pushed")
+            .description("Events delivered to " + name + " clients")
+            .register(meterRegistry);
+        this.droppedCounter = Counter.builder(name + ".dropped")
+            .description("Clients disconnected for falling behind the " + name + " stream")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Called with a topic once its last client is gone
+     */
+    public void onTopicClosed(Consumer<String> listener) {
+        this.topicClosedListener = listener;
+    }
+
+    /**
+     * Register a client for the given topics (none for a client that only gets publishToAll)
+     */
+    public Client subscribe(Collection<String> topicIds) {
+        return subscribe(topicIds, new SseEmitter(streamTimeoutMs));
+    }
+
+    Client subscribe(Collection<String> topicIds, SseEmitter emitter) {
+        Client client = new Client(emitter, Set.copyOf(topicIds));
+        emitter.onCompletion(() -> remove(client));
+        emitter.onTimeout(() -> remove(client));
+        emitter.onError(error -> remove(client));
+
+        clients.add(client);
+        for (String topic : client.topics) {
+            topics.computeIfAbsent(topic, key -> ConcurrentHashMap.newKeySet()).add(client);
+        }
+        return client;
+    }
+
+    /**
+     * Queue an event for every client watching the topic
+     */
+    public void publish(String topic, SseEmitter.SseEventBuilder event) {
+        Set<Client> watching = topics.get(topic);
+        if (watching == null || watching.isEmpty()) {
+            return;
+        }
+        // Encoded once and shared by every client
+        Pending pending = new Pending(event.build(), true);
+        for (Client client : watching) {
+            client.offer(pending);
+        }
+    }
+
+    /**
+     * Queue an event for every connected client
+     */
+    public void publishToAll(SseEmitter.SseEventBuilder event) {
+        if (!clients.isEmpty()) {
+            offerAll(new Pending(event.build(), true));
+        }
+    }
+
+    /**
+     * End the streams of the topic's clients once their queued events were sent
+     */
+    public void complete(String topic) {
+        Set<Client> watching = topics.get(topic);
+        if (watching != null) {
+            for (Client client : watching) {
+                client.complete();
+            }
+        }
+    }
+
+    /**
+     * Comment line keeps idle connections open through proxies and drops clients that went away
+     */
+    public void heartbeat() {
+        if (!clients.isEmpty()) {
+            offerAll(new Pending(SseEmitter.event().comment("keep-alive").build(), false));
+        }
+    }
+
+    public Set<String> getTopics() {
+        return topics.keySet();
+    }
+
+    public boolean isWatched(String topic) {
+        return topics.containsKey(topic);
+    }
+
+    public int getSubscriberCount() {
+        return clients.size();
+    }
+
+    public void shutdown() {
+        pushExecutor.shutdownNow();
+        for (Client client : clients) {
+            client.emitter.complete();
+        }
+    }
+
+    private void offerAll(Pending pending) {
+        for (Client client : clients) {
+            client.offer(pending);
+        }
+    }
+
+    private void remove(Client client) {
+        if (!clients.remove(client)) {
+            return;
+        }
+        for (String topic : client.topics) {
+            boolean[] closed = new boolean[1];
+            topics.computeIfPresent(topic, (key, watching) -> {
+                watching.remove(client);
+                closed[0] = watching.isEmpty();
+                return closed[0] ? null : watching;
+            });
+            if (closed[0]) {
+                topicClosedListener.accept(topic);
+            }
+        }
+    }
+
+    /**
+     * One connected client and its queue of events still to be sent
+     */
+    public final class Client {
+        private final SseEmitter emitter;
+        private final Set<String> topics;
+
+        // Guarded by this
+        private final Deque<Pending> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        private Client(SseEmitter emitter, Set<String> topics) {
+            this.emitter = emitter;
+            this.topics = topics;
+        }
+
+        public SseEmitter getEmitter() {
+            return emitter;
+        }
+
+        /**
+         * Queue an event for this client only, e.g. the current state right after subscribing
+         */
+        public void send(SseEmitter.SseEventBuilder event) {
+            offer(new Pending(event.build(), true));
+        }
+
+        public void complete() {
+            offer(COMPLETE);
+        }
+
+        private void offer(Pending next) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (pending.size() >= maxPendingEvents) {
+                    // Too far behind; what it still has queued is dropped with it
+                    pending.clear();
+                    pending.add(COMPLETE);
+                    closed = true;
+                    droppedCounter.increment();
+                    logger.debug("Disconnecting {} client that fell {} events behind", name, maxPendingEvents);
+                } else {
+                    pending.add(next);
+                    if (next == COMPLETE) {
+                        closed = true;
+                    }
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            try {
+                pushExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; shutdown() completes the emitter
+                synchronized (this) {
+                    draining = false;
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Pending next;
+                synchronized (this) {
+                    next = pending.poll();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                if (next == COMPLETE) {
+                    remove(this);
+                    emitter.complete();
+                    continue;
+                }
+                try {
+                    emitter.send(next.data);
+                    if (next.counted) {
+                        pushedCounter.increment();
+                    }
+                } catch (Exception e) {
+                    // Client disconnected
+                    synchronized (this) {
+                        pending.clear();
+                        closed = true;
+                    }
+                    remove(this);
+                    emitter.completeWithError(e);
+                }
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final Set<ResponseBodyEmitter.DataWithMediaType> data;
+        private final boolean counted;
+
+        Pending(Set<ResponseBodyEmitter.DataWithMediaType> data, boolean counted) {
+            this.data = data;
+            this.counted = counted;
+        }
+    }
+}
@@ -6,11 +6,16 @@ import com.stripe.model.*;
 import com.stripe.model.checkout.Session;
 import com.stripe.param.*;
 import com.stripe.param.checkout.SessionCreateParams;
+import com.fundizen.fundizen_backend.config.StripeResilienceProperties;
+import com.stripe.net.ApiResource;
+import com.stripe.net.LiveStripeResponseGetter;
+import com.stripe.net.RequestOptions;
 import com.stripe.net.Webhook;
 
 import io.github.cdimascio.dotenv.Dotenv;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
@@ -31,8 +36,25 @@ public class StripeService {
     private static final double STRIPE_FIXED_FEE = 1.50; // RM 1.50 fixed fee
     private static final double PLATFORM_FEE_PERCENTAGE = 0.05; // 5% platform fee (optional)
 
+    @Autowired
+    private StripeResilienceProperties resilienceProperties;
+
     @PostConstruct
     public void init() {
+        // Socket timeouts bound how long a call can hold a bulkhead thread (see ResilientStripeClient)
+        Stripe.setConnectTimeout((int) resilienceProperties.getConnectTimeout().toMillis());
+        Stripe.setReadTimeout((int) resilienceProperties.getReadTimeout().toMillis());
+
+        StripeResilienceProperties.Stub stub = resilienceProperties.getStub();
+        if (stub.isEnabled()) {
+            // Offline mode - every Stripe call is answered in-process
+            ApiResource.setStripeResponseGetter(new LiveStripeResponseGetter(new StripeStubHttpClient(stub)));
+            Stripe.apiKey = "sk_test_stub";
+            logger.warn("Stripe stub enabled (latency: {}, jitter: {}, failure rate: {}) - no real payments are made",
+                       stub.getLatency(), stub.getLatencyJitter(), stub.getFailureRate());
+            return;
+        }
+
         // Initialize Stripe with API key
         String stripeSecretKey = getStripeApiKey();
         if (stripeSecretKey == null || stripeSecretKey.trim().isEmpty()) {
@@ -230,8 +252,9 @@ public class StripeService {
                     .setPaymentIntent(paymentIntentId);
             
             // If refund amount is specified, convert to cents
+            Long refundInCents = null;
             if (refundAmount != null) {
-                long refundInCents = convertToStripeAmount(refundAmount, "MYR");
+                refundInCents = convertToStripeAmount(refundAmount, "MYR");
                 paramsBuilder.setAmount(refundInCents);
             }
             
@@ -247,7 +270,12 @@ public class StripeService {
             }
             
             RefundCreateParams params = paramsBuilder.build();
-            Refund refund = Refund.create(params);
+
+            // A retry after a timed-out attempt must not refund the payment twice
+            RequestOptions options = RequestOptions.builder()
+                    .setIdempotencyKey(refundIdempotencyKey(paymentIntentId, refundInCents, params.getReason()))
+                    .build();
+            Refund refund = Refund.create(params, options);
             
             logger.info("Refund created successfully: {} for payment intent: {}", refund.getId(), paymentIntentId);
             
@@ -259,6 +287,17 @@ public class StripeService {
         }
     }
 
+    /**
+     * Stripe rejects a key reused with different parameters (for 24h), so the
+     * key covers the amount and reason: an identical retry is de-duplicated,
+     * a corrected partial refund is a new request
+     */
+    static String refundIdempotencyKey(String paymentIntentId, Long amountInCents, RefundCreateParams.Reason reason) {
+        return "refund-" + paymentIntentId
+                + "-" + (amountInCents != null ? amountInCents : "full")
+                + (reason != null ? "-" + reason.getValue() : "");
+    }
+
     /**
      * Retrieve refund information
      */
@@ -0,0 +1,144 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fundizen.fundizen_backend.config.StripeResilienceProperties;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.StripeException;
+import com.stripe.net.ApiResource;
+import com.stripe.net.HttpClient;
+import com.stripe.net.HttpHeaders;
+import com.stripe.net.StripeRequest;
+import com.stripe.net.StripeResponse;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process stand-in for the Stripe API, installed by StripeService when
+ * stripe.resilience.stub.enabled is set. Answers the calls made on the
+ * donation path with minimal objects, after an injected latency and with an
+ * injected rate of Stripe 500 errors, so timeouts, the bulkhead and the
+ * circuit breaker can be exercised offline.
+ */
+class StripeStubHttpClient extends HttpClient {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final StripeResilienceProperties.Stub settings;
+
+    StripeStubHttpClient(StripeResilienceProperties.Stub settings) {
+        this.settings = settings;
+    }
+
+    @Override
+    public StripeResponse request(StripeRequest request) throws StripeException {
+        injectLatency();
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (settings.getFailureRate() > 0 && random.nextDouble() < settings.getFailureRate()) {
+            return response(500, Map.of("error", Map.of(
+                "type", "api_error",
+                "message", "Injected failure from the Stripe stub"
+            )));
+        }
+
+        String path = request.url().getPath();
+        boolean post = request.method() == ApiResource.RequestMethod.POST;
+        Map<String, Object> params = request.params() != null ? request.params() : Map.of();
+
+        if (post && path.equals("/v1/payment_intents")) {
+            return response(200, paymentIntent(newId("pi"), params, "requires_payment_method"));
+        }
+        if (path.startsWith("/v1/payment_intents/")) {
+            String[] segments = path.substring("/v1/payment_intents/".length()).split("/");
+            String id = segments[0];
+            if (!post) {
+                return response(200, paymentIntent(id, params, "requires_payment_method"));
+            }
+            if (segments.length > 1 && segments[1].equals("cancel")) {
+                return response(200, paymentIntent(id, params, "canceled"));
+            }
+            if (segments.length > 1 && segments[1].equals("confirm")) {
+                return response(200, paymentIntent(id, params, "succeeded"));
+            }
+        }
+        if (post && path.equals("/v1/refunds")) {
+            Map<String, Object> refund = base(newId("re"), "refund");
+            refund.put("payment_intent", params.get("payment_intent"));
+            refund.put("amount", params.get("amount"));
+            refund.put("status", "succeeded");
+            return response(200, refund);
+        }
+        if (post && path.equals("/v1/checkout/sessions")) {
+            String id = newId("cs_test");
+            Map<String, Object> session = base(id, "checkout.session");
+            session.put("mode", "payment");
+            session.put("status", "open");
+            session.put("url", "https://checkout.stripe.com/c/pay/" + id);
+            return response(200, session);
+        }
+
+        return response(404, Map.of("error", Map.of(
+            "type", "invalid_request_error",
+            "message", "The Stripe stub does not handle " + request.method() + " " + path
+        )));
+    }
+
+    private void injectLatency() throws StripeException {
+        long latencyMillis = settings.getLatency().toMillis();
+        long jitterMillis = settings.getLatencyJitter().toMillis();
+        if (jitterMillis > 0) {
+            latencyMillis += ThreadLocalRandom.current().nextLong(jitterMillis + 1);
+        }
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiConnectionException("Stripe stub call interrupted", e);
+        }
+    }
+
+    private Map<String, Object> paymentIntent(String id, Map<String, Object> params, String status) {
+        Map<String, Object> paymentIntent = base(id, "payment_intent");
+        paymentIntent.put("amount", params.get("amount"));
+        paymentIntent.put("currency", params.get("currency"));
+        paymentIntent.put("metadata", params.getOrDefault("metadata", Map.of()));
+        paymentIntent.put("receipt_email", params.get("receipt_email"));
+        paymentIntent.put("client_secret", id + "_secret_stub");
+        paymentIntent.put("status", status);
+        return paymentIntent;
+    }
+
+    private Map<String, Object> base(String id, String object) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", id);
+        body.put("object", object);
+        body.put("created", Instant.now().getEpochSecond());
+        body.put("livemode", false);
+        return body;
+    }
+
+    private String newId(String prefix) {
+        return prefix + "_stub" + UUID.randomUUID().toString().replace("-", "").substring(0, 20);
+    }
+
+    private StripeResponse response(int status, Map<String, Object> body) throws StripeException {
+        try {
+            HttpHeaders headers = HttpHeaders.of(Map.of(
+                "Content-Type", List.of("application/json"),
+                "Request-Id", List.of(newId("req"))
+            ));
+            return new StripeResponse(status, headers, objectMapper.writeValueAsString(body));
+        } catch (JsonProcessingException e) {
+            throw new ApiConnectionException("Stripe stub could not encode its response", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.fundizen.fundizen_backend.service;
+
+/**
+ * Stripe could not be reached in time: the call timed out, the Stripe
+ * bulkhead was full or the circuit breaker is open. The request did not
+ * reach a decision at Stripe (or its answer was lost) and can be retried
+ * after getRetryAfterSeconds().
+ */
+public class StripeUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public StripeUnavailableException(String message, long retryAfterSeconds, Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,482 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.StripeWebhookEvent;
+import com.fundizen.fundizen_backend.repository.StripeWebhookEventRepository;
+import com.stripe.model.Charge;
+import com.stripe.model.Event;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.StripeObject;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Durable inbox for Stripe webhooks.
+ *
+ * The webhook endpoint only verifies and inserts the event, then returns. A fixed
+ * set of single-threaded worker lanes drains the inbox; events are routed to a
+ * lane by PaymentIntent id, so events of one intent are applied one at a time in
+ * arrival order. Events that cannot be handed to a lane right away (lanes full,
+ * node restarted, processing failed) stay in Mongo and are picked up by the
+ * scheduled drain with exponential backoff.
+ *
+ * Each claim carries a fresh claim token. Before processing, a worker renews
+ * its claim (owner, token, unexpired lease), so an event whose lease ran out
+ * while it waited in a lane is skipped there and runs only under its new claim.
+ */
+@Service
+public class StripeWebhookInboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StripeWebhookInboxService.class);
+
+    private static final Set<String> HANDLED_EVENT_TYPES = Set.of(
+        "payment_intent.succeeded",
+        "payment_intent.payment_failed",
+        "payment_intent.canceled",
+        "charge.succeeded"
+    );
+
+    private static final List<String> UNFINISHED_STATUSES = Arrays.asList(
+        StripeWebhookEvent.STATUS_PENDING, StripeWebhookEvent.STATUS_PROCESSING);
+
+    @Autowired
+    private StripeWebhookEventRepository webhookEventRepository;
+
+    @Autowired
+    private DonationService donationService;
+
+    @Autowired
+    private ProcessedStripeEventRegistry processedEventRegistry;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${stripe.webhook.inbox.workers:4}")
+    private int workerCount;
+
+    @Value("${stripe.webhook.inbox.worker-queue-capacity:250}")
+    private int workerQueueCapacity;
+
+    @Value("${stripe.webhook.inbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${stripe.webhook.inbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${stripe.webhook.inbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName() + "-" +
+                                  UUID.randomUUID().toString().substring(0, 8);
+
+    private ThreadPoolExecutor[] lanes;
+
+    // Refreshed by the scheduled drain so metric scrapes never hit Mongo
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong oldestPendingAgeMs = new AtomicLong();
+
+    private Timer processingLag;
+    private Counter processedCounter;
+    private Counter retriedCounter;
+    private Counter deadLetterCounter;
+    private Counter duplicateCounter;
+
+    @PostConstruct
+    public void init() {
+        lanes = new ThreadPoolExecutor[Math.max(1, workerCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            String threadName = "stripe-webhook-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, workerQueueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, threadName);
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        }
+
+        Gauge.builder("stripe.webhook.inbox.depth", pendingEvents, AtomicLong::get)
+            .description("Webhook events waiting in the Mongo inbox")
+            .register(meterRegistry);
+        Gauge.builder("stripe.webhook.inbox.oldest.age", oldestPendingAgeMs, value -> value.get() / 1000.0)
+            .description("Age in seconds of the oldest unprocessed webhook event")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("stripe.webhook.inbox.worker.queue", this, StripeWebhookInboxService::getWorkerQueueSize)
+            .description("Webhook events handed to worker lanes but not yet started")
+            .register(meterRegistry);
+
+        processingLag = Timer.builder("stripe.webhook.inbox.lag")
+            .description("Time from webhook receipt to successful processing")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        processedCounter = outcomeCounter("processed");
+        retriedCounter = outcomeCounter("retried");
+        deadLetterCounter = outcomeCounter("dead_letter");
+        duplicateCounter = outcomeCounter("duplicate");
+
+        logger.info("Stripe webhook inbox started with {} worker lanes on node {}", lanes.length, nodeId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (lanes == null) {
+            return;
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        try {
+            for (ThreadPoolExecutor lane : lanes) {
+                lane.awaitTermination(10, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Anything claimed but not finished is released when the lease expires
+    }
+
+    /**
+     * Durably enqueue a verified Stripe event.
+     *
+     * @return false if the event type is not handled or the event was already received
+     */
+    public boolean enqueue(Event event) {
+        if (!HANDLED_EVENT_TYPES.contains(event.getType())) {
+            logger.debug("Unhandled webhook event type: {}", event.getType());
+            return false;
+        }
+
+        if (processedEventRegistry.isRecentlyProcessed(event.getId())) {
+            duplicateCounter.increment();
+            logger.debug("Webhook event already processed: {}", event.getId());
+            return false;
+        }
+
+        StripeWebhookEvent inboxEvent = toInboxEvent(event);
+        if (inboxEvent == null) {
+            logger.warn("Could not deserialize webhook event: {} - {}", event.getType(), event.getId());
+            return false;
+        }
+
+        try {
+            webhookEventRepository.insert(inboxEvent);
+        } catch (DuplicateKeyException e) {
+            duplicateCounter.increment();
+            logger.debug("Webhook event already received: {}", event.getId());
+            return false;
+        }
+        pendingEvents.incrementAndGet();
+
+        // Fast path - hand the event to its lane straight away
+        StripeWebhookEvent claimed = tryClaim(inboxEvent.getId());
+        if (claimed != null) {
+            dispatch(claimed);
+        }
+        return true;
+    }
+
+    /**
+     * Drain events that were not dispatched on receipt, are due for retry or whose lease expired
+     */
+    @Scheduled(fixedDelayString = "${stripe.webhook.inbox.poll-interval-ms:1000}")
+    public void drainInbox() {
+        try {
+            releaseExpiredLeases();
+
+            Query query = new Query(Criteria.where("status").is(StripeWebhookEvent.STATUS_PENDING)
+                    .and("nextAttemptAt").lte(LocalDateTime.now()))
+                .with(Sort.by(Sort.Direction.ASC, "receivedAt"))
+                .limit(batchSize);
+            query.fields().include("id");
+
+            for (StripeWebhookEvent candidate : mongoTemplate.find(query, StripeWebhookEvent.class)) {
+                if (getWorkerQueueSize() >= (long) lanes.length * workerQueueCapacity) {
+                    break; // Workers are saturated, leave the rest in the inbox
+                }
+                StripeWebhookEvent claimed = tryClaim(candidate.getId());
+                if (claimed != null) {
+                    dispatch(claimed);
+                }
+            }
+
+            refreshDepthMetrics();
+
+        } catch (Exception e) {
+            logger.error("Error draining Stripe webhook inbox - Error: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Claim an event for this node, unless an earlier event of the same PaymentIntent is still unfinished
+     */
+    private StripeWebhookEvent tryClaim(String eventId) {
+        StripeWebhookEvent event = webhookEventRepository.findById(eventId).orElse(null);
+        if (event == null || !StripeWebhookEvent.STATUS_PENDING.equals(event.getStatus())) {
+            return null;
+        }
+
+        if (event.getPaymentIntentId() != null) {
+            Query earlier = new Query(Criteria.where("paymentIntentId").is(event.getPaymentIntentId())
+                .and("id").ne(eventId)
+                .and("status").in(UNFINISHED_STATUSES)
+                .and("receivedAt").lt(event.getReceivedAt()));
+            if (mongoTemplate.exists(earlier, StripeWebhookEvent.class)) {
+                return null; // Keeps per-intent ordering - the earlier event goes first
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Query claim = new Query(Criteria.where("id").is(eventId)
+            .and("status").is(StripeWebhookEvent.STATUS_PENDING)
+            .and("nextAttemptAt").lte(now));
+        Update update = new Update()
+            .set("status", StripeWebhookEvent.STATUS_PROCESSING)
+            .set("lockedBy", nodeId)
+            .set("lockedUntil", now.plusSeconds(leaseSeconds))
+            .set("claimToken", UUID.randomUUID().toString())
+            .inc("attempts", 1);
+
+        return mongoTemplate.findAndModify(claim, update,
+            FindAndModifyOptions.options().returnNew(true), StripeWebhookEvent.class);
+    }
+
+    private void dispatch(StripeWebhookEvent event) {
+        String orderingKey = event.getPaymentIntentId() != null ? event.getPaymentIntentId() : event.getId();
+        ThreadPoolExecutor lane = lanes[Math.floorMod(orderingKey.hashCode(), lanes.length)];
+        try {
+            lane.execute(() -> process(event));
+        } catch (RejectedExecutionException e) {
+            // Lane is full - give the claim back, the drain will retry shortly
+            Update release = new Update()
+                .set("status", StripeWebhookEvent.STATUS_PENDING)
+                .unset("lockedBy")
+                .unset("lockedUntil")
+                .inc("attempts", -1);
+            mongoTemplate.updateFirst(ownedBy(event), release, StripeWebhookEvent.class);
+            logger.debug("Worker lane full, webhook event {} left in inbox", event.getId());
+        }
+    }
+
+    private void process(StripeWebhookEvent event) {
+        // The event may have waited in the lane past its lease and been claimed again elsewhere
+        if (!renewClaim(event)) {
+            logger.debug("Webhook event {} no longer claimed by this worker, skipping", event.getId());
+            return;
+        }
+
+        try {
+            String transition = transitionOf(event);
+            if (processedEventRegistry.isDuplicate(event.getId(), event.getPaymentIntentId(), transition)) {
+                completeDuplicate(event);
+                return;
+            }
+
+            switch (event.getType()) {
+                case "payment_intent.succeeded":
+                case "charge.succeeded":
+                    donationService.processSuccessfulPayment(event.getPaymentIntentId(), event.getChargeId());
+                    break;
+                case "payment_intent.payment_failed":
+                case "payment_intent.canceled":
+                    donationService.processFailedPayment(event.getPaymentIntentId(), event.getFailureReason());
+                    break;
+                default:
+                    logger.debug("Unhandled webhook event type: {}", event.getType());
+            }
+            processedEventRegistry.recordProcessed(event.getId(), event.getPaymentIntentId(), transition);
+
+            LocalDateTime now = LocalDateTime.now();
+            Update done = new Update()
+                .set("status", StripeWebhookEvent.STATUS_PROCESSED)
+                .set("processedAt", now)
+                .unset("lockedBy")
+                .unset("lockedUntil")
+                .unset("lastError");
+            mongoTemplate.updateFirst(ownedBy(event), done, StripeWebhookEvent.class);
+
+            processedCounter.increment();
+            processingLag.record(Duration.between(event.getReceivedAt(), now));
+            logger.debug("Processed webhook event: {} - {}", event.getType(), event.getId());
+
+        } catch (Exception e) {
+            scheduleRetry(event, e);
+        }
+    }
+
+    private void completeDuplicate(StripeWebhookEvent event) {
+        Update done = new Update()
+            .set("status", StripeWebhookEvent.STATUS_PROCESSED)
+            .set("processedAt", LocalDateTime.now())
+            .set("lastError", "duplicate")
+            .unset("lockedBy")
+            .unset("lockedUntil");
+        mongoTemplate.updateFirst(ownedBy(event), done, StripeWebhookEvent.class);
+
+        duplicateCounter.increment();
+        logger.debug("Skipped duplicate webhook event: {} - {} ({})",
+                    event.getType(), event.getId(), event.getPaymentIntentId());
+    }
+
+    /**
+     * Payment intent transition applied by an event, used to drop events that repeat an earlier one.
+     * A success without a charge id is left open so a later charge.succeeded can still attach the charge.
+     */
+    private String transitionOf(StripeWebhookEvent event) {
+        switch (event.getType()) {
+            case "payment_intent.succeeded":
+            case "charge.succeeded":
+                return event.getChargeId() != null ? "succeeded" : null;
+            case "payment_intent.payment_failed":
+            case "payment_intent.canceled":
+                return "failed";
+            default:
+                return null;
+        }
+    }
+
+    private void scheduleRetry(StripeWebhookEvent event, Exception error) {
+        boolean exhausted = event.getAttempts() >= maxAttempts;
+        Update update = new Update()
+            .set("lastError", error.getMessage())
+            .unset("lockedBy")
+            .unset("lockedUntil");
+
+        if (exhausted) {
+            update.set("status", StripeWebhookEvent.STATUS_FAILED);
+            deadLetterCounter.increment();
+            logger.error("Giving up on webhook event {} ({}) after {} attempts - Error: {}",
+                        event.getId(), event.getType(), event.getAttempts(), error.getMessage(), error);
+        } else {
+            // 2s, 4s, 8s ... capped at 10 minutes
+            long backoffSeconds = Math.min(600, 1L << Math.min(event.getAttempts(), 10));
+            update.set("status", StripeWebhookEvent.STATUS_PENDING)
+                  .set("nextAttemptAt", LocalDateTime.now().plusSeconds(backoffSeconds));
+            retriedCounter.increment();
+            logger.warn("Webhook event {} ({}) failed on attempt {}, retrying in {}s - Error: {}",
+                       event.getId(), event.getType(), event.getAttempts(), backoffSeconds, error.getMessage());
+        }
+
+        mongoTemplate.updateFirst(ownedBy(event), update, StripeWebhookEvent.class);
+    }
+
+    private void releaseExpiredLeases() {
+        Query expired = new Query(Criteria.where("status").is(StripeWebhookEvent.STATUS_PROCESSING)
+            .and("lockedUntil").lt(LocalDateTime.now()));
+        Update release = new Update()
+            .set("status", StripeWebhookEvent.STATUS_PENDING)
+            .set("nextAttemptAt", LocalDateTime.now())
+            .unset("lockedBy")
+            .unset("lockedUntil");
+
+        long released = mongoTemplate.updateMulti(expired, release, StripeWebhookEvent.class).getModifiedCount();
+        if (released > 0) {
+            logger.warn("Released {} webhook events with expired leases", released);
+        }
+    }
+
+    private void refreshDepthMetrics() {
+        pendingEvents.set(webhookEventRepository.countByStatus(StripeWebhookEvent.STATUS_PENDING));
+        oldestPendingAgeMs.set(webhookEventRepository
+            .findFirstByStatusOrderByReceivedAtAsc(StripeWebhookEvent.STATUS_PENDING)
+            .map(event -> Duration.between(event.getReceivedAt(), LocalDateTime.now()).toMillis())
+            .orElse(0L));
+    }
+
+    /**
+     * Extend the lease if this claim still holds it and has not expired; false means skip the event
+     */
+    private boolean renewClaim(StripeWebhookEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        Query stillHeld = ownedBy(event).addCriteria(Criteria.where("lockedUntil").gt(now));
+        Update renew = new Update().set("lockedUntil", now.plusSeconds(leaseSeconds));
+        return mongoTemplate.updateFirst(stillHeld, renew, StripeWebhookEvent.class).getModifiedCount() > 0;
+    }
+
+    private Query ownedBy(StripeWebhookEvent event) {
+        return new Query(Criteria.where("id").is(event.getId())
+            .and("status").is(StripeWebhookEvent.STATUS_PROCESSING)
+            .and("lockedBy").is(nodeId)
+            .and("claimToken").is(event.getClaimToken()));
+    }
+
+    private StripeWebhookEvent toInboxEvent(Event event) {
+        StripeObject object = event.getDataObjectDeserializer().getObject().orElse(null);
+        StripeWebhookEvent inboxEvent;
+
+        if (object instanceof PaymentIntent) {
+            PaymentIntent paymentIntent = (PaymentIntent) object;
+            inboxEvent = new StripeWebhookEvent(event.getId(), event.getType(), paymentIntent.getId());
+            inboxEvent.setChargeId(paymentIntent.getLatestCharge());
+            if ("payment_intent.canceled".equals(event.getType())) {
+                inboxEvent.setFailureReason("Payment canceled");
+            } else if (paymentIntent.getLastPaymentError() != null) {
+                inboxEvent.setFailureReason(paymentIntent.getLastPaymentError().getMessage());
+            } else {
+                inboxEvent.setFailureReason("Unknown error");
+            }
+        } else if (object instanceof Charge) {
+            Charge charge = (Charge) object;
+            if (charge.getPaymentIntent() == null) {
+                return null;
+            }
+            inboxEvent = new StripeWebhookEvent(event.getId(), event.getType(), charge.getPaymentIntent());
+            inboxEvent.setChargeId(charge.getId());
+        } else {
+            return null;
+        }
+
+        inboxEvent.setStripeCreated(event.getCreated());
+        return inboxEvent;
+    }
+
+    private Counter outcomeCounter(String outcome) {
+        return Counter.builder("stripe.webhook.inbox.events")
+            .description("Webhook inbox events by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private long getWorkerQueueSize() {
+        long size = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            size += lane.getQueue().size();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,226 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.event.CampaignChangedEvent;
+import com.fundizen.fundizen_backend.models.Campaign;
+import com.fundizen.fundizen_backend.models.User;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.LookupOperation;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Server-side cleanup and integrity repairs behind AdminService.performSystemCleanup.
+ *
+ * Every step finds the affected ids with an indexed query or an aggregation
+ * ($lookup on _id/creatorId instead of comparing collections in Java), streams
+ * them from a cursor, and applies the fix with one updateMany/deleteMany per
+ * batch of ids. Memory is bounded by the batch size however large the
+ * collections are, and each batch re-checks the condition so documents fixed
+ * concurrently are left alone. Per-document side effects (cache eviction
+ * events, UserResolver invalidation) are applied per batch.
+ *
+ * Every step takes the caller's batch size and a stillLeased check, which is
+ * consulted before each batch; once it returns false the step stops writing
+ * and returns what it did so far. Running the step again finishes the rest.
+ */
+@Service
+public class SystemMaintenanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SystemMaintenanceService.class);
+
+    private static final String SYSTEM_CREATOR = "system";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserResolver userResolver;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Reject campaigns that have been pending since before the cutoff date
+     */
+    public long rejectStalePendingCampaigns(LocalDate createdBefore, int batchSize, BooleanSupplier stillLeased) {
+        Criteria stale = Criteria.where("status").is("pending").and("createdAt").lt(createdBefore.atStartOfDay());
+        Update update = new Update()
+            .set("status", "rejected")
+            .set("rejectionReason", "Automatically rejected due to prolonged pending status (6+ months)")
+            .set("updatedAt", LocalDateTime.now());
+        return updateInBatches(idsOf(stale, Campaign.class, batchSize), stale, update, Campaign.class,
+            this::publishCampaignChanges, batchSize, stillLeased);
+    }
+
+    /**
+     * Hand campaigns whose creator no longer exists to the system user
+     */
+    public long reassignOrphanedCampaigns(int batchSize, BooleanSupplier stillLeased) {
+        // Campaign.creatorId holds the user's _id as a string
+        Aggregation orphans = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("creatorId").ne(SYSTEM_CREATOR)),
+            Aggregation.project("creatorId")
+                .and(ConvertOperators.Convert.convertValueOf("creatorId").to("objectId").onErrorReturn(null).onNullReturn(null))
+                .as("creatorObjectId"),
+            LookupOperation.newLookup().from("users")
+                .localField("creatorObjectId").foreignField("_id").as("creators"),
+            Aggregation.match(Criteria.where("creators").size(0)),
+            Aggregation.project("_id")
+        );
+        Criteria stillOrphaned = Criteria.where("creatorId").ne(SYSTEM_CREATOR);
+        Update update = new Update()
+            .set("creatorId", SYSTEM_CREATOR)
+            .set("updatedAt", LocalDateTime.now());
+        return updateInBatches(aggregateIds(orphans, Campaign.class), stillOrphaned, update, Campaign.class,
+            this::publishCampaignChanges, batchSize, stillLeased);
+    }
+
+    /**
+     * Delete local (non-Firebase) users that never verified, registered before
+     * the cutoff and created no campaigns
+     */
+    public long removeExpiredUnverifiedUsers(LocalDateTime createdBefore, int batchSize, BooleanSupplier stillLeased) {
+        Criteria expired = Criteria.where("verified").is(false)
+            .and("createdAt").lt(createdBefore)
+            .orOperator(Criteria.where("uid").exists(false), Criteria.where("uid").is(null), Criteria.where("uid").is(""));
+
+        // Only the existence of one campaign per user is checked, through the creatorId index
+        Aggregation withoutCampaigns = Aggregation.newAggregation(
+            Aggregation.match(expired),
+            Aggregation.project("_id").and(ConvertOperators.valueOf("_id").convertToString()).as("userId"),
+            LookupOperation.newLookup().from("campaigns")
+                .localField("userId").foreignField("creatorId")
+                .pipeline(Aggregation.limit(1), Aggregation.project("_id"))
+                .as("campaigns"),
+            Aggregation.match(Criteria.where("campaigns").size(0)),
+            Aggregation.project("_id")
+        );
+
+        long removed = 0;
+        try (Stream<Document> stream = aggregateIds(withoutCampaigns, User.class)) {
+            Iterator<Document> ids = stream.iterator();
+            List<Object> batch = new ArrayList<>(batchSize);
+            while (ids.hasNext()) {
+                batch.add(ids.next().get("_id"));
+                if (batch.size() == batchSize || !ids.hasNext()) {
+                    if (!stillLeased.getAsBoolean()) {
+                        logger.warn("Stopping user removal after {} users - lease lost or node stopping", removed);
+                        break;
+                    }
+                    removed += mongoTemplate.remove(
+                        new Query(new Criteria().andOperator(Criteria.where("_id").in(batch), expired)),
+                        User.class).getDeletedCount();
+                    batch.forEach(id -> userResolver.invalidate(id.toString()));
+                    batch.clear();
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Give campaigns without a positive goal a goal of 1
+     */
+    public long fixInvalidGoalAmounts(int batchSize, BooleanSupplier stillLeased) {
+        Criteria invalid = new Criteria().orOperator(
+            Criteria.where("goalAmount").is(null),
+            Criteria.where("goalAmount").lte(0));
+        Update update = new Update().set("goalAmount", 1.0).set("updatedAt", LocalDateTime.now());
+        return updateInBatches(idsOf(invalid, Campaign.class, batchSize), invalid, update, Campaign.class,
+            this::publishCampaignChanges, batchSize, stillLeased);
+    }
+
+    /**
+     * Set a missing raisedAmount to 0
+     */
+    public long fixMissingRaisedAmounts(int batchSize, BooleanSupplier stillLeased) {
+        Criteria missing = Criteria.where("raisedAmount").is(null);
+        Update update = new Update().set("raisedAmount", 0.0).set("updatedAt", LocalDateTime.now());
+        return updateInBatches(idsOf(missing, Campaign.class, batchSize), missing, update, Campaign.class,
+            this::publishCampaignChanges, batchSize, stillLeased);
+    }
+
+    /**
+     * Derive "user_<email local part>" for users with an empty username
+     */
+    public long fixMissingUsernames(int batchSize, BooleanSupplier stillLeased) {
+        Criteria invalid = new Criteria().andOperator(
+            new Criteria().orOperator(Criteria.where("username").is(null), Criteria.where("username").regex("^\\s*$")),
+            Criteria.where("email").ne(null));
+
+        StringOperators.Concat username = StringOperators.Concat.stringValue("user_")
+            .concatValueOf(ArrayOperators.ArrayElemAt.arrayOf(StringOperators.valueOf("email").split("@")).elementAt(0));
+        AggregationUpdate update = AggregationUpdate.update()
+            .set("username").toValue(username)
+            .set("usernameLower").toValue(StringOperators.valueOf(username).toLower());
+
+        return updateInBatches(idsOf(invalid, User.class, batchSize), invalid, update, User.class,
+            ids -> ids.forEach(id -> userResolver.invalidate(id.toString())), batchSize, stillLeased);
+    }
+
+    private Stream<Document> idsOf(Criteria criteria, Class<?> type, int batchSize) {
+        Query query = new Query(criteria).cursorBatchSize(batchSize);
+        query.fields().include("_id");
+        return mongoTemplate.stream(query, Document.class, mongoTemplate.getCollectionName(type));
+    }
+
+    private Stream<Document> aggregateIds(Aggregation aggregation, Class<?> type) {
+        return mongoTemplate.aggregateStream(aggregation, mongoTemplate.getCollectionName(type), Document.class);
+    }
+
+    /**
+     * Apply the update to the streamed ids one batch at a time; the criteria
+     * are re-checked so documents that no longer match are skipped
+     */
+    private long updateInBatches(Stream<Document> idStream, Criteria stillMatches, UpdateDefinition update,
+                                 Class<?> type, Consumer<List<Object>> afterBatch,
+                                 int batchSize, BooleanSupplier stillLeased) {
+        long modified = 0;
+        try (Stream<Document> stream = idStream) {
+            Iterator<Document> ids = stream.iterator();
+            List<Object> batch = new ArrayList<>(batchSize);
+            while (ids.hasNext()) {
+                batch.add(ids.next().get("_id"));
+                if (batch.size() == batchSize || !ids.hasNext()) {
+                    if (!stillLeased.getAsBoolean()) {
+                        logger.warn("Stopping {} update after {} documents - lease lost or node stopping", type.getSimpleName(), modified);
+                        break;
+                    }
+                    modified += mongoTemplate.updateMulti(
+                        new Query(new Criteria().andOperator(Criteria.where("_id").in(batch), stillMatches)),
+                        update, type).getModifiedCount();
+                    afterBatch.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        return modified;
+    }
+
+    private void publishCampaignChanges(List<Object> campaignIds) {
+        campaignIds.forEach(id -> eventPublisher.publishEvent(new CampaignChangedEvent(id.toString())));
+    }
+}
@@ -0,0 +1,102 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.User;
+import com.fundizen.fundizen_backend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves users for DTO assembly in batches.
+ *
+ * Ids are looked up in a bounded near cache first; the misses are loaded with
+ * one query that projects only the fields DTOs show (never the password or
+ * Firebase uid). UserService and AdminService invalidate an entry whenever
+ * they change or delete that user; the expiry bounds how stale another node's
+ * copy can get. Returned users are shared cache entries and must not be modified.
+ */
+@Service
+public class UserResolver {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${user.resolver.max-size:50000}")
+    private long maxSize;
+
+    @Value("${user.resolver.ttl:5m}")
+    private Duration ttl;
+
+    private Cache<String, User> users;
+
+    @PostConstruct
+    public void init() {
+        users = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .build();
+    }
+
+    /**
+     * Users by id - cached entries plus one query for the rest; ids that do not exist are absent
+     */
+    public Map<String, User> resolve(Collection<String> ids) {
+        Set<String> distinctIds = ids.stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        if (distinctIds.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        Map<String, User> resolved = new HashMap<>(users.getAllPresent(distinctIds));
+        List<String> missing = distinctIds.stream()
+            .filter(id -> !resolved.containsKey(id))
+            .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            for (User user : userRepository.findSummariesByIdIn(missing)) {
+                resolved.put(user.getId(), user);
+                users.put(user.getId(), user);
+            }
+        }
+        return resolved;
+    }
+
+    public User resolve(String id) {
+        if (id == null) {
+            return null;
+        }
+        return resolve(List.of(id)).get(id);
+    }
+
+    /**
+     * Usernames by id, for display; ids that do not exist are absent
+     */
+    public Map<String, String> resolveUsernames(Collection<String> ids) {
+        Map<String, String> usernames = new HashMap<>();
+        resolve(ids).forEach((id, user) -> {
+            if (user.getUsername() != null) {
+                usernames.put(id, user.getUsername());
+            }
+        });
+        return usernames;
+    }
+
+    public void invalidate(String id) {
+        if (id != null) {
+            users.invalidate(id);
+        }
+    }
+}
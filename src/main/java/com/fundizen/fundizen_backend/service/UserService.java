@@ -1,12 +1,18 @@
 package com.fundizen.fundizen_backend.service;
 
+import com.fundizen.fundizen_backend.dto.UserFilter;
 import com.fundizen.fundizen_backend.models.User;
 import com.fundizen.fundizen_backend.repository.UserRepository;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -15,12 +21,19 @@ import java.util.Optional;
 
 @Service
 public class UserService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+
+    private static final int MAX_SEARCH_RESULTS = 100;
     
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private UserResolver userResolver;
 
     // User creation and registration
     public User createUser(User user) {
@@ -39,7 +52,7 @@ public class UserService {
         user.setVerified(false); // Email not verified for regular registration
         
         // Hash the password
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingService.encode(user.getPassword()));
         
         return userRepository.save(user);
     }
@@ -51,7 +64,8 @@ public class UserService {
         if (userOpt.isPresent()) {
             User user = userOpt.get();
             // Check hashed password
-            if (passwordEncoder.matches(password, user.getPassword())) {
+            if (passwordHashingService.matches(password, user.getPassword())) {
+                upgradePasswordHash(user, password);
                 return user;
             }
         }
@@ -59,6 +73,22 @@ public class UserService {
         throw new RuntimeException("Invalid credentials");
     }
 
+    // Rehash with the current cost after a successful login; a failure leaves the old hash working
+    private void upgradePasswordHash(User user, String rawPassword) {
+        if (!passwordHashingService.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            String newHash = passwordHashingService.encode(rawPassword);
+            if (userRepository.updatePasswordIfUnchanged(user.getId(), user.getPassword(), newHash) > 0) {
+                user.setPassword(newHash);
+                logger.debug("Upgraded password hash cost for user: {}", user.getId());
+            }
+        } catch (Exception e) {
+            logger.warn("Could not upgrade password hash for user {}: {}", user.getId(), e.getMessage());
+        }
+    }
+
     /**
      * Create user from Firebase authentication (automatically verified)
      */
@@ -80,10 +110,10 @@ public class UserService {
         
         // Hash the password
         if (user.getPassword() != null && !user.getPassword().isEmpty()) {
-            user.setPassword(passwordEncoder.encode(user.getPassword()));
+            user.setPassword(passwordHashingService.encode(user.getPassword()));
         } else {
             // For Firebase-only users, set a random password they'll never use
-            user.setPassword(passwordEncoder.encode(java.util.UUID.randomUUID().toString()));
+            user.setPassword(passwordHashingService.encode(java.util.UUID.randomUUID().toString()));
         }
         
         return userRepository.save(user);
@@ -98,7 +128,9 @@ public class UserService {
         if (userOpt.isPresent()) {
             User user = userOpt.get();
             user.setVerified(verified);
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            userResolver.invalidate(saved.getId());
+            return saved;
         }
         
         throw new RuntimeException("User not found");
@@ -115,7 +147,9 @@ public class UserService {
             user.setUid(firebaseUid);
             // Also mark as verified since Firebase handles email verification
             user.setVerified(true);
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            userResolver.invalidate(saved.getId());
+            return saved;
         }
         
         throw new RuntimeException("User not found");
@@ -145,7 +179,9 @@ public class UserService {
             User user = existingUser.get();
             user.setUid(firebaseUid);
             user.setVerified(true); // Mark as verified
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            userResolver.invalidate(saved.getId());
+            return saved;
         }
 
         // Create new user
@@ -156,7 +192,7 @@ public class UserService {
         newUser.setRole("user");
         newUser.setVerified(true);
         // Set random password since Firebase handles authentication
-        newUser.setPassword(passwordEncoder.encode(java.util.UUID.randomUUID().toString()));
+        newUser.setPassword(passwordHashingService.encode(java.util.UUID.randomUUID().toString()));
 
         return userRepository.save(newUser);
     }
@@ -174,6 +210,14 @@ public class UserService {
         return userRepository.findById(id).orElse(null);
     }
 
+    /**
+     * Id, username, email, role and verified status, read from the database
+     * (never a cached copy) for authorization checks
+     */
+    public User getUserAuthorization(String id) {
+        return userRepository.findAuthorizationById(id).orElse(null);
+    }
+
     public User getUserByUsername(String username) {
         return userRepository.findByUsername(username).orElse(null);
     }
@@ -191,9 +235,29 @@ public class UserService {
         return getUsersByRole("admin");
     }
 
-    // Search functionality
+    // Search functionality - username/email prefix, served by the lowercased field indexes
     public List<User> searchUsers(String searchTerm) {
-        return userRepository.searchUsers(searchTerm);
+        Pageable firstPage = PageRequest.of(0, MAX_SEARCH_RESULTS, Sort.by(Sort.Direction.ASC, "usernameLower"));
+        return userRepository.findByFilter(UserFilter.builder().search(searchTerm).build(), firstPage).getContent();
+    }
+
+    public Page<User> findUsers(UserFilter filter, Pageable pageable) {
+        return userRepository.findByFilter(filter, pageable);
+    }
+
+    /**
+     * Fill the lowercased search fields of users saved before they existed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSearchFields() {
+        try {
+            long updated = userRepository.backfillSearchFields();
+            if (updated > 0) {
+                logger.info("Backfilled search fields on {} users", updated);
+            }
+        } catch (Exception e) {
+            logger.error("Error backfilling user search fields - Error: {}", e.getMessage(), e);
+        }
     }
 
     // User updates
@@ -219,7 +283,9 @@ public class UserService {
             existingUser.setUsername(updatedUser.getUsername());
             existingUser.setEmail(updatedUser.getEmail());
             
-            return userRepository.save(existingUser);
+            User saved = userRepository.save(existingUser);
+            userResolver.invalidate(saved.getId());
+            return saved;
         }
         
         return null;
@@ -231,7 +297,7 @@ public class UserService {
         if (userOpt.isPresent()) {
             User user = userOpt.get();
             // Hash the new password
-            user.setPassword(passwordEncoder.encode(newPassword));
+            user.setPassword(passwordHashingService.encode(newPassword));
             return userRepository.save(user);
         }
         
@@ -245,7 +311,9 @@ public class UserService {
         if (userOpt.isPresent()) {
             User user = userOpt.get();
             user.promoteToAdmin();
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            userResolver.invalidate(saved.getId());
+            return saved;
         }
         
         throw new RuntimeException("User not found");
@@ -257,7 +325,9 @@ public class UserService {
         if (userOpt.isPresent()) {
             User user = userOpt.get();
             user.demoteToUser();
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            userResolver.invalidate(saved.getId());
+            return saved;
         }
         
         throw new RuntimeException("User not found");
@@ -269,6 +339,7 @@ public class UserService {
         
         if (userOpt.isPresent()) {
             userRepository.deleteById(id);
+            userResolver.invalidate(id);
             return true;
         }
         
@@ -3,6 +3,9 @@ package com.fundizen.fundizen_backend.util;
 import com.fundizen.fundizen_backend.models.User;
 import com.fundizen.fundizen_backend.service.UserService;
 import com.fundizen.fundizen_backend.service.FirebaseService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.google.firebase.auth.FirebaseAuthException;
 import com.google.firebase.auth.FirebaseToken;
 
@@ -12,6 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class AdminAuthHelper {
@@ -24,6 +28,29 @@ public class AdminAuthHelper {
     @Autowired
     private FirebaseService firebaseService;
 
+    // Firebase uid -> user id, kept until the token it was resolved from expires.
+    // Only the id is memoized; role and verified status are read from Mongo on
+    // every check, so a demotion takes effect at once on every node.
+    private final Cache<String, Principal> principals = Caffeine.newBuilder()
+        .maximumSize(20000)
+        .expireAfter(new Expiry<String, Principal>() {
+            @Override
+            public long expireAfterCreate(String uid, Principal principal, long currentTime) {
+                return TimeUnit.MILLISECONDS.toNanos(Math.max(principal.expiresAtMillis - System.currentTimeMillis(), 0));
+            }
+
+            @Override
+            public long expireAfterUpdate(String uid, Principal principal, long currentTime, long currentDuration) {
+                return expireAfterCreate(uid, principal, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String uid, Principal principal, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        })
+        .build();
+
     /**
      * Verify if user is admin based on Firebase token
      */
@@ -36,12 +63,7 @@ public class AdminAuthHelper {
             // Verify Firebase token
             FirebaseToken decodedToken = firebaseService.verifyIdToken(firebaseToken);
             
-            // Find user in database
-            User user = userService.getUserByFirebaseUid(decodedToken.getUid());
-            if (user == null) {
-                // Try to find by email as fallback
-                user = userService.getUserByEmail(decodedToken.getEmail());
-            }
+            User user = resolveUser(decodedToken);
 
             if (user == null) {
                 return AdminAuthResult.failure("User not found in system");
@@ -67,6 +89,45 @@ public class AdminAuthHelper {
         }
     }
 
+    /**
+     * User behind a verified token - the uid lookup is memoized for the token's
+     * lifetime, the authorization fields are always read fresh
+     */
+    private User resolveUser(FirebaseToken decodedToken) {
+        Principal principal = principals.getIfPresent(decodedToken.getUid());
+        if (principal != null) {
+            User user = userService.getUserAuthorization(principal.userId);
+            if (user != null) {
+                return user;
+            }
+            principals.invalidate(decodedToken.getUid());
+        }
+
+        // Find user in database
+        User user = userService.getUserByFirebaseUid(decodedToken.getUid());
+        if (user == null) {
+            // Try to find by email as fallback
+            user = userService.getUserByEmail(decodedToken.getEmail());
+        }
+        if (user == null) {
+            return null;
+        }
+
+        principals.put(decodedToken.getUid(),
+            new Principal(user.getId(), FirebaseService.getExpiresAtMillis(decodedToken)));
+        return user;
+    }
+
+    private static final class Principal {
+        private final String userId;
+        private final long expiresAtMillis;
+
+        private Principal(String userId, long expiresAtMillis) {
+            this.userId = userId;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
     /**
      * Verify admin access using username/email and password (legacy method)
      */
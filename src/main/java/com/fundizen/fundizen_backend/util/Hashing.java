@@ -0,0 +1,39 @@
+package com.fundizen.fundizen_backend.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Non-cryptographic hashing shared by the probabilistic counters and the
+ * partitioned background jobs.
+ */
+public final class Hashing {
+
+    // Partition keys stored on documents; a job partition is the keys congruent to its index
+    public static final int PARTITION_KEYS = 1024;
+
+    private Hashing() {}
+
+    /**
+     * Stable partition key of a document id, in [0, PARTITION_KEYS)
+     */
+    public static int partitionKey(String id) {
+        return Math.floorMod(hash64(id), PARTITION_KEYS);
+    }
+
+    /**
+     * 64-bit FNV-1a followed by the MurmurHash3 finalizer for good bit dispersion
+     */
+    public static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
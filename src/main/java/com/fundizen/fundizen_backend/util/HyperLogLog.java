@@ -0,0 +1,93 @@
+package com.fundizen.fundizen_backend.util;
+
+import java.util.Map;
+
+/**
+ * HyperLogLog helpers for approximate distinct counts stored in Mongo.
+ *
+ * Registers are kept sparse as a map of register index (as a string key) to rank,
+ * so a document can be updated in place with {@code $max: {"hll.<index>": rank}}
+ * and two sketches merge by taking the per-register maximum. With 4096 registers
+ * the standard error is about 1.6%.
+ */
+public final class HyperLogLog {
+
+    public static final int PRECISION = 12;
+    public static final int REGISTER_COUNT = 1 << PRECISION;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+
+    private HyperLogLog() {}
+
+    /**
+     * Register index and rank for one value
+     */
+    public static Register registerFor(String value) {
+        long hash = Hashing.hash64(value);
+        int index = (int) (hash >>> (64 - PRECISION));
+        // Leading zeros of the remaining bits + 1; the guard bit bounds the rank
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        return new Register(index, rank);
+    }
+
+    /**
+     * Offer a value to an in-memory sparse sketch
+     */
+    public static void offer(Map<String, Integer> registers, String value) {
+        Register register = registerFor(value);
+        registers.merge(register.getKey(), register.getRank(), Math::max);
+    }
+
+    /**
+     * Merge a sketch into another (per-register maximum)
+     */
+    public static void merge(Map<String, Integer> target, Map<String, Integer> source) {
+        if (source != null) {
+            source.forEach((key, rank) -> target.merge(key, rank, Math::max));
+        }
+    }
+
+    /**
+     * Estimated number of distinct values offered to the sketch
+     */
+    public static long estimate(Map<String, Integer> registers) {
+        if (registers == null || registers.isEmpty()) {
+            return 0;
+        }
+
+        double sum = REGISTER_COUNT - registers.size(); // Empty registers contribute 2^0
+        for (Integer rank : registers.values()) {
+            sum += Math.pow(2, -(rank != null ? rank : 0));
+        }
+
+        double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / sum;
+        int zeros = REGISTER_COUNT - registers.size();
+        if (estimate <= 2.5 * REGISTER_COUNT && zeros > 0) {
+            // Small range correction (linear counting)
+            estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public static final class Register {
+        private final int index;
+        private final int rank;
+
+        Register(int index, int rank) {
+            this.index = index;
+            this.rank = rank;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public int getRank() {
+            return rank;
+        }
+
+        public String getKey() {
+            return Integer.toString(index);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.fundizen.fundizen_backend.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free count-min sketch over a sliding time window.
+ *
+ * The window is split into slots of fixed length; each slot has its own
+ * depth x width counter array and is replaced (CAS) when its time slot comes
+ * around again. Estimates sum a key's counters over the live slots and never
+ * undercount. Counts from other nodes can be supplied per slot epoch and are
+ * added to the local estimate.
+ */
+public class SlidingCountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final int slotCount;
+    private final long slotMillis;
+    private final AtomicReferenceArray<Slot> slots;
+
+    // Slot epoch -> counters reported by other nodes, replaced wholesale on sync
+    private volatile Map<Long, int[]> remoteCounts = Map.of();
+
+    public SlidingCountMinSketch(int depth, int width, int slotCount, long slotMillis) {
+        this.depth = depth;
+        this.width = width;
+        this.slotCount = slotCount;
+        this.slotMillis = slotMillis;
+        this.slots = new AtomicReferenceArray<>(slotCount);
+    }
+
+    /**
+     * Count one occurrence of the key and return its estimate over the window
+     */
+    public int add(String key) {
+        long hash = Hashing.hash64(key);
+        Slot slot = currentSlot();
+        for (int row = 0; row < depth; row++) {
+            slot.cells.incrementAndGet(cell(hash, row));
+        }
+        slot.dirty = true;
+        return estimate(hash);
+    }
+
+    /**
+     * Estimated occurrences of the key over the window
+     */
+    public int estimate(String key) {
+        return estimate(Hashing.hash64(key));
+    }
+
+    private int estimate(long hash) {
+        long oldestEpoch = currentEpoch() - slotCount + 1;
+        Map<Long, int[]> remote = remoteCounts;
+
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int cell = cell(hash, row);
+            int sum = 0;
+            for (int i = 0; i < slotCount; i++) {
+                Slot slot = slots.get(i);
+                if (slot != null && slot.epoch >= oldestEpoch) {
+                    sum += slot.cells.get(cell);
+                }
+            }
+            for (Map.Entry<Long, int[]> entry : remote.entrySet()) {
+                if (entry.getKey() >= oldestEpoch) {
+                    sum += entry.getValue()[cell];
+                }
+            }
+            min = Math.min(min, sum);
+        }
+        return min;
+    }
+
+    public long currentEpoch() {
+        return System.currentTimeMillis() / slotMillis;
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    public int getCellCount() {
+        return depth * width;
+    }
+
+    /**
+     * Non-zero counters of the live slots changed since the last call, by slot epoch
+     */
+    public Map<Long, Map<Integer, Integer>> drainChangedSlots() {
+        long oldestEpoch = currentEpoch() - slotCount + 1;
+        Map<Long, Map<Integer, Integer>> changed = new HashMap<>();
+        for (int i = 0; i < slotCount; i++) {
+            Slot slot = slots.get(i);
+            if (slot == null || !slot.dirty || slot.epoch < oldestEpoch) {
+                continue;
+            }
+            slot.dirty = false;
+
+            Map<Integer, Integer> cells = new HashMap<>();
+            for (int cell = 0; cell < slot.cells.length(); cell++) {
+                int count = slot.cells.get(cell);
+                if (count > 0) {
+                    cells.put(cell, count);
+                }
+            }
+            changed.put(slot.epoch, cells);
+        }
+        return changed;
+    }
+
+    public void setRemoteCounts(Map<Long, int[]> remoteCounts) {
+        this.remoteCounts = Map.copyOf(remoteCounts);
+    }
+
+    private Slot currentSlot() {
+        long epoch = currentEpoch();
+        int index = (int) (epoch % slotCount);
+        while (true) {
+            Slot slot = slots.get(index);
+            if (slot != null && slot.epoch == epoch) {
+                return slot;
+            }
+            // Expired or empty - the losing thread simply uses the winner's slot
+            Slot fresh = new Slot(epoch, depth * width);
+            if (slots.compareAndSet(index, slot, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    // Double hashing: row i uses h1 + i * h2
+    private int cell(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        int combined = (h1 + row * h2) & Integer.MAX_VALUE;
+        return row * width + (combined % width);
+    }
+
+    private static final class Slot {
+        private final long epoch;
+        private final AtomicIntegerArray cells;
+        private volatile boolean dirty;
+
+        Slot(long epoch, int cellCount) {
+            this.epoch = epoch;
+            this.cells = new AtomicIntegerArray(cellCount);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.fundizen.fundizen_backend.config;
+
+import com.fundizen.fundizen_backend.models.Donation;
+import com.fundizen.fundizen_backend.service.DonationNotificationService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncConfigTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TaskDecorator decorator = new AsyncConfig().executorMetricsTaskDecorator(meterRegistry);
+
+    @Test
+    void recordsWaitAndRunTimePerTask() throws Exception {
+        Runnable task = decorator.decorate(() -> sleep(20));
+        Thread.sleep(20);
+
+        task.run();
+
+        assertThat(meterRegistry.timer("executor.task.wait", "name", "applicationTaskExecutor").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("executor.task.wait", "name", "applicationTaskExecutor").totalTime(TimeUnit.MILLISECONDS))
+            .isGreaterThanOrEqualTo(20);
+        assertThat(meterRegistry.timer("executor.task.run", "name", "applicationTaskExecutor").totalTime(TimeUnit.MILLISECONDS))
+            .isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    void tracksActiveTasksUntilTheyFinish() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread worker = new Thread(decorator.decorate(() -> {
+            started.countDown();
+            await(release);
+        }));
+        worker.start();
+        started.await(5, TimeUnit.SECONDS);
+
+        assertThat(activeTasks()).isEqualTo(1.0);
+
+        release.countDown();
+        worker.join(5000);
+        assertThat(activeTasks()).isZero();
+    }
+
+    @Test
+    void failedTasksAreStillRecorded() {
+        Runnable task = decorator.decorate(() -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThatThrownBy(task::run).isInstanceOf(IllegalStateException.class);
+        assertThat(activeTasks()).isZero();
+        assertThat(meterRegistry.timer("executor.task.run", "name", "applicationTaskExecutor").count()).isEqualTo(1);
+    }
+
+    @Test
+    void notificationsRunOnTheDecoratedApplicationExecutor() {
+        new ApplicationContextRunner()
+            .withBean(MeterRegistry.class, () -> meterRegistry)
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(AsyncConfig.class, DonationNotificationService.class)
+            .run(context -> {
+                Donation donation = new Donation("campaign-1", "donor-1", 10.0, "pi_1");
+
+                context.getBean(DonationNotificationService.class).sendDonationConfirmationAsync(donation)
+                    .get(5, TimeUnit.SECONDS);
+
+                assertThat(meterRegistry.timer("executor.task.run", "name", "applicationTaskExecutor").count()).isEqualTo(1);
+            });
+    }
+
+    @Test
+    void pinningMonitorOnlyRunsInVirtualMode() {
+        new ApplicationContextRunner()
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withUserConfiguration(VirtualThreadPinningMonitor.class)
+            .run(context -> assertThat(context).doesNotHaveBean(VirtualThreadPinningMonitor.class));
+    }
+
+    private double activeTasks() {
+        return meterRegistry.get("executor.task.active").tag("name", "applicationTaskExecutor").gauge().value();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.fundizen.fundizen_backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHashingConfigTest {
+
+    private final PasswordHashingProperties properties = new PasswordHashingProperties();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void calibratesToTheHighestCostWithinTheLatencyTarget() {
+        properties.setMinCost(4);
+        properties.setMaxCost(6);
+        properties.setTargetLatency(Duration.ofMinutes(1));
+
+        BCryptPasswordEncoder encoder = new PasswordHashingConfig().passwordEncoder(properties, meterRegistry);
+
+        assertThat(cost()).isEqualTo(6);
+        assertThat(encoder.encode("secret")).startsWith("$2a$06$");
+    }
+
+    @Test
+    void neverCalibratesBelowTheMinimumCost() {
+        properties.setMinCost(5);
+        properties.setMaxCost(6);
+        properties.setTargetLatency(Duration.ofNanos(1));
+
+        BCryptPasswordEncoder encoder = new PasswordHashingConfig().passwordEncoder(properties, meterRegistry);
+
+        assertThat(cost()).isEqualTo(5);
+        assertThat(encoder.encode("secret")).startsWith("$2a$05$");
+    }
+
+    @Test
+    void aFixedCostSkipsCalibration() {
+        properties.setCost(4);
+        properties.setMinCost(10);
+        properties.setTargetLatency(Duration.ofNanos(1));
+
+        BCryptPasswordEncoder encoder = new PasswordHashingConfig().passwordEncoder(properties, meterRegistry);
+
+        assertThat(cost()).isEqualTo(4);
+        assertThat(encoder.encode("secret")).startsWith("$2a$04$");
+    }
+
+    private double cost() {
+        return meterRegistry.get("password.hashing.cost").gauge().value();
+    }
+}
@@ -0,0 +1,118 @@
+package com.fundizen.fundizen_backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StaleWhileRevalidateCacheTest {
+
+    private final List<Runnable> queuedRefreshes = new ArrayList<>();
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        StaleWhileRevalidateCache cache = cache(0);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> cache.get("k", () -> {
+                    loads.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "v";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("v");
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void staleEntryIsServedWhileOneBackgroundRefreshRuns() {
+        StaleWhileRevalidateCache cache = cache(1);
+        cache.put("k", "v1");
+
+        assertThat(cache.get("k", () -> "v2")).isEqualTo("v1");
+        assertThat(cache.get("k", () -> "v3")).isEqualTo("v1");
+        assertThat(queuedRefreshes).hasSize(1);
+        assertThat(cache.getStaleHits()).isEqualTo(2);
+
+        queuedRefreshes.remove(0).run();
+        assertThat(cache.get("k", () -> "v4")).isEqualTo("v2");
+    }
+
+    @Test
+    void refreshDoesNotResurrectAnEvictedEntry() {
+        StaleWhileRevalidateCache cache = cache(1);
+        cache.put("k", "v1");
+        cache.get("k", () -> "v2");
+
+        cache.evict("k");
+        queuedRefreshes.remove(0).run();
+
+        assertThat(cache.get("k")).isNull();
+    }
+
+    @Test
+    void failedLoadPropagatesAndIsNotCached() {
+        StaleWhileRevalidateCache cache = cache(0);
+
+        assertThatThrownBy(() -> cache.get("k", () -> { throw new IllegalStateException("mongo down"); }))
+            .isInstanceOf(Cache.ValueRetrievalException.class)
+            .hasRootCauseInstanceOf(IllegalStateException.class);
+        assertThat(cache.get("k")).isNull();
+        assertThat(cache.get("k", () -> "v")).isEqualTo("v");
+    }
+
+    @Test
+    void failedRefreshKeepsServingTheStaleValue() {
+        StaleWhileRevalidateCache cache = cache(1);
+        cache.put("k", "v1");
+        cache.get("k", () -> { throw new IllegalStateException("mongo down"); });
+
+        queuedRefreshes.remove(0).run();
+
+        assertThat(cache.getRefreshFailures()).isEqualTo(1);
+        assertThat(cache.get("k").get()).isEqualTo("v1");
+    }
+
+    @Test
+    void evictIfRemovesMatchingKeysOnly() {
+        StaleWhileRevalidateCache cache = cache(0);
+        cache.put("c1:10", "a");
+        cache.put("c1:20", "b");
+        cache.put("c2:10", "c");
+
+        cache.evictIf(key -> key.toString().startsWith("c1:"));
+
+        assertThat(cache.get("c1:10")).isNull();
+        assertThat(cache.get("c1:20")).isNull();
+        assertThat(cache.get("c2:10").get()).isEqualTo("c");
+    }
+
+    private StaleWhileRevalidateCache cache(long refreshAfterNanos) {
+        return new StaleWhileRevalidateCache("test", Caffeine.newBuilder().build(),
+                                             refreshAfterNanos, queuedRefreshes::add);
+    }
+}
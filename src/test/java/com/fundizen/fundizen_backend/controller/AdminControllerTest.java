@@ -0,0 +1,35 @@
+package com.fundizen.fundizen_backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdminControllerTest {
+
+    private static final Set<String> FIELDS = Set.of("createdAt", "name", "goalAmount");
+
+    private final AdminController controller = new AdminController();
+
+    @Test
+    void buildsMultiFieldSortWithIdTieBreaker() {
+        Sort sort = buildSort("name:asc, goalAmount", "desc");
+
+        assertThat(sort).containsExactly(
+            Sort.Order.asc("name"), Sort.Order.desc("goalAmount"), Sort.Order.asc("id"));
+    }
+
+    @Test
+    void ignoresUnknownFieldsAndFallsBackToCreatedAt() {
+        Sort sort = buildSort("password,$where", "asc");
+
+        assertThat(sort).containsExactly(Sort.Order.asc("createdAt"), Sort.Order.asc("id"));
+    }
+
+    private Sort buildSort(String sortBy, String sortDir) {
+        return ReflectionTestUtils.invokeMethod(controller, "buildSort", sortBy, sortDir, FIELDS);
+    }
+}
@@ -0,0 +1,182 @@
+package com.fundizen.fundizen_backend.repository;
+
+import com.fundizen.fundizen_backend.models.Campaign;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+class CampaignRepositoryCustomImplTest {
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+    private CampaignRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        template = mongo.template();
+        repository = new CampaignRepositoryCustomImpl();
+        ReflectionTestUtils.setField(repository, "mongoTemplate", template);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void incrementDonationTotalsAddsToStoredTotals() {
+        String campaignId = campaign(10.0, 1L);
+
+        assertThat(repository.incrementDonationTotals(campaignId, 15.5, 1)).isTrue();
+        assertThat(repository.incrementDonationTotals(campaignId, -10.0, -1)).isTrue();
+
+        Campaign campaign = template.findById(campaignId, Campaign.class);
+        assertThat(campaign.getRaisedAmount()).isEqualTo(15.5);
+        assertThat(campaign.getDonationCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void incrementDonationTotalsReportsMissingCampaign() {
+        assertThat(repository.incrementDonationTotals("507f1f77bcf86cd799439011", 5.0, 1)).isFalse();
+    }
+
+    @Test
+    void findForAdminFiltersSortsAndCountsInMongo() {
+        for (int i = 0; i < 5; i++) {
+            campaign("pending", "health", 100.0 * i);
+        }
+        campaign("approved", "health", 1000.0);
+        campaign("pending", "education", 1000.0);
+
+        Page<Campaign> first = repository.findForAdmin("pending", "health",
+            PageRequest.of(0, 2, Sort.by(Sort.Order.desc("goalAmount"), Sort.Order.desc("id"))));
+        Page<Campaign> last = repository.findForAdmin("pending", "health",
+            PageRequest.of(2, 2, Sort.by(Sort.Order.desc("goalAmount"), Sort.Order.desc("id"))));
+
+        assertThat(first.getTotalElements()).isEqualTo(5);
+        assertThat(first.getContent()).extracting(Campaign::getGoalAmount).containsExactly(400.0, 300.0);
+        assertThat(last.getContent()).extracting(Campaign::getGoalAmount).containsExactly(0.0);
+        assertThat(repository.findForAdmin(null, null, PageRequest.of(0, 10)).getTotalElements()).isEqualTo(7);
+    }
+
+    @Test
+    void moderatePendingChangesOnlyPendingCampaigns() {
+        String pending = campaign("pending", "health", 100.0);
+        String otherPending = campaign("pending", "health", 100.0);
+        String approved = campaign("approved", "health", 100.0);
+        String missing = "507f1f77bcf86cd799439011";
+
+        Map<String, String> outcomes = repository.moderatePending(
+            List.of(pending, approved, missing, otherPending), "rejected", false, "Incomplete documents");
+
+        assertThat(outcomes).containsExactly(
+            entry(pending, "rejected"), entry(approved, "not_pending"),
+            entry(missing, "not_found"), entry(otherPending, "rejected"));
+        Campaign rejected = template.findById(pending, Campaign.class);
+        assertThat(rejected.getStatus()).isEqualTo("rejected");
+        assertThat(rejected.getRejectionReason()).isEqualTo("Incomplete documents");
+        assertThat(rejected.isVerified()).isFalse();
+        Campaign untouched = template.findById(approved, Campaign.class);
+        assertThat(untouched.getStatus()).isEqualTo("approved");
+        assertThat(untouched.getRejectionReason()).isNull();
+    }
+
+    @Test
+    void moderatePendingDoesNotClaimACampaignAnotherAdminModeratedFirst() {
+        String contested = campaign("pending", "health", 100.0);
+        String ours = campaign("pending", "health", 100.0);
+        MongoTemplate racing = spy(template);
+        ReflectionTestUtils.setField(repository, "mongoTemplate", racing);
+        // Another admin approves the contested campaign just before our update
+        doAnswer(invocation -> {
+            template.updateFirst(new Query(Criteria.where("id").is(contested)),
+                new Update().set("status", "approved").set("verified", true).set("updatedAt", LocalDateTime.now().minusSeconds(1)),
+                Campaign.class);
+            return invocation.callRealMethod();
+        }).when(racing).updateMulti(any(Query.class), any(Update.class), eq(Campaign.class));
+
+        Map<String, String> outcomes = repository.moderatePending(List.of(contested, ours), "approved", true, null);
+
+        assertThat(outcomes).containsExactly(entry(contested, "not_pending"), entry(ours, "approved"));
+        assertThat(template.findById(ours, Campaign.class).isVerified()).isTrue();
+    }
+
+    @Test
+    void moderatePendingReportsOnlyOneOfTwoIdenticalModerationsAtOnce() {
+        String campaignId = campaign("pending", "health", 100.0);
+        MongoTemplate racing = spy(template);
+        CampaignRepositoryCustomImpl otherAdmin = new CampaignRepositoryCustomImpl();
+        ReflectionTestUtils.setField(otherAdmin, "mongoTemplate", template);
+        ReflectionTestUtils.setField(repository, "mongoTemplate", racing);
+        // Another admin approves the same campaign within the same instant, just before our update
+        Map<String, Map<String, String>> theirs = new HashMap<>();
+        doAnswer(invocation -> {
+            theirs.put("outcomes", otherAdmin.moderatePending(List.of(campaignId), "approved", true, null));
+            return invocation.callRealMethod();
+        }).when(racing).updateMulti(any(Query.class), any(Update.class), eq(Campaign.class));
+
+        Map<String, String> ours = repository.moderatePending(List.of(campaignId), "approved", true, null);
+
+        assertThat(theirs.get("outcomes")).containsExactly(entry(campaignId, "approved"));
+        assertThat(ours).containsExactly(entry(campaignId, "not_pending"));
+    }
+
+    @Test
+    void moderatePendingKeepsItsOutcomeWhenAnotherWriteMovesUpdatedAt() {
+        String campaignId = campaign("pending", "health", 100.0);
+        MongoTemplate racing = spy(template);
+        ReflectionTestUtils.setField(repository, "mongoTemplate", racing);
+        // A donation lands between our update and the read-back
+        doAnswer(invocation -> {
+            template.updateFirst(new Query(Criteria.where("id").is(campaignId)),
+                new Update().inc("raisedAmount", 25.0).set("updatedAt", LocalDateTime.now().plusSeconds(1)),
+                Campaign.class);
+            return invocation.callRealMethod();
+        }).when(racing).find(any(Query.class), eq(Campaign.class));
+
+        Map<String, String> outcomes = repository.moderatePending(List.of(campaignId), "approved", true, null);
+
+        assertThat(outcomes).containsExactly(entry(campaignId, "approved"));
+        assertThat(template.findById(campaignId, Campaign.class).getRaisedAmount()).isEqualTo(25.0);
+    }
+
+    private String campaign(double raisedAmount, long donationCount) {
+        Campaign campaign = new Campaign();
+        campaign.setName("Campaign");
+        campaign.setRaisedAmount(raisedAmount);
+        campaign.setDonationCount(donationCount);
+        return template.insert(campaign).getId();
+    }
+
+    private String campaign(String status, String category, double goalAmount) {
+        Campaign campaign = new Campaign();
+        campaign.setName("Campaign");
+        campaign.setStatus(status);
+        campaign.setCategory(category);
+        campaign.setGoalAmount(goalAmount);
+        return template.insert(campaign).getId();
+    }
+}
@@ -0,0 +1,138 @@
+package com.fundizen.fundizen_backend.repository;
+
+import com.fundizen.fundizen_backend.models.Donation;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+class DonationRepositoryCustomImplTest {
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+    private DonationRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        template = mongo.template();
+        repository = new DonationRepositoryCustomImpl();
+        ReflectionTestUtils.setField(repository, "mongoTemplate", template);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void succeededTransitionHappensOnlyOnce() {
+        donation("pi_1", "pending");
+
+        Donation first = repository.markSucceededIfNotAlready("pi_1", "ch_1");
+        Donation redelivered = repository.markSucceededIfNotAlready("pi_1", "ch_1");
+
+        assertThat(first.getPaymentStatus()).isEqualTo("succeeded");
+        assertThat(first.getStripeChargeId()).isEqualTo("ch_1");
+        assertThat(first.getCompletedAt()).isNotNull();
+        assertThat(redelivered).isNull();
+    }
+
+    @Test
+    void refundedDonationCannotSucceedAgain() {
+        Donation donation = donation("pi_1", "succeeded");
+        assertThat(repository.markRefundedIfSucceeded(donation.getId(), "requested", "re_1")).isNotNull();
+
+        assertThat(repository.markSucceededIfNotAlready("pi_1", null)).isNull();
+        assertThat(repository.markRefundedIfSucceeded(donation.getId(), "requested", "re_1")).isNull();
+        assertThat(template.findById(donation.getId(), Donation.class).getRefundId()).isEqualTo("re_1");
+    }
+
+    @Test
+    void failureOnlyAppliesToPendingPayments() {
+        donation("pi_pending", "pending");
+        donation("pi_processing", "processing");
+        donation("pi_done", "succeeded");
+
+        assertThat(repository.markFailedIfPending("pi_pending").getPaymentStatus()).isEqualTo("failed");
+        assertThat(repository.markFailedIfPending("pi_processing")).isNotNull();
+        assertThat(repository.markFailedIfPending("pi_done")).isNull();
+        assertThat(repository.markFailedIfPending("pi_unknown")).isNull();
+    }
+
+    @Test
+    void failedPaymentCanStillSucceedLater() {
+        donation("pi_1", "failed");
+
+        assertThat(repository.markSucceededIfNotAlready("pi_1", null)).isNotNull();
+    }
+
+    @Test
+    void chargeIdIsAttachedOnlyOnce() {
+        donation("pi_1", "succeeded");
+
+        assertThat(repository.attachChargeId("pi_1", "ch_1")).isTrue();
+        assertThat(repository.attachChargeId("pi_1", "ch_2")).isFalse();
+    }
+
+    @Test
+    void searchMatchesIdsExactly() {
+        Donation donation = donation("pi_search", "succeeded");
+        donation("pi_other", "succeeded");
+
+        assertThat(repository.searchDonations("pi_search", false, PageRequest.of(0, 10)).getContent())
+            .extracting(Donation::getId).containsExactly(donation.getId());
+        assertThat(repository.searchDonations(donation.getId(), false, PageRequest.of(0, 10)).getContent())
+            .extracting(Donation::getId).containsExactly(donation.getId());
+        assertThat(repository.searchDonations("pi_missing", false, PageRequest.of(0, 10)).getTotalElements())
+            .isZero();
+    }
+
+    @Test
+    void searchMatchesEmailPrefixCaseInsensitivelyAndLiterally() {
+        named("pi_1", "Ann Lee", "Ann.Lee@example.com");
+        named("pi_2", "Annabel", "annxlee@example.com");
+
+        assertThat(repository.searchDonations("ANN.LEE@", false, PageRequest.of(0, 10)).getContent())
+            .extracting(Donation::getStripePaymentIntentId).containsExactly("pi_1");
+    }
+
+    @Test
+    void searchFallsBackToNamePrefixWhenTextIndexFindsNothing() {
+        MongoTemplate spied = spy(template);
+        // No text index support in the in-memory server; the text query finds nothing
+        doReturn(List.of()).when(spied).find(argThat(query -> query instanceof TextQuery), eq(Donation.class));
+        ReflectionTestUtils.setField(repository, "mongoTemplate", spied);
+        named("pi_1", "Annabel Smith", "a@example.com");
+        named("pi_2", "Bob", "b@example.com");
+
+        assertThat(repository.searchDonations("anna", true, PageRequest.of(0, 10)).getContent())
+            .extracting(Donation::getStripePaymentIntentId).containsExactly("pi_1");
+    }
+
+    private Donation named(String paymentIntentId, String donorName, String donorEmail) {
+        Donation donation = new Donation("campaign-1", "donor-1", 10.0, paymentIntentId);
+        donation.setDonorName(donorName);
+        donation.setDonorEmail(donorEmail);
+        return template.insert(donation);
+    }
+
+    private Donation donation(String paymentIntentId, String status) {
+        Donation donation = new Donation("campaign-1", "donor-1", 10.0, paymentIntentId);
+        donation.setPaymentStatus(status);
+        return template.insert(donation);
+    }
+}
@@ -0,0 +1,117 @@
+package com.fundizen.fundizen_backend.repository;
+
+import com.fundizen.fundizen_backend.dto.UserFilter;
+import com.fundizen.fundizen_backend.models.User;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserRepositoryCustomImplTest {
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+    private UserRepositoryCustomImpl repository;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        template = mongo.template();
+        repository = new UserRepositoryCustomImpl();
+        ReflectionTestUtils.setField(repository, "mongoTemplate", template);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void filtersByRoleVerificationAndCreationDate() {
+        user("old-admin", "admin", true, 30);
+        user("new-admin", "admin", true, 1);
+        user("new-unverified-admin", "admin", false, 1);
+        user("new-user", "user", true, 1);
+
+        UserFilter filter = UserFilter.builder()
+            .role("admin")
+            .verified(true)
+            .createdAfter(now.minusDays(7))
+            .build();
+        Page<User> page = repository.findByFilter(filter, PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).extracting(User::getUsername).containsExactly("new-admin");
+        assertThat(page.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void searchesUsernameOrEmailPrefixIgnoringCase() {
+        user("Alice", "user", true, 1);
+        user("bob", "user", true, 1);
+        User carol = user("carol", "user", true, 1);
+        carol.setEmail("ALICE.work@example.com");
+        template.save(carol);
+
+        Page<User> byPrefix = repository.findByFilter(UserFilter.builder().search("ali").build(),
+            PageRequest.of(0, 10, Sort.by("username")));
+        Page<User> byEmail = repository.findByFilter(UserFilter.builder().search("alice.work@").build(),
+            PageRequest.of(0, 10));
+
+        assertThat(byPrefix.getContent()).extracting(User::getUsername).containsExactly("Alice", "carol");
+        assertThat(byEmail.getContent()).extracting(User::getUsername).containsExactly("carol");
+    }
+
+    @Test
+    void searchTermsAreNotRegexPatterns() {
+        user("alice", "user", true, 1);
+
+        Page<User> page = repository.findByFilter(UserFilter.builder().search(".*").build(), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).isEmpty();
+    }
+
+    @Test
+    void pagesInMongoAndCountsTheWholeFilter() {
+        for (int i = 0; i < 5; i++) {
+            user("user-" + i, "user", true, i);
+        }
+
+        Page<User> page = repository.findByFilter(UserFilter.builder().role("all").build(),
+            PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        assertThat(page.getContent()).extracting(User::getUsername).containsExactly("user-2", "user-3");
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+    }
+
+    @Test
+    void neverLoadsCredentials() {
+        user("alice", "user", true, 1);
+
+        User loaded = repository.findByFilter(UserFilter.builder().build(), PageRequest.of(0, 10)).getContent().get(0);
+
+        assertThat(loaded.getEmail()).isEqualTo("alice@example.com");
+        assertThat(loaded.getPassword()).isNull();
+        assertThat(loaded.getUid()).isNull();
+    }
+
+    private User user(String username, String role, boolean verified, int daysAgo) {
+        User user = new User(username, username.toLowerCase() + "@example.com", "hashed-password");
+        user.setUid("firebase-" + username);
+        user.setRole(role);
+        user.setVerified(verified);
+        user.setCreatedAt(now.minusDays(daysAgo));
+        return template.insert(user);
+    }
+}
@@ -0,0 +1,67 @@
+package com.fundizen.fundizen_backend.repository;
+
+import com.fundizen.fundizen_backend.models.User;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserRepositoryTest {
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+    private UserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        template = mongo.template();
+        repository = mongo.repository(UserRepository.class, new UserRepositoryCustomImpl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void replacesThePasswordHashItWasRead() {
+        String id = user("alice", "old-hash");
+
+        assertThat(repository.updatePasswordIfUnchanged(id, "old-hash", "new-hash")).isEqualTo(1);
+
+        User stored = template.findById(id, User.class);
+        assertThat(stored.getPassword()).isEqualTo("new-hash");
+        assertThat(stored.getUsername()).isEqualTo("alice");
+    }
+
+    @Test
+    void leavesAPasswordChangedSinceItWasRead() {
+        String id = user("alice", "changed-hash");
+
+        assertThat(repository.updatePasswordIfUnchanged(id, "old-hash", "new-hash")).isZero();
+        assertThat(template.findById(id, User.class).getPassword()).isEqualTo("changed-hash");
+    }
+
+    @Test
+    void onlyTouchesTheGivenUser() {
+        String alice = user("alice", "same-hash");
+        String bob = user("bob", "same-hash");
+
+        repository.updatePasswordIfUnchanged(alice, "same-hash", "new-hash");
+
+        assertThat(template.findById(bob, User.class).getPassword()).isEqualTo("same-hash");
+    }
+
+    private String user(String username, String passwordHash) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword(passwordHash);
+        return template.insert(user).getId();
+    }
+}
@@ -0,0 +1,353 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.AdminJob;
+import com.fundizen.fundizen_backend.models.JobLease;
+import com.fundizen.fundizen_backend.models.User;
+import com.fundizen.fundizen_backend.repository.AdminJobRepository;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdminJobServiceTest {
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+    private JobLeaseService jobLeaseService;
+    private SystemMaintenanceService systemMaintenanceService;
+    private TestJobHandler testHandler;
+    private AdminJobService service;
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        template = mongo.template();
+        jobLeaseService = leaseNode();
+        systemMaintenanceService = mock(SystemMaintenanceService.class);
+        testHandler = new TestJobHandler();
+
+        BulkUserUpdateJobHandler bulkUserUpdateHandler = new BulkUserUpdateJobHandler();
+        ReflectionTestUtils.setField(bulkUserUpdateHandler, "mongoTemplate", template);
+        ReflectionTestUtils.setField(bulkUserUpdateHandler, "userResolver", mock(UserResolver.class));
+        MaintenanceJobHandler maintenanceHandler = new MaintenanceJobHandler();
+        ReflectionTestUtils.setField(maintenanceHandler, "systemMaintenanceService", systemMaintenanceService);
+
+        service = new AdminJobService();
+        ReflectionTestUtils.setField(service, "adminJobRepository", mongo.repository(AdminJobRepository.class));
+        ReflectionTestUtils.setField(service, "mongoTemplate", template);
+        ReflectionTestUtils.setField(service, "jobLeaseService", jobLeaseService);
+        ReflectionTestUtils.setField(service, "handlers", List.of(bulkUserUpdateHandler, maintenanceHandler, testHandler));
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "threads", 2);
+        ReflectionTestUtils.setField(service, "queueCapacity", 8);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "leaseSeconds", 300L);
+        ReflectionTestUtils.setField(service, "streamTimeoutMs", 60_000L);
+        ReflectionTestUtils.setField(service, "maxSubscribers", 10);
+        ReflectionTestUtils.setField(service, "maxPendingEvents", 8);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        testHandler.release.countDown();
+        service.shutdown();
+        mongo.close();
+    }
+
+    @Test
+    void bulkRoleJobCompletesWithCountersSummedOverChunks() {
+        List<String> userIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            userIds.add(user("user-" + i, "user"));
+        }
+        userIds.add(user("already-admin", "admin"));
+        userIds.add("507f1f77bcf86cd799439011");
+
+        AdminJob job = service.submit(BulkUserUpdateJobHandler.TYPE_ROLES, Map.of("userIds", userIds, "role", "admin"), "admin-1");
+        AdminJob finished = awaitFinished(job.getId());
+
+        assertThat(finished.getStatus()).isEqualTo(AdminJob.STATUS_COMPLETED);
+        assertThat(finished.getCheckpoint()).isEqualTo(5);
+        assertThat(finished.getTotal()).isEqualTo(5);
+        assertThat(finished.getCounters()).containsEntry("updated", 3L).containsEntry("unchanged", 1L).containsEntry("notFound", 1L);
+        assertThat(finished.getRuns()).isEqualTo(1);
+        assertThat(template.count(new Query(Criteria.where("role").is("admin")), User.class)).isEqualTo(4);
+    }
+
+    @Test
+    void savesTheCheckpointAfterEveryChunk() {
+        AdminJob job = service.submit(TestJobHandler.TYPE, Map.of("units", 5), null);
+        awaitFinished(job.getId());
+
+        // Each chunk starts where the stored checkpoint left off
+        assertThat(testHandler.chunkStarts).containsExactly(0L, 2L, 4L);
+        assertThat(testHandler.storedCheckpoints).containsExactly(0L, 2L, 4L);
+        assertThat(service.getJob(job.getId()).orElseThrow().getCounters()).containsEntry("units", 5L);
+    }
+
+    @Test
+    void resumesFromTheLastCheckpointOnceTheDeadNodesLeaseExpires() throws Exception {
+        JobLeaseService deadNode = leaseNode();
+        JobLeaseService.Lease deadLease = deadNode.tryAcquire("admin-job:" + TestJobHandler.TYPE, Duration.ofMillis(200)).orElseThrow();
+        AdminJob job = runningJob(4, 6, deadLease.getFencingToken());
+
+        service.dispatch();
+        awaitIdle();
+        assertThat(testHandler.chunkStarts).isEmpty();
+
+        Thread.sleep(300);
+        service.dispatch();
+        AdminJob finished = awaitFinished(job.getId());
+
+        assertThat(testHandler.chunkStarts).containsExactly(4L);
+        assertThat(finished.getStatus()).isEqualTo(AdminJob.STATUS_COMPLETED);
+        assertThat(finished.getCheckpoint()).isEqualTo(6);
+        assertThat(finished.getCounters()).containsEntry("units", 6L);
+        assertThat(finished.getRuns()).isEqualTo(2);
+        assertThat(finished.getRunStartCheckpoint()).isEqualTo(4);
+        assertThat(finished.getOwner()).isEqualTo(jobLeaseService.getNodeId());
+        assertThat(finished.getFencingToken()).isGreaterThan(deadLease.getFencingToken());
+    }
+
+    @Test
+    void stopsWithoutWritingOnceAnotherNodeTookTheJobOver() {
+        testHandler.onChunk = job -> {
+            // Our lease expired mid-chunk and another node claimed the job with a newer token
+            template.updateFirst(new Query(Criteria.where("id").is("admin-job:" + TestJobHandler.TYPE)),
+                new Update().set("owner", "other-node").inc("fencingToken", 1), JobLease.class);
+            template.updateFirst(new Query(Criteria.where("id").is(job.getId())),
+                new Update().set("owner", "other-node").inc("fencingToken", 1), AdminJob.class);
+        };
+
+        AdminJob job = service.submit(TestJobHandler.TYPE, Map.of("units", 6), null);
+        awaitIdle();
+
+        AdminJob current = service.getJob(job.getId()).orElseThrow();
+        assertThat(testHandler.chunkStarts).containsExactly(0L);
+        assertThat(current.getStatus()).isEqualTo(AdminJob.STATUS_RUNNING);
+        assertThat(current.getCheckpoint()).isZero();
+        assertThat(current.getOwner()).isEqualTo("other-node");
+        // The other node's lease was not given back, so this node does not pick the job up again
+        service.dispatch();
+        awaitIdle();
+        assertThat(testHandler.chunkStarts).containsExactly(0L);
+    }
+
+    @Test
+    void aFailedChunkFailsTheJobAtItsCheckpointAndFreesTheType() {
+        testHandler.onChunk = job -> {
+            if (testHandler.chunkStarts.size() == 2) {
+                throw new IllegalStateException("boom");
+            }
+        };
+
+        AdminJob failed = awaitFinished(service.submit(TestJobHandler.TYPE, Map.of("units", 6), null).getId());
+
+        assertThat(failed.getStatus()).isEqualTo(AdminJob.STATUS_FAILED);
+        assertThat(failed.getCheckpoint()).isEqualTo(2);
+        assertThat(failed.getError()).isEqualTo("boom");
+
+        testHandler.onChunk = job -> {};
+        AdminJob next = awaitFinished(service.submit(TestJobHandler.TYPE, Map.of("units", 1), null).getId());
+        assertThat(next.getStatus()).isEqualTo(AdminJob.STATUS_COMPLETED);
+    }
+
+    @Test
+    void jobsOfOneTypeRunOneAtATimeInSubmitOrder() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        testHandler.onChunk = job -> {
+            started.countDown();
+            await(testHandler.release);
+        };
+
+        AdminJob first = service.submit(TestJobHandler.TYPE, Map.of("units", 1), null);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        AdminJob second = service.submit(TestJobHandler.TYPE, Map.of("units", 1), null);
+
+        assertThat(service.getJob(second.getId()).orElseThrow().getStatus()).isEqualTo(AdminJob.STATUS_QUEUED);
+
+        testHandler.release.countDown();
+        AdminJob firstDone = awaitFinished(first.getId());
+        AdminJob secondDone = awaitFinished(second.getId());
+        assertThat(secondDone.getStatus()).isEqualTo(AdminJob.STATUS_COMPLETED);
+        assertThat(secondDone.getStartedAt()).isAfterOrEqualTo(firstDone.getFinishedAt());
+    }
+
+    @Test
+    void maintenanceJobResumesAtItsNextStep() {
+        when(systemMaintenanceService.reassignOrphanedCampaigns(anyInt(), any())).thenReturn(9L);
+        when(systemMaintenanceService.removeExpiredUnverifiedUsers(any(), anyInt(), any())).thenReturn(2L);
+        when(systemMaintenanceService.fixInvalidGoalAmounts(anyInt(), any())).thenReturn(1L);
+        AdminJob job = new AdminJob(MaintenanceJobHandler.TYPE_SYSTEM_CLEANUP, Map.of(), null);
+        job.setTotal(6);
+        job.setCheckpoint(2);
+        job.setCounters(new LinkedHashMap<>(Map.of("oldPendingCampaignsRejected", 4L, "orphanedDataFixed", 3L)));
+        job = template.insert(job);
+
+        service.dispatch();
+        AdminJob finished = awaitFinished(job.getId());
+
+        verify(systemMaintenanceService, never()).rejectStalePendingCampaigns(any(), anyInt(), any());
+        verify(systemMaintenanceService, never()).reassignOrphanedCampaigns(anyInt(), any());
+        // Steps work in batches of the job chunk size
+        verify(systemMaintenanceService).removeExpiredUnverifiedUsers(any(), eq(2), any());
+        assertThat(finished.getCounters())
+            .containsEntry("oldPendingCampaignsRejected", 4L)
+            .containsEntry("orphanedDataFixed", 3L)
+            .containsEntry("expiredUsersRemoved", 2L)
+            .containsEntry("invalidGoalsFixed", 1L)
+            .containsEntry("invalidUsernamesFixed", 0L);
+    }
+
+    @Test
+    void aMaintenanceStepThatLosesTheLeaseStopsAndLeavesTheJobAtThatStep() {
+        when(systemMaintenanceService.rejectStalePendingCampaigns(any(), anyInt(), any())).thenReturn(4L);
+        when(systemMaintenanceService.reassignOrphanedCampaigns(anyInt(), any())).thenAnswer(invocation -> {
+            // The lease expires during the step and another node takes it; the job is not claimed yet
+            template.updateFirst(new Query(Criteria.where("id").is("admin-job:" + MaintenanceJobHandler.TYPE_SYSTEM_CLEANUP)),
+                new Update().set("owner", "other-node").inc("fencingToken", 1), JobLease.class);
+            BooleanSupplier stillLeased = invocation.getArgument(1);
+            return stillLeased.getAsBoolean() ? 9L : 5L;
+        });
+
+        AdminJob job = service.submit(MaintenanceJobHandler.TYPE_SYSTEM_CLEANUP, Map.of(), null);
+        awaitIdle();
+
+        AdminJob current = service.getJob(job.getId()).orElseThrow();
+        assertThat(current.getStatus()).isEqualTo(AdminJob.STATUS_RUNNING);
+        assertThat(current.getCheckpoint()).isEqualTo(1);
+        assertThat(current.getCounters()).containsOnlyKeys("oldPendingCampaignsRejected");
+        verify(systemMaintenanceService, never()).removeExpiredUnverifiedUsers(any(), anyInt(), any());
+    }
+
+    private AdminJob runningJob(long checkpoint, long total, long fencingToken) {
+        AdminJob job = new AdminJob(TestJobHandler.TYPE, Map.of("units", total), null);
+        job.setStatus(AdminJob.STATUS_RUNNING);
+        job.setOwner("dead-node");
+        job.setFencingToken(fencingToken);
+        job.setRuns(1);
+        job.setTotal(total);
+        job.setCheckpoint(checkpoint);
+        job.setCounters(new LinkedHashMap<>(Map.of("units", checkpoint)));
+        return template.insert(job);
+    }
+
+    private String user(String username, String role) {
+        User user = new User(username, username + "@example.com", "hash");
+        user.setRole(role);
+        return template.insert(user).getId();
+    }
+
+    private AdminJob awaitFinished(String jobId) {
+        waitUntil(() -> service.getJob(jobId).map(AdminJob::isFinished).orElse(false));
+        return service.getJob(jobId).orElseThrow();
+    }
+
+    private void awaitIdle() {
+        ThreadPoolExecutor workers = (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "workers");
+        waitUntil(() -> workers.getCompletedTaskCount() == workers.getTaskCount());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("timed out waiting").isLessThan(deadline);
+            pause(10);
+        }
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private JobLeaseService leaseNode() {
+        JobLeaseService node = new JobLeaseService();
+        ReflectionTestUtils.setField(node, "mongoTemplate", mongo.template());
+        ReflectionTestUtils.setField(node, "nodeTimeoutSeconds", 30L);
+        node.init();
+        return node;
+    }
+
+    interface ChunkHook {
+        void onChunk(AdminJob job);
+    }
+
+    /**
+     * Counts "units" units, recording where each chunk started and the checkpoint stored at that moment
+     */
+    private final class TestJobHandler implements AdminJobHandler {
+        static final String TYPE = "test";
+
+        final List<Long> chunkStarts = new CopyOnWriteArrayList<>();
+        final List<Long> storedCheckpoints = new CopyOnWriteArrayList<>();
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile ChunkHook onChunk = job -> {};
+
+        @Override
+        public Set<String> getTypes() {
+            return Set.of(TYPE);
+        }
+
+        @Override
+        public void validate(String type, Map<String, Object> params) {
+        }
+
+        @Override
+        public long countUnits(AdminJob job) {
+            return ((Number) job.getParams().get("units")).longValue();
+        }
+
+        @Override
+        public long processChunk(AdminJob job, long from, int maxUnits, Map<String, Long> counters,
+                                 BooleanSupplier stillLeased) {
+            chunkStarts.add(from);
+            storedCheckpoints.add(template.findById(job.getId(), AdminJob.class).getCheckpoint());
+            onChunk.onChunk(job);
+            long end = Math.min(countUnits(job), from + maxUnits);
+            counters.merge("units", end - from, Long::sum);
+            return end;
+        }
+    }
+}
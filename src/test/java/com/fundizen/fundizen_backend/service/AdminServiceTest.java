@@ -0,0 +1,86 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.event.CampaignChangedEvent;
+import com.fundizen.fundizen_backend.models.Campaign;
+import com.fundizen.fundizen_backend.repository.CampaignRepository;
+import com.fundizen.fundizen_backend.repository.CampaignRepositoryCustomImpl;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdminServiceTest {
+
+    private InMemoryMongo mongo;
+    private List<Object> events;
+    private AdminService service;
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        events = new ArrayList<>();
+        ApplicationEventPublisher publisher = events::add;
+
+        service = new AdminService();
+        ReflectionTestUtils.setField(service, "campaignRepository",
+            mongo.repository(CampaignRepository.class, new CampaignRepositoryCustomImpl()));
+        ReflectionTestUtils.setField(service, "eventPublisher", publisher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void bulkApproveCountsEachCampaignOnceAndPublishesOnlyChanges() {
+        String pending = campaign("pending");
+        String rejected = campaign("rejected");
+
+        Map<String, Object> result = service.bulkApproveCampaigns(List.of(pending, rejected, pending));
+
+        assertThat(result).containsEntry("totalProcessed", 2).containsEntry("successCount", 1).containsEntry("failureCount", 1);
+        assertThat(result.get("results")).isEqualTo(Map.of(pending, "approved", rejected, "not_pending"));
+        assertThat(events).singleElement()
+            .extracting(event -> ((CampaignChangedEvent) event).getCampaignId()).isEqualTo(pending);
+        assertThat(mongo.template().findById(pending, Campaign.class).isVerified()).isTrue();
+    }
+
+    @Test
+    void bulkRejectIgnoresABlankReason() {
+        String pending = campaign("pending");
+
+        Map<String, Object> result = service.bulkRejectCampaigns(List.of(pending), " ");
+
+        assertThat(result).containsEntry("successCount", 1);
+        Campaign campaign = mongo.template().findById(pending, Campaign.class);
+        assertThat(campaign.getStatus()).isEqualTo("rejected");
+        assertThat(campaign.getRejectionReason()).isNull();
+    }
+
+    @Test
+    void anEmptyListTouchesNothing() {
+        String pending = campaign("pending");
+
+        Map<String, Object> result = service.bulkApproveCampaigns(List.of());
+
+        assertThat(result).containsEntry("totalProcessed", 0).containsEntry("successCount", 0);
+        assertThat(events).isEmpty();
+        assertThat(mongo.template().findById(pending, Campaign.class).getStatus()).isEqualTo("pending");
+    }
+
+    private String campaign(String status) {
+        Campaign campaign = new Campaign("creator-1", "Campaign", "health", "A campaign");
+        campaign.setStatus(status);
+        return mongo.template().insert(campaign).getId();
+    }
+}
@@ -0,0 +1,161 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.event.CampaignChangedEvent;
+import com.fundizen.fundizen_backend.event.DonationStatusChangedEvent;
+import com.fundizen.fundizen_backend.models.CampaignDonorTotal;
+import com.fundizen.fundizen_backend.models.CampaignLeaderboard;
+import com.fundizen.fundizen_backend.models.Donation;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+class CampaignLeaderboardServiceTest {
+
+    private static final String CAMPAIGN = "campaign-1";
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+    private CampaignLeaderboardService service;
+    private final List<Object> publishedEvents = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        template = spy(mongo.template());
+
+        JobLeaseService jobLeaseService = new JobLeaseService();
+        ReflectionTestUtils.setField(jobLeaseService, "mongoTemplate", mongo.template());
+        ReflectionTestUtils.setField(jobLeaseService, "nodeTimeoutSeconds", 30L);
+        jobLeaseService.init();
+
+        service = new CampaignLeaderboardService();
+        ReflectionTestUtils.setField(service, "mongoTemplate", template);
+        ReflectionTestUtils.setField(service, "jobLeaseService", jobLeaseService);
+        ReflectionTestUtils.setField(service, "eventPublisher", (ApplicationEventPublisher) publishedEvents::add);
+        ReflectionTestUtils.setField(service, "leaderboardSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void readingAMissingLeaderboardWritesNothingAndQueuesARebuild() {
+        succeeded("donor-a", 10.0);
+
+        assertThat(service.getTopDonors(CAMPAIGN, 10)).isEmpty();
+        assertThat(template.count(new Query(), CampaignDonorTotal.class)).isZero();
+        assertThat(template.count(new Query(), CampaignLeaderboard.class)).isZero();
+
+        service.rebuildPending();
+
+        assertThat(service.getTopDonors(CAMPAIGN, 10))
+            .extracting(CampaignLeaderboard.Entry::getDonorId, CampaignLeaderboard.Entry::getTotalAmount)
+            .containsExactly(tuple("donor-a", 10.0));
+        assertThat(publishedEvents).singleElement()
+            .isInstanceOfSatisfying(CampaignChangedEvent.class, event -> assertThat(event.getCampaignId()).isEqualTo(CAMPAIGN));
+    }
+
+    @Test
+    void keepsOnlyTheTopDonors() {
+        succeeded("donor-a", 10.0);
+        succeeded("donor-b", 30.0);
+        succeeded("donor-c", 20.0);
+        succeeded("donor-a", 25.0);
+
+        service.rebuild(CAMPAIGN);
+
+        assertThat(service.getTopDonors(CAMPAIGN, 10))
+            .extracting(CampaignLeaderboard.Entry::getDonorId)
+            .containsExactly("donor-a", "donor-b");
+    }
+
+    @Test
+    void liveDonationsMergeIntoAnExistingLeaderboard() {
+        succeeded("donor-a", 10.0);
+        service.rebuild(CAMPAIGN);
+
+        Donation donation = succeeded("donor-b", 40.0);
+        service.onDonationStatusChanged(new DonationStatusChangedEvent(donation, "succeeded"));
+
+        assertThat(service.getTopDonors(CAMPAIGN, 10))
+            .extracting(CampaignLeaderboard.Entry::getDonorId)
+            .containsExactly("donor-b", "donor-a");
+    }
+
+    @Test
+    void donationsBeforeTheFirstBuildOnlyQueueARebuild() {
+        Donation donation = succeeded("donor-a", 10.0);
+
+        service.onDonationStatusChanged(new DonationStatusChangedEvent(donation, "succeeded"));
+
+        assertThat(template.count(new Query(), CampaignDonorTotal.class)).isZero();
+        service.rebuildPending();
+        assertThat(service.getTopDonors(CAMPAIGN, 10)).hasSize(1);
+    }
+
+    @Test
+    void rebuildKeepsIncrementsThatLandWhileItRuns() {
+        succeeded("donor-a", 10.0);
+        service.rebuild(CAMPAIGN);
+
+        // A donation completes and is counted live right after the rebuild has read the donations
+        doAnswer(invocation -> {
+            Stream<?> result = (Stream<?>) invocation.callRealMethod();
+            List<?> donors = result.toList();
+            Donation late = succeeded("donor-a", 5.0);
+            service.onDonationStatusChanged(new DonationStatusChangedEvent(late, "succeeded"));
+            return donors.stream();
+        }).when(template).aggregateStream(any(Aggregation.class), eq(Donation.class), eq(Document.class));
+
+        service.rebuild(CAMPAIGN);
+
+        CampaignDonorTotal total = template.findById(CampaignDonorTotal.idFor(CAMPAIGN, "donor-a"), CampaignDonorTotal.class);
+        assertThat(total.getTotalAmount()).isEqualTo(15.0);
+        assertThat(total.getDonationCount()).isEqualTo(2L);
+        assertThat(service.getTopDonors(CAMPAIGN, 10)).singleElement()
+            .satisfies(entry -> assertThat(entry.getTotalAmount()).isEqualTo(15.0));
+    }
+
+    @Test
+    void rebuildDropsDonorsWhoseDonationsWereRefunded() {
+        Donation donation = succeeded("donor-a", 10.0);
+        succeeded("donor-b", 20.0);
+        service.rebuild(CAMPAIGN);
+
+        donation.setPaymentStatus("refunded");
+        template.save(donation);
+        service.rebuild(CAMPAIGN);
+
+        assertThat(template.findById(CampaignDonorTotal.idFor(CAMPAIGN, "donor-a"), CampaignDonorTotal.class)).isNull();
+        assertThat(service.getTopDonors(CAMPAIGN, 10))
+            .extracting(CampaignLeaderboard.Entry::getDonorId)
+            .containsExactly("donor-b");
+    }
+
+    private Donation succeeded(String donorId, double amount) {
+        Donation donation = new Donation(CAMPAIGN, donorId, amount, "pi_" + donorId + "_" + amount);
+        donation.setPaymentStatus("succeeded");
+        return mongo.template().insert(donation);
+    }
+}
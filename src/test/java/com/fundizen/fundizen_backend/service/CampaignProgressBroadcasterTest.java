@@ -0,0 +1,96 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.event.CampaignChangedEvent;
+import com.fundizen.fundizen_backend.models.Campaign;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CampaignProgressBroadcasterTest {
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+    private MeterRegistry meterRegistry;
+    private CampaignProgressBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        template = mongo.template();
+        meterRegistry = new SimpleMeterRegistry();
+
+        broadcaster = new CampaignProgressBroadcaster();
+        ReflectionTestUtils.setField(broadcaster, "mongoTemplate", template);
+        ReflectionTestUtils.setField(broadcaster, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(broadcaster, "maxSubscribers", 10);
+        ReflectionTestUtils.setField(broadcaster, "maxCampaignsPerSubscriber", 5);
+        ReflectionTestUtils.setField(broadcaster, "streamTimeoutMs", 60_000L);
+        ReflectionTestUtils.setField(broadcaster, "pushThreads", 1);
+        ReflectionTestUtils.setField(broadcaster, "maxPendingEvents", 8);
+        ReflectionTestUtils.setField(broadcaster, "clusterPollMs", 60_000L);
+        broadcaster.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+        mongo.close();
+    }
+
+    @Test
+    void pushesChangedProgressOnce() throws Exception {
+        String campaignId = campaign(100.0);
+        broadcaster.subscribe(List.of(campaignId));
+
+        raise(campaignId, 150.0);
+        broadcaster.onCampaignChanged(new CampaignChangedEvent(campaignId));
+        broadcaster.flush();
+        broadcaster.onCampaignChanged(new CampaignChangedEvent(campaignId));
+        broadcaster.flush();
+
+        // The state sent on subscribing and the one change
+        awaitPushed(2);
+        assertThat(pushed()).isEqualTo(2.0);
+    }
+
+    private String campaign(double raisedAmount) {
+        Campaign campaign = new Campaign();
+        campaign.setName("Campaign");
+        campaign.setGoalAmount(1000.0);
+        campaign.setRaisedAmount(raisedAmount);
+        campaign.setDonationCount(1L);
+        return template.insert(campaign).getId();
+    }
+
+    private void raise(String campaignId, double raisedAmount) {
+        template.updateFirst(new Query(Criteria.where("id").is(campaignId)),
+            new Update().set("raisedAmount", raisedAmount), Campaign.class);
+    }
+
+    private double pushed() {
+        return meterRegistry.counter("campaign.progress.pushed").count();
+    }
+
+    private void awaitPushed(double expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pushed() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        // Give any duplicate push a chance to show up
+        Thread.sleep(100);
+    }
+}
@@ -0,0 +1,224 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.dto.CampaignFilter;
+import com.fundizen.fundizen_backend.dto.CampaignPage;
+import com.fundizen.fundizen_backend.models.Campaign;
+import com.fundizen.fundizen_backend.repository.CampaignRepository;
+import com.fundizen.fundizen_backend.repository.CampaignRepositoryCustomImpl;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CampaignServiceTest {
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+    private CampaignRepositoryCustomImpl custom;
+    private CampaignService service;
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        template = mongo.template();
+
+        custom = new CampaignRepositoryCustomImpl();
+        ReflectionTestUtils.setField(custom, "mongoTemplate", template);
+        CampaignRepository repository = mock(CampaignRepository.class);
+        when(repository.findCampaignsAfter(any(), any(), any(), any(), anyInt())).thenAnswer(inv ->
+            custom.findCampaignsAfter(inv.getArgument(0), inv.getArgument(1), inv.getArgument(2),
+                                      inv.getArgument(3), inv.getArgument(4)));
+        when(repository.updateFields(any(), any())).thenAnswer(inv ->
+            custom.updateFields(inv.getArgument(0), inv.getArgument(1)));
+
+        service = new CampaignService();
+        ReflectionTestUtils.setField(service, "campaignRepository", repository);
+        ReflectionTestUtils.setField(service, "eventPublisher", mock(ApplicationEventPublisher.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void raisedSortPagesThroughTiesExactlyOnce() {
+        List<String> expected = new ArrayList<>();
+        expected.add(campaign(500.0));
+        expected.add(campaign(100.0));
+        expected.add(campaign(100.0));
+        expected.add(campaign(100.0));
+        expected.add(campaign(0.0));
+        expected.add(campaign(0.0));
+
+        assertThat(pageThrough(CampaignService.SORT_MOST_RAISED, 2)).containsExactlyElementsOf(sortedByRaised(expected));
+        assertThat(pageThrough(CampaignService.SORT_MOST_RAISED, 1)).containsExactlyElementsOf(sortedByRaised(expected));
+    }
+
+    @Test
+    void missingRaisedAmountPagesAsZeroOnceBackfilled() {
+        List<String> expected = List.of(campaign(5.0), withoutRaisedAmount(), campaign(0.0), withoutRaisedAmount());
+
+        CampaignTotalsService totalsService = new CampaignTotalsService();
+        ReflectionTestUtils.setField(totalsService, "mongoTemplate", template);
+        totalsService.backfillMissingTotals();
+
+        assertThat(pageThrough(CampaignService.SORT_MOST_RAISED, 1)).containsExactlyElementsOf(sortedByRaised(expected));
+    }
+
+    @Test
+    void nullSortValueInCursorIsReadAsZero() {
+        String low = campaign(0.0);
+        String high = campaign(0.0); // Later ObjectId sorts first
+
+        CampaignPage page = service.getCampaignPage(filter(), CampaignService.SORT_MOST_RAISED,
+            cursor("raised|null|" + high), 10);
+
+        assertThat(page.getCampaigns()).extracting(Campaign::getId).containsExactly(low);
+    }
+
+    @Test
+    void newestSortRoundTripsDateCursors() {
+        for (int i = 0; i < 5; i++) {
+            campaign(10.0 * i);
+        }
+        assertThat(pageThrough(CampaignService.SORT_NEWEST, 2)).hasSize(5).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void rejectsCursorFromAnotherSortOrMalformedCursor() {
+        campaign(1.0);
+        campaign(2.0);
+        String raisedCursor = service.getCampaignPage(filter(), CampaignService.SORT_MOST_RAISED, null, 1)
+            .getNextCursor();
+
+        assertThatThrownBy(() -> service.getCampaignPage(filter(), CampaignService.SORT_NEWEST, raisedCursor, 1))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getCampaignPage(filter(), CampaignService.SORT_MOST_RAISED, "%%%", 1))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getCampaignPage(filter(), CampaignService.SORT_MOST_RAISED,
+                cursor("raised|abc|id"), 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void moderationAndEditsKeepTotalsIncrementedMeanwhile() {
+        String campaignId = campaign(10.0);
+        custom.incrementDonationTotals(campaignId, 25.0, 1);
+
+        Campaign approved = service.verifyCampaign(campaignId);
+        custom.incrementDonationTotals(campaignId, 5.0, 1);
+        Campaign edit = new Campaign();
+        edit.setName("Renamed");
+        edit.setGoalAmount(500.0);
+        Campaign edited = service.updateCampaign(campaignId, edit);
+
+        assertThat(approved.getStatus()).isEqualTo("approved");
+        assertThat(approved.isVerified()).isTrue();
+        assertThat(approved.getRaisedAmount()).isEqualTo(35.0);
+        assertThat(edited.getName()).isEqualTo("Renamed");
+        assertThat(edited.getGoalAmount()).isEqualTo(500.0);
+        assertThat(edited.getStatus()).isEqualTo("approved");
+        Campaign stored = template.findById(campaignId, Campaign.class);
+        assertThat(stored.getRaisedAmount()).isEqualTo(40.0);
+        assertThat(stored.getDonationCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void moderatingOrEditingAMissingCampaignChangesNothing() {
+        String missing = "507f1f77bcf86cd799439011";
+
+        assertThatThrownBy(() -> service.rejectCampaign(missing)).hasMessage("Campaign not found");
+        assertThat(service.updateCampaign(missing, new Campaign())).isNull();
+        assertThat(template.count(new Query(), Campaign.class)).isZero();
+    }
+
+    @Test
+    void donationEligibilityIsReadFreshWithTheFieldsItNeeds() {
+        Campaign campaign = new Campaign("creator-1", "Clean water", "health", "A long description");
+        campaign.approve();
+        campaign.setGoalAmount(100.0);
+        campaign.setRaisedAmount(20.0);
+        campaign.setStartDate(LocalDate.now().minusDays(1));
+        campaign.setEndDate(LocalDate.now().plusDays(30));
+        String campaignId = template.insert(campaign).getId();
+        ReflectionTestUtils.setField(service, "campaignRepository",
+            mongo.repository(CampaignRepository.class, new CampaignRepositoryCustomImpl()));
+
+        Campaign eligible = service.getCampaignForDonation(campaignId);
+        assertThat(eligible.canReceiveDonations()).isTrue();
+        assertThat(eligible.getName()).isEqualTo("Clean water");
+        assertThat(eligible.getDescription()).isNull();
+
+        // Rejected on another node - no cached copy is consulted
+        template.updateFirst(new Query(Criteria.where("id").is(campaignId)),
+            new Update().set("status", "rejected").set("verified", false), Campaign.class);
+        assertThat(service.getCampaignForDonation(campaignId).canReceiveDonations()).isFalse();
+        assertThat(service.getCampaignForDonation("507f1f77bcf86cd799439011")).isNull();
+    }
+
+    private List<String> sortedByRaised(List<String> ids) {
+        return ids.stream()
+            .map(id -> template.findById(id, Campaign.class))
+            .sorted(Comparator.comparing(Campaign::getRaisedAmount).thenComparing(Campaign::getId).reversed())
+            .map(Campaign::getId)
+            .collect(Collectors.toList());
+    }
+
+    private List<String> pageThrough(String sort, int size) {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CampaignPage page = service.getCampaignPage(filter(), sort, cursor, size);
+            seen.addAll(page.getCampaigns().stream().map(Campaign::getId).collect(Collectors.toList()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private CampaignFilter filter() {
+        return CampaignFilter.builder().build();
+    }
+
+    private String campaign(double raisedAmount) {
+        Campaign campaign = new Campaign();
+        campaign.setName("Campaign");
+        campaign.setRaisedAmount(raisedAmount);
+        campaign.setCreatedAt(LocalDateTime.now());
+        return template.insert(campaign).getId();
+    }
+
+    private String withoutRaisedAmount() {
+        String campaignId = campaign(0.0);
+        template.updateFirst(new Query(Criteria.where("id").is(campaignId)),
+            new Update().unset("raisedAmount"), Campaign.class);
+        return campaignId;
+    }
+
+    private static String cursor(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,176 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.event.DonationStatusChangedEvent;
+import com.fundizen.fundizen_backend.models.CampaignStats;
+import com.fundizen.fundizen_backend.models.Donation;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+class CampaignStatsServiceTest {
+
+    private static final String CAMPAIGN = "campaign-1";
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+    private CampaignStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        template = spy(mongo.template());
+        service = new CampaignStatsService();
+        ReflectionTestUtils.setField(service, "mongoTemplate", template);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void readMissDoesNotCreateTheDocument() {
+        donation("d1", 10.0, "succeeded");
+
+        CampaignStats stats = service.getStats(CAMPAIGN);
+
+        assertThat(stats.getDonationCount()).isZero();
+        assertThat(mongo.template().findById(CAMPAIGN, CampaignStats.class)).isNull();
+    }
+
+    @Test
+    void firstSucceededDonationBuildsThenIncrements() {
+        succeed(donation("d1", 10.0, "succeeded"));
+        succeed(donation("d2", 25.0, "succeeded"));
+        succeed(donation("d1", 5.0, "succeeded"));
+
+        CampaignStats stats = service.getStats(CAMPAIGN);
+        assertThat(stats.getTotalAmount()).isEqualTo(40.0);
+        assertThat(stats.getDonationCount()).isEqualTo(3);
+        assertThat(stats.getLargestDonation()).isEqualTo(25.0);
+        assertThat(service.getUniqueDonors(stats)).isEqualTo(2);
+    }
+
+    @Test
+    void refundRebuildsWithoutOlderValues() {
+        succeed(donation("d1", 10.0, "succeeded"));
+        Donation refunded = donation("d2", 90.0, "succeeded");
+        succeed(refunded);
+
+        mongo.template().updateFirst(new Query(Criteria.where("id").is(refunded.getId())),
+            new Update().set("paymentStatus", "refunded"), Donation.class);
+        service.onDonationStatusChanged(new DonationStatusChangedEvent(refunded, "refunded"));
+
+        CampaignStats stats = service.getStats(CAMPAIGN);
+        assertThat(stats.getTotalAmount()).isEqualTo(10.0);
+        assertThat(stats.getLargestDonation()).isEqualTo(10.0);
+    }
+
+    @Test
+    void rebuildDoesNotOverwriteAnIncrementThatLandsMeanwhile() {
+        succeed(donation("d1", 10.0, "succeeded"));
+        Donation late = donation("d2", 20.0, "pending");
+
+        // d2 succeeds and its increment lands after the rebuild aggregated the totals
+        AtomicBoolean raced = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (raced.compareAndSet(false, true)) {
+                mongo.template().updateFirst(new Query(Criteria.where("id").is(late.getId())),
+                    new Update().set("paymentStatus", "succeeded"), Donation.class);
+                late.setPaymentStatus("succeeded");
+                succeed(late);
+            }
+            return invocation.callRealMethod();
+        }).when(template).aggregateStream(any(Aggregation.class), eq(Donation.class), eq(Document.class));
+
+        service.rebuild(CAMPAIGN);
+
+        CampaignStats stats = service.getStats(CAMPAIGN);
+        assertThat(stats.getTotalAmount()).isEqualTo(30.0);
+        assertThat(stats.getDonationCount()).isEqualTo(2);
+    }
+
+    @Test
+    void rebuildReplacesDocumentsWrittenBeforeRevisions() {
+        succeed(donation("d1", 10.0, "succeeded"));
+        mongo.template().updateFirst(new Query(Criteria.where("id").is(CAMPAIGN)),
+            new Update().unset("revision").set("totalAmount", 999.0), CampaignStats.class);
+
+        assertThat(service.rebuild(CAMPAIGN)).isNotNull();
+        assertThat(service.getStats(CAMPAIGN).getTotalAmount()).isEqualTo(10.0);
+    }
+
+    @Test
+    void reconcileBuildsMissingAndRepairsDriftedStats() {
+        donation("d1", 10.0, "succeeded");
+        Donation other = new Donation("campaign-2", "d9", 50.0, "pi_other");
+        other.setPaymentStatus("succeeded");
+        mongo.template().insert(other);
+        succeed(other);
+        mongo.template().updateFirst(new Query(Criteria.where("id").is("campaign-2")),
+            new Update().set("totalAmount", 1.0), CampaignStats.class);
+
+        service.reconcileAll();
+
+        assertThat(service.getStats(CAMPAIGN).getTotalAmount()).isEqualTo(10.0);
+        assertThat(service.getStats("campaign-2").getTotalAmount()).isEqualTo(50.0);
+    }
+
+    @Test
+    void reconcileResetsStatsOfFullyRefundedCampaigns() {
+        Donation donation = donation("d1", 10.0, "succeeded");
+        succeed(donation);
+        mongo.template().updateFirst(new Query(Criteria.where("id").is(donation.getId())),
+            new Update().set("paymentStatus", "refunded"), Donation.class);
+
+        service.reconcileAll();
+
+        assertThat(service.getStats(CAMPAIGN).getDonationCount()).isZero();
+    }
+
+    @Test
+    void rebuildAndReconcileCountMessagesLikeTheIncrementalPath() {
+        for (String message : new String[] {"Good luck!", "   ", "", null, "\n\t"}) {
+            Donation donation = new Donation(CAMPAIGN, "donor", 10.0, "pi_" + System.nanoTime());
+            donation.setPaymentStatus("succeeded");
+            donation.setMessage(message);
+            succeed(mongo.template().insert(donation));
+        }
+        assertThat(service.getStats(CAMPAIGN).getDonationsWithMessages()).isEqualTo(1);
+
+        service.rebuild(CAMPAIGN);
+        assertThat(service.getStats(CAMPAIGN).getDonationsWithMessages()).isEqualTo(1);
+
+        mongo.template().updateFirst(new Query(Criteria.where("id").is(CAMPAIGN)),
+            new Update().set("donationsWithMessages", 4L), CampaignStats.class);
+        service.reconcileAll();
+        assertThat(service.getStats(CAMPAIGN).getDonationsWithMessages()).isEqualTo(1);
+    }
+
+    private Donation donation(String donorId, double amount, String status) {
+        Donation donation = new Donation(CAMPAIGN, donorId, amount, "pi_" + System.nanoTime());
+        donation.setPaymentStatus(status);
+        return mongo.template().insert(donation);
+    }
+
+    private void succeed(Donation donation) {
+        service.onDonationStatusChanged(new DonationStatusChangedEvent(donation, "succeeded"));
+    }
+}
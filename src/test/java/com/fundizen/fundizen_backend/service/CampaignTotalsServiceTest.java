@@ -0,0 +1,140 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.Campaign;
+import com.fundizen.fundizen_backend.models.Donation;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+class CampaignTotalsServiceTest {
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+    private CampaignTotalsService service;
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        template = spy(mongo.template());
+        service = new CampaignTotalsService();
+        ReflectionTestUtils.setField(service, "mongoTemplate", template);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void reconcileRepairsDriftedTotals() {
+        String campaignId = campaign(10.0, 1L);
+        donation(campaignId, 25.0, "succeeded");
+        donation(campaignId, 15.0, "succeeded");
+        donation(campaignId, 99.0, "pending");
+
+        service.reconcileAllCampaigns();
+
+        Campaign campaign = template.findById(campaignId, Campaign.class);
+        assertThat(campaign.getRaisedAmount()).isEqualTo(40.0);
+        assertThat(campaign.getDonationCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void reconcileResetsCampaignsWithoutSucceededDonations() {
+        String campaignId = campaign(50.0, 2L);
+        donation(campaignId, 50.0, "refunded");
+
+        service.reconcileAllCampaigns();
+
+        Campaign campaign = template.findById(campaignId, Campaign.class);
+        assertThat(campaign.getRaisedAmount()).isEqualTo(0.0);
+        assertThat(campaign.getDonationCount()).isEqualTo(0L);
+    }
+
+    @Test
+    void reconcileDoesNotOverwriteIncrementThatLandsDuringTheRun() {
+        String campaignId = campaign(0.0, 0L);
+        donation(campaignId, 20.0, "succeeded");
+
+        // A webhook's $inc arrives after the stored totals were read but before the repair is written
+        doAnswer(invocation -> {
+            mongo.template().updateFirst(new Query(Criteria.where("id").is(campaignId)),
+                new Update().inc("raisedAmount", 5.0).inc("donationCount", 1L), Campaign.class);
+            return invocation.callRealMethod();
+        }).when(template).aggregate(any(Aggregation.class), eq(Donation.class), eq(Document.class));
+
+        service.reconcileAllCampaigns();
+
+        Campaign campaign = template.findById(campaignId, Campaign.class);
+        assertThat(campaign.getRaisedAmount()).isEqualTo(5.0);
+        assertThat(campaign.getDonationCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void reconcileCampaignRepairsMissingTotals() {
+        Campaign unset = new Campaign();
+        unset.setName("Unset totals");
+        unset = mongo.template().insert(unset);
+        mongo.template().updateFirst(new Query(Criteria.where("id").is(unset.getId())),
+            new Update().unset("raisedAmount").unset("donationCount"), Campaign.class);
+        donation(unset.getId(), 12.5, "succeeded");
+
+        service.reconcileCampaign(unset.getId());
+
+        Campaign campaign = template.findById(unset.getId(), Campaign.class);
+        assertThat(campaign.getRaisedAmount()).isEqualTo(12.5);
+        assertThat(campaign.getDonationCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void backfillFillsMissingTotalsFromDonations() {
+        String funded = unsetTotals();
+        String empty = unsetTotals();
+        String untouched = campaign(7.0, 1L);
+        donation(funded, 30.0, "succeeded");
+
+        service.backfillMissingTotals();
+
+        assertThat(template.findById(funded, Campaign.class).getRaisedAmount()).isEqualTo(30.0);
+        Campaign emptyCampaign = template.findById(empty, Campaign.class);
+        assertThat(emptyCampaign.getRaisedAmount()).isEqualTo(0.0);
+        assertThat(emptyCampaign.getDonationCount()).isEqualTo(0L);
+        assertThat(template.findById(untouched, Campaign.class).getRaisedAmount()).isEqualTo(7.0);
+    }
+
+    private String unsetTotals() {
+        String campaignId = campaign(0.0, 0L);
+        mongo.template().updateFirst(new Query(Criteria.where("id").is(campaignId)),
+            new Update().unset("raisedAmount").unset("donationCount"), Campaign.class);
+        return campaignId;
+    }
+
+    private String campaign(double raisedAmount, long donationCount) {
+        Campaign campaign = new Campaign();
+        campaign.setName("Campaign");
+        campaign.setRaisedAmount(raisedAmount);
+        campaign.setDonationCount(donationCount);
+        return mongo.template().insert(campaign).getId();
+    }
+
+    private void donation(String campaignId, double amount, String status) {
+        Donation donation = new Donation(campaignId, "donor", amount, "pi_" + System.nanoTime());
+        donation.setPaymentStatus(status);
+        mongo.template().insert(donation);
+    }
+}
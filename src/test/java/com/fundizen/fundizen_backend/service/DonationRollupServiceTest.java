@@ -0,0 +1,142 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.event.DonationStatusChangedEvent;
+import com.fundizen.fundizen_backend.models.Donation;
+import com.fundizen.fundizen_backend.models.DonationRollup;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+class DonationRollupServiceTest {
+
+    private static final LocalDateTime TODAY = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).withHour(10);
+    private static final LocalDateTime LAST_WEEK = TODAY.minusDays(7);
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+    private JobLeaseService jobLeaseService;
+    private DonationRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        template = spy(mongo.template());
+        jobLeaseService = mock(JobLeaseService.class);
+        service = new DonationRollupService();
+        ReflectionTestUtils.setField(service, "mongoTemplate", template);
+        ReflectionTestUtils.setField(service, "jobLeaseService", jobLeaseService);
+        ReflectionTestUtils.setField(service, "hourlyRetentionDays", 35);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void rebuildAllBuildsBucketsAndRemovesStaleOnes() {
+        donation(LAST_WEEK, 10.0, "succeeded");
+        donation(TODAY, 20.0, "succeeded");
+        donation(TODAY.plusHours(1), 30.0, "succeeded");
+        donation(TODAY, 99.0, "pending");
+        DonationRollup stale = new DonationRollup(DonationRollup.DAY, TODAY.minusDays(3).toLocalDate().atStartOfDay());
+        stale.setTotalAmount(500.0);
+        mongo.template().insert(stale);
+
+        service.rebuildAll();
+
+        assertThat(service.getAllTime().getTotalAmount()).isEqualTo(60.0);
+        assertThat(service.getAllTime().getDonationCount()).isEqualTo(3);
+        assertThat(bucket(DonationRollup.DAY, TODAY.toLocalDate().atStartOfDay()).getTotalAmount()).isEqualTo(50.0);
+        assertThat(bucket(DonationRollup.HOUR, TODAY).getTotalAmount()).isEqualTo(20.0);
+        assertThat(mongo.template().findById(stale.getId(), DonationRollup.class)).isNull();
+    }
+
+    @Test
+    void rebuildAllKeepsIncrementsThatLandWhileItRuns() {
+        donation(TODAY, 20.0, "succeeded");
+
+        // A donation succeeds and is applied live while the rebuild is streaming
+        AtomicBoolean raced = new AtomicBoolean();
+        doAnswer(invocation -> {
+            Object stream = invocation.callRealMethod();
+            if (raced.compareAndSet(false, true)) {
+                Thread.sleep(5);
+                Donation live = donation(TODAY, 5.0, "succeeded");
+                service.onDonationStatusChanged(new DonationStatusChangedEvent(live, "succeeded"));
+            }
+            return stream;
+        }).when(template).stream(any(Query.class), eq(Donation.class));
+
+        service.rebuildAll();
+
+        assertThat(bucket(DonationRollup.DAY, TODAY.toLocalDate().atStartOfDay()).getTotalAmount()).isEqualTo(25.0);
+        assertThat(bucket(DonationRollup.HOUR, TODAY).getDonationCount()).isEqualTo(2);
+        assertThat(service.getAllTime().getTotalAmount()).isEqualTo(25.0);
+    }
+
+    @Test
+    void refundRebuildsItsDayAndZeroesEmptiedHours() {
+        Donation kept = donation(TODAY, 20.0, "succeeded");
+        Donation refunded = donation(TODAY.plusHours(2), 30.0, "succeeded");
+        service.onDonationStatusChanged(new DonationStatusChangedEvent(kept, "succeeded"));
+        service.onDonationStatusChanged(new DonationStatusChangedEvent(refunded, "succeeded"));
+
+        mongo.template().updateFirst(new Query(Criteria.where("id").is(refunded.getId())),
+            new Update().set("paymentStatus", "refunded"), Donation.class);
+        service.onDonationStatusChanged(new DonationStatusChangedEvent(refunded, "refunded"));
+
+        assertThat(bucket(DonationRollup.DAY, TODAY.toLocalDate().atStartOfDay()).getTotalAmount()).isEqualTo(20.0);
+        assertThat(bucket(DonationRollup.HOUR, TODAY.plusHours(2)).getDonationCount()).isZero();
+        assertThat(mongo.template().findById(DonationRollup.idFor(DonationRollup.HOUR, TODAY.plusHours(5)),
+            DonationRollup.class)).isNull();
+        assertThat(service.getAllTime().getTotalAmount()).isEqualTo(20.0);
+    }
+
+    @Test
+    void backfillRunsOnlyUnderTheLease() {
+        donation(TODAY, 20.0, "succeeded");
+        when(jobLeaseService.runExclusively(anyString(), any(), any())).thenReturn(false);
+
+        service.backfillIfEmpty();
+        assertThat(service.getAllTime().getDonationCount()).isZero();
+
+        when(jobLeaseService.runExclusively(anyString(), any(), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(2).run();
+            return true;
+        });
+        service.backfillIfEmpty();
+        assertThat(service.getAllTime().getDonationCount()).isEqualTo(1);
+    }
+
+    private DonationRollup bucket(String granularity, LocalDateTime bucketStart) {
+        return mongo.template().findById(DonationRollup.idFor(granularity, bucketStart), DonationRollup.class);
+    }
+
+    private Donation donation(LocalDateTime createdAt, double amount, String status) {
+        Donation donation = new Donation("campaign-1", "donor-" + amount, amount, "pi_" + System.nanoTime());
+        donation.setPaymentStatus(status);
+        donation.setCreatedAt(createdAt);
+        return mongo.template().insert(donation);
+    }
+}
@@ -0,0 +1,107 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DonationVelocityLimiterTest {
+
+    private InMemoryMongo mongo;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void rejectsOnlyAfterMoreThanTheLimitOfCreatedDonations() {
+        DonationVelocityLimiter limiter = limiter(0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.isOverLimit("1.1.1.1", null)).isFalse();
+            limiter.recordDonation("1.1.1.1", null, "campaign-1");
+        }
+        assertThat(limiter.isOverLimit("1.1.1.1", null)).isFalse();
+
+        limiter.recordDonation("1.1.1.1", null, "campaign-1");
+        assertThat(limiter.isOverLimit("1.1.1.1", null)).isTrue();
+        assertThat(limiter.isOverLimit("2.2.2.2", null)).isFalse();
+    }
+
+    @Test
+    void rejectedAttemptsAreNotCounted() {
+        DonationVelocityLimiter limiter = limiter(0);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.isOverLimit("1.1.1.1", "a@example.com");
+        }
+
+        assertThat(limiter.isOverLimit("1.1.1.1", "a@example.com")).isFalse();
+    }
+
+    @Test
+    void emailLimitIsCaseInsensitive() {
+        DonationVelocityLimiter limiter = limiter(0);
+        for (int i = 0; i < 11; i++) {
+            limiter.recordDonation(null, i % 2 == 0 ? "A@Example.com" : "a@example.com", "campaign-1");
+        }
+
+        assertThat(limiter.isOverLimit(null, "a@EXAMPLE.com")).isTrue();
+    }
+
+    @Test
+    void busyCampaignOnlyRaisesOneAlert() {
+        DonationVelocityLimiter limiter = limiter(3);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.recordDonation("10.0.0." + i, "donor" + i + "@example.com", "viral");
+        }
+
+        assertThat(limiter.isOverLimit("10.0.0.99", "new@example.com")).isFalse();
+        assertThat(meterRegistry.counter("donation.velocity.alerts", "dimension", "campaign").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void limitsHoldAcrossNodesAfterSync() {
+        DonationVelocityLimiter nodeA = limiter(0);
+        DonationVelocityLimiter nodeB = limiter(0);
+        for (int i = 0; i < 6; i++) {
+            nodeA.recordDonation("1.1.1.1", null, "campaign-1");
+        }
+
+        nodeA.syncWithCluster();
+        nodeB.syncWithCluster();
+
+        assertThat(nodeB.isOverLimit("1.1.1.1", null)).isTrue();
+    }
+
+    private DonationVelocityLimiter limiter(int campaignAlertThreshold) {
+        DonationVelocityLimiter limiter = new DonationVelocityLimiter();
+        ReflectionTestUtils.setField(limiter, "mongoTemplate", mongo.template());
+        ReflectionTestUtils.setField(limiter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(limiter, "ipLimit", 5);
+        ReflectionTestUtils.setField(limiter, "emailLimit", 10);
+        ReflectionTestUtils.setField(limiter, "campaignAlertThreshold", campaignAlertThreshold);
+        ReflectionTestUtils.setField(limiter, "windowMinutes", 60);
+        ReflectionTestUtils.setField(limiter, "slotCount", 12);
+        ReflectionTestUtils.setField(limiter, "sketchWidth", 16384);
+        ReflectionTestUtils.setField(limiter, "sketchDepth", 4);
+        limiter.init();
+        return limiter;
+    }
+}
@@ -0,0 +1,125 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+import com.fundizen.fundizen_backend.util.Hashing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JobLeaseServiceTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private InMemoryMongo mongo;
+    private JobLeaseService nodeA;
+    private JobLeaseService nodeB;
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        nodeA = node();
+        nodeB = node();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void onlyOneNodeHoldsALease() {
+        assertThat(nodeA.tryAcquire("job", TTL)).isPresent();
+        assertThat(nodeB.tryAcquire("job", TTL)).isEmpty();
+        assertThat(nodeA.tryAcquire("job", TTL)).isEmpty();
+    }
+
+    @Test
+    void anExpiredLeaseIsTakenOverWithAHigherFencingToken() throws Exception {
+        JobLeaseService.Lease stale = nodeA.tryAcquire("job", Duration.ofMillis(50)).orElseThrow();
+        Thread.sleep(100);
+
+        JobLeaseService.Lease current = nodeB.tryAcquire("job", TTL).orElseThrow();
+
+        assertThat(current.getFencingToken()).isGreaterThan(stale.getFencingToken());
+    }
+
+    @Test
+    void thePreviousHolderIsFencedOffAfterATakeover() throws Exception {
+        JobLeaseService.Lease stale = nodeA.tryAcquire("job", Duration.ofMillis(50)).orElseThrow();
+        Thread.sleep(100);
+        JobLeaseService.Lease current = nodeB.tryAcquire("job", TTL).orElseThrow();
+
+        assertThat(nodeA.renew(stale)).isFalse();
+        // Releasing a lost lease must not free the new holder's
+        nodeA.release(stale);
+        assertThat(nodeA.tryAcquire("job", TTL)).isEmpty();
+        assertThat(nodeB.renew(current)).isTrue();
+    }
+
+    @Test
+    void aReleasedLeaseCanBeTakenStraightAway() {
+        JobLeaseService.Lease lease = nodeA.tryAcquire("job", TTL).orElseThrow();
+
+        nodeA.release(lease);
+
+        Optional<JobLeaseService.Lease> next = nodeB.tryAcquire("job", TTL);
+        assertThat(next).isPresent();
+        assertThat(nodeA.renew(lease)).isFalse();
+    }
+
+    @Test
+    void runExclusivelyKeepsTheLeaseOnSuccessAndReleasesItOnFailure() {
+        assertThat(nodeA.runExclusively("ok", TTL, () -> {})).isTrue();
+        assertThat(nodeB.runExclusively("ok", TTL, () -> {})).isFalse();
+
+        assertThatThrownBy(() -> nodeA.runExclusively("failing", TTL, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(nodeB.runExclusively("failing", TTL, () -> {})).isTrue();
+    }
+
+    @Test
+    void runPartitionedSkipsPartitionsHeldByAnotherNode() {
+        nodeB.tryAcquire("job:1", TTL).orElseThrow();
+        List<Integer> ran = new ArrayList<>();
+
+        assertThat(nodeA.runPartitioned("job", 4, TTL, (partition, lease) -> ran.add(partition.getIndex()))).isEqualTo(3);
+
+        assertThat(ran).containsExactlyInAnyOrder(0, 2, 3);
+        // Every partition is now leased, so a second node finds nothing to do
+        assertThat(nodeB.runPartitioned("job", 4, TTL, (partition, lease) -> ran.add(-1))).isZero();
+    }
+
+    @Test
+    void partitionKeysMatchMembership() {
+        int count = 3;
+        List<Integer> allKeys = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            JobLeaseService.Partition partition = new JobLeaseService.Partition(index, count);
+            allKeys.addAll(partition.keys());
+            for (int i = 0; i < 200; i++) {
+                String id = "donation-" + i;
+                assertThat(partition.contains(id)).isEqualTo(partition.keys().contains(Hashing.partitionKey(id)));
+            }
+        }
+        assertThat(allKeys).hasSize(Hashing.PARTITION_KEYS).doesNotHaveDuplicates();
+    }
+
+    private JobLeaseService node() {
+        JobLeaseService node = new JobLeaseService();
+        ReflectionTestUtils.setField(node, "mongoTemplate", mongo.template());
+        ReflectionTestUtils.setField(node, "nodeTimeoutSeconds", 30L);
+        node.init();
+        return node;
+    }
+}
@@ -0,0 +1,126 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.config.PasswordHashingConfig;
+import com.fundizen.fundizen_backend.config.PasswordHashingProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class PasswordHashingServiceTest {
+
+    private final PasswordHashingProperties properties = new PasswordHashingProperties();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BCryptPasswordEncoder passwordEncoder;
+    private ExecutorService executor;
+    private PasswordHashingService service;
+
+    @BeforeEach
+    void setUp() {
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        properties.setTimeout(Duration.ofSeconds(2));
+        properties.setCost(4);
+
+        PasswordHashingConfig config = new PasswordHashingConfig();
+        passwordEncoder = spy(config.passwordEncoder(properties, meterRegistry));
+        executor = config.passwordHashingExecutor(properties, meterRegistry);
+
+        service = new PasswordHashingService();
+        ReflectionTestUtils.setField(service, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(service, "passwordHashingExecutor", executor);
+        ReflectionTestUtils.setField(service, "properties", properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void hashesAndVerifiesOnTheExecutor() {
+        List<String> threads = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return invocation.callRealMethod();
+        }).when(passwordEncoder).encode(any());
+
+        String hash = service.encode("secret");
+
+        assertThat(service.matches("secret", hash)).isTrue();
+        assertThat(service.matches("wrong", hash)).isFalse();
+        assertThat(threads).singleElement().asString().startsWith("fundizen-password-");
+    }
+
+    @Test
+    void rejectsWithARetryableErrorOnceTheQueueIsFull() {
+        executor.submit(() -> await(release));
+        executor.submit(() -> await(release));
+
+        assertThatThrownBy(() -> service.encode("secret"))
+            .isInstanceOf(PasswordHashingBusyException.class)
+            .hasCauseInstanceOf(RejectedExecutionException.class)
+            .satisfies(e -> assertThat(((PasswordHashingBusyException) e).getRetryAfterSeconds()).isPositive());
+    }
+
+    @Test
+    void givesUpOnAHashThatDoesNotFinishInTimeAndNeverRunsIt() throws Exception {
+        properties.setTimeout(Duration.ofMillis(100));
+        executor.submit(() -> await(release));
+
+        assertThatThrownBy(() -> service.matches("secret", "$2a$04$invalidinvalidinvalidinvalidinvalidinvalidinvalidinva"))
+            .isInstanceOf(PasswordHashingBusyException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+
+        // The cancelled hash is skipped once the thread frees up
+        release.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        verify(passwordEncoder, never()).matches(any(), any());
+    }
+
+    @Test
+    void onlyHashesWithALowerCostNeedARehash() {
+        String current = service.encode("secret");
+        String weaker = new BCryptPasswordEncoder(4).encode("secret");
+        String stronger = new BCryptPasswordEncoder(5).encode("secret");
+        ReflectionTestUtils.setField(service, "passwordEncoder", new BCryptPasswordEncoder(5));
+
+        assertThat(service.needsRehash(current)).isTrue();
+        assertThat(service.needsRehash(weaker)).isTrue();
+        assertThat(service.needsRehash(stronger)).isFalse();
+        assertThat(service.needsRehash(null)).isFalse();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.Donation;
+import com.fundizen.fundizen_backend.repository.DonationPartitionKeyCallback;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+import com.stripe.exception.ApiConnectionException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mapping.callback.EntityCallbacks;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PendingDonationCleanupServiceTest {
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+    private StripeService stripeService;
+    private ResilientStripeClient resilientStripeClient;
+    private MeterRegistry meterRegistry;
+    private PendingDonationCleanupService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        template = mongo.template();
+        template.setEntityCallbacks(EntityCallbacks.create(new DonationPartitionKeyCallback()));
+        stripeService = mock(StripeService.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        // Runs the Stripe call inline, reporting its outcome like the real client
+        resilientStripeClient = mock(ResilientStripeClient.class);
+        when(resilientStripeClient.submit(eq(ResilientStripeClient.CANCEL_PAYMENT_INTENT), any())).thenAnswer(invocation -> {
+            try {
+                return CompletableFuture.completedFuture(
+                    ((ResilientStripeClient.StripeCall<Object>) invocation.getArgument(1)).execute());
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+
+        service = new PendingDonationCleanupService();
+        ReflectionTestUtils.setField(service, "mongoTemplate", template);
+        ReflectionTestUtils.setField(service, "stripeService", stripeService);
+        ReflectionTestUtils.setField(service, "resilientStripeClient", resilientStripeClient);
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(service, "pendingAgeHours", 24L);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "parallelism", 2);
+        ReflectionTestUtils.setField(service, "stripeRatePerSecond", 1000);
+        ReflectionTestUtils.setField(service, "leaseCheckSeconds", 30L);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void failsStalePendingDonationsAcrossChunks() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            donation("stale-" + i, "pending", "pi_" + i, 48);
+        }
+        donation("fresh", "pending", "pi_fresh", 1);
+        donation("paid", "succeeded", "pi_paid", 48);
+
+        assertThat(service.cleanup()).isEqualTo(5);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(status("stale-" + i)).isEqualTo("failed");
+        }
+        assertThat(status("fresh")).isEqualTo("pending");
+        assertThat(status("paid")).isEqualTo("succeeded");
+        verify(stripeService, times(5)).cancelPaymentIntent(anyString(), eq("abandoned"));
+    }
+
+    @Test
+    void donationsWithoutAnIntentAreFailedWithoutCallingStripe() throws Exception {
+        donation("no-intent", "processing", null, 48);
+
+        assertThat(service.cleanup()).isEqualTo(1);
+
+        assertThat(status("no-intent")).isEqualTo("failed");
+        verify(stripeService, never()).cancelPaymentIntent(anyString(), anyString());
+        assertThat(meterRegistry.counter("donation.cleanup.donations", "outcome", "no_intent").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void neverOverwritesADonationThatSucceededMeanwhile() throws Exception {
+        donation("racing", "pending", "pi_racing", 48);
+        when(stripeService.cancelPaymentIntent("pi_racing", "abandoned")).thenAnswer(invocation -> {
+            // The success webhook lands while the cancel is in flight
+            template.updateFirst(new Query(Criteria.where("id").is("racing")),
+                new Update().set("paymentStatus", "succeeded"), Donation.class);
+            return null;
+        });
+
+        assertThat(service.cleanup()).isZero();
+        assertThat(status("racing")).isEqualTo("succeeded");
+    }
+
+    @Test
+    void keepsDonationsPendingWhenTheCancelFails() throws Exception {
+        donation("declined", "pending", "pi_declined", 48);
+        when(stripeService.cancelPaymentIntent("pi_declined", "abandoned"))
+            .thenThrow(new IllegalStateException("Payment intent cannot be cancelled"));
+
+        assertThat(service.cleanup()).isZero();
+
+        assertThat(status("declined")).isEqualTo("pending");
+        assertThat(meterRegistry.counter("donation.cleanup.donations", "outcome", "cancel_failed").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stopsWhenStripeIsUnavailable() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            donation("stale-" + i, "pending", "pi_" + i, 48);
+        }
+        when(resilientStripeClient.submit(eq(ResilientStripeClient.CANCEL_PAYMENT_INTENT), any())).thenReturn(
+            CompletableFuture.failedFuture(new StripeUnavailableException("Payment provider is temporarily unavailable", 30,
+                new ApiConnectionException("connection refused"))));
+
+        assertThat(service.cleanup()).isZero();
+
+        // Only the first chunk was attempted
+        verify(resilientStripeClient, times(2)).submit(eq(ResilientStripeClient.CANCEL_PAYMENT_INTENT), any());
+    }
+
+    @Test
+    void stopsOnceTheLeaseIsLost() {
+        for (int i = 0; i < 4; i++) {
+            donation("stale-" + i, "pending", null, 48);
+        }
+
+        assertThat(service.cleanup(null, () -> false)).isZero();
+        assertThat(status("stale-0")).isEqualTo("pending");
+    }
+
+    @Test
+    void renewsTheLeaseWithinAChunkAndStopsSubmittingOnceItIsLost() throws Exception {
+        ReflectionTestUtils.setField(service, "leaseCheckSeconds", 0L);
+        for (int i = 0; i < 4; i++) {
+            donation("stale-" + i, "pending", "pi_" + i, 48);
+        }
+        // Held while the first chunk is read and its first cancel submitted, lost before the second
+        AtomicInteger renewals = new AtomicInteger();
+
+        assertThat(service.cleanup(null, () -> renewals.incrementAndGet() < 4)).isEqualTo(1);
+
+        verify(stripeService, times(1)).cancelPaymentIntent(anyString(), eq("abandoned"));
+        assertThat(renewals.get()).isEqualTo(4);
+    }
+
+    @Test
+    void eachPartitionQueriesOnlyItsOwnDonations() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ids.add("stale-" + i);
+            donation("stale-" + i, "pending", null, 48);
+        }
+        donation("legacy", "pending", null, 48);
+        template.updateFirst(new Query(Criteria.where("id").is("legacy")), new Update().unset("partitionKey"), Donation.class);
+
+        JobLeaseService.Partition first = new JobLeaseService.Partition(0, 2);
+        service.cleanup(first, () -> true);
+
+        for (String id : ids) {
+            assertThat(status(id)).as(id).isEqualTo(first.contains(id) ? "failed" : "pending");
+        }
+        // Donations saved before partition keys existed belong to the first partition
+        assertThat(status("legacy")).isEqualTo("failed");
+
+        service.cleanup(new JobLeaseService.Partition(1, 2), () -> true);
+
+        for (String id : ids) {
+            assertThat(status(id)).as(id).isEqualTo("failed");
+        }
+    }
+
+    private void donation(String id, String status, String paymentIntentId, int hoursAgo) {
+        Donation donation = new Donation("campaign-1", "donor-1", 10.0, paymentIntentId);
+        donation.setId(id);
+        donation.setPaymentStatus(status);
+        donation.setCreatedAt(LocalDateTime.now().minusHours(hoursAgo));
+        template.insert(donation);
+    }
+
+    private String status(String id) {
+        return template.findById(id, Donation.class).getPaymentStatus();
+    }
+}
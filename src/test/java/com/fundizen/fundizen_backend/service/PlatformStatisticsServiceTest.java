@@ -0,0 +1,101 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.Campaign;
+import com.fundizen.fundizen_backend.models.User;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlatformStatisticsServiceTest {
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+    private PlatformStatisticsService service;
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        template = mongo.template();
+        service = new PlatformStatisticsService();
+        ReflectionTestUtils.setField(service, "mongoTemplate", template);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void campaignFacetsCountAndSumInOnePass() {
+        campaign("approved", "health", true, LocalDate.now().plusDays(10), 100.0, 40.0);
+        campaign("approved", "health", true, LocalDate.now().minusDays(1), 200.0, 200.0);
+        campaign("pending", "education", false, LocalDate.now().plusDays(10), 100.0, 0.0);
+
+        PlatformStatisticsService.CampaignStatistics stats = service.getCampaignStatistics();
+
+        assertThat(stats.getTotalCampaigns()).isEqualTo(3);
+        assertThat(stats.getActiveCampaigns()).isEqualTo(1);
+        assertThat(stats.getCountByStatus("approved")).isEqualTo(2);
+        assertThat(stats.getCountByStatus("rejected")).isZero();
+        assertThat(stats.getByCategory()).containsEntry("health", 2L).containsEntry("education", 1L);
+        assertThat(stats.getTotalGoalAmount()).isEqualTo(400.0);
+        assertThat(stats.getSuccessRate()).isEqualTo(60.0);
+    }
+
+    @Test
+    void emptyCollectionsYieldZeroes() {
+        PlatformStatisticsService.CampaignStatistics campaigns = service.getCampaignStatistics();
+        PlatformStatisticsService.UserStatistics users = service.getUserStatistics();
+
+        assertThat(campaigns.getTotalCampaigns()).isZero();
+        assertThat(campaigns.getSuccessRate()).isZero();
+        assertThat(users.getTotalUsers()).isZero();
+        assertThat(users.getByRole()).isEmpty();
+    }
+
+    @Test
+    void userFacetsSplitRolesVerificationAndRecentSignups() {
+        user("admin", true, LocalDateTime.now().minusDays(30));
+        user("user", true, LocalDateTime.now().minusDays(1));
+        user("user", false, LocalDateTime.now());
+
+        PlatformStatisticsService.UserStatistics stats = service.getUserStatistics();
+
+        assertThat(stats.getTotalUsers()).isEqualTo(3);
+        assertThat(stats.getCountByRole("user")).isEqualTo(2);
+        assertThat(stats.getVerifiedUsers()).isEqualTo(2);
+        assertThat(stats.getUnverifiedUsers()).isEqualTo(1);
+        assertThat(stats.getRecentSignups()).isEqualTo(2);
+    }
+
+    private void campaign(String status, String category, boolean verified, LocalDate endDate,
+                          double goalAmount, double raisedAmount) {
+        Campaign campaign = new Campaign();
+        campaign.setName("Campaign");
+        campaign.setStatus(status);
+        campaign.setCategory(category);
+        campaign.setVerified(verified);
+        campaign.setEndDate(endDate);
+        campaign.setGoalAmount(goalAmount);
+        campaign.setRaisedAmount(raisedAmount);
+        template.insert(campaign);
+    }
+
+    private void user(String role, boolean verified, LocalDateTime createdAt) {
+        User user = new User();
+        user.setUsername(role + createdAt);
+        user.setRole(role);
+        user.setVerified(verified);
+        user.setCreatedAt(createdAt);
+        template.insert(user);
+    }
+}
@@ -0,0 +1,87 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.ProcessedStripeEvent;
+import com.fundizen.fundizen_backend.repository.ProcessedStripeEventRepository;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProcessedStripeEventRegistryTest {
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        template = mongo.template();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void detectsRedeliveredEventAndRepeatedTransition() {
+        ProcessedStripeEventRegistry registry = registry(100);
+        registry.recordProcessed("evt_1", "pi_1", "succeeded");
+
+        assertThat(registry.isRecentlyProcessed("evt_1")).isTrue();
+        assertThat(registry.isDuplicate("evt_1", "pi_1", "succeeded")).isTrue();
+        // charge.succeeded after payment_intent.succeeded - different event, same transition
+        assertThat(registry.isDuplicate("evt_2", "pi_1", "succeeded")).isTrue();
+        assertThat(registry.isDuplicate("evt_3", "pi_1", "failed")).isFalse();
+        assertThat(registry.isDuplicate("evt_4", "pi_2", "succeeded")).isFalse();
+    }
+
+    @Test
+    void eventWithoutTransitionIsOnlyDeduplicatedById() {
+        ProcessedStripeEventRegistry registry = registry(100);
+        registry.recordProcessed("evt_1", "pi_1", null);
+
+        assertThat(registry.isDuplicate("evt_1", "pi_1", null)).isTrue();
+        assertThat(registry.isDuplicate("evt_2", "pi_1", "succeeded")).isFalse();
+    }
+
+    @Test
+    void fallsBackToMongoAfterRestartOrEviction() {
+        registry(1).recordProcessed("evt_1", "pi_1", "succeeded");
+
+        // New node / restarted node: empty memory, markers still in Mongo
+        ProcessedStripeEventRegistry restarted = registry(1);
+        assertThat(restarted.isRecentlyProcessed("evt_1")).isFalse();
+        assertThat(restarted.isDuplicate("evt_9", "pi_1", "succeeded")).isTrue();
+    }
+
+    @Test
+    void firstMarkerWinsWhenTwoEventsRecordTheSameTransition() {
+        ProcessedStripeEventRegistry registry = registry(100);
+        registry.recordProcessed("evt_1", "pi_1", "succeeded");
+        registry.recordProcessed("evt_2", "pi_1", "succeeded");
+
+        ProcessedStripeEvent marker = template.findById(
+            ProcessedStripeEventRegistry.transitionKey("pi_1", "succeeded"), ProcessedStripeEvent.class);
+        assertThat(marker.getEventId()).isEqualTo("evt_1");
+    }
+
+    private ProcessedStripeEventRegistry registry(int lruSize) {
+        ProcessedStripeEventRegistry registry = new ProcessedStripeEventRegistry();
+        ReflectionTestUtils.setField(registry, "mongoTemplate", template);
+        ReflectionTestUtils.setField(registry, "processedEventRepository",
+            new MongoRepositoryFactory(template).getRepository(ProcessedStripeEventRepository.class));
+        ReflectionTestUtils.setField(registry, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(registry, "lruSize", lruSize);
+        registry.init();
+        return registry;
+    }
+}
@@ -0,0 +1,119 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.event.DonationStatusChangedEvent;
+import com.fundizen.fundizen_backend.models.Donation;
+import com.fundizen.fundizen_backend.repository.DonationRepository;
+import com.fundizen.fundizen_backend.repository.DonationRepositoryCustomImpl;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentDonationFeedTest {
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+    private RecentDonationFeed feed;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        template = mongo.template();
+        now = LocalDateTime.now();
+        feed = feed(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+        mongo.close();
+    }
+
+    @Test
+    void picksUpDonationsCompletedOnOtherNodes() {
+        completed("d1", 1);
+
+        feed.pollCluster();
+
+        assertThat(feed.getRecent(10, null)).extracting(RecentDonationFeed.RecentDonation::getId).containsExactly("d1");
+    }
+
+    @Test
+    void doesNotRepeatDonationsAlreadyPublishedLocally() {
+        Donation local = completed("d1", 1);
+        feed.onDonationStatusChanged(new DonationStatusChangedEvent(local, "succeeded"));
+
+        feed.pollCluster();
+        feed.pollCluster();
+
+        assertThat(feed.getRecent(10, null)).extracting(RecentDonationFeed.RecentDonation::getId).containsExactly("d1");
+    }
+
+    @Test
+    void removesDonationsRefundedOnOtherNodes() {
+        Donation donation = completed("d1", 1);
+        feed.pollCluster();
+
+        donation.setPaymentStatus("refunded");
+        donation.setRefundedAt(LocalDateTime.now());
+        template.save(donation);
+        feed.pollCluster();
+
+        assertThat(feed.getRecent(10, null)).isEmpty();
+    }
+
+    @Test
+    void worksThroughABacklogLargerThanTheBuffer() {
+        for (int i = 1; i <= 7; i++) {
+            completed("d" + i, i);
+        }
+
+        for (int poll = 0; poll < 4; poll++) {
+            feed.pollCluster();
+        }
+
+        assertThat(feed.getRecent(10, null)).extracting(RecentDonationFeed.RecentDonation::getId)
+            .containsExactly("d7", "d6", "d5");
+    }
+
+    @Test
+    void ignoresDonationsCompletedBeforeStartup() {
+        completed("old", -3600);
+
+        feed.pollCluster();
+
+        assertThat(feed.getRecent(10, null)).isEmpty();
+    }
+
+    private Donation completed(String id, int secondsFromNow) {
+        Donation donation = new Donation("campaign-1", "donor-1", 10.0, "pi_" + id);
+        donation.setId(id);
+        donation.setPaymentStatus("succeeded");
+        donation.setCompletedAt(now.plusSeconds(secondsFromNow));
+        return template.insert(donation);
+    }
+
+    private RecentDonationFeed feed(int capacity) {
+        RecentDonationFeed feed = new RecentDonationFeed();
+        ReflectionTestUtils.setField(feed, "donationRepository",
+            mongo.repository(DonationRepository.class, new DonationRepositoryCustomImpl()));
+        ReflectionTestUtils.setField(feed, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(feed, "capacity", capacity);
+        ReflectionTestUtils.setField(feed, "maxSubscribers", 10);
+        ReflectionTestUtils.setField(feed, "streamTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(feed, "pushThreads", 1);
+        ReflectionTestUtils.setField(feed, "maxPendingEvents", 8);
+        feed.init();
+        return feed;
+    }
+}
@@ -0,0 +1,203 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.config.StripeConfig;
+import com.fundizen.fundizen_backend.config.StripeResilienceProperties;
+import com.stripe.Stripe;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.InvalidRequestException;
+import com.stripe.model.PaymentIntent;
+import com.stripe.net.ApiResource;
+import com.stripe.net.LiveStripeResponseGetter;
+import com.stripe.param.PaymentIntentCreateParams;
+
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilientStripeClientTest {
+
+    private final StripeResilienceProperties properties = new StripeResilienceProperties();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ThreadPoolBulkhead bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        properties.setDefaultTimeout(Duration.ofSeconds(2));
+        properties.getBulkhead().setCoreThreads(1);
+        properties.getBulkhead().setMaxThreads(1);
+        properties.getBulkhead().setQueueCapacity(1);
+        properties.getCircuitBreaker().setSlidingWindowSize(2);
+        properties.getCircuitBreaker().setMinimumCalls(2);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (bulkhead != null) {
+            bulkhead.close();
+        }
+        ApiResource.setStripeResponseGetter(new LiveStripeResponseGetter());
+    }
+
+    @Test
+    void returnsTheStripeResult() throws Exception {
+        ResilientStripeClient client = client();
+
+        assertThat(client.execute(ResilientStripeClient.CREATE_PAYMENT_INTENT, () -> "pi_1")).isEqualTo("pi_1");
+        assertThat(meterRegistry.timer("stripe.call", "operation", "create-payment-intent", "outcome", "success").count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void slowCallsFailWithARetryableError() {
+        properties.getTimeouts().put(ResilientStripeClient.CREATE_PAYMENT_INTENT, Duration.ofMillis(100));
+        ResilientStripeClient client = client();
+
+        assertThatThrownBy(() -> client.execute(ResilientStripeClient.CREATE_PAYMENT_INTENT, () -> {
+                pause(1000);
+                return "pi_1";
+            }))
+            .isInstanceOf(StripeUnavailableException.class)
+            .hasCauseInstanceOf(TimeoutException.class)
+            .satisfies(e -> assertThat(((StripeUnavailableException) e).getRetryAfterSeconds()).isPositive());
+    }
+
+    @Test
+    void rejectsCallsOnceTheBulkheadIsFull() throws Exception {
+        ResilientStripeClient client = client();
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> running = client.submit(ResilientStripeClient.CREATE_PAYMENT_INTENT, () -> {
+            await(release);
+            return "pi_1";
+        });
+        CompletableFuture<String> queued = client.submit(ResilientStripeClient.CREATE_PAYMENT_INTENT, () -> "pi_2");
+        CompletableFuture<String> rejected = client.submit(ResilientStripeClient.CREATE_PAYMENT_INTENT, () -> "pi_3");
+
+        assertThatThrownBy(rejected::join)
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(StripeUnavailableException.class)
+            .hasMessageContaining("busy");
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("pi_1");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("pi_2");
+    }
+
+    @Test
+    void opensTheCircuitAfterStripeOutages() {
+        ResilientStripeClient client = client();
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> client.execute(ResilientStripeClient.CREATE_REFUND, () -> {
+                throw new ApiConnectionException("connection reset");
+            })).isInstanceOf(StripeUnavailableException.class);
+        }
+
+        assertThatThrownBy(() -> client.execute(ResilientStripeClient.CREATE_REFUND, () -> "re_1"))
+            .isInstanceOf(StripeUnavailableException.class)
+            .hasMessageContaining("temporarily unavailable");
+    }
+
+    @Test
+    void declinedRequestsDoNotOpenTheCircuit() throws Exception {
+        ResilientStripeClient client = client();
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> client.execute(ResilientStripeClient.CREATE_PAYMENT_INTENT, () -> {
+                throw new InvalidRequestException("Invalid amount", "amount", null, null, 400, null);
+            })).isInstanceOf(InvalidRequestException.class);
+        }
+
+        assertThat(client.execute(ResilientStripeClient.CREATE_PAYMENT_INTENT, () -> "pi_1")).isEqualTo("pi_1");
+    }
+
+    @Test
+    void stubLatencyIsBoundedByTheOperationTimeout() throws Exception {
+        StripeResilienceProperties.Stub stub = new StripeResilienceProperties.Stub();
+        stub.setLatency(Duration.ofMillis(500));
+        useStub(stub);
+        properties.getTimeouts().put(ResilientStripeClient.CREATE_PAYMENT_INTENT, Duration.ofMillis(100));
+        ResilientStripeClient client = client();
+
+        assertThatThrownBy(() -> client.execute(ResilientStripeClient.CREATE_PAYMENT_INTENT,
+                () -> PaymentIntent.create(paymentIntentParams())))
+            .isInstanceOf(StripeUnavailableException.class);
+
+        properties.getTimeouts().put(ResilientStripeClient.CREATE_PAYMENT_INTENT, Duration.ofSeconds(2));
+        PaymentIntent paymentIntent = client.execute(ResilientStripeClient.CREATE_PAYMENT_INTENT,
+            () -> PaymentIntent.create(paymentIntentParams()));
+        assertThat(paymentIntent.getId()).startsWith("pi_stub");
+        assertThat(paymentIntent.getAmount()).isEqualTo(2500L);
+    }
+
+    @Test
+    void stubFailuresCountAsOutages() {
+        StripeResilienceProperties.Stub stub = new StripeResilienceProperties.Stub();
+        stub.setFailureRate(1.0);
+        useStub(stub);
+        ResilientStripeClient client = client();
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> client.execute(ResilientStripeClient.CREATE_PAYMENT_INTENT,
+                () -> PaymentIntent.create(paymentIntentParams())));
+        }
+
+        assertThatThrownBy(() -> client.execute(ResilientStripeClient.CREATE_PAYMENT_INTENT,
+                () -> PaymentIntent.create(paymentIntentParams())))
+            .isInstanceOf(StripeUnavailableException.class)
+            .hasMessageContaining("temporarily unavailable");
+    }
+
+    private ResilientStripeClient client() {
+        StripeConfig config = new StripeConfig();
+        bulkhead = config.stripeBulkhead(properties, meterRegistry);
+
+        ResilientStripeClient client = new ResilientStripeClient();
+        ReflectionTestUtils.setField(client, "stripeCircuitBreaker", config.stripeCircuitBreaker(properties, meterRegistry));
+        ReflectionTestUtils.setField(client, "stripeBulkhead", bulkhead);
+        ReflectionTestUtils.setField(client, "properties", properties);
+        ReflectionTestUtils.setField(client, "meterRegistry", meterRegistry);
+        return client;
+    }
+
+    private void useStub(StripeResilienceProperties.Stub stub) {
+        ApiResource.setStripeResponseGetter(new LiveStripeResponseGetter(new StripeStubHttpClient(stub)));
+        Stripe.apiKey = "sk_test_stub";
+    }
+
+    private PaymentIntentCreateParams paymentIntentParams() {
+        return PaymentIntentCreateParams.builder()
+            .setAmount(2500L)
+            .setCurrency("usd")
+            .build();
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.fundizen.fundizen_backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseBroadcasterTest {
+
+    private MeterRegistry meterRegistry;
+    private SseBroadcaster broadcaster;
+    private final List<String> closedTopics = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        broadcaster = new SseBroadcaster("test.stream", 2, 4, 60_000L, meterRegistry);
+        broadcaster.onTopicClosed(closedTopics::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void aClientThatFallsBehindIsDisconnectedWithoutHoldingUpTheOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        broadcaster.subscribe(List.of(), slow);
+        broadcaster.subscribe(List.of(), fast);
+
+        broadcaster.publishToAll(SseEmitter.event().id("1").data("event 1"));
+        waitUntil(() -> slow.sending);
+        // One stuck in send, four queued, the sixth is one too many
+        for (int i = 2; i <= 6; i++) {
+            broadcaster.publishToAll(SseEmitter.event().id(String.valueOf(i)).data("event " + i));
+            int sent = i;
+            waitUntil(() -> fast.received.size() == sent);
+        }
+
+        assertThat(meterRegistry.counter("test.stream.dropped").count()).isEqualTo(1.0);
+
+        release.countDown();
+        waitUntil(() -> broadcaster.getSubscriberCount() == 1);
+        // Only the event it was stuck on; the rest were dropped with it
+        assertThat(slow.received).hasSize(1);
+        assertThat(slow.completed).isTrue();
+        assertThat(fast.completed).isFalse();
+    }
+
+    @Test
+    void completesOnlyAfterTheEventsQueuedBeforeIt() {
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        SseBroadcaster.Client client = broadcaster.subscribe(Set.of("job-1"), emitter);
+
+        client.send(SseEmitter.event().id("1").data("current"));
+        broadcaster.publish("job-1", SseEmitter.event().id("2").data("progress"));
+        broadcaster.publish("job-2", SseEmitter.event().id("3").data("other job"));
+        broadcaster.complete("job-1");
+        broadcaster.publish("job-1", SseEmitter.event().id("4").data("too late"));
+
+        waitUntil(() -> emitter.completed);
+        assertThat(emitter.received).hasSize(2);
+        assertThat(emitter.received.get(0)).contains("id:1");
+        assertThat(emitter.received.get(1)).contains("id:2");
+        assertThat(broadcaster.getTopics()).isEmpty();
+        assertThat(closedTopics).containsExactly("job-1");
+        assertThat(meterRegistry.counter("test.stream.pushed").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void aTopicClosesWithItsLastClient() {
+        SseBroadcaster.Client first = broadcaster.subscribe(Set.of("a", "b"), new RecordingEmitter(null));
+        SseBroadcaster.Client second = broadcaster.subscribe(Set.of("b"), new RecordingEmitter(null));
+
+        first.complete();
+        waitUntil(() -> broadcaster.getSubscriberCount() == 1);
+        assertThat(closedTopics).containsExactly("a");
+        assertThat(broadcaster.isWatched("b")).isTrue();
+
+        second.complete();
+        waitUntil(() -> broadcaster.getSubscriberCount() == 0);
+        assertThat(closedTopics).containsExactly("a", "b");
+    }
+
+    @Test
+    void aDisconnectedClientIsRemovedOnItsNextSend() {
+        RecordingEmitter gone = new RecordingEmitter(null);
+        gone.fail = true;
+        broadcaster.subscribe(Set.of("a"), gone);
+
+        broadcaster.heartbeat();
+
+        waitUntil(() -> broadcaster.getSubscriberCount() == 0);
+        assertThat(closedTopics).containsExactly("a");
+        assertThat(gone.failedWith).isInstanceOf(IOException.class);
+        assertThat(meterRegistry.counter("test.stream.pushed").count()).isZero();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    /**
+     * Records what was sent instead of writing to a response; optionally blocks in send like a stalled socket
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch release;
+        private final List<String> received = new CopyOnWriteArrayList<>();
+        private volatile boolean fail;
+        private volatile boolean sending;
+        private volatile boolean completed;
+        private volatile Throwable failedWith;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) throws IOException {
+            if (fail) {
+                throw new IOException("Broken pipe");
+            }
+            sending = true;
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            received.add(new ArrayList<>(items).stream()
+                .map(item -> String.valueOf(item.getData()))
+                .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failedWith = ex;
+        }
+    }
+}
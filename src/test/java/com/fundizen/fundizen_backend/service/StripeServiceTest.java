@@ -0,0 +1,25 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.stripe.param.RefundCreateParams;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripeServiceTest {
+
+    @Test
+    void refundIdempotencyKeyDependsOnAmountAndReason() {
+        String partial = StripeService.refundIdempotencyKey("pi_1", 1000L, RefundCreateParams.Reason.REQUESTED_BY_CUSTOMER);
+
+        // A retry of the same request reuses the key
+        assertThat(StripeService.refundIdempotencyKey("pi_1", 1000L, RefundCreateParams.Reason.REQUESTED_BY_CUSTOMER))
+            .isEqualTo(partial);
+        // A corrected amount, a different reason or a full refund is a new request
+        assertThat(StripeService.refundIdempotencyKey("pi_1", 1500L, RefundCreateParams.Reason.REQUESTED_BY_CUSTOMER))
+            .isNotEqualTo(partial);
+        assertThat(StripeService.refundIdempotencyKey("pi_1", 1000L, RefundCreateParams.Reason.DUPLICATE))
+            .isNotEqualTo(partial);
+        assertThat(StripeService.refundIdempotencyKey("pi_1", null, null)).isEqualTo("refund-pi_1-full");
+    }
+}
@@ -0,0 +1,121 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.StripeWebhookEvent;
+import com.fundizen.fundizen_backend.repository.StripeWebhookEventRepository;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class StripeWebhookInboxServiceTest {
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+    private DonationService donationService;
+    private StripeWebhookInboxService inbox;
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        template = mongo.template();
+        donationService = mock(DonationService.class);
+
+        inbox = new StripeWebhookInboxService();
+        ReflectionTestUtils.setField(inbox, "mongoTemplate", template);
+        ReflectionTestUtils.setField(inbox, "webhookEventRepository",
+            new MongoRepositoryFactory(template).getRepository(StripeWebhookEventRepository.class));
+        ReflectionTestUtils.setField(inbox, "donationService", donationService);
+        ReflectionTestUtils.setField(inbox, "processedEventRegistry", mock(ProcessedStripeEventRegistry.class));
+        ReflectionTestUtils.setField(inbox, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(inbox, "workerCount", 1);
+        ReflectionTestUtils.setField(inbox, "workerQueueCapacity", 10);
+        ReflectionTestUtils.setField(inbox, "batchSize", 10);
+        ReflectionTestUtils.setField(inbox, "maxAttempts", 3);
+        ReflectionTestUtils.setField(inbox, "leaseSeconds", 120L);
+        inbox.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        inbox.shutdown();
+        mongo.close();
+    }
+
+    @Test
+    void processesEventWhileItsClaimIsHeld() {
+        StripeWebhookEvent claimed = claim(pendingEvent("evt_held"));
+
+        process(claimed);
+
+        verify(donationService).processSuccessfulPayment("pi_evt_held", "ch_1");
+        assertThat(stored("evt_held").getStatus()).isEqualTo(StripeWebhookEvent.STATUS_PROCESSED);
+    }
+
+    @Test
+    void skipsEventThatWasClaimedAgainAfterItsLeaseExpired() {
+        StripeWebhookEvent stale = claim(pendingEvent("evt_reclaimed"));
+
+        // The lease ran out while the event was queued; it was released and claimed again
+        template.updateFirst(new Query(Criteria.where("id").is("evt_reclaimed")),
+            new Update().set("lockedUntil", LocalDateTime.now().minusSeconds(1)), StripeWebhookEvent.class);
+        ReflectionTestUtils.invokeMethod(inbox, "releaseExpiredLeases");
+        StripeWebhookEvent current = claim("evt_reclaimed");
+
+        process(stale);
+
+        verify(donationService, never()).processSuccessfulPayment(any(), any());
+        StripeWebhookEvent stored = stored("evt_reclaimed");
+        assertThat(stored.getStatus()).isEqualTo(StripeWebhookEvent.STATUS_PROCESSING);
+        assertThat(stored.getClaimToken()).isEqualTo(current.getClaimToken());
+    }
+
+    @Test
+    void skipsEventWhoseLeaseExpiredBeforeItStarted() {
+        StripeWebhookEvent claimed = claim(pendingEvent("evt_expired"));
+        template.updateFirst(new Query(Criteria.where("id").is("evt_expired")),
+            new Update().set("lockedUntil", LocalDateTime.now().minusSeconds(1)), StripeWebhookEvent.class);
+
+        process(claimed);
+
+        verify(donationService, never()).processSuccessfulPayment(any(), any());
+    }
+
+    private String pendingEvent(String eventId) {
+        StripeWebhookEvent event = new StripeWebhookEvent(eventId, "payment_intent.succeeded", "pi_" + eventId);
+        event.setChargeId("ch_1");
+        event.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        template.insert(event);
+        return eventId;
+    }
+
+    private StripeWebhookEvent claim(String eventId) {
+        StripeWebhookEvent claimed = ReflectionTestUtils.invokeMethod(inbox, "tryClaim", eventId);
+        assertThat(claimed).isNotNull();
+        return claimed;
+    }
+
+    private void process(StripeWebhookEvent event) {
+        ReflectionTestUtils.invokeMethod(inbox, "process", event);
+    }
+
+    private StripeWebhookEvent stored(String eventId) {
+        return template.findById(eventId, StripeWebhookEvent.class);
+    }
+}
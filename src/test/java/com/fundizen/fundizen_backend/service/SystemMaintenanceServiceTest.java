@@ -0,0 +1,233 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.event.CampaignChangedEvent;
+import com.fundizen.fundizen_backend.models.Campaign;
+import com.fundizen.fundizen_backend.models.User;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.LookupOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class SystemMaintenanceServiceTest {
+
+    private static final int BATCH_SIZE = 500;
+    private static final BooleanSupplier LEASED = () -> true;
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+    private UserResolver userResolver;
+    private List<CampaignChangedEvent> events;
+    private SystemMaintenanceService service;
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        template = spy(mongo.template());
+        userResolver = mock(UserResolver.class);
+        events = new ArrayList<>();
+        ApplicationEventPublisher publisher = event -> events.add((CampaignChangedEvent) event);
+
+        service = new SystemMaintenanceService();
+        ReflectionTestUtils.setField(service, "mongoTemplate", template);
+        ReflectionTestUtils.setField(service, "userResolver", userResolver);
+        ReflectionTestUtils.setField(service, "eventPublisher", publisher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void rejectsStalePendingCampaignsAcrossBatches() {
+        List<String> stale = new ArrayList<>();
+        for (int i = 0; i < 1001; i++) {
+            stale.add(campaign("pending", 400, 100.0).getId());
+        }
+        String recent = campaign("pending", 10, 100.0).getId();
+        String approved = campaign("approved", 400, 100.0).getId();
+
+        assertThat(service.rejectStalePendingCampaigns(LocalDate.now().minusMonths(6), BATCH_SIZE, LEASED)).isEqualTo(1001);
+
+        assertThat(countWith("status", "rejected")).isEqualTo(1001);
+        assertThat(status(recent)).isEqualTo("pending");
+        assertThat(status(approved)).isEqualTo("approved");
+        assertThat(events).extracting(CampaignChangedEvent::getCampaignId).containsExactlyInAnyOrderElementsOf(stale);
+    }
+
+    @Test
+    void skipsCampaignsApprovedWhileTheCleanupRuns() {
+        String approvedMeanwhile = campaign("pending", 400, 100.0).getId();
+        String stale = campaign("pending", 400, 100.0).getId();
+        // The ids are already collected when an admin approves one of them
+        doAnswer(invocation -> {
+            Object ids = invocation.callRealMethod();
+            mongo.template().updateFirst(new Query(Criteria.where("id").is(approvedMeanwhile)),
+                new Update().set("status", "approved"), Campaign.class);
+            return ids;
+        }).when(template).stream(any(Query.class), eq(Document.class), anyString());
+
+        assertThat(service.rejectStalePendingCampaigns(LocalDate.now().minusMonths(6), BATCH_SIZE, LEASED)).isEqualTo(1);
+
+        assertThat(status(approvedMeanwhile)).isEqualTo("approved");
+        assertThat(status(stale)).isEqualTo("rejected");
+    }
+
+    @Test
+    void stopsBeforeTheNextBatchOnceTheLeaseIsLost() {
+        for (int i = 0; i < 5; i++) {
+            campaign("pending", 400, 100.0);
+        }
+        AtomicInteger checks = new AtomicInteger();
+        BooleanSupplier leasedForOneBatch = () -> checks.incrementAndGet() == 1;
+
+        assertThat(service.rejectStalePendingCampaigns(LocalDate.now().minusMonths(6), 2, leasedForOneBatch)).isEqualTo(2);
+
+        assertThat(countWith("status", "rejected")).isEqualTo(2);
+        assertThat(countWith("status", "pending")).isEqualTo(3);
+        assertThat(events).hasSize(2);
+        assertThat(checks.get()).isEqualTo(2);
+
+        // Running the step again finishes the rest
+        assertThat(service.rejectStalePendingCampaigns(LocalDate.now().minusMonths(6), 2, LEASED)).isEqualTo(3);
+        assertThat(countWith("status", "rejected")).isEqualTo(5);
+    }
+
+    @Test
+    void fixesInvalidGoalsAndMissingRaisedAmounts() {
+        String zeroGoal = campaign("approved", 1, 0.0).getId();
+        String negativeGoal = campaign("approved", 1, -5.0).getId();
+        String validGoal = campaign("approved", 1, 250.0).getId();
+        String missingRaised = campaign("approved", 1, 100.0).getId();
+        template.updateFirst(new Query(Criteria.where("id").is(missingRaised)), new Update().unset("raisedAmount"), Campaign.class);
+
+        assertThat(service.fixInvalidGoalAmounts(BATCH_SIZE, LEASED)).isEqualTo(2);
+        assertThat(service.fixMissingRaisedAmounts(BATCH_SIZE, LEASED)).isEqualTo(1);
+
+        assertThat(find(zeroGoal).getGoalAmount()).isEqualTo(1.0);
+        assertThat(find(negativeGoal).getGoalAmount()).isEqualTo(1.0);
+        assertThat(find(validGoal).getGoalAmount()).isEqualTo(250.0);
+        assertThat(find(missingRaised).getRaisedAmount()).isEqualTo(0.0);
+        assertThat(events).extracting(CampaignChangedEvent::getCampaignId)
+            .containsExactlyInAnyOrder(zeroGoal, negativeGoal, missingRaised);
+    }
+
+    @Test
+    void reassignsCampaignsWhoseCreatorNoLongerExists() {
+        User creator = user("alive", true, 1, null);
+        String owned = campaign("approved", 1, 100.0, creator.getId()).getId();
+        String orphaned = campaign("approved", 1, 100.0, "64b7f0c2a1b2c3d4e5f60718").getId();
+        String malformed = campaign("approved", 1, 100.0, "not-an-object-id").getId();
+        String system = campaign("approved", 1, 100.0, "system").getId();
+
+        assertThat(service.reassignOrphanedCampaigns(BATCH_SIZE, LEASED)).isEqualTo(2);
+
+        assertThat(find(owned).getCreatorId()).isEqualTo(creator.getId());
+        assertThat(find(orphaned).getCreatorId()).isEqualTo("system");
+        assertThat(find(malformed).getCreatorId()).isEqualTo("system");
+        assertThat(find(system).getCreatorId()).isEqualTo("system");
+        assertThat(events).extracting(CampaignChangedEvent::getCampaignId).containsExactlyInAnyOrder(orphaned, malformed);
+    }
+
+    @Test
+    void removesOnlyExpiredLocalUnverifiedUsersWithoutCampaigns() {
+        String expired = user("expired", false, 60, null).getId();
+        String withCampaign = user("creator", false, 60, null).getId();
+        campaign("pending", 1, 100.0, withCampaign);
+        String verified = user("verified", true, 60, null).getId();
+        String firebase = user("firebase", false, 60, "firebase-uid").getId();
+        String recent = user("recent", false, 1, null).getId();
+        List<Aggregation> pipelines = new ArrayList<>();
+        // mongo-java-server has no $lookup with both localField and a pipeline; run it without the $limit
+        doAnswer(invocation -> {
+            Aggregation aggregation = invocation.getArgument(0);
+            pipelines.add(aggregation);
+            List<AggregationOperation> stages = new ArrayList<>();
+            for (Document stage : aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT)) {
+                Document lookup = stage.get("$lookup", Document.class);
+                stages.add(lookup == null ? context -> stage
+                    : LookupOperation.newLookup().from(lookup.getString("from"))
+                        .localField(lookup.getString("localField")).foreignField(lookup.getString("foreignField"))
+                        .as(lookup.getString("as")));
+            }
+            return mongo.template().aggregateStream(Aggregation.newAggregation(stages), "users", Document.class);
+        }).when(template).aggregateStream(any(Aggregation.class), eq("users"), eq(Document.class));
+
+        assertThat(service.removeExpiredUnverifiedUsers(LocalDateTime.now().minusDays(30), BATCH_SIZE, LEASED)).isEqualTo(1);
+
+        assertThat(template.findById(expired, User.class)).isNull();
+        for (String kept : List.of(withCampaign, verified, firebase, recent)) {
+            assertThat(template.findById(kept, User.class)).as(kept).isNotNull();
+        }
+        verify(userResolver).invalidate(expired);
+        verify(userResolver, never()).invalidate(withCampaign);
+
+        // Only one campaign per user is looked up
+        Document lookup = pipelines.get(0).toPipeline(Aggregation.DEFAULT_CONTEXT).stream()
+            .filter(stage -> stage.containsKey("$lookup"))
+            .findFirst().orElseThrow()
+            .get("$lookup", Document.class);
+        assertThat(lookup.getString("foreignField")).isEqualTo("creatorId");
+        assertThat(lookup.getList("pipeline", Document.class)).contains(new Document("$limit", 1L));
+    }
+
+    private Campaign campaign(String status, int daysAgo, double goalAmount) {
+        return campaign(status, daysAgo, goalAmount, "creator-1");
+    }
+
+    private Campaign campaign(String status, int daysAgo, double goalAmount, String creatorId) {
+        Campaign campaign = new Campaign(creatorId, "Campaign", "health", "A campaign");
+        campaign.setStatus(status);
+        campaign.setGoalAmount(goalAmount);
+        campaign.setCreatedAt(LocalDateTime.now().minusDays(daysAgo));
+        return mongo.template().insert(campaign);
+    }
+
+    private User user(String username, boolean verified, int daysAgo, String uid) {
+        User user = new User(username, username + "@example.com", "hash");
+        user.setVerified(verified);
+        user.setUid(uid);
+        user.setCreatedAt(LocalDateTime.now().minusDays(daysAgo));
+        return mongo.template().insert(user);
+    }
+
+    private Campaign find(String id) {
+        return template.findById(id, Campaign.class);
+    }
+
+    private String status(String id) {
+        return find(id).getStatus();
+    }
+
+    private long countWith(String field, Object value) {
+        return template.count(new Query(Criteria.where(field).is(value)), Campaign.class);
+    }
+}
@@ -0,0 +1,93 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.models.User;
+import com.fundizen.fundizen_backend.repository.UserRepository;
+import com.fundizen.fundizen_backend.repository.UserRepositoryCustomImpl;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserResolverTest {
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+    private UserResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        template = mongo.template();
+
+        resolver = new UserResolver();
+        ReflectionTestUtils.setField(resolver, "userRepository",
+            mongo.repository(UserRepository.class, new UserRepositoryCustomImpl()));
+        ReflectionTestUtils.setField(resolver, "maxSize", 100L);
+        ReflectionTestUtils.setField(resolver, "ttl", Duration.ofMinutes(5));
+        resolver.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void resolvesKnownIdsAndSkipsUnknownAndNullOnes() {
+        User alice = user("alice");
+        User bob = user("bob");
+
+        Map<String, User> resolved = resolver.resolve(Arrays.asList(alice.getId(), bob.getId(), "missing", null));
+
+        assertThat(resolved).containsOnlyKeys(alice.getId(), bob.getId());
+        assertThat(resolved.get(alice.getId()).getUsername()).isEqualTo("alice");
+        assertThat(resolver.resolve((String) null)).isNull();
+    }
+
+    @Test
+    void neverLoadsCredentials() {
+        User alice = user("alice");
+
+        User resolved = resolver.resolve(alice.getId());
+
+        assertThat(resolved.getEmail()).isEqualTo("alice@example.com");
+        assertThat(resolved.getPassword()).isNull();
+        assertThat(resolved.getUid()).isNull();
+    }
+
+    @Test
+    void servesCachedUsersUntilInvalidated() {
+        User alice = user("alice");
+        resolver.resolve(alice.getId());
+
+        alice.setUsername("alice-renamed");
+        template.save(alice);
+        assertThat(resolver.resolve(alice.getId()).getUsername()).isEqualTo("alice");
+
+        resolver.invalidate(alice.getId());
+        assertThat(resolver.resolve(alice.getId()).getUsername()).isEqualTo("alice-renamed");
+    }
+
+    @Test
+    void resolvesUsernamesForDisplay() {
+        User alice = user("alice");
+
+        assertThat(resolver.resolveUsernames(Arrays.asList(alice.getId(), "missing")))
+            .containsExactly(Map.entry(alice.getId(), "alice"));
+    }
+
+    private User user(String username) {
+        User user = new User(username, username + "@example.com", "hashed-password");
+        user.setUid("firebase-" + username);
+        return template.insert(user);
+    }
+}
@@ -0,0 +1,142 @@
+package com.fundizen.fundizen_backend.service;
+
+import com.fundizen.fundizen_backend.config.PasswordHashingProperties;
+import com.fundizen.fundizen_backend.models.User;
+import com.fundizen.fundizen_backend.repository.UserRepository;
+import com.fundizen.fundizen_backend.repository.UserRepositoryCustomImpl;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class UserServiceTest {
+
+    // The current cost; stored hashes made with cost 4 are outdated
+    private final BCryptPasswordEncoder currentEncoder = new BCryptPasswordEncoder(5);
+    private final BCryptPasswordEncoder outdatedEncoder = new BCryptPasswordEncoder(4);
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+    private ExecutorService executor;
+    private PasswordHashingService passwordHashingService;
+    private UserService service;
+
+    @BeforeEach
+    void setUp() {
+        mongo = InMemoryMongo.start();
+        template = mongo.template();
+        executor = Executors.newSingleThreadExecutor();
+
+        passwordHashingService = spy(new PasswordHashingService());
+        ReflectionTestUtils.setField(passwordHashingService, "passwordEncoder", currentEncoder);
+        ReflectionTestUtils.setField(passwordHashingService, "passwordHashingExecutor", executor);
+        ReflectionTestUtils.setField(passwordHashingService, "properties", new PasswordHashingProperties());
+
+        service = new UserService();
+        ReflectionTestUtils.setField(service, "userRepository",
+            mongo.repository(UserRepository.class, new UserRepositoryCustomImpl()));
+        ReflectionTestUtils.setField(service, "passwordHashingService", passwordHashingService);
+        ReflectionTestUtils.setField(service, "userResolver", mock(UserResolver.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        mongo.close();
+    }
+
+    @Test
+    void loginRehashesAnOutdatedHashWithTheCurrentCost() {
+        String outdated = outdatedEncoder.encode("secret");
+        String id = user(outdated);
+
+        User user = service.authenticateUser("alice", "secret");
+
+        String stored = storedPassword(id);
+        assertThat(stored).startsWith("$2a$05$").isEqualTo(user.getPassword());
+        assertThat(currentEncoder.matches("secret", stored)).isTrue();
+    }
+
+    @Test
+    void loginWithACurrentHashLeavesItAlone() {
+        String current = currentEncoder.encode("secret");
+        String id = user(current);
+
+        service.authenticateUser("alice@example.com", "secret");
+
+        assertThat(storedPassword(id)).isEqualTo(current);
+        verify(passwordHashingService, never()).encode(any());
+    }
+
+    @Test
+    void theRehashNeverOverwritesAPasswordChangedMeanwhile() {
+        String outdated = outdatedEncoder.encode("secret");
+        String changed = currentEncoder.encode("new-secret");
+        String id = user(outdated);
+
+        // The user changes their password while the login's rehash is running
+        doAnswer(invocation -> {
+            template.updateFirst(new Query(Criteria.where("id").is(id)), new Update().set("password", changed), User.class);
+            return invocation.callRealMethod();
+        }).when(passwordHashingService).encode("secret");
+
+        User user = service.authenticateUser("alice", "secret");
+
+        assertThat(storedPassword(id)).isEqualTo(changed);
+        assertThat(user.getPassword()).isEqualTo(outdated);
+    }
+
+    @Test
+    void aBusyHashingPoolDuringTheRehashStillLogsIn() {
+        String outdated = outdatedEncoder.encode("secret");
+        String id = user(outdated);
+        doThrow(new PasswordHashingBusyException("busy", 2, null)).when(passwordHashingService).encode("secret");
+
+        User user = service.authenticateUser("alice", "secret");
+
+        assertThat(user.getId()).isEqualTo(id);
+        assertThat(storedPassword(id)).isEqualTo(outdated);
+    }
+
+    @Test
+    void aWrongPasswordIsNeitherAcceptedNorRehashed() {
+        String outdated = outdatedEncoder.encode("secret");
+        String id = user(outdated);
+
+        assertThatThrownBy(() -> service.authenticateUser("alice", "wrong"))
+            .hasMessage("Invalid credentials");
+        assertThat(storedPassword(id)).isEqualTo(outdated);
+    }
+
+    private String user(String passwordHash) {
+        User user = new User();
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setPassword(passwordHash);
+        return template.insert(user).getId();
+    }
+
+    private String storedPassword(String id) {
+        return template.findById(id, User.class).getPassword();
+    }
+}
@@ -0,0 +1,57 @@
+package com.fundizen.fundizen_backend.support;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * In-memory MongoDB (mongo-java-server) behind a real MongoTemplate, for tests
+ * of queries and conditional updates without a database or Docker.
+ * Each instance is an empty database; close it after the test.
+ */
+public final class InMemoryMongo implements AutoCloseable {
+
+    private final MongoServer server;
+    private final MongoClient client;
+    private final MongoTemplate template;
+
+    private InMemoryMongo() {
+        server = new MongoServer(new MemoryBackend());
+        String connectionString = server.bindAndGetConnectionString();
+        client = MongoClients.create(connectionString);
+        template = new MongoTemplate(client, "fundizen-test");
+    }
+
+    public static InMemoryMongo start() {
+        return new InMemoryMongo();
+    }
+
+    public MongoTemplate template() {
+        return template;
+    }
+
+    /**
+     * Spring Data repository proxy over this database. Custom fragments
+     * (the *RepositoryCustomImpl classes) get this template injected.
+     */
+    public <T> T repository(Class<T> repositoryInterface, Object... customImplementations) {
+        for (Object implementation : customImplementations) {
+            ReflectionTestUtils.setField(implementation, "mongoTemplate", template);
+        }
+        return new MongoRepositoryFactory(template)
+            .getRepository(repositoryInterface, RepositoryFragments.just(customImplementations));
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        server.shutdownNow();
+    }
+}
@@ -0,0 +1,112 @@
+package com.fundizen.fundizen_backend.util;
+
+import com.fundizen.fundizen_backend.models.User;
+import com.fundizen.fundizen_backend.repository.UserRepository;
+import com.fundizen.fundizen_backend.repository.UserRepositoryCustomImpl;
+import com.fundizen.fundizen_backend.service.FirebaseService;
+import com.fundizen.fundizen_backend.service.UserService;
+import com.fundizen.fundizen_backend.support.InMemoryMongo;
+import com.google.firebase.auth.FirebaseToken;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AdminAuthHelperTest {
+
+    private static final String TOKEN = "id-token";
+
+    private InMemoryMongo mongo;
+    private MongoTemplate template;
+    private FirebaseService firebaseService;
+    private AdminAuthHelper helper;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mongo = InMemoryMongo.start();
+        template = mongo.template();
+
+        UserService userService = new UserService();
+        ReflectionTestUtils.setField(userService, "userRepository",
+            mongo.repository(UserRepository.class, new UserRepositoryCustomImpl()));
+
+        firebaseService = mock(FirebaseService.class);
+        FirebaseToken token = mock(FirebaseToken.class);
+        when(token.getUid()).thenReturn("firebase-admin");
+        when(token.getEmail()).thenReturn("admin@example.com");
+        when(token.getClaims()).thenReturn(Map.of("exp", System.currentTimeMillis() / 1000 + 3600));
+        when(firebaseService.verifyIdToken(TOKEN)).thenReturn(token);
+
+        helper = new AdminAuthHelper();
+        ReflectionTestUtils.setField(helper, "userService", userService);
+        ReflectionTestUtils.setField(helper, "firebaseService", firebaseService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void grantsVerifiedAdmins() {
+        admin("firebase-admin", true);
+
+        AdminAuthHelper.AdminAuthResult first = helper.verifyAdminAccess(TOKEN);
+        AdminAuthHelper.AdminAuthResult second = helper.verifyAdminAccess(TOKEN);
+
+        assertThat(first.isSuccess()).isTrue();
+        assertThat(second.isSuccess()).isTrue();
+        assertThat(second.getUser().getUsername()).isEqualTo("admin");
+        // Every check gets its own copy, never a shared cache entry
+        assertThat(second.getUser()).isNotSameAs(first.getUser());
+    }
+
+    @Test
+    void demotionTakesEffectOnTheNextCheck() {
+        User admin = admin("firebase-admin", true);
+        assertThat(helper.verifyAdminAccess(TOKEN).isSuccess()).isTrue();
+
+        admin.setRole("user");
+        template.save(admin);
+
+        AdminAuthHelper.AdminAuthResult result = helper.verifyAdminAccess(TOKEN);
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getMessage()).contains("Admin privileges required");
+    }
+
+    @Test
+    void rejectsUnverifiedAdmins() {
+        admin("firebase-admin", false);
+
+        assertThat(helper.verifyAdminAccess(TOKEN).getMessage()).isEqualTo("Account not verified");
+    }
+
+    @Test
+    void fallsBackToTheTokenEmail() {
+        admin("another-uid", true);
+
+        assertThat(helper.verifyAdminAccess(TOKEN).isSuccess()).isTrue();
+    }
+
+    @Test
+    void rejectsUnknownUsersAndMissingTokens() {
+        assertThat(helper.verifyAdminAccess(TOKEN).getMessage()).isEqualTo("User not found in system");
+        assertThat(helper.verifyAdminAccess(" ").getMessage()).isEqualTo("Firebase token is required");
+    }
+
+    private User admin(String uid, boolean verified) {
+        User user = new User("admin", "admin@example.com", "hashed-password");
+        user.setUid(uid);
+        user.setRole("admin");
+        user.setVerified(verified);
+        return template.insert(user);
+    }
+}
@@ -0,0 +1,68 @@
+package com.fundizen.fundizen_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    @Test
+    void emptyOrMissingSketchEstimatesZero() {
+        assertThat(HyperLogLog.estimate(null)).isZero();
+        assertThat(HyperLogLog.estimate(new HashMap<>())).isZero();
+    }
+
+    @Test
+    void registersAreDeterministicAndInRange() {
+        HyperLogLog.Register register = HyperLogLog.registerFor("donor-42");
+
+        assertThat(HyperLogLog.registerFor("donor-42").getIndex()).isEqualTo(register.getIndex());
+        assertThat(register.getIndex()).isBetween(0, HyperLogLog.REGISTER_COUNT - 1);
+        assertThat(register.getRank()).isBetween(1, 64 - HyperLogLog.PRECISION + 1);
+        assertThat(register.getKey()).isEqualTo(Integer.toString(register.getIndex()));
+    }
+
+    @Test
+    void repeatedValuesDoNotInflateTheEstimate() {
+        Map<String, Integer> sketch = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            HyperLogLog.offer(sketch, "same-donor");
+        }
+        assertThat(HyperLogLog.estimate(sketch)).isEqualTo(1);
+    }
+
+    @Test
+    void smallCardinalitiesAreNearlyExact() {
+        assertThat(HyperLogLog.estimate(sketchOf(0, 100))).isCloseTo(100L, within(2L));
+    }
+
+    @Test
+    void largeCardinalitiesStayWithinFewStandardErrors() {
+        long estimate = HyperLogLog.estimate(sketchOf(0, 100_000));
+        // Standard error is ~1.6% with 4096 registers
+        assertThat(estimate).isCloseTo(100_000L, within(5_000L));
+    }
+
+    @Test
+    void mergeEqualsSketchOfTheUnion() {
+        Map<String, Integer> left = sketchOf(0, 30_000);
+        Map<String, Integer> right = sketchOf(20_000, 50_000);
+
+        HyperLogLog.merge(left, right);
+        HyperLogLog.merge(left, null);
+
+        assertThat(left).isEqualTo(sketchOf(0, 50_000));
+    }
+
+    private static Map<String, Integer> sketchOf(int from, int to) {
+        Map<String, Integer> sketch = new HashMap<>();
+        for (int i = from; i < to; i++) {
+            HyperLogLog.offer(sketch, "donor-" + i);
+        }
+        return sketch;
+    }
+}
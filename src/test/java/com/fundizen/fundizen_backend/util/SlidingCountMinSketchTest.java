@@ -0,0 +1,84 @@
+package com.fundizen.fundizen_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingCountMinSketchTest {
+
+    @Test
+    void countsKeysIndependently() {
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(4, 1024, 4, 60_000);
+
+        for (int i = 0; i < 3; i++) {
+            sketch.add("ip:1.1.1.1");
+        }
+        assertThat(sketch.add("ip:2.2.2.2")).isEqualTo(1);
+        assertThat(sketch.estimate("ip:1.1.1.1")).isEqualTo(3);
+        assertThat(sketch.estimate("ip:3.3.3.3")).isZero();
+    }
+
+    @Test
+    void neverUndercountsEvenWhenCellsCollide() {
+        // Tiny sketch so most keys share cells
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(2, 8, 1, 60_000);
+        for (int key = 0; key < 100; key++) {
+            for (int i = 0; i <= key % 5; i++) {
+                sketch.add("key-" + key);
+            }
+        }
+        for (int key = 0; key < 100; key++) {
+            assertThat(sketch.estimate("key-" + key)).isGreaterThanOrEqualTo(key % 5 + 1);
+        }
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws Exception {
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(4, 1024, 4, 60_000);
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            threads.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    sketch.add("hot");
+                }
+            });
+        }
+        threads.shutdown();
+        assertThat(threads.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(sketch.estimate("hot")).isEqualTo(8000);
+    }
+
+    @Test
+    void countsExpireWithTheWindow() throws Exception {
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(4, 1024, 2, 100);
+        sketch.add("ip:1.1.1.1");
+
+        Thread.sleep(250);
+
+        assertThat(sketch.estimate("ip:1.1.1.1")).isZero();
+    }
+
+    @Test
+    void changedSlotsAreDrainedOnceAndRemoteCountsAdded() {
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(4, 1024, 4, 60_000);
+        sketch.add("email:a@example.com");
+
+        Map<Long, Map<Integer, Integer>> changed = sketch.drainChangedSlots();
+        assertThat(changed).containsOnlyKeys(sketch.currentEpoch());
+        assertThat(changed.get(sketch.currentEpoch())).hasSize(4).containsValue(1);
+        assertThat(sketch.drainChangedSlots()).isEmpty();
+
+        // Another node reports the same cells twice
+        int[] remote = new int[sketch.getCellCount()];
+        changed.get(sketch.currentEpoch()).forEach((cell, count) -> remote[cell] = 2);
+        sketch.setRemoteCounts(Map.of(sketch.currentEpoch(), remote));
+
+        assertThat(sketch.estimate("email:a@example.com")).isEqualTo(3);
+    }
+}